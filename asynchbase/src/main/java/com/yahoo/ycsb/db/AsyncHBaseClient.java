@@ -24,6 +24,8 @@ import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.hbase.async.Bytes;
 import org.hbase.async.Config;
@@ -34,6 +36,7 @@ import org.hbase.async.KeyValue;
 import org.hbase.async.PutRequest;
 import org.hbase.async.Scanner;
 
+import com.stumbleupon.async.Callback;
 import com.yahoo.ycsb.ByteArrayByteIterator;
 import com.yahoo.ycsb.ByteIterator;
 import com.yahoo.ycsb.DBException;
@@ -48,6 +51,10 @@ import static com.yahoo.ycsb.workloads.CoreWorkload.TABLENAME_PROPERTY_DEFAULT;
  * This client provides a subset of the main HBase client and uses a completely
  * asynchronous pipeline for all calls. It is particularly useful for write heavy
  * workloads. It is also compatible with all production versions of HBase. 
+ * 
+ * The asynchronous YCSB operations (e.g. {@link #readAsync}) are implemented 
+ * natively by attaching callbacks to the AsyncHBase deferreds instead of 
+ * joining on them, so many operations can be outstanding per client thread.
  */
 public class AsyncHBaseClient extends com.yahoo.ycsb.DB {
   public static final Charset UTF8_CHARSET = Charset.forName("UTF8");
@@ -384,6 +391,114 @@ public class AsyncHBaseClient extends com.yahoo.ycsb.DB {
     return Status.OK;
   }
 
+  @Override
+  public CompletionStage<Status> readAsync(String table, final String key,
+      Set<String> fields, final HashMap<String, ByteIterator> result) {
+    setTable(table);
+    
+    final GetRequest get = new GetRequest(
+        lastTableBytes, key.getBytes(), columnFamilyBytes);
+    if (fields != null) {
+      get.qualifiers(getQualifierList(fields));
+    }
+    
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    client.get(get).addCallbacks(new Callback<Object, ArrayList<KeyValue>>() {
+      @Override
+      public Object call(final ArrayList<KeyValue> row) {
+        if (row == null || row.isEmpty()) {
+          future.complete(Status.NOT_FOUND);
+          return null;
+        }
+        for (final KeyValue column : row) {
+          result.put(new String(column.qualifier()), 
+              new ByteArrayByteIterator(column.value()));
+        }
+        future.complete(Status.OK);
+        return null;
+      }
+    }, new CompleteOnError(future, "Failure reading from row with key ", key));
+    return future;
+  }
+
+  @Override
+  public CompletionStage<Status> scanAsync(String table, String startkey,
+      int recordcount, Set<String> fields,
+      Vector<HashMap<String, ByteIterator>> result) {
+    setTable(table);
+    
+    final Scanner scanner = client.newScanner(lastTableBytes);
+    scanner.setFamily(columnFamilyBytes);
+    scanner.setStartKey(startkey.getBytes(UTF8_CHARSET));
+    if (fields != null) {
+      scanner.setQualifiers(getQualifierList(fields));
+    }
+    
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    final CompleteOnError errback = new CompleteOnError(future, 
+        "Failure reading from row with key ", startkey);
+    scanner.nextRows().addCallbacks(
+        new ScanCallback(scanner, recordcount, result, future, errback), 
+        errback);
+    return future;
+  }
+
+  @Override
+  public CompletionStage<Status> updateAsync(String table, String key,
+      HashMap<String, ByteIterator> values) {
+    setTable(table);
+    
+    final byte[][] qualifiers = new byte[values.size()][];
+    final byte[][] byteValues = new byte[values.size()][];
+    
+    int idx = 0;
+    for (final Entry<String, ByteIterator> entry : values.entrySet()) {
+      qualifiers[idx] = entry.getKey().getBytes();
+      byteValues[idx++] = entry.getValue().toArray();
+    }
+    
+    final PutRequest put = new PutRequest(lastTableBytes, key.getBytes(), 
+        columnFamilyBytes, qualifiers, byteValues);
+    if (!durability) {
+      put.setDurable(false);
+    }
+    // unlike the blocking path, client side buffered puts are still tracked
+    // until the buffer is flushed and the put acknowledged.
+    if (!clientSideBuffering) {
+      put.setBufferable(false);
+    }
+    
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    client.put(put).addCallbacks(new CompleteOnSuccess(future), 
+        new CompleteOnError(future, "Failure writing row with key ", key));
+    return future;
+  }
+
+  @Override
+  public CompletionStage<Status> insertAsync(String table, String key,
+      HashMap<String, ByteIterator> values) {
+    return updateAsync(table, key, values);
+  }
+
+  @Override
+  public CompletionStage<Status> deleteAsync(String table, String key) {
+    setTable(table);
+    
+    final DeleteRequest delete = new DeleteRequest(
+        lastTableBytes, key.getBytes(), columnFamilyBytes);
+    if (!durability) {
+      delete.setDurable(false);
+    }
+    if (!clientSideBuffering) {
+      delete.setBufferable(false);
+    }
+    
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    client.delete(delete).addCallbacks(new CompleteOnSuccess(future), 
+        new CompleteOnError(future, "Failure deleting row with key ", key));
+    return future;
+  }
+
   /**
    * Little helper to set the table byte array. If it's different than the last
    * table we reset the byte array. Otherwise we just use the existing array.
@@ -409,4 +524,96 @@ public class AsyncHBaseClient extends com.yahoo.ycsb.DB {
     }
     return qualifiers;
   }
-}
\ No newline at end of file
+  
+  /**
+   * Completes the future with {@link Status#OK} once a mutation is 
+   * acknowledged.
+   */
+  private static final class CompleteOnSuccess 
+      implements Callback<Object, Object> {
+    private final CompletableFuture<Status> future;
+    
+    private CompleteOnSuccess(final CompletableFuture<Status> future) {
+      this.future = future;
+    }
+    
+    @Override
+    public Object call(final Object arg) {
+      future.complete(Status.OK);
+      return null;
+    }
+  }
+  
+  /**
+   * Completes the future with {@link Status#ERROR} when a deferred fails.
+   */
+  private static final class CompleteOnError 
+      implements Callback<Object, Exception> {
+    private final CompletableFuture<Status> future;
+    private final String message;
+    private final String key;
+    
+    private CompleteOnError(final CompletableFuture<Status> future, 
+        final String message, final String key) {
+      this.future = future;
+      this.message = message;
+      this.key = key;
+    }
+    
+    @Override
+    public Object call(final Exception e) {
+      System.err.println(message + key + ": " + e.getMessage());
+      future.complete(Status.ERROR);
+      return null;
+    }
+  }
+  
+  /**
+   * Collects scanner batches until the requested number of rows has been 
+   * read or the scanner is exhausted, requesting the next batch from the 
+   * callback of the previous one.
+   */
+  private static final class ScanCallback 
+      implements Callback<Object, ArrayList<ArrayList<KeyValue>>> {
+    private final Scanner scanner;
+    private final int recordcount;
+    private final Vector<HashMap<String, ByteIterator>> result;
+    private final CompletableFuture<Status> future;
+    private final CompleteOnError errback;
+    
+    private ScanCallback(final Scanner scanner, final int recordcount, 
+        final Vector<HashMap<String, ByteIterator>> result, 
+        final CompletableFuture<Status> future, final CompleteOnError errback) {
+      this.scanner = scanner;
+      this.recordcount = recordcount;
+      this.result = result;
+      this.future = future;
+      this.errback = errback;
+    }
+    
+    @Override
+    public Object call(final ArrayList<ArrayList<KeyValue>> rows) {
+      if (rows != null) {
+        for (final ArrayList<KeyValue> row : rows) {
+          final HashMap<String, ByteIterator> rowResult =
+              new HashMap<String, ByteIterator>(row.size());
+          for (final KeyValue column : row) {
+            rowResult.put(new String(column.qualifier()), 
+                new ByteArrayByteIterator(column.value()));
+          }
+          result.add(rowResult);
+          if (result.size() >= recordcount) {
+            break;
+          }
+        }
+        if (result.size() < recordcount) {
+          scanner.nextRows().addCallbacks(this, errback);
+          return null;
+        }
+      }
+      scanner.close();
+      future.complete(Status.OK);
+      return null;
+    }
+  }
+}
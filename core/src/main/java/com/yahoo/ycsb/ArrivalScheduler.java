@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import com.yahoo.ycsb.rate.RateProfile;
+
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The central arrival process of an open-loop run. Arrival times are fixed by the process alone: a client
+ * thread claims the next arrival when it is free, waits for it if it lies in the future, and otherwise starts
+ * late. The time between an arrival and the start of its operation is the time the operation spent queued,
+ * so a slow operation never delays the arrivals that follow it.
+ * <p>
+ * Arrivals follow the run's {@link RateProfile}. Under the "constant" process arrival n is issued once the
+ * integrated rate reaches n; under the "poisson" process the integrated rate between arrivals is exponentially
+ * distributed.
+ */
+public final class ArrivalScheduler {
+
+  /**
+   * The arrival process: "none" (the default) keeps the closed-loop per-thread throttle, "constant" and
+   * "poisson" run open-loop.
+   */
+  public static final String ARRIVAL_PROCESS_PROPERTY = "arrival.process";
+  public static final String ARRIVAL_PROCESS_PROPERTY_DEFAULT = "none";
+
+  /**
+   * The seed of the poisson process. Defaults to the current time.
+   */
+  public static final String ARRIVAL_SEED_PROPERTY = "arrival.seed";
+
+  private final boolean poisson;
+  private final Random random;
+  private final RateProfile rate;
+  private final long maxArrivals;
+
+  private long startNs;
+  private double position;
+  private long arrivals;
+
+  /**
+   * Creates a scheduler for a run.
+   *
+   * @param process     "constant" or "poisson".
+   * @param rate        The rate of arrivals.
+   * @param maxArrivals The total number of arrivals, 0 for no limit.
+   * @param seed        The seed of the poisson process.
+   */
+  ArrivalScheduler(String process, RateProfile rate, long maxArrivals, long seed) {
+    switch (process) {
+    case "constant":
+      poisson = false;
+      break;
+    case "poisson":
+      poisson = true;
+      break;
+    default:
+      throw new IllegalArgumentException("unknown " + ARRIVAL_PROCESS_PROPERTY + "=" + process);
+    }
+    this.random = new Random(seed);
+    this.rate = rate;
+    this.maxArrivals = maxArrivals;
+  }
+
+  /**
+   * Creates the scheduler configured by the properties, or returns null for a closed-loop run.
+   *
+   * @param props       The properties of the run.
+   * @param rate        The rate profile of the run, null if none was set.
+   * @param maxArrivals The total number of operations to issue, 0 for no limit.
+   */
+  public static ArrivalScheduler fromProperties(Properties props, RateProfile rate, long maxArrivals) {
+    String process = props.getProperty(ARRIVAL_PROCESS_PROPERTY, ARRIVAL_PROCESS_PROPERTY_DEFAULT);
+    if (process.equals("none")) {
+      return null;
+    }
+    if (rate == null) {
+      throw new IllegalArgumentException("an open-loop run needs a " + Client.TARGET_PROPERTY + " or a "
+          + RateProfile.RATE_PROFILE_PROPERTY);
+    }
+
+    long seed = Long.parseLong(props.getProperty(ARRIVAL_SEED_PROPERTY, String.valueOf(System.currentTimeMillis())));
+    return new ArrivalScheduler(process, rate, maxArrivals, seed);
+  }
+
+  /**
+   * Claims the next arrival. The process starts with the first claim, so the time client threads spend
+   * initializing their bindings is not counted as queueing.
+   *
+   * @return The arrival time in {@link System#nanoTime()} terms, or -1 once all arrivals were issued.
+   */
+  public synchronized long nextArrivalNs() {
+    if (position < 0 || (maxArrivals > 0 && arrivals >= maxArrivals)) {
+      return -1;
+    }
+    if (arrivals == 0) {
+      long now = System.nanoTime();
+      startNs = rate.startNs();
+      position = Math.max(0, rate.elapsed(now));
+    } else {
+      double work = poisson ? -Math.log(1 - random.nextDouble()) : 1;
+      position = rate.advance(position, work);
+      if (position < 0) {
+        return -1;
+      }
+    }
+    arrivals++;
+    return startNs + (long) (position * 1000000000L);
+  }
+}
@@ -16,13 +16,20 @@
  */
 package com.yahoo.ycsb;
 
+import java.nio.ByteBuffer;
+
 /**
  *  A ByteIterator that iterates through a byte array.
+ *
+ *  Bindings that can take the bytes as a slice of an array can read them with {@link #getArray()},
+ *  {@link #getOffset()} and {@link #bytesLeft()} instead of copying them out with toArray(). The workload may
+ *  reuse the array, and the iterator with {@link #reset(byte[], int, int)}, once the call it was passed to
+ *  returns.
  */
 public class ByteArrayByteIterator extends ByteIterator {
   private byte[] str;
   private int off;
-  private final int len;
+  private int len;
 
   public ByteArrayByteIterator(byte[] s) {
     this.str = s;
@@ -36,6 +43,29 @@ public class ByteArrayByteIterator extends ByteIterator {
     this.len = off + len;
   }
 
+  /**
+   * Iterates through another slice of an array.
+   */
+  public void reset(byte[] s, int offset, int length) {
+    this.str = s;
+    this.off = offset;
+    this.len = offset + length;
+  }
+
+  /**
+   * @return The array the bytes left are in, from {@link #getOffset()}. Reading them there does not consume them.
+   */
+  public byte[] getArray() {
+    return str;
+  }
+
+  /**
+   * @return The offset of the next byte in {@link #getArray()}.
+   */
+  public int getOffset() {
+    return off;
+  }
+
   @Override
   public boolean hasNext() {
     return off < len;
@@ -48,6 +78,22 @@ public class ByteArrayByteIterator extends ByteIterator {
     return ret;
   }
 
+  @Override
+  public int nextBuf(byte[] buf, int bufOff) {
+    int n = Math.min(buf.length - bufOff, len - off);
+    System.arraycopy(str, off, buf, bufOff, n);
+    off += n;
+    return bufOff + n;
+  }
+
+  @Override
+  public int nextBuf(ByteBuffer buf) {
+    int n = Math.min(buf.remaining(), len - off);
+    buf.put(str, off, n);
+    off += n;
+    return n;
+  }
+
   @Override
   public long bytesLeft() {
     return len - off;
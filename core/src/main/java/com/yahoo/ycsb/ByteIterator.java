@@ -66,6 +66,19 @@ public abstract class ByteIterator implements Iterator<Byte> {
     return sz;
   }
 
+  /**
+   * Copies bytes to the remaining space of a buffer, as many as fit, and advances its position past them.
+   *
+   * @return the number of bytes copied
+   */
+  public int nextBuf(ByteBuffer buf) {
+    int start = buf.position();
+    while (buf.hasRemaining() && hasNext()) {
+      buf.put(nextByte());
+    }
+    return buf.position() - start;
+  }
+
   public abstract long bytesLeft();
 
   @Override
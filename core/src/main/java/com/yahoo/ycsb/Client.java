@@ -20,6 +20,8 @@ package com.yahoo.ycsb;
 import com.yahoo.ycsb.measurements.Measurements;
 import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
 import com.yahoo.ycsb.measurements.exporter.TextMeasurementsExporter;
+import com.yahoo.ycsb.rate.ConstantRate;
+import com.yahoo.ycsb.rate.RateProfile;
 import org.apache.htrace.core.HTraceConfiguration;
 import org.apache.htrace.core.TraceScope;
 import org.apache.htrace.core.Tracer;
@@ -33,8 +35,15 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 
 /**
  * A thread to periodically show the status of the experiment to reassure you that progress is being made.
@@ -55,6 +64,15 @@ class StatusThread extends Thread {
   private final String label;
   private final boolean standardstatus;
 
+  // The target rate of the clients, if any, and the point of it reported last.
+  private final RateProfile rate;
+  private double lastRateTime;
+
+  // The status as JSON lines, if asked for.
+  private JsonStatusWriter json;
+
+  private final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSS");
+
   // The interval for reporting status.
   private long sleeptimeNs;
 
@@ -97,6 +115,45 @@ class StatusThread extends Thread {
   public StatusThread(CountDownLatch completeLatch, List<ClientThread> clients,
                       String label, boolean standardstatus, int statusIntervalSeconds,
                       boolean trackJVMStats) {
+    this(completeLatch, clients, label, standardstatus, statusIntervalSeconds, trackJVMStats, null);
+  }
+
+  /**
+   * Creates a new StatusThread that also reports the target rate of each interval.
+   *
+   * @param completeLatch         The latch that each client thread will {@link CountDownLatch#countDown()}
+   *                              as they complete.
+   * @param clients               The clients to collect metrics from.
+   * @param label                 The label for the status.
+   * @param standardstatus        If true the status is printed to stdout in addition to stderr.
+   * @param statusIntervalSeconds The number of seconds between status updates.
+   * @param trackJVMStats         Whether or not to track JVM stats.
+   * @param rate                  The target rate of the clients, or null if there is none.
+   */
+  public StatusThread(CountDownLatch completeLatch, List<ClientThread> clients,
+                      String label, boolean standardstatus, int statusIntervalSeconds,
+                      boolean trackJVMStats, RateProfile rate) {
+    this(completeLatch, clients, label, standardstatus, statusIntervalSeconds, trackJVMStats, rate, null);
+  }
+
+  /**
+   * Creates a new StatusThread that also writes the status of each interval as a line of JSON.
+   *
+   * @param completeLatch         The latch that each client thread will {@link CountDownLatch#countDown()}
+   *                              as they complete.
+   * @param clients               The clients to collect metrics from.
+   * @param label                 The label for the status.
+   * @param standardstatus        If true the status is printed to stdout in addition to stderr.
+   * @param statusIntervalSeconds The number of seconds between status updates.
+   * @param trackJVMStats         Whether or not to track JVM stats.
+   * @param rate                  The target rate of the clients, or null if there is none.
+   * @param json                  The writer of the JSON lines, closed at the end of the run, or null for none.
+   */
+  public StatusThread(CountDownLatch completeLatch, List<ClientThread> clients,
+                      String label, boolean standardstatus, int statusIntervalSeconds,
+                      boolean trackJVMStats, RateProfile rate, JsonStatusWriter json) {
+    this.json = json;
+    this.rate = rate;
     this.completeLatch = completeLatch;
     this.clients = clients;
     this.label = label;
@@ -140,6 +197,14 @@ class StatusThread extends Thread {
     }
     // Print the final stats.
     computeStats(startTimeMs, startIntervalMs, System.currentTimeMillis(), lastTotalOps);
+
+    if (json != null) {
+      try {
+        json.close();
+      } catch (IOException e) {
+        System.err.println("Could not close the JSON status, error: " + e.getMessage());
+      }
+    }
   }
 
   /**
@@ -153,8 +218,6 @@ class StatusThread extends Thread {
    */
   private long computeStats(final long startTimeMs, long startIntervalMs, long endIntervalMs,
                             long lastTotalOps) {
-    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss:SSS");
-
     long totalops = 0;
     long todoops = 0;
 
@@ -181,6 +244,15 @@ class StatusThread extends Thread {
     if (totalops != 0) {
       msg.append(d.format(curthroughput)).append(" current ops/sec; ");
     }
+    double target = Double.NaN;
+    if (rate != null) {
+      double rateTime = rate.elapsed(System.nanoTime());
+      if (rateTime > lastRateTime) {
+        target = rate.operations(lastRateTime, rateTime) / (rateTime - lastRateTime);
+        msg.append(d.format(target)).append(" target ops/sec; ");
+        lastRateTime = rateTime;
+      }
+    }
     if (todoops != 0) {
       msg.append("est completion in ").append(RemainingFormatter.format(estremaining));
     }
@@ -192,6 +264,20 @@ class StatusThread extends Thread {
     if (standardstatus) {
       System.out.println(msg);
     }
+
+    if (json != null) {
+      try {
+        json.write(endIntervalMs, interval, totalops, curthroughput, target);
+      } catch (IOException e) {
+        System.err.println("Could not write the JSON status, no more will be written, error: " + e.getMessage());
+        try {
+          json.close();
+        } catch (IOException ignored) {
+          // ignored
+        }
+        json = null;
+      }
+    }
     return totalops;
   }
 
@@ -232,7 +318,7 @@ class StatusThread extends Thread {
     if (threads > maxThreads) {
       maxThreads = threads;
     }
-    measurements.measure("THREAD_COUNT", threads);
+    measurements.measureGauge("THREAD_COUNT", threads);
 
     // TODO - once measurements allow for other number types, switch to using
     // the raw bytes. Otherwise we can track in MB to avoid negative values 
@@ -244,14 +330,14 @@ class StatusThread extends Thread {
     if (usedMem > maxUsedMem) {
       maxUsedMem = usedMem;
     }
-    measurements.measure("USED_MEM_MB", usedMem);
+    measurements.measureGauge("USED_MEM_MB", usedMem);
 
     // Some JVMs may not implement this feature so if the value is less than
     // zero, just ommit it.
     final double systemLoad = Utils.getSystemLoadAverage();
     if (systemLoad >= 0) {
       // TODO - store the double if measurements allows for them
-      measurements.measure("SYS_LOAD_AVG", (int) systemLoad);
+      measurements.measureGauge("SYS_LOAD_AVG", (long) systemLoad);
       if (systemLoad > maxLoadAvg) {
         maxLoadAvg = systemLoad;
       }
@@ -261,9 +347,9 @@ class StatusThread extends Thread {
     }
 
     final long gcs = Utils.getGCTotalCollectionCount();
-    measurements.measure("GCS", (int) (gcs - lastGCCount));
+    measurements.measureGauge("GCS", gcs - lastGCCount);
     final long gcTime = Utils.getGCTotalTime();
-    measurements.measure("GCS_TIME", (int) (gcTime - lastGCTime));
+    measurements.measureGauge("GCS_TIME", gcTime - lastGCTime);
     lastGCCount = gcs;
     lastGCTime = gcTime;
   }
@@ -367,14 +453,17 @@ class ClientThread implements Runnable {
   private boolean dotransactions;
   private Workload workload;
   private int opcount;
-  private double targetOpsPerMs;
+  private final RateProfile rate;
+  private int outstandingops;
+  private final ArrivalScheduler arrivals;
 
-  private int opsdone;
+  private final AtomicInteger opsdone;
   private int threadid;
-  private int threadcount;
+  private int threadcount = 1;
   private Object workloadstate;
   private Properties props;
-  private long targetOpsTickNs;
+  private long profileStartNs;
+  private double position;
   private final Measurements measurements;
 
   /**
@@ -385,28 +474,38 @@ class ClientThread implements Runnable {
    * @param workload             the workload to use
    * @param props                the properties defining the experiment
    * @param opcount              the number of operations (transactions or inserts) to do
-   * @param targetperthreadperms target number of operations per thread per ms
+   * @param rate                 the target rate of all clients together, or null for no target
    * @param completeLatch        The latch tracking the completion of all clients.
+   * @param arrivals             the arrival process shared by all clients of an open-loop run, or null to
+   *                             throttle each client to its share of the rate
    */
   public ClientThread(DB db, boolean dotransactions, Workload workload, Properties props, int opcount,
-                      double targetperthreadperms, CountDownLatch completeLatch) {
+                      RateProfile rate, CountDownLatch completeLatch, ArrivalScheduler arrivals) {
     this.db = db;
     this.dotransactions = dotransactions;
     this.workload = workload;
     this.opcount = opcount;
-    opsdone = 0;
-    if (targetperthreadperms > 0) {
-      targetOpsPerMs = targetperthreadperms;
-      targetOpsTickNs = (long) (1000000 / targetOpsPerMs);
-    }
+    opsdone = new AtomicInteger();
+    this.rate = rate;
     this.props = props;
     measurements = Measurements.getMeasurements();
     spinSleep = Boolean.valueOf(this.props.getProperty("spin.sleep", "false"));
+    outstandingops = Integer.parseInt(this.props.getProperty(Client.OUTSTANDING_OPS_PROPERTY,
+        Client.OUTSTANDING_OPS_PROPERTY_DEFAULT));
     this.completeLatch = completeLatch;
+    this.arrivals = arrivals;
+  }
+
+  public void setThreadId(final int threadId) {
+    threadid = threadId;
+  }
+
+  public void setThreadCount(final int threadCount) {
+    threadcount = threadCount;
   }
 
   public int getOpsDone() {
-    return opsdone;
+    return opsdone.get();
   }
 
   @Override
@@ -416,6 +515,7 @@ class ClientThread implements Runnable {
     } catch (DBException e) {
       e.printStackTrace();
       e.printStackTrace(System.out);
+      completeLatch.countDown();
       return;
     }
 
@@ -424,6 +524,7 @@ class ClientThread implements Runnable {
     } catch (WorkloadException e) {
       e.printStackTrace();
       e.printStackTrace(System.out);
+      completeLatch.countDown();
       return;
     }
 
@@ -431,38 +532,42 @@ class ClientThread implements Runnable {
     // and the client thread have the same view on time.
 
     //spread the thread operations out so they don't all hit the DB at the same time
-    // GH issue 4 - throws exception if _target>1 because random.nextInt argument must be >0
-    // and the sleep() doesn't make sense for granularities < 1 ms anyway
-    if ((targetOpsPerMs > 0) && (targetOpsPerMs <= 1.0)) {
-      long randomMinorDelay = Utils.random().nextInt((int) targetOpsTickNs);
-      sleepUntil(System.nanoTime() + randomMinorDelay);
+    if (rate != null && arrivals == null) {
+      profileStartNs = rate.startNs();
+      position = Math.max(0, rate.elapsed(System.nanoTime()));
+      position = rate.advance(position, Utils.random().nextDouble() * threadcount);
+      if (position >= 0) {
+        long deadline = profileStartNs + (long) (position * 1000000000L);
+        sleepUntil(deadline);
+        measurements.setIntendedStartTimeNs(deadline);
+      }
     }
     try {
-      if (dotransactions) {
-        long startTimeNanos = System.nanoTime();
-
-        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested()) {
+      if (outstandingops > 1) {
+        runAsync();
+      } else if (arrivals != null) {
+        runOpenLoop();
+      } else if (dotransactions) {
+        while (((opcount == 0) || (opsdone.get() < opcount)) && !workload.isStopRequested() && position >= 0) {
 
           if (!workload.doTransaction(db, workloadstate)) {
             break;
           }
 
-          opsdone++;
+          opsdone.incrementAndGet();
 
-          throttleNanos(startTimeNanos);
+          throttleNanos();
         }
       } else {
-        long startTimeNanos = System.nanoTime();
-
-        while (((opcount == 0) || (opsdone < opcount)) && !workload.isStopRequested()) {
+        while (((opcount == 0) || (opsdone.get() < opcount)) && !workload.isStopRequested() && position >= 0) {
 
           if (!workload.doInsert(db, workloadstate)) {
             break;
           }
 
-          opsdone++;
+          opsdone.incrementAndGet();
 
-          throttleNanos(startTimeNanos);
+          throttleNanos();
         }
       }
     } catch (Exception e) {
@@ -490,11 +595,107 @@ class ClientThread implements Runnable {
     }
   }
 
-  private void throttleNanos(long startTimeNanos) {
+  /**
+   * Runs operations as they arrive from the shared arrival process until it is exhausted. Each operation's
+   * intended start time is its arrival, and the time it waited for this thread is recorded as queue time.
+   */
+  private void runOpenLoop() {
+    long arrival;
+    while (!workload.isStopRequested() && (arrival = arrivals.nextArrivalNs()) >= 0) {
+      startArrival(arrival);
+
+      boolean more = dotransactions ? workload.doTransaction(db, workloadstate) :
+          workload.doInsert(db, workloadstate);
+      if (!more) {
+        break;
+      }
+
+      opsdone.incrementAndGet();
+    }
+  }
+
+  /**
+   * Waits for an arrival if it lies in the future, then records how late the operation starts.
+   */
+  private void startArrival(long arrival) {
+    sleepUntil(arrival);
+    measurements.setIntendedStartTimeNs(arrival);
+    measurements.measureQueue(dotransactions ? "TRANSACTION" : "INSERT", System.nanoTime() - arrival);
+  }
+
+  /**
+   * Keeps up to {@link #outstandingops} operations in flight at once. Operations are issued through the
+   * asynchronous workload methods and throttled on issue, so the target rate and the intended start time
+   * of each operation are the same as in the blocking loop. In an open-loop run operations are issued at
+   * their arrival instead, and the wait for a free slot counts as queue time. Returns once every issued
+   * operation completed.
+   */
+  private void runAsync() throws InterruptedException {
+    final Semaphore inflight = new Semaphore(outstandingops);
+    final AtomicBoolean finished = new AtomicBoolean(false);
+    final BiConsumer<Boolean, Throwable> onComplete = new BiConsumer<Boolean, Throwable>() {
+      @Override
+      public void accept(Boolean more, Throwable error) {
+        if (error != null) {
+          error.printStackTrace();
+          error.printStackTrace(System.out);
+          finished.set(true);
+        } else if (more != null && more) {
+          opsdone.incrementAndGet();
+        } else {
+          finished.set(true);
+        }
+        inflight.release();
+      }
+    };
+
+    int opsissued = 0;
+
+    while (((opcount == 0) || (opsissued < opcount) || arrivals != null) && !workload.isStopRequested()
+        && !finished.get() && position >= 0) {
+      if (arrivals != null) {
+        long arrival = arrivals.nextArrivalNs();
+        if (arrival < 0) {
+          break;
+        }
+        sleepUntil(arrival);
+        inflight.acquire();
+        startArrival(arrival);
+      } else {
+        inflight.acquire();
+      }
+
+      if (dotransactions) {
+        workload.doTransactionAsync(db, workloadstate).whenComplete(onComplete);
+      } else {
+        workload.doInsertAsync(db, workloadstate).whenComplete(onComplete);
+      }
+
+      opsissued++;
+
+      if (arrivals == null) {
+        throttleNanos();
+      }
+    }
+
+    // wait for the operations still in flight
+    inflight.acquire(outstandingops);
+  }
+
+  /**
+   * Delays until the next operation of this thread is due. Each of the threads issues every threadcount-th
+   * operation of the rate profile, so the tick between operations follows the profile over time. Once the
+   * profile ends {@link #position} turns negative and the thread stops.
+   */
+  private void throttleNanos() {
     //throttle the operations
-    if (targetOpsPerMs > 0) {
+    if (rate != null) {
+      position = rate.advance(position, threadcount);
+      if (position < 0) {
+        return;
+      }
       // delay until next tick
-      long deadline = startTimeNanos + opsdone * targetOpsTickNs;
+      long deadline = profileStartNs + (long) (position * 1000000000L);
       sleepUntil(deadline);
       measurements.setIntendedStartTimeNs(deadline);
     }
@@ -504,7 +705,7 @@ class ClientThread implements Runnable {
    * The total amount of work this thread is still expected to do.
    */
   int getOpsTodo() {
-    int todo = opcount - opsdone;
+    int todo = opcount - opsdone.get();
     return todo < 0 ? 0 : todo;
   }
 }
@@ -568,6 +769,29 @@ public final class Client {
    */
   public static final String TARGET_PROPERTY = "target";
 
+  /**
+   * The number of operations each client thread keeps in flight at once. Values above 1 issue operations
+   * through the asynchronous DB and workload methods.
+   */
+  public static final String OUTSTANDING_OPS_PROPERTY = "outstandingops";
+  public static final String OUTSTANDING_OPS_PROPERTY_DEFAULT = "1";
+
+  /**
+   * How the client threads are run: "thread" gives each client its own platform thread, "virtual" runs them
+   * on virtual threads (falling back to one platform thread per client when the runtime does not support
+   * them) and "forkjoin" runs them on a fork-join pool of {@link #CLIENT_EXECUTOR_PARALLELISM_PROPERTY}
+   * workers.
+   */
+  public static final String CLIENT_EXECUTOR_PROPERTY = "clientexecutor";
+  public static final String CLIENT_EXECUTOR_PROPERTY_DEFAULT = "thread";
+
+  /**
+   * The number of workers of the "forkjoin" client executor. Defaults to the number of available processors.
+   * A client occupies its worker until it is done, so the client refuses to start when this is smaller than
+   * the thread count; use {@link #OUTSTANDING_OPS_PROPERTY} to get more operations in flight per worker.
+   */
+  public static final String CLIENT_EXECUTOR_PARALLELISM_PROPERTY = "clientexecutor.parallelism";
+
   /**
    * The maximum amount of time (in seconds) for which the benchmark will be run.
    */
@@ -593,6 +817,11 @@ public final class Client {
    */
   private static StatusThread statusthread = null;
 
+  /**
+   * An optional thread searching for the highest throughput meeting a latency SLO.
+   */
+  private static ThroughputSearch search = null;
+
   // HTrace integration related constants.
 
   /**
@@ -648,9 +877,11 @@ public final class Client {
    * Exports the measurements to either sysout or a file using the exporter
    * loaded from conf.
    *
+   * @param cpuTimeNs The CPU time used by the process during the run, negative if unknown. Reported per
+   *                  operation so the client-side overhead of the executor modes can be compared.
    * @throws IOException Either failed to write to output stream or failed to close it.
    */
-  private static void exportMeasurements(Properties props, int opcount, long runtime)
+  private static void exportMeasurements(Properties props, int opcount, long runtime, long cpuTimeNs)
       throws IOException {
     MeasurementsExporter exporter = null;
     try {
@@ -676,28 +907,39 @@ public final class Client {
         exporter = new TextMeasurementsExporter(out);
       }
 
-      exporter.write("OVERALL", "RunTime(ms)", runtime);
+      // the longs are written as doubles, as they always were, so the output parses as before
+      exporter.write("OVERALL", "RunTime(ms)", (double) runtime);
       double throughput = 1000.0 * (opcount) / (runtime);
       exporter.write("OVERALL", "Throughput(ops/sec)", throughput);
+      if (cpuTimeNs >= 0) {
+        exporter.write("OVERALL", "ClientCpuTime(ms)", (double) (cpuTimeNs / 1000000));
+        if (opcount > 0) {
+          exporter.write("OVERALL", "ClientCpuPerOp(us)", cpuTimeNs / 1000.0 / opcount);
+        }
+      }
 
       final Map<String, Long[]> gcs = Utils.getGCStatst();
       long totalGCCount = 0;
       long totalGCTime = 0;
       for (final Entry<String, Long[]> entry : gcs.entrySet()) {
-        exporter.write("TOTAL_GCS_" + entry.getKey(), "Count", entry.getValue()[0]);
-        exporter.write("TOTAL_GC_TIME_" + entry.getKey(), "Time(ms)", entry.getValue()[1]);
+        exporter.write("TOTAL_GCS_" + entry.getKey(), "Count", (double) entry.getValue()[0]);
+        exporter.write("TOTAL_GC_TIME_" + entry.getKey(), "Time(ms)", (double) entry.getValue()[1]);
         exporter.write("TOTAL_GC_TIME_%_" + entry.getKey(), "Time(%)",
             ((double) entry.getValue()[1] / runtime) * (double) 100);
         totalGCCount += entry.getValue()[0];
         totalGCTime += entry.getValue()[1];
       }
-      exporter.write("TOTAL_GCs", "Count", totalGCCount);
+      exporter.write("TOTAL_GCs", "Count", (double) totalGCCount);
 
-      exporter.write("TOTAL_GC_TIME", "Time(ms)", totalGCTime);
+      exporter.write("TOTAL_GC_TIME", "Time(ms)", (double) totalGCTime);
       exporter.write("TOTAL_GC_TIME_%", "Time(%)", ((double) totalGCTime / runtime) * (double) 100);
+      if (search != null) {
+        exporter.write("SEARCH", "MaxSustainableThroughput(ops/sec)", search.getBest());
+        exporter.write("SEARCH", "Steps", search.getSteps());
+      }
       if (statusthread != null && statusthread.trackJVMStats()) {
-        exporter.write("MAX_MEM_USED", "MBs", statusthread.getMaxUsedMem());
-        exporter.write("MIN_MEM_USED", "MBs", statusthread.getMinUsedMem());
+        exporter.write("MAX_MEM_USED", "MBs", (double) statusthread.getMaxUsedMem());
+        exporter.write("MIN_MEM_USED", "MBs", (double) statusthread.getMinUsedMem());
         exporter.write("MAX_THREADS", "Count", statusthread.getMaxThreads());
         exporter.write("MIN_THREADS", "Count", statusthread.getMinThreads());
         exporter.write("MAX_SYS_LOAD_AVG", "Load", statusthread.getMaxLoadAvg());
@@ -716,27 +958,63 @@ public final class Client {
   public static void main(String[] args) {
     Properties props = parseArguments(args);
 
-    boolean status = Boolean.valueOf(props.getProperty(STATUS_PROPERTY, String.valueOf(false)));
+    // the JSON status lines are written by the status thread
+    boolean status = Boolean.valueOf(props.getProperty(STATUS_PROPERTY, String.valueOf(false)))
+        || JsonStatusWriter.isEnabled(props);
     String label = props.getProperty(LABEL_PROPERTY, "");
 
     long maxExecutionTime = Integer.parseInt(props.getProperty(MAX_EXECUTION_TIME, "0"));
 
+    String executorMode = props.getProperty(CLIENT_EXECUTOR_PROPERTY, CLIENT_EXECUTOR_PROPERTY_DEFAULT);
+    if (!executorMode.equals("thread") && !executorMode.equals("virtual") && !executorMode.equals("forkjoin")) {
+      System.out.println("Unknown client executor " + executorMode
+          + ", expected one of thread, virtual or forkjoin.");
+      System.exit(0);
+    }
+
     //get number of threads, target and db
     int threadcount = Integer.parseInt(props.getProperty(THREAD_COUNT_PROPERTY, "1"));
     String dbname = props.getProperty(DB_PROPERTY, "com.yahoo.ycsb.BasicDB");
-    int target = Integer.parseInt(props.getProperty(TARGET_PROPERTY, "0"));
+
+    ExecutorService executor = null;
+    if (!executorMode.equals("thread")) {
+      try {
+        executor = newClientExecutor(executorMode, props, threadcount);
+      } catch (IllegalArgumentException e) {
+        System.out.println(e.getMessage());
+        System.exit(0);
+      }
+    }
 
     //compute the target throughput
-    double targetperthreadperms = -1;
-    if (target > 0) {
-      double targetperthread = ((double) target) / ((double) threadcount);
-      targetperthreadperms = targetperthread / 1000.0;
+    RateProfile rate;
+    if (ThroughputSearch.isEnabled(props)) {
+      rate = new ConstantRate(ThroughputSearch.getStartRate(props));
+      if (!props.getProperty(OPERATION_COUNT_PROPERTY, "0").equals("0")) {
+        System.err.println("The throughput search runs until it is done, ignoring " + OPERATION_COUNT_PROPERTY);
+        props.setProperty(OPERATION_COUNT_PROPERTY, "0");
+      }
+    } else {
+      rate = RateProfile.fromProperties(props);
     }
 
     Thread warningthread = setupWarningThread();
     warningthread.start();
 
+    // an open-loop run reports the response time from each arrival next to the service time
+    if (!props.getProperty(ArrivalScheduler.ARRIVAL_PROCESS_PROPERTY,
+        ArrivalScheduler.ARRIVAL_PROCESS_PROPERTY_DEFAULT).equals("none")
+        && props.getProperty(Measurements.MEASUREMENT_INTERVAL) == null) {
+      props.setProperty(Measurements.MEASUREMENT_INTERVAL, "both");
+    }
+
     Measurements.setProperties(props);
+    try {
+      Measurements.getMeasurements();
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+      System.exit(0);
+    }
 
     Workload workload = getWorkload(props);
 
@@ -747,7 +1025,7 @@ public final class Client {
     System.err.println("Starting test.");
     final CountDownLatch completeLatch = new CountDownLatch(threadcount);
 
-    final List<ClientThread> clients = initDb(dbname, props, threadcount, targetperthreadperms,
+    final List<ClientThread> clients = initDb(dbname, props, threadcount, rate,
         workload, tracer, completeLatch);
 
     if (status) {
@@ -758,46 +1036,108 @@ public final class Client {
       int statusIntervalSeconds = Integer.parseInt(props.getProperty("status.interval", "10"));
       boolean trackJVMStats = props.getProperty(Measurements.MEASUREMENT_TRACK_JVM_PROPERTY,
           Measurements.MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT).equals("true");
+      JsonStatusWriter json = null;
+      if (JsonStatusWriter.isEnabled(props)) {
+        try {
+          json = JsonStatusWriter.fromProperties(props);
+        } catch (IOException e) {
+          System.err.println("Could not open the JSON status, error: " + e.getMessage());
+          e.printStackTrace();
+          System.exit(-1);
+        }
+      }
       statusthread = new StatusThread(completeLatch, clients, label, standardstatus, statusIntervalSeconds,
-          trackJVMStats);
+          trackJVMStats, rate, json);
       statusthread.start();
     }
 
+    MetricsServer metrics = null;
+    if (MetricsServer.isEnabled(props)) {
+      try {
+        metrics = new MetricsServer(props, clients, rate);
+      } catch (IOException e) {
+        System.err.println("Could not start the metrics server, error: " + e.getMessage());
+        e.printStackTrace();
+        System.exit(-1);
+      }
+      metrics.start();
+    }
+
     Thread terminator = null;
+    WarmupThread warmup = null;
     long st;
     long en;
+    long cpuSt;
+    long cpuEn;
     int opsDone;
 
     try (final TraceScope span = tracer.newScope(CLIENT_WORKLOAD_SPAN)) {
 
-      final Map<Thread, ClientThread> threads = new HashMap<>(threadcount);
-      for (ClientThread client : clients) {
-        threads.put(new Thread(tracer.wrap(client, "ClientThread")), client);
-      }
-
-      st = System.currentTimeMillis();
+      Measurements.getMeasurements().startHistogramLog();
 
-      for (Thread t : threads.keySet()) {
-        t.start();
+      if (ThroughputSearch.isEnabled(props)) {
+        search = new ThroughputSearch(props, (ConstantRate) rate, clients, workload);
+        search.start();
       }
 
-      if (maxExecutionTime > 0) {
-        terminator = new TerminatorThread(maxExecutionTime, threads.keySet(), workload);
-        terminator.start();
+      if (WarmupThread.isEnabled(props)) {
+        warmup = new WarmupThread(props, clients);
+        warmup.start();
       }
 
-      opsDone = 0;
+      if (executorMode.equals("thread")) {
+        final Map<Thread, ClientThread> threads = new HashMap<>(threadcount);
+        for (ClientThread client : clients) {
+          threads.put(new Thread(tracer.wrap(client, "ClientThread")), client);
+        }
+
+        st = System.currentTimeMillis();
+        cpuSt = Utils.getProcessCpuTimeNs();
+
+        for (Thread t : threads.keySet()) {
+          t.start();
+        }
+
+        if (maxExecutionTime > 0) {
+          terminator = new TerminatorThread(maxExecutionTime, threads.keySet(), workload);
+          terminator.start();
+        }
+
+        for (Thread t : threads.keySet()) {
+          try {
+            t.join();
+          } catch (InterruptedException ignored) {
+            // ignored
+          }
+        }
+      } else {
+        st = System.currentTimeMillis();
+        cpuSt = Utils.getProcessCpuTimeNs();
+
+        for (ClientThread client : clients) {
+          executor.execute(tracer.wrap(client, "ClientThread"));
+        }
+
+        if (maxExecutionTime > 0) {
+          terminator = new TerminatorThread(maxExecutionTime, completeLatch, workload);
+          terminator.start();
+        }
 
-      for (Map.Entry<Thread, ClientThread> entry : threads.entrySet()) {
         try {
-          entry.getKey().join();
-          opsDone += entry.getValue().getOpsDone();
+          completeLatch.await();
         } catch (InterruptedException ignored) {
           // ignored
         }
+        executor.shutdown();
       }
 
       en = System.currentTimeMillis();
+      cpuEn = Utils.getProcessCpuTimeNs();
+
+      opsDone = 0;
+      for (ClientThread client : clients) {
+        opsDone += client.getOpsDone();
+      }
     }
 
     try {
@@ -807,6 +1147,31 @@ public final class Client {
           terminator.interrupt();
         }
 
+        if (search != null) {
+          // the clients may have stopped first, e.g. at the maximum execution time
+          search.interrupt();
+          try {
+            search.join();
+          } catch (InterruptedException ignored) {
+            // ignored
+          }
+        }
+
+        if (warmup != null) {
+          warmup.interrupt();
+          try {
+            warmup.join();
+          } catch (InterruptedException ignored) {
+            // ignored
+          }
+          // report the run after the warm-up only
+          if (warmup.isDone()) {
+            st = warmup.getEndTimeMs();
+            cpuSt = warmup.getCpuTimeAtEndNs();
+            opsDone -= warmup.getOpsAtEnd();
+          }
+        }
+
         if (status) {
           // wake up status thread if it's asleep
           statusthread.interrupt();
@@ -818,6 +1183,10 @@ public final class Client {
           }
         }
 
+        if (metrics != null) {
+          metrics.finish();
+        }
+
         workload.cleanup();
       }
     } catch (WorkloadException e) {
@@ -828,7 +1197,7 @@ public final class Client {
 
     try {
       try (final TraceScope span = tracer.newScope(CLIENT_EXPORT_MEASUREMENTS_SPAN)) {
-        exportMeasurements(props, opsDone, en - st);
+        exportMeasurements(props, opsDone, en - st, cpuSt < 0 ? -1 : cpuEn - cpuSt);
       }
     } catch (IOException e) {
       System.err.println("Could not export measurements, error: " + e.getMessage());
@@ -839,8 +1208,35 @@ public final class Client {
     System.exit(0);
   }
 
+  /**
+   * Creates the executor that runs the clients in the "virtual" and "forkjoin" modes. Virtual threads are
+   * looked up reflectively so the client still runs on runtimes without them. Either way every client gets
+   * to run at once: the virtual mode falls back to one platform thread per client when the runtime has no
+   * virtual threads, and a fork-join pool with fewer workers than clients is rejected.
+   *
+   * @throws IllegalArgumentException if the fork-join pool would be smaller than the thread count.
+   */
+  static ExecutorService newClientExecutor(String mode, Properties props, int threadcount) {
+    if (mode.equals("virtual")) {
+      try {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        System.err.println("Virtual threads are not supported by this runtime, using one thread per client.");
+        return Executors.newFixedThreadPool(threadcount);
+      }
+    }
+    int parallelism = Integer.parseInt(props.getProperty(CLIENT_EXECUTOR_PARALLELISM_PROPERTY,
+        String.valueOf(Runtime.getRuntime().availableProcessors())));
+    if (parallelism < threadcount) {
+      throw new IllegalArgumentException("Cannot run " + threadcount + " clients on " + parallelism
+          + " fork-join workers, set " + CLIENT_EXECUTOR_PARALLELISM_PROPERTY + " to at least " + threadcount
+          + " or use fewer threads with more " + OUTSTANDING_OPS_PROPERTY + ".");
+    }
+    return new ForkJoinPool(parallelism);
+  }
+
   private static List<ClientThread> initDb(String dbname, Properties props, int threadcount,
-                                           double targetperthreadperms, Workload workload, Tracer tracer,
+                                           RateProfile rate, Workload workload, Tracer tracer,
                                            CountDownLatch completeLatch) {
     boolean initFailed = false;
     boolean dotransactions = Boolean.valueOf(props.getProperty(DO_TRANSACTIONS_PROPERTY, String.valueOf(true)));
@@ -858,6 +1254,8 @@ public final class Client {
         }
       }
 
+      ArrivalScheduler arrivals = ArrivalScheduler.fromProperties(props, rate, opcount);
+
       for (int threadid = 0; threadid < threadcount; threadid++) {
         DB db;
         try {
@@ -875,8 +1273,10 @@ public final class Client {
           ++threadopcount;
         }
 
-        ClientThread t = new ClientThread(db, dotransactions, workload, props, threadopcount, targetperthreadperms,
-            completeLatch);
+        ClientThread t = new ClientThread(db, dotransactions, workload, props, threadopcount, rate,
+            completeLatch, arrivals);
+        t.setThreadId(threadid);
+        t.setThreadCount(threadcount);
 
         clients.add(t);
       }
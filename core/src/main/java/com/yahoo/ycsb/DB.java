@@ -21,6 +21,8 @@ import java.util.HashMap;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * A layer for accessing a database to be benchmarked. Each thread in the client
@@ -40,6 +42,12 @@ import java.util.Vector;
  * to match the database's default semantics, or the semantics of your 
  * target application.  For the sake of comparison between experiments we also 
  * recommend you explain the semantics you chose when presenting performance results.
+ *
+ * Each operation also has an asynchronous counterpart (e.g. {@link #readAsync}) which returns a
+ * {@link CompletionStage} completing with the status of the operation. The default implementations
+ * simply run the blocking method and return an already completed stage, so bindings only need to
+ * override them when the underlying client is non-blocking. Bindings that do override them must not
+ * block the calling thread, and must fill the result containers before completing the stage.
  */
 public abstract class DB {
   /**
@@ -97,6 +105,22 @@ public abstract class DB {
     return Status.NOT_IMPLEMENTED;
   }
 
+  /**
+   * Atomically add an amount to a long field of one record and subtract it from the same field of another,
+   * in a single operation. Databases without such an operation return {@link Status#NOT_IMPLEMENTED}, and
+   * callers then read and update both records.
+   *
+   * @param table The name of the table
+   * @param key1 The record key of the record the amount is added to.
+   * @param key2 The record key of the record the amount is subtracted from.
+   * @param field The name of the long field.
+   * @param amount The amount to transfer.
+   * @return The result of the operation.
+   */
+  public Status transfer(String table, String key1, String key2, String field, long amount) {
+    return Status.NOT_IMPLEMENTED;
+  }
+
   /**
    * Read a record from the database. Each field/value pair from the result will be stored in a HashMap.
    *
@@ -152,4 +176,69 @@ public abstract class DB {
    * @return The result of the operation.
    */
   public abstract Status delete(String table, String key);
+
+  /**
+   * Asynchronously read a record from the database. Each field/value pair from the result will be stored in a
+   * HashMap before the returned stage completes.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A HashMap of field/value pairs for the result
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> readAsync(String table, String key, Set<String> fields,
+                                           HashMap<String, ByteIterator> result) {
+    return CompletableFuture.completedFuture(read(table, key, fields, result));
+  }
+
+  /**
+   * Asynchronously perform a range scan for a set of records in the database.
+   *
+   * @param table The name of the table
+   * @param startkey The record key of the first record to read.
+   * @param recordcount The number of records to read
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A Vector of HashMaps, where each HashMap is a set field/value pairs for one record
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> scanAsync(String table, String startkey, int recordcount, Set<String> fields,
+                                           Vector<HashMap<String, ByteIterator>> result) {
+    return CompletableFuture.completedFuture(scan(table, startkey, recordcount, fields, result));
+  }
+
+  /**
+   * Asynchronously update a record in the database.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param values A HashMap of field/value pairs to update in the record
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> updateAsync(String table, String key, HashMap<String, ByteIterator> values) {
+    return CompletableFuture.completedFuture(update(table, key, values));
+  }
+
+  /**
+   * Asynchronously insert a record in the database.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to insert.
+   * @param values A HashMap of field/value pairs to insert in the record
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> insertAsync(String table, String key, HashMap<String, ByteIterator> values) {
+    return CompletableFuture.completedFuture(insert(table, key, values));
+  }
+
+  /**
+   * Asynchronously delete a record from the database.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to delete.
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> deleteAsync(String table, String key) {
+    return CompletableFuture.completedFuture(delete(table, key));
+  }
 }
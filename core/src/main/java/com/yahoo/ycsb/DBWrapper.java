@@ -22,6 +22,9 @@ import org.apache.htrace.core.TraceScope;
 import org.apache.htrace.core.Tracer;
 
 import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 /**
  * Wrapper around a "real" DB that measures latencies and counts return codes.
@@ -44,6 +47,7 @@ public class DBWrapper extends DB {
   private final String scopeStringStartTransaction;
   private final String scopeStringCommit;
   private final String scopeStringAbort;
+  private final String scopeStringTransfer;
   private final String scopeStringDelete;
   private final String scopeStringInit;
   private final String scopeStringInsert;
@@ -51,6 +55,16 @@ public class DBWrapper extends DB {
   private final String scopeStringScan;
   private final String scopeStringUpdate;
 
+  private final OperationMeasurement cleanupMeasurement;
+  private final OperationMeasurement commitMeasurement;
+  private final OperationMeasurement abortMeasurement;
+  private final OperationMeasurement transferMeasurement;
+  private final OperationMeasurement deleteMeasurement;
+  private final OperationMeasurement insertMeasurement;
+  private final OperationMeasurement readMeasurement;
+  private final OperationMeasurement scanMeasurement;
+  private final OperationMeasurement updateMeasurement;
+
   public DBWrapper(final DB db, final Tracer tracer) {
     this.db = db;
     measurements = Measurements.getMeasurements();
@@ -60,12 +74,22 @@ public class DBWrapper extends DB {
     scopeStringStartTransaction = simple + "#startTransaction";
     scopeStringCommit = simple + "#commit";
     scopeStringAbort = simple + "#abort";
+    scopeStringTransfer = simple + "#transfer";
     scopeStringDelete = simple + "#delete";
     scopeStringInit = simple + "#init";
     scopeStringInsert = simple + "#insert";
     scopeStringRead = simple + "#read";
     scopeStringScan = simple + "#scan";
     scopeStringUpdate = simple + "#update";
+    cleanupMeasurement = new OperationMeasurement("CLEANUP");
+    commitMeasurement = new OperationMeasurement("COMMIT");
+    abortMeasurement = new OperationMeasurement("ABORT");
+    transferMeasurement = new OperationMeasurement("TRANSFER");
+    deleteMeasurement = new OperationMeasurement("DELETE");
+    insertMeasurement = new OperationMeasurement("INSERT");
+    readMeasurement = new OperationMeasurement("READ");
+    scanMeasurement = new OperationMeasurement("SCAN");
+    updateMeasurement = new OperationMeasurement("UPDATE");
   }
 
   /**
@@ -118,7 +142,7 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       db.cleanup();
       long en = System.nanoTime();
-      measure("CLEANUP", Status.OK, ist, st, en);
+      cleanupMeasurement.measure(Status.OK, ist, st, en);
     }
   }
 
@@ -140,7 +164,7 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       Status status = db.commit(key);
       long en = System.nanoTime();
-      measure("COMMIT", Status.OK, ist, st, en);
+      commitMeasurement.measure(Status.OK, ist, st, en);
       return status;
     }
   }
@@ -154,11 +178,35 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       Status status = db.abort(key);
       long en = System.nanoTime();
-      measure("ABORT", Status.OK, ist, st, en);
+      abortMeasurement.measure(Status.OK, ist, st, en);
       return status;
     }
   }
 
+  /**
+   * Transfer an amount between the long fields of two records. A database that does not implement
+   * transfers is not measured.
+   *
+   * @param table The name of the table
+   * @param key1 The record key of the record the amount is added to.
+   * @param key2 The record key of the record the amount is subtracted from.
+   * @param field The name of the long field.
+   * @param amount The amount to transfer.
+   * @return The result of the operation.
+   */
+  public Status transfer(String table, String key1, String key2, String field, long amount) {
+    try (final TraceScope span = tracer.newScope(scopeStringTransfer)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      Status res = db.transfer(table, key1, key2, field, amount);
+      long en = System.nanoTime();
+      if (res != Status.NOT_IMPLEMENTED) {
+        transferMeasurement.record(res, ist, st, en);
+      }
+      return res;
+    }
+  }
+
   /**
    * Read a record from the database. Each field/value pair from the result
    * will be stored in a HashMap.
@@ -176,8 +224,7 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       Status res = db.read(table, key, fields, result);
       long en = System.nanoTime();
-      measure("READ", res, ist, st, en);
-      measurements.reportStatus("READ", res);
+      readMeasurement.record(res, ist, st, en);
       return res;
     }
   }
@@ -200,29 +247,11 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       Status res = db.scan(table, startkey, recordcount, fields, result);
       long en = System.nanoTime();
-      measure("SCAN", res, ist, st, en);
-      measurements.reportStatus("SCAN", res);
+      scanMeasurement.record(res, ist, st, en);
       return res;
     }
   }
 
-  private void measure(String op, Status result, long intendedStartTimeNanos,
-                       long startTimeNanos, long endTimeNanos) {
-    String measurementName = op;
-    if (result == null || !result.isOk()) {
-      if (this.reportLatencyForEachError ||
-          this.latencyTrackedErrors.contains(result.getName())) {
-        measurementName = op + "-" + result.getName();
-      } else {
-        measurementName = op + "-FAILED";
-      }
-    }
-    measurements.measure(measurementName,
-        (int) ((endTimeNanos - startTimeNanos) / 1000));
-    measurements.measureIntended(measurementName,
-        (int) ((endTimeNanos - intendedStartTimeNanos) / 1000));
-  }
-
   /**
    * Update a record in the database. Any field/value pairs in the specified values HashMap will be written into the
    * record with the specified record key, overwriting any existing values with the same field name.
@@ -239,8 +268,7 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       Status res = db.update(table, key, values);
       long en = System.nanoTime();
-      measure("UPDATE", res, ist, st, en);
-      measurements.reportStatus("UPDATE", res);
+      updateMeasurement.record(res, ist, st, en);
       return res;
     }
   }
@@ -262,8 +290,7 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       Status res = db.insert(table, key, values);
       long en = System.nanoTime();
-      measure("INSERT", res, ist, st, en);
-      measurements.reportStatus("INSERT", res);
+      insertMeasurement.record(res, ist, st, en);
       return res;
     }
   }
@@ -281,9 +308,190 @@ public class DBWrapper extends DB {
       long st = System.nanoTime();
       Status res = db.delete(table, key);
       long en = System.nanoTime();
-      measure("DELETE", res, ist, st, en);
-      measurements.reportStatus("DELETE", res);
+      deleteMeasurement.record(res, ist, st, en);
+      return res;
+    }
+  }
+
+  /**
+   * Asynchronously read a record from the database, measuring the latency once the returned stage
+   * completes.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A HashMap of field/value pairs for the result
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> readAsync(String table, String key, Set<String> fields,
+                                           HashMap<String, ByteIterator> result) {
+    try (final TraceScope span = tracer.newScope(scopeStringRead)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      return db.readAsync(table, key, fields, result).handle(new AsyncMeasurement(readMeasurement, ist, st));
+    }
+  }
+
+  /**
+   * Asynchronously perform a range scan for a set of records in the database, measuring the latency
+   * once the returned stage completes.
+   *
+   * @param table The name of the table
+   * @param startkey The record key of the first record to read.
+   * @param recordcount The number of records to read
+   * @param fields The list of fields to read, or null for all of them
+   * @param result A Vector of HashMaps, where each HashMap is a set field/value pairs for one record
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> scanAsync(String table, String startkey, int recordcount,
+                                           Set<String> fields, Vector<HashMap<String, ByteIterator>> result) {
+    try (final TraceScope span = tracer.newScope(scopeStringScan)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      return db.scanAsync(table, startkey, recordcount, fields, result)
+          .handle(new AsyncMeasurement(scanMeasurement, ist, st));
+    }
+  }
+
+  /**
+   * Asynchronously update a record in the database, measuring the latency once the returned stage
+   * completes.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to write.
+   * @param values A HashMap of field/value pairs to update in the record
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> updateAsync(String table, String key,
+                                             HashMap<String, ByteIterator> values) {
+    try (final TraceScope span = tracer.newScope(scopeStringUpdate)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      return db.updateAsync(table, key, values).handle(new AsyncMeasurement(updateMeasurement, ist, st));
+    }
+  }
+
+  /**
+   * Asynchronously insert a record in the database, measuring the latency once the returned stage
+   * completes.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to insert.
+   * @param values A HashMap of field/value pairs to insert in the record
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> insertAsync(String table, String key,
+                                             HashMap<String, ByteIterator> values) {
+    try (final TraceScope span = tracer.newScope(scopeStringInsert)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      return db.insertAsync(table, key, values).handle(new AsyncMeasurement(insertMeasurement, ist, st));
+    }
+  }
+
+  /**
+   * Asynchronously delete a record from the database, measuring the latency once the returned stage
+   * completes.
+   *
+   * @param table The name of the table
+   * @param key The record key of the record to delete.
+   * @return A stage completing with the result of the operation.
+   */
+  public CompletionStage<Status> deleteAsync(String table, String key) {
+    try (final TraceScope span = tracer.newScope(scopeStringDelete)) {
+      long ist = measurements.getIntendedtartTimeNs();
+      long st = System.nanoTime();
+      return db.deleteAsync(table, key).handle(new AsyncMeasurement(deleteMeasurement, ist, st));
+    }
+  }
+
+  /**
+   * Measures an asynchronous operation when its stage completes. The start times are captured on the
+   * issuing thread, since the completion may run on a thread owned by the binding. A stage that
+   * completes exceptionally, or without a status, is reported as {@link Status#ERROR}.
+   */
+  private final class AsyncMeasurement implements BiFunction<Status, Throwable, Status> {
+    private final OperationMeasurement op;
+    private final long intendedStartTimeNanos;
+    private final long startTimeNanos;
+
+    private AsyncMeasurement(OperationMeasurement op, long intendedStartTimeNanos, long startTimeNanos) {
+      this.op = op;
+      this.intendedStartTimeNanos = intendedStartTimeNanos;
+      this.startTimeNanos = startTimeNanos;
+    }
+
+    @Override
+    public Status apply(Status res, Throwable error) {
+      long en = System.nanoTime();
+      if (error != null || res == null) {
+        res = Status.ERROR;
+      }
+      op.record(res, intendedStartTimeNanos, startTimeNanos, en);
       return res;
     }
   }
+
+  /**
+   * The measurements of one operation. Its latencies are measured under its name when it succeeds and under
+   * the name of the failure otherwise, while all its return codes are counted under its name. The handles are
+   * resolved once, those of the failures when they first happen.
+   */
+  private final class OperationMeasurement {
+    private final String op;
+    private final Measurements.Handle handle;
+    private final Measurements.Handle[] failureHandles = new Measurements.Handle[Status.DEFINED_STATUSES];
+    private final ConcurrentHashMap<String, Measurements.Handle> otherFailureHandles = new ConcurrentHashMap<>();
+    private Measurements.Handle failedHandle;
+
+    private OperationMeasurement(String op) {
+      this.op = op;
+      this.handle = measurements.handle(op);
+    }
+
+    /**
+     * Measure the latencies of a call without counting its return code.
+     */
+    void measure(Status result, long intendedStartTimeNanos, long startTimeNanos, long endTimeNanos) {
+      latencyHandle(result).measure(endTimeNanos - startTimeNanos, endTimeNanos - intendedStartTimeNanos);
+    }
+
+    /**
+     * Measure the latencies of a call and count its return code.
+     */
+    void record(Status result, long intendedStartTimeNanos, long startTimeNanos, long endTimeNanos) {
+      if (result != null && result.isOk()) {
+        handle.record(endTimeNanos - startTimeNanos, endTimeNanos - intendedStartTimeNanos, result);
+      } else {
+        measure(result, intendedStartTimeNanos, startTimeNanos, endTimeNanos);
+        handle.reportStatus(result);
+      }
+    }
+
+    private Measurements.Handle latencyHandle(Status result) {
+      if (result != null && result.isOk()) {
+        return handle;
+      }
+      int ordinal = result == null ? -1 : result.ordinal();
+      Measurements.Handle h = ordinal >= 0 ? failureHandles[ordinal] : null;
+      if (h == null) {
+        if (result != null && (reportLatencyForEachError || latencyTrackedErrors.contains(result.getName()))) {
+          h = otherFailureHandles.get(result.getName());
+          if (h == null) {
+            h = measurements.handle(op + "-" + result.getName());
+            otherFailureHandles.put(result.getName(), h);
+          }
+        } else {
+          if (failedHandle == null) {
+            failedHandle = measurements.handle(op + "-FAILED");
+          }
+          h = failedHandle;
+        }
+        if (ordinal >= 0) {
+          failureHandles[ordinal] = h;
+        }
+      }
+      return h;
+    }
+  }
 }
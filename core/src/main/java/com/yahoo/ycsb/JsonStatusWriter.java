@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import com.yahoo.ycsb.measurements.IntervalHistograms;
+import com.yahoo.ycsb.measurements.Measurements;
+import org.HdrHistogram.Histogram;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Writes the status of every status interval as a line of JSON, for tools following a run as it goes.
+ * Each line is an object such as:
+ * <pre>
+ * {"time":1500000000000,"elapsed_ms":10000,"operations":100000,"throughput":10012.5,"target":10000.0,
+ *  "ops":{"READ":{"count":50000,"mean_ns":812.4,"p50_ns":771,"p90_ns":1100,"p99_ns":2015,"p999_ns":9871,
+ *  "max_ns":120319}},"jvm":{"threads":12,"used_mem_mb":120,"load_avg":1.5,"gcs":3,"gc_time_ms":12}}
+ * </pre>
+ * The latencies are those of the interval and need a measurementtype keeping an hdrhistogram; the target is
+ * null without one. The gauges of measurement.trackjvm are left out of the operations, the "jvm" object
+ * reporting the same figures. Lines are built and encoded in buffers kept from one interval to the next.
+ */
+public class JsonStatusWriter implements Closeable {
+
+  /** The file to write the status lines to. */
+  public static final String STATUS_JSON_FILE_PROPERTY = "status.json.file";
+
+  /** The "host:port" to send the status lines to over TCP. */
+  public static final String STATUS_JSON_SOCKET_PROPERTY = "status.json.socket";
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+  private static final String[] PERCENTILE_KEYS = {"p50_ns", "p90_ns", "p99_ns", "p999_ns"};
+
+  private final OutputStream out;
+  private final IntervalHistograms intervals;
+  private final StringBuilder line = new StringBuilder(1024);
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+  private ByteBuffer bytes = ByteBuffer.allocate(1024);
+  private long lastGCCount = Utils.getGCTotalCollectionCount();
+  private long lastGCTime = Utils.getGCTotalTime();
+
+  /**
+   * @return Whether the properties ask for the status as JSON lines.
+   */
+  public static boolean isEnabled(Properties props) {
+    return props.getProperty(STATUS_JSON_FILE_PROPERTY) != null
+        || props.getProperty(STATUS_JSON_SOCKET_PROPERTY) != null;
+  }
+
+  /**
+   * Opens the file or connects to the socket the properties name.
+   *
+   * @throws IOException If the file cannot be created or the connection fails.
+   */
+  public static JsonStatusWriter fromProperties(Properties props) throws IOException {
+    String file = props.getProperty(STATUS_JSON_FILE_PROPERTY);
+    if (file != null) {
+      return new JsonStatusWriter(new FileOutputStream(file), Measurements.getMeasurements());
+    }
+    String address = props.getProperty(STATUS_JSON_SOCKET_PROPERTY);
+    int colon = address.lastIndexOf(':');
+    if (colon < 0) {
+      throw new IllegalArgumentException("unknown " + STATUS_JSON_SOCKET_PROPERTY + "=" + address);
+    }
+    Socket socket = new Socket(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+    return new JsonStatusWriter(socket.getOutputStream(), Measurements.getMeasurements());
+  }
+
+  /**
+   * @param out          The stream to write the lines to, closed with the writer.
+   * @param measurements The measurements to report.
+   */
+  JsonStatusWriter(OutputStream out, Measurements measurements) {
+    this.out = out;
+    intervals = new IntervalHistograms(measurements, false);
+  }
+
+  /**
+   * Writes the status of an interval.
+   *
+   * @param timeMs     The time of the end of the interval, in milliseconds since the epoch.
+   * @param elapsedMs  The time since the start of the run.
+   * @param operations The operations done since the start of the run.
+   * @param throughput The operations per second of the interval.
+   * @param target     The target operations per second of the interval, NaN if there is none.
+   * @throws IOException If the line cannot be written.
+   */
+  public void write(long timeMs, long elapsedMs, long operations, double throughput, double target)
+      throws IOException {
+    line.setLength(0);
+    line.append("{\"time\":").append(timeMs)
+        .append(",\"elapsed_ms\":").append(elapsedMs)
+        .append(",\"operations\":").append(operations)
+        .append(",\"throughput\":");
+    number(throughput);
+    line.append(",\"target\":");
+    number(target);
+
+    line.append(",\"ops\":{");
+    boolean first = true;
+    for (Map.Entry<String, Histogram> entry : intervals.next().entrySet()) {
+      Histogram h = entry.getValue();
+      if (!first) {
+        line.append(',');
+      }
+      first = false;
+      string(entry.getKey());
+      line.append(":{\"count\":").append(h.getTotalCount());
+      if (h.getTotalCount() > 0) {
+        line.append(",\"mean_ns\":");
+        number(h.getMean());
+        for (int i = 0; i < PERCENTILES.length; i++) {
+          line.append(",\"").append(PERCENTILE_KEYS[i]).append("\":").append(h.getValueAtPercentile(PERCENTILES[i]));
+        }
+        line.append(",\"max_ns\":").append(h.getMaxValue());
+      }
+      line.append('}');
+    }
+    line.append('}');
+
+    long gcs = Utils.getGCTotalCollectionCount();
+    long gcTime = Utils.getGCTotalTime();
+    line.append(",\"jvm\":{\"threads\":").append(Utils.getActiveThreadCount())
+        .append(",\"used_mem_mb\":").append(Utils.getUsedMemoryMegaBytes())
+        .append(",\"load_avg\":");
+    double load = Utils.getSystemLoadAverage();
+    number(load < 0 ? Double.NaN : load);
+    line.append(",\"gcs\":").append(gcs - lastGCCount)
+        .append(",\"gc_time_ms\":").append(gcTime - lastGCTime)
+        .append("}}\n");
+    lastGCCount = gcs;
+    lastGCTime = gcTime;
+
+    encode();
+    out.write(bytes.array(), 0, bytes.position());
+    out.flush();
+  }
+
+  /**
+   * Encodes the line into the byte buffer, growing it if the line does not fit.
+   */
+  private void encode() {
+    CharBuffer chars = CharBuffer.wrap(line);
+    encoder.reset();
+    bytes.clear();
+    while (encoder.encode(chars, bytes, true).isOverflow()) {
+      ByteBuffer larger = ByteBuffer.allocate(bytes.capacity() * 2);
+      bytes.flip();
+      larger.put(bytes);
+      bytes = larger;
+    }
+    encoder.flush(bytes);
+  }
+
+  private void number(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      line.append("null");
+    } else {
+      line.append(value);
+    }
+  }
+
+  private void string(String value) {
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        line.append('\\').append(c);
+      } else if (c < 0x20) {
+        line.append(String.format("\\u%04x", (int) c));
+      } else {
+        line.append(c);
+      }
+    }
+    line.append('"');
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
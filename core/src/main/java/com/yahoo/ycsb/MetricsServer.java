@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.yahoo.ycsb.measurements.IntervalHistograms;
+import com.yahoo.ycsb.measurements.Measurements;
+import com.yahoo.ycsb.rate.RateProfile;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * An embedded HTTP server exposing the progress of a run in the Prometheus text format at /metrics, so long
+ * runs can be scraped and graphed while they run. A background thread takes a snapshot of the measurements,
+ * the throughput and the JVM every interval and renders it; a scrape only sends the last rendered snapshot,
+ * so scraping never reaches the measurements or the client threads.
+ * <p>
+ * The latencies need a measurementtype keeping an hdrhistogram. Their quantiles cover the last interval,
+ * their counts and sums the whole run, restarting once a warm-up ends. The gauges measured with
+ * measurement.trackjvm are no latencies: they are sampled as they are, by their last value.
+ */
+public class MetricsServer extends Thread {
+
+  /** The port to serve the metrics on, 0 for any free port. Setting it enables the server. */
+  public static final String METRICS_PORT_PROPERTY = "metrics.port";
+
+  /** The seconds between two snapshots of the metrics. */
+  public static final String METRICS_INTERVAL_PROPERTY = "metrics.interval";
+  public static final String METRICS_INTERVAL_PROPERTY_DEFAULT = "1";
+
+  private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+  private final HttpServer server;
+  private final List<ClientThread> clients;
+  private final RateProfile rate;
+  private final Measurements measurements;
+  private final long intervalMs;
+
+  // the last rendered snapshot, replaced as a whole
+  private volatile byte[] snapshot = new byte[0];
+  private final StringBuilder text = new StringBuilder();
+  private final IntervalHistograms intervals;
+  private long previousOps;
+  private long previousNs;
+
+  /**
+   * @return Whether the properties ask for a metrics server.
+   */
+  public static boolean isEnabled(Properties props) {
+    return props.getProperty(METRICS_PORT_PROPERTY) != null;
+  }
+
+  /**
+   * Creates a new server, listening once started.
+   *
+   * @param props   The properties of the run.
+   * @param clients The running clients.
+   * @param rate    The target rate of the clients, or null if there is none.
+   * @throws IOException If the port cannot be bound.
+   */
+  public MetricsServer(Properties props, List<ClientThread> clients, RateProfile rate) throws IOException {
+    this(props, clients, rate, Measurements.getMeasurements());
+  }
+
+  MetricsServer(Properties props, List<ClientThread> clients, RateProfile rate, Measurements measurements)
+      throws IOException {
+    super("MetricsServer");
+    setDaemon(true);
+    this.clients = clients;
+    this.rate = rate;
+    this.measurements = measurements;
+    intervals = new IntervalHistograms(measurements, false);
+    intervalMs = (long) (1000 * Double.parseDouble(props.getProperty(METRICS_INTERVAL_PROPERTY,
+        METRICS_INTERVAL_PROPERTY_DEFAULT)));
+    server = HttpServer.create(new InetSocketAddress(Integer.parseInt(props.getProperty(METRICS_PORT_PROPERTY))),
+        0);
+    server.createContext("/metrics", new HttpHandler() {
+      @Override
+      public void handle(HttpExchange exchange) throws IOException {
+        byte[] body = snapshot;
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+          out.write(body);
+        }
+      }
+    });
+    previousNs = System.nanoTime();
+  }
+
+  /**
+   * @return The port the metrics are served on.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  @Override
+  public void run() {
+    server.start();
+    try {
+      while (!isInterrupted()) {
+        refresh();
+        Thread.sleep(intervalMs);
+      }
+    } catch (InterruptedException e) {
+      // stopping
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  /**
+   * Takes the last snapshot and stops serving.
+   */
+  public void finish() {
+    interrupt();
+    try {
+      join();
+    } catch (InterruptedException ignored) {
+      // ignored
+    }
+  }
+
+  /**
+   * Takes a snapshot of the metrics and renders it for the next scrapes.
+   */
+  void refresh() {
+    long now = System.nanoTime();
+    long ops = 0;
+    for (ClientThread client : clients) {
+      ops += client.getOpsDone();
+    }
+    Map<String, Map<String, Integer>> statusCounts = new TreeMap<>(measurements.getStatusCounts());
+    Map<String, Long> gauges = new TreeMap<>(measurements.getGauges());
+
+    text.setLength(0);
+    type("ycsb_operations_total", "counter", "Operations completed by the clients.");
+    text.append("ycsb_operations_total ").append(ops).append('\n');
+    type("ycsb_throughput", "gauge", "Operations per second completed in the last interval.");
+    sample("ycsb_throughput", null, null, null, (ops - previousOps) / ((now - previousNs) / 1e9));
+    if (rate != null) {
+      double time = rate.elapsed(now);
+      type("ycsb_target_throughput", "gauge", "The target operations per second.");
+      sample("ycsb_target_throughput", null, null, null, time < 0 ? 0 : rate.rate(time));
+    }
+
+    type("ycsb_operation_statuses_total", "counter", "Statuses returned, by operation.");
+    for (Map.Entry<String, Map<String, Integer>> op : statusCounts.entrySet()) {
+      for (Map.Entry<String, Integer> status : op.getValue().entrySet()) {
+        sample("ycsb_operation_statuses_total", op.getKey(), "status", status.getKey(), status.getValue());
+      }
+    }
+
+    Map<String, Histogram> windows = intervals.next();
+    Map<String, Histogram> histograms = intervals.getTotals();
+    type("ycsb_latency_seconds", "summary", "Latencies by operation, the quantiles over the last interval.");
+    for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+      Histogram total = entry.getValue();
+      Histogram window = windows.get(entry.getKey());
+      for (double quantile : QUANTILES) {
+        sample("ycsb_latency_seconds", entry.getKey(), "quantile", String.valueOf(quantile),
+            window.getTotalCount() == 0 ? Double.NaN : window.getValueAtPercentile(quantile * 100) / 1e9);
+      }
+      sample("ycsb_latency_seconds_sum", entry.getKey(), null, null,
+          total.getMean() * total.getTotalCount() / 1e9);
+      sample("ycsb_latency_seconds_count", entry.getKey(), null, null, total.getTotalCount());
+    }
+    type("ycsb_latency_max_seconds", "gauge", "The highest latency by operation over the last interval.");
+    for (Map.Entry<String, Histogram> entry : windows.entrySet()) {
+      Histogram window = entry.getValue();
+      sample("ycsb_latency_max_seconds", entry.getKey(), null, null,
+          window.getTotalCount() == 0 ? Double.NaN : window.getMaxValue() / 1e9);
+    }
+
+    type("ycsb_jvm_threads", "gauge", "Active threads of the JVM.");
+    sample("ycsb_jvm_threads", null, null, null, Utils.getActiveThreadCount());
+    type("ycsb_jvm_used_memory_bytes", "gauge", "Used heap of the JVM.");
+    sample("ycsb_jvm_used_memory_bytes", null, null, null, Utils.getUsedMemoryBytes());
+    double load = Utils.getSystemLoadAverage();
+    if (load >= 0) {
+      type("ycsb_system_load_average", "gauge", "The system load average over the last minute.");
+      sample("ycsb_system_load_average", null, null, null, load);
+    }
+    type("ycsb_jvm_gc_collections_total", "counter", "Garbage collections of the JVM.");
+    sample("ycsb_jvm_gc_collections_total", null, null, null, Utils.getGCTotalCollectionCount());
+    type("ycsb_jvm_gc_time_seconds_total", "counter", "Time the JVM spent collecting garbage.");
+    sample("ycsb_jvm_gc_time_seconds_total", null, null, null, Utils.getGCTotalTime() / 1000.0);
+
+    if (!gauges.isEmpty()) {
+      type("ycsb_gauge", "gauge", "The last value of the gauges measured with the operations.");
+      for (Map.Entry<String, Long> gauge : gauges.entrySet()) {
+        sample("ycsb_gauge", "gauge", gauge.getKey(), null, null, gauge.getValue());
+      }
+    }
+
+    snapshot = text.toString().getBytes(StandardCharsets.UTF_8);
+    previousOps = ops;
+    previousNs = now;
+  }
+
+  /**
+   * @return The last rendered snapshot.
+   */
+  byte[] getSnapshot() {
+    return snapshot;
+  }
+
+  private void type(String name, String type, String help) {
+    text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private void sample(String name, String operation, String label, String labelValue, double value) {
+    sample(name, "operation", operation, label, labelValue, value);
+  }
+
+  private void sample(String name, String firstLabel, String firstLabelValue, String label, String labelValue,
+      double value) {
+    text.append(name);
+    if (firstLabelValue != null) {
+      text.append('{').append(firstLabel).append("=\"");
+      escape(firstLabelValue);
+      if (label != null) {
+        text.append("\",").append(label).append("=\"");
+        escape(labelValue);
+      }
+      text.append("\"}");
+    }
+    text.append(' ');
+    if (Double.isNaN(value)) {
+      text.append("NaN");
+    } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      text.append((long) value);
+    } else {
+      text.append(value);
+    }
+    text.append('\n');
+  }
+
+  private void escape(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' || c == '"') {
+        text.append('\\').append(c);
+      } else if (c == '\n') {
+        text.append("\\n");
+      } else {
+        text.append(c);
+      }
+    }
+  }
+}
@@ -16,81 +16,156 @@
  */
 package com.yahoo.ycsb;
 
+import java.nio.ByteBuffer;
+import java.util.Random;
+
 /**
  *  A ByteIterator that generates a random sequence of bytes.
+ *
+ *  The bytes come in groups of six made from 32 random bits, as they always did: each byte keeps five, six or
+ *  seven bits (masks 31, 63 and 95) and is moved up to ' ', so the values compress as they did before. Two
+ *  groups are made from each random long.
  */
 public class RandomByteIterator extends ByteIterator {
-  private long len;
+  /** The bytes made from each 32 random bits. */
+  private static final int GROUP = 6;
+
+  private final long len;
   private long off;
-  private int bufOff;
-  private byte[] buf;
+  /** The random bits of the group being handed out by nextByte(), and the position in it. */
+  private int bits;
+  private int groupOff = GROUP;
+  /** The other 32 random bits of the last random long, if not used yet. */
+  private int spareBits;
+  private boolean spare;
 
-  @Override
-  public boolean hasNext() {
-    return (off + bufOff) < len;
+  public RandomByteIterator(long len) {
+    this.len = len;
   }
 
-  private void fillBytesImpl(byte[] buffer, int base) {
-    int bytes = Utils.random().nextInt();
+  /**
+   * @return The byte at a position of a group made from the given random bits.
+   */
+  private static byte groupByte(int bits, int position) {
+    switch (position) {
+    case 0:
+      return (byte) ((bits & 31) + ' ');
+    case 1:
+      return (byte) (((bits >> 5) & 63) + ' ');
+    case 2:
+      return (byte) (((bits >> 10) & 95) + ' ');
+    case 3:
+      return (byte) (((bits >> 15) & 31) + ' ');
+    case 4:
+      return (byte) (((bits >> 20) & 63) + ' ');
+    default:
+      return (byte) (((bits >> 25) & 95) + ' ');
+    }
+  }
 
-    switch (buffer.length - base) {
+  /**
+   * Fills a group, or its first bytes at the end of the buffer, from the given random bits.
+   */
+  private static void fillGroup(byte[] buffer, int base, int length, int bits) {
+    switch (length) {
     default:
-      buffer[base + 5] = (byte) (((bytes >> 25) & 95) + ' ');
+      buffer[base + 5] = (byte) (((bits >> 25) & 95) + ' ');
     case 5:
-      buffer[base + 4] = (byte) (((bytes >> 20) & 63) + ' ');
+      buffer[base + 4] = (byte) (((bits >> 20) & 63) + ' ');
     case 4:
-      buffer[base + 3] = (byte) (((bytes >> 15) & 31) + ' ');
+      buffer[base + 3] = (byte) (((bits >> 15) & 31) + ' ');
     case 3:
-      buffer[base + 2] = (byte) (((bytes >> 10) & 95) + ' ');
+      buffer[base + 2] = (byte) (((bits >> 10) & 95) + ' ');
     case 2:
-      buffer[base + 1] = (byte) (((bytes >> 5) & 63) + ' ');
+      buffer[base + 1] = (byte) (((bits >> 5) & 63) + ' ');
     case 1:
-      buffer[base + 0] = (byte) (((bytes) & 31) + ' ');
+      buffer[base] = (byte) ((bits & 31) + ' ');
     case 0:
       break;
     }
   }
 
-  private void fillBytes() {
-    if (bufOff == buf.length) {
-      fillBytesImpl(buf, 0);
-      bufOff = 0;
-      off += buf.length;
+  private int nextBits() {
+    if (spare) {
+      spare = false;
+      return spareBits;
     }
+    long random = Utils.random().nextLong();
+    spareBits = (int) (random >>> 32);
+    spare = true;
+    return (int) random;
   }
 
-  public RandomByteIterator(long len) {
-    this.len = len;
-    this.buf = new byte[6];
-    this.bufOff = buf.length;
-    fillBytes();
-    this.off = 0;
+  @Override
+  public boolean hasNext() {
+    return off < len;
   }
 
+  @Override
   public byte nextByte() {
-    fillBytes();
-    bufOff++;
-    return buf[bufOff - 1];
+    if (groupOff == GROUP) {
+      bits = nextBits();
+      groupOff = 0;
+    }
+    off++;
+    return groupByte(bits, groupOff++);
   }
 
   @Override
   public int nextBuf(byte[] buffer, int bufOffset) {
-    int ret;
-    if (len - off < buffer.length - bufOffset) {
-      ret = (int) (len - off);
-    } else {
-      ret = buffer.length - bufOffset;
+    int n = (int) Math.min(len - off, buffer.length - bufOffset);
+    fill(buffer, bufOffset, n);
+    off += n;
+    return bufOffset + n;
+  }
+
+  /**
+   * Fills part of an array with random bytes, like those of a RandomByteIterator.
+   */
+  public static void fill(byte[] buffer, int offset, int length) {
+    Random random = Utils.random();
+    int end = offset + length;
+    int i = offset;
+    for (; i + 2 * GROUP <= end; i += 2 * GROUP) {
+      long bits = random.nextLong();
+      fillGroup(buffer, i, GROUP, (int) bits);
+      fillGroup(buffer, i + GROUP, GROUP, (int) (bits >>> 32));
     }
-    int i;
-    for (i = 0; i < ret; i += 6) {
-      fillBytesImpl(buffer, i + bufOffset);
+    if (i < end) {
+      long bits = random.nextLong();
+      fillGroup(buffer, i, Math.min(GROUP, end - i), (int) bits);
+      if (i + GROUP < end) {
+        fillGroup(buffer, i + GROUP, end - i - GROUP, (int) (bits >>> 32));
+      }
+    }
+  }
+
+  @Override
+  public int nextBuf(ByteBuffer buffer) {
+    int n = (int) Math.min(len - off, buffer.remaining());
+    if (buffer.hasArray()) {
+      int start = buffer.arrayOffset() + buffer.position();
+      fill(buffer.array(), start, n);
+      buffer.position(buffer.position() + n);
+    } else {
+      Random random = Utils.random();
+      long bits = 0;
+      for (int i = 0, group = 0; i < n; i += GROUP, group++) {
+        if ((group & 1) == 0) {
+          bits = random.nextLong();
+        }
+        int groupBits = (group & 1) == 0 ? (int) bits : (int) (bits >>> 32);
+        for (int j = 0; j < GROUP && i + j < n; j++) {
+          buffer.put(groupByte(groupBits, j));
+        }
+      }
     }
-    off += ret;
-    return ret + bufOffset;
+    off += n;
+    return n;
   }
 
   @Override
   public long bytesLeft() {
-    return len - off - bufOff;
+    return len - off;
   }
 }
@@ -17,6 +17,9 @@
 package com.yahoo.ycsb;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A thread that waits for the maximum specified time and then interrupts all the client
@@ -24,18 +27,32 @@ import java.util.Collection;
  *
  * The maximum execution time passed is assumed to be in seconds.
  *
+ * When the clients do not run on dedicated threads (see {@link Client#CLIENT_EXECUTOR_PROPERTY}) the
+ * terminator waits on the clients' completion latch instead of joining their threads.
+ *
  */
 public class TerminatorThread extends Thread {
 
   private final Collection<? extends Thread> threads;
+  private final CountDownLatch completeLatch;
   private long maxExecutionTime;
   private Workload workload;
   private long waitTimeOutInMS;
 
   public TerminatorThread(long maxExecutionTime, Collection<? extends Thread> threads,
                           Workload workload) {
+    this(maxExecutionTime, threads, null, workload);
+  }
+
+  public TerminatorThread(long maxExecutionTime, CountDownLatch completeLatch, Workload workload) {
+    this(maxExecutionTime, Collections.<Thread>emptyList(), completeLatch, workload);
+  }
+
+  private TerminatorThread(long maxExecutionTime, Collection<? extends Thread> threads,
+                           CountDownLatch completeLatch, Workload workload) {
     this.maxExecutionTime = maxExecutionTime;
     this.threads = threads;
+    this.completeLatch = completeLatch;
     this.workload = workload;
     waitTimeOutInMS = 2000;
     System.err.println("Maximum execution time specified as: " + maxExecutionTime + " secs");
@@ -64,5 +81,19 @@ public class TerminatorThread extends Thread {
         }
       }
     }
+    if (completeLatch != null) {
+      boolean complete = false;
+      while (!complete) {
+        try {
+          complete = completeLatch.await(waitTimeOutInMS, TimeUnit.MILLISECONDS);
+          if (!complete) {
+            System.out.println("Still waiting for " + completeLatch.getCount() + " clients to complete. " +
+                "Workload status: " + workload.isStopRequested());
+          }
+        } catch (InterruptedException e) {
+          // Do nothing. Don't know why I was interrupted.
+        }
+      }
+    }
   }
 }
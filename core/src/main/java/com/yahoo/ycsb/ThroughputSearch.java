@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import com.yahoo.ycsb.measurements.Measurements;
+import com.yahoo.ycsb.rate.ConstantRate;
+import org.HdrHistogram.Histogram;
+
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A thread searching for the highest target throughput at which a latency percentile stays within an SLO.
+ * It drives the target of the running clients, so the bindings stay initialized and connected from one
+ * step to the next. Each step holds a target for a settling time and then a measurement window; the step
+ * passes if the clients achieved the target and the chosen percentile of every operation measured in the
+ * window is within the SLO.
+ * <p>
+ * The "step" mode raises the target by a fixed amount until a step fails. The "binary" mode doubles the
+ * target until a step fails and then bisects between the last passing and the first failing target.
+ * Once done the search stops the workload.
+ */
+public class ThroughputSearch extends Thread {
+
+  /** The latency, in microseconds, the percentile must stay within. Setting it enables the search. */
+  public static final String SEARCH_SLO_LATENCY_PROPERTY = "search.slo.latency";
+
+  /** The percentile held to the SLO. */
+  public static final String SEARCH_SLO_PERCENTILE_PROPERTY = "search.slo.percentile";
+  public static final String SEARCH_SLO_PERCENTILE_PROPERTY_DEFAULT = "99";
+
+  /** "binary" or "step". */
+  public static final String SEARCH_MODE_PROPERTY = "search.mode";
+  public static final String SEARCH_MODE_PROPERTY_DEFAULT = "binary";
+
+  /** The first target in ops/sec. Defaults to the "target" property, or 1000. */
+  public static final String SEARCH_START_PROPERTY = "search.start";
+
+  /** The amount the "step" mode raises the target by. Defaults to the first target. */
+  public static final String SEARCH_STEP_PROPERTY = "search.step";
+
+  /** An upper bound on the target, 0 for none. */
+  public static final String SEARCH_MAX_PROPERTY = "search.max";
+  public static final String SEARCH_MAX_PROPERTY_DEFAULT = "0";
+
+  /** The relative width of the bisection interval at which the "binary" mode stops. */
+  public static final String SEARCH_PRECISION_PROPERTY = "search.precision";
+  public static final String SEARCH_PRECISION_PROPERTY_DEFAULT = "0.05";
+
+  /** The seconds each step runs before its measurement window opens. */
+  public static final String SEARCH_SETTLE_PROPERTY = "search.settle";
+  public static final String SEARCH_SETTLE_PROPERTY_DEFAULT = "5";
+
+  /** The seconds of each step's measurement window. */
+  public static final String SEARCH_WINDOW_PROPERTY = "search.window";
+  public static final String SEARCH_WINDOW_PROPERTY_DEFAULT = "30";
+
+  /** The fraction of the target the clients must achieve in a window for the step to pass. */
+  public static final String SEARCH_MIN_ACHIEVED_PROPERTY = "search.minachieved";
+  public static final String SEARCH_MIN_ACHIEVED_PROPERTY_DEFAULT = "0.95";
+
+  private final ConstantRate rate;
+  private final List<ClientThread> clients;
+  private final Workload workload;
+  private final Measurements measurements;
+
+  private final double sloLatency;
+  private final double percentile;
+  private final boolean binary;
+  private final double start;
+  private final double step;
+  private final double max;
+  private final double precision;
+  private final long settleMs;
+  private final long windowMs;
+  private final double minAchieved;
+
+  private double best;
+  private int steps;
+
+  /**
+   * @return Whether the properties ask for a throughput search.
+   */
+  public static boolean isEnabled(Properties props) {
+    return props.getProperty(SEARCH_SLO_LATENCY_PROPERTY) != null;
+  }
+
+  /**
+   * @return The target the search starts at.
+   */
+  public static double getStartRate(Properties props) {
+    return Double.parseDouble(props.getProperty(SEARCH_START_PROPERTY,
+        props.getProperty(Client.TARGET_PROPERTY, "1000")));
+  }
+
+  /**
+   * Creates a new search.
+   *
+   * @param props    The properties of the run.
+   * @param rate     The target of the clients, starting at {@link #getStartRate(Properties)}.
+   * @param clients  The running clients.
+   * @param workload The workload to stop at the end of the search.
+   */
+  public ThroughputSearch(Properties props, ConstantRate rate, List<ClientThread> clients, Workload workload) {
+    this(props, rate, clients, workload, Measurements.getMeasurements());
+  }
+
+  ThroughputSearch(Properties props, ConstantRate rate, List<ClientThread> clients, Workload workload,
+      Measurements measurements) {
+    super("ThroughputSearch");
+    this.rate = rate;
+    this.clients = clients;
+    this.workload = workload;
+    this.measurements = measurements;
+    sloLatency = Double.parseDouble(props.getProperty(SEARCH_SLO_LATENCY_PROPERTY));
+    percentile = Double.parseDouble(props.getProperty(SEARCH_SLO_PERCENTILE_PROPERTY,
+        SEARCH_SLO_PERCENTILE_PROPERTY_DEFAULT));
+    String mode = props.getProperty(SEARCH_MODE_PROPERTY, SEARCH_MODE_PROPERTY_DEFAULT);
+    if (!mode.equals("binary") && !mode.equals("step")) {
+      throw new IllegalArgumentException("unknown " + SEARCH_MODE_PROPERTY + "=" + mode);
+    }
+    binary = mode.equals("binary");
+    start = getStartRate(props);
+    step = Double.parseDouble(props.getProperty(SEARCH_STEP_PROPERTY, String.valueOf(start)));
+    max = Double.parseDouble(props.getProperty(SEARCH_MAX_PROPERTY, SEARCH_MAX_PROPERTY_DEFAULT));
+    precision = Double.parseDouble(props.getProperty(SEARCH_PRECISION_PROPERTY,
+        SEARCH_PRECISION_PROPERTY_DEFAULT));
+    settleMs = (long) (1000 * Double.parseDouble(props.getProperty(SEARCH_SETTLE_PROPERTY,
+        SEARCH_SETTLE_PROPERTY_DEFAULT)));
+    windowMs = (long) (1000 * Double.parseDouble(props.getProperty(SEARCH_WINDOW_PROPERTY,
+        SEARCH_WINDOW_PROPERTY_DEFAULT)));
+    minAchieved = Double.parseDouble(props.getProperty(SEARCH_MIN_ACHIEVED_PROPERTY,
+        SEARCH_MIN_ACHIEVED_PROPERTY_DEFAULT));
+  }
+
+  @Override
+  public void run() {
+    try {
+      search();
+    } catch (InterruptedException e) {
+      System.err.println("Throughput search interrupted.");
+    }
+    System.err.println("Throughput search done, highest target meeting the SLO: "
+        + new DecimalFormat("#.##").format(best) + " ops/sec.");
+    workload.requestStop();
+  }
+
+  void search() throws InterruptedException {
+    double passed = 0;
+    double failed = 0;
+    double target = start;
+    while (!workload.isStopRequested()) {
+      if (trial(target)) {
+        passed = target;
+        best = target;
+      } else {
+        failed = target;
+      }
+
+      if (failed == 0) {
+        target = binary ? target * 2 : target + step;
+        if (max > 0 && target > max) {
+          if (passed >= max) {
+            return;
+          }
+          target = max;
+        }
+      } else if (binary && passed > 0 && (failed - passed) / passed > precision) {
+        target = (passed + failed) / 2;
+      } else if (binary && passed == 0 && failed / 2 >= 1 && steps < 64) {
+        // even the first target failed, keep halving it
+        target = failed / 2;
+      } else {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Runs one step of the search.
+   *
+   * @return Whether the target met the SLO.
+   */
+  private boolean trial(double target) throws InterruptedException {
+    steps++;
+    return judge(target, measure(target));
+  }
+
+  /**
+   * Holds a target for the settling time and then measures a window of it.
+   */
+  Window measure(double target) throws InterruptedException {
+    rate.setRate(target);
+    Thread.sleep(settleMs);
+
+    Map<String, Histogram> before = measurements.getTotalHistograms(true);
+    long opsBefore = opsDone();
+    long windowStart = System.nanoTime();
+    Thread.sleep(windowMs);
+    Map<String, Histogram> after = measurements.getTotalHistograms(true);
+    double achieved = (opsDone() - opsBefore) / ((System.nanoTime() - windowStart) / 1e9);
+    return new Window(achieved, before, after);
+  }
+
+  /**
+   * Decides whether a measured window met the SLO.
+   *
+   * @return Whether the clients achieved the target and the percentile of every operation is within the SLO.
+   */
+  boolean judge(double target, Window w) {
+    if (w.after.isEmpty()) {
+      throw new IllegalStateException("the throughput search needs a measurementtype keeping an hdrhistogram");
+    }
+
+    DecimalFormat d = new DecimalFormat("#.##");
+    StringBuilder msg = new StringBuilder("Search step ").append(steps).append(": target ")
+        .append(d.format(target)).append(" ops/sec, achieved ").append(d.format(w.achieved)).append(" ops/sec");
+    boolean pass = w.achieved >= minAchieved * target;
+    for (Map.Entry<String, Histogram> entry : w.after.entrySet()) {
+      Histogram window = entry.getValue();
+      Histogram previous = w.before.get(entry.getKey());
+      if (previous != null) {
+        window.subtract(previous);
+      }
+      if (window.getTotalCount() == 0 || entry.getKey().equals("CLEANUP")) {
+        continue;
+      }
+      long latency = window.getValueAtPercentile(percentile) / 1000;
+      msg.append(", ").append(entry.getKey()).append(" p").append(d.format(percentile)).append("=")
+          .append(latency).append("us");
+      pass &= latency <= sloLatency;
+    }
+    msg.append(pass ? " - pass" : " - fail");
+    System.err.println(msg);
+    return pass;
+  }
+
+  /**
+   * The throughput the clients achieved in a measurement window and the total histograms, in nanoseconds,
+   * at both of its ends.
+   */
+  static final class Window {
+    private final double achieved;
+    private final Map<String, Histogram> before;
+    private final Map<String, Histogram> after;
+
+    Window(double achieved, Map<String, Histogram> before, Map<String, Histogram> after) {
+      this.achieved = achieved;
+      this.before = before;
+      this.after = after;
+    }
+  }
+
+  private long opsDone() {
+    long ops = 0;
+    for (ClientThread client : clients) {
+      ops += client.getOpsDone();
+    }
+    return ops;
+  }
+
+  /**
+   * @return The highest target that met the SLO, 0 if none did.
+   */
+  public double getBest() {
+    return best;
+  }
+
+  /**
+   * @return The number of steps run.
+   */
+  public int getSteps() {
+    return steps;
+  }
+}
@@ -34,15 +34,18 @@ public final class Utils {
   }
 
   private static final Random RAND = new Random();
-  private static final ThreadLocal<Random> RNG = new ThreadLocal<Random>();
+  private static final ThreadLocal<Random> RNG = new ThreadLocal<Random>() {
+    @Override
+    protected Random initialValue() {
+      return new XoshiroRandom(RAND.nextLong());
+    }
+  };
 
+  /**
+   * @return The random number generator of the calling thread. Do not share it with other threads.
+   */
   public static Random random() {
-    Random ret = RNG.get();
-    if (ret == null) {
-      ret = new Random(RAND.nextLong());
-      RNG.set(ret);
-    }
-    return ret;
+    return RNG.get();
   }
 
   /**
@@ -170,6 +173,17 @@ public final class Utils {
     return osBean.getSystemLoadAverage();
   }
 
+  /** @return The CPU time, in nanoseconds, used by this JVM process if
+   * supported by the JDK. If it's not supported, the value will be negative. */
+  public static long getProcessCpuTimeNs() {
+    final OperatingSystemMXBean osBean =
+        ManagementFactory.getOperatingSystemMXBean();
+    if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuTime();
+    }
+    return -1;
+  }
+
   /** @return The total number of garbage collections executed for all
    * memory pools. */
   public static long getGCTotalCollectionCount() {
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import com.yahoo.ycsb.measurements.Measurements;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * A thread ending the warm-up phase of a run. The clients run as usual during the warm-up, but their
+ * measurements are dropped or kept apart (see {@link Measurements#WARMUP_MEASURE_PROPERTY}) until both the
+ * warm-up time has passed and the clients completed the warm-up operations.
+ */
+public class WarmupThread extends Thread {
+
+  /** The length of the warm-up in seconds. */
+  public static final String WARMUP_TIME_PROPERTY = "warmup.time";
+
+  /** The number of operations, across all clients, of the warm-up. */
+  public static final String WARMUP_OPCOUNT_PROPERTY = "warmup.opcount";
+
+  // how often the operation count is checked
+  private static final long POLL_INTERVAL_MS = 10;
+
+  private final long warmupMs;
+  private final long warmupOps;
+  private final List<ClientThread> clients;
+  private final Measurements measurements;
+
+  private volatile boolean done;
+  private long endTimeMs;
+  private long opsAtEnd;
+  private long cpuTimeAtEndNs;
+
+  /**
+   * @return Whether the properties ask for a warm-up.
+   */
+  public static boolean isEnabled(Properties props) {
+    return props.getProperty(WARMUP_TIME_PROPERTY) != null || props.getProperty(WARMUP_OPCOUNT_PROPERTY) != null;
+  }
+
+  /**
+   * Creates a new warm-up thread and starts the warm-up of the measurements.
+   *
+   * @param props   The properties of the run.
+   * @param clients The clients to count the operations of.
+   */
+  public WarmupThread(Properties props, List<ClientThread> clients) {
+    super("WarmupThread");
+    warmupMs = (long) (1000 * Double.parseDouble(props.getProperty(WARMUP_TIME_PROPERTY, "0")));
+    warmupOps = Long.parseLong(props.getProperty(WARMUP_OPCOUNT_PROPERTY, "0"));
+    this.clients = clients;
+    measurements = Measurements.getMeasurements();
+    measurements.startWarmup();
+    System.err.println("Warming up for " + warmupMs / 1000.0 + " secs and " + warmupOps + " operations.");
+  }
+
+  @Override
+  public void run() {
+    long start = System.currentTimeMillis();
+    try {
+      Thread.sleep(warmupMs);
+      while (opsDone() < warmupOps) {
+        Thread.sleep(POLL_INTERVAL_MS);
+      }
+    } catch (InterruptedException e) {
+      System.err.println("The run ended during the warm-up.");
+      return;
+    }
+    measurements.endWarmup();
+    opsAtEnd = opsDone();
+    endTimeMs = System.currentTimeMillis();
+    cpuTimeAtEndNs = Utils.getProcessCpuTimeNs();
+    done = true;
+    System.err.println("Warm-up done after " + (endTimeMs - start) / 1000.0 + " secs and " + opsAtEnd
+        + " operations.");
+  }
+
+  private long opsDone() {
+    long ops = 0;
+    for (ClientThread client : clients) {
+      ops += client.getOpsDone();
+    }
+    return ops;
+  }
+
+  /**
+   * @return Whether the warm-up ended before the run did.
+   */
+  public boolean isDone() {
+    return done;
+  }
+
+  /**
+   * @return The time the warm-up ended, in milliseconds.
+   */
+  public long getEndTimeMs() {
+    return endTimeMs;
+  }
+
+  /**
+   * @return The number of operations the clients completed during the warm-up.
+   */
+  public long getOpsAtEnd() {
+    return opsAtEnd;
+  }
+
+  /**
+   * @return The CPU time used by the process at the end of the warm-up, negative if unknown.
+   */
+  public long getCpuTimeAtEndNs() {
+    return cpuTimeAtEndNs;
+  }
+}
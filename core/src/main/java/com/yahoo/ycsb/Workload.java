@@ -17,6 +17,8 @@
 
 package com.yahoo.ycsb;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.Properties;
 
@@ -96,6 +98,30 @@ public abstract class Workload {
    */
   public abstract boolean doTransaction(DB db, Object threadstate);
 
+  /**
+   * Do one insert operation without blocking the calling thread. Used by client threads that keep several
+   * operations outstanding at once (see the "outstandingops" property), so the same threadstate may be shared
+   * by operations that are still in flight. The default implementation runs {@link #doInsert} and returns
+   * an already completed stage; workloads override it to issue their operations through the asynchronous
+   * {@link DB} methods.
+   *
+   * @return A stage completing with the same meaning as the return value of {@link #doInsert}.
+   */
+  public CompletionStage<Boolean> doInsertAsync(DB db, Object threadstate) {
+    return CompletableFuture.completedFuture(doInsert(db, threadstate));
+  }
+
+  /**
+   * Do one transaction operation without blocking the calling thread. See {@link #doInsertAsync} for the
+   * threading contract. The default implementation runs {@link #doTransaction} and returns an already
+   * completed stage.
+   *
+   * @return A stage completing with the same meaning as the return value of {@link #doTransaction}.
+   */
+  public CompletionStage<Boolean> doTransactionAsync(DB db, Object threadstate) {
+    return CompletableFuture.completedFuture(doTransaction(db, threadstate));
+  }
+
   /**
    * Allows scheduling a request to stop the workload.
    */
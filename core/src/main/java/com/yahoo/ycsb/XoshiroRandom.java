@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import java.util.Random;
+
+/**
+ * A Random that draws its values with xoshiro256** instead of a linear congruential generator behind an
+ * AtomicLong. It is not thread safe: each thread gets its own from {@link Utils#random()}.
+ *
+ * See David Blackman and Sebastiano Vigna, "Scrambled Linear Pseudorandom Number Generators", 2018.
+ */
+final class XoshiroRandom extends Random {
+  private static final long serialVersionUID = 1L;
+
+  private long s0;
+  private long s1;
+  private long s2;
+  private long s3;
+
+  XoshiroRandom(long seed) {
+    // calls setSeed
+    super(seed);
+  }
+
+  /**
+   * Expands the seed into the state with splitmix64, so close seeds give unrelated sequences.
+   */
+  @Override
+  public void setSeed(long seed) {
+    long x = seed;
+    x += 0x9E3779B97F4A7C15L;
+    s0 = mix(x);
+    x += 0x9E3779B97F4A7C15L;
+    s1 = mix(x);
+    x += 0x9E3779B97F4A7C15L;
+    s2 = mix(x);
+    x += 0x9E3779B97F4A7C15L;
+    s3 = mix(x);
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  @Override
+  public long nextLong() {
+    long result = Long.rotateLeft(s1 * 5, 7) * 9;
+    long t = s1 << 17;
+    s2 ^= s0;
+    s3 ^= s1;
+    s1 ^= s2;
+    s0 ^= s3;
+    s2 ^= t;
+    s3 = Long.rotateLeft(s3, 45);
+    return result;
+  }
+
+  @Override
+  protected int next(int bits) {
+    return (int) (nextLong() >>> (64 - bits));
+  }
+
+  @Override
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  @Override
+  public double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  }
+}
@@ -16,21 +16,32 @@
  */
 package com.yahoo.ycsb.generator;
 
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A CounterGenerator that reports generated integers via lastInt()
  * only after they have been acknowledged.
+ *
+ * Acknowledgements are bits in a window of atomic words, so acknowledging never takes a lock. One
+ * acknowledging thread at a time moves the contiguous acknowledged values out of the window, and
+ * others leave it to that thread. When {@link #WINDOW_SIZE} values are pending, nextValue() waits for
+ * the oldest of them to be acknowledged instead of failing.
  */
 public class AcknowledgedCounterGenerator extends CounterGenerator {
   /** The size of the window of pending id ack's. 2^20 = {@value} */
   static final int WINDOW_SIZE = Integer.rotateLeft(1, 20);
 
-  /** The mask to use to turn an id into a slot in {@link #window}. */
+  /** The mask to use to turn an id into a bit in {@link #window}. */
   private static final int WINDOW_MASK = WINDOW_SIZE - 1;
 
-  private final ReentrantLock lock;
-  private final boolean[] window;
+  /** How long nextValue() waits before looking at the window again when it is full. */
+  private static final long BACKOFF_NS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final AtomicLongArray window;
+  private final AtomicBoolean advancing;
   private volatile int limit;
 
   /**
@@ -38,11 +49,24 @@ public class AcknowledgedCounterGenerator extends CounterGenerator {
    */
   public AcknowledgedCounterGenerator(int countstart) {
     super(countstart);
-    lock = new ReentrantLock();
-    window = new boolean[WINDOW_SIZE];
+    window = new AtomicLongArray(WINDOW_SIZE / Long.SIZE);
+    advancing = new AtomicBoolean();
     limit = countstart - 1;
   }
 
+  /**
+   * Generate the next value, once the window has room to acknowledge it.
+   */
+  @Override
+  public Integer nextValue() {
+    int value = super.nextValue();
+    // the bit of value is free once the value WINDOW_SIZE before it was moved out of the window
+    while (value - limit > WINDOW_SIZE) {
+      LockSupport.parkNanos(BACKOFF_NS);
+    }
+    return value;
+  }
+
   /**
    * In this generator, the highest acknowledged counter value
    * (as opposed to the highest generated counter value).
@@ -56,32 +80,57 @@ public class AcknowledgedCounterGenerator extends CounterGenerator {
    * Make a generated counter value available via lastInt().
    */
   public void acknowledge(int value) {
-    final int currentSlot = (value & WINDOW_MASK);
-    if (window[currentSlot]) {
-      throw new RuntimeException("Too many unacknowledged insertion keys.");
-    }
+    int slot = value & WINDOW_MASK;
+    long bit = 1L << (slot & 63);
+    int word = slot >>> 6;
+    long current;
+    do {
+      current = window.get(word);
+    } while (!window.compareAndSet(word, current, current | bit));
 
-    window[currentSlot] = true;
-
-    if (lock.tryLock()) {
-      // move a contiguous sequence from the window
-      // over to the "limit" variable
+    // values past the first pending one are moved out of the window along with it
+    while (value - limit == 1 || isAcknowledged(limit + 1)) {
+      if (!advancing.compareAndSet(false, true)) {
+        // the advancing thread looks at the window again after it is done
+        return;
+      }
       try {
-        // Only loop through the entire window at most once.
-        int beforeFirstSlot = (limit & WINDOW_MASK);
-        int index;
-        for (index = limit + 1; index != beforeFirstSlot; ++index) {
-          int slot = (index & WINDOW_MASK);
-          if (!window[slot]) {
-            break;
-          }
+        advance();
+      } finally {
+        advancing.set(false);
+      }
+    }
+  }
 
-          window[slot] = false;
-        }
+  private boolean isAcknowledged(int value) {
+    int slot = value & WINDOW_MASK;
+    return (window.get(slot >>> 6) & (1L << (slot & 63))) != 0;
+  }
 
-        limit = index - 1;
-      } finally {
-        lock.unlock();
+  /**
+   * Move a contiguous sequence from the window over to the "limit" variable, a word at a time.
+   */
+  private void advance() {
+    int next = limit + 1;
+    while (true) {
+      int slot = next & WINDOW_MASK;
+      int word = slot >>> 6;
+      int offset = slot & 63;
+      long current = window.get(word);
+      // the zeros shifted in at the top stop the run at the end of the word
+      int run = Long.numberOfTrailingZeros(~(current >>> offset));
+      if (run == 0) {
+        return;
+      }
+      long mask = (run == Long.SIZE ? -1L : (1L << run) - 1) << offset;
+      // clear before publishing the new limit, nextValue() hands out these bits again after it
+      do {
+        current = window.get(word);
+      } while (!window.compareAndSet(word, current, current & ~mask));
+      next += run;
+      limit = next - 1;
+      if (offset + run < Long.SIZE) {
+        return;
       }
     }
   }
@@ -20,12 +20,18 @@ package com.yahoo.ycsb.generator;
 import com.yahoo.ycsb.Utils;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Generates a distribution by choosing from a discrete set of values.
+ *
+ * Values are chosen in constant time with Walker's alias method: the weights are turned into a table of
+ * n columns once, and each choice picks a column uniformly and then either the column's own value or its
+ * alias. The table is rebuilt on the first choice after a value is added. Callers that only need to know
+ * which value was chosen can use {@link #nextIndex()}, which returns its position in the order of
+ * {@link #addValue(double, String)} calls.
  */
 public class DiscreteGenerator extends Generator<String> {
   private static class Pair {
@@ -38,11 +44,88 @@ public class DiscreteGenerator extends Generator<String> {
     }
   }
 
-  private final Collection<Pair> values = new ArrayList<>();
-  private String lastvalue;
+  /**
+   * The alias table built from the values. Column i holds value i with probability prob[i] and value
+   * alias[i] otherwise.
+   */
+  private static final class AliasTable {
+    private final String[] values;
+    private final double[] prob;
+    private final int[] alias;
+
+    private AliasTable(List<Pair> pairs) {
+      int n = pairs.size();
+      values = new String[n];
+      prob = new double[n];
+      alias = new int[n];
+
+      double sum = 0;
+      for (Pair p : pairs) {
+        sum += p.weight;
+      }
+      double[] scaled = new double[n];
+      int[] small = new int[n];
+      int[] large = new int[n];
+      int smalls = 0;
+      int larges = 0;
+      for (int i = 0; i < n; i++) {
+        values[i] = pairs.get(i).value;
+        scaled[i] = pairs.get(i).weight * n / sum;
+        if (scaled[i] < 1) {
+          small[smalls++] = i;
+        } else {
+          large[larges++] = i;
+        }
+      }
+      while (smalls > 0 && larges > 0) {
+        int s = small[--smalls];
+        int l = large[--larges];
+        prob[s] = scaled[s];
+        alias[s] = l;
+        scaled[l] = (scaled[l] + scaled[s]) - 1;
+        if (scaled[l] < 1) {
+          small[smalls++] = l;
+        } else {
+          large[larges++] = l;
+        }
+      }
+      // what is left is 1 up to rounding errors
+      while (larges > 0) {
+        int l = large[--larges];
+        prob[l] = 1;
+        alias[l] = l;
+      }
+      while (smalls > 0) {
+        int s = small[--smalls];
+        prob[s] = 1;
+        alias[s] = s;
+      }
+    }
+
+    private int next() {
+      int n = prob.length;
+      double u = Utils.random().nextDouble() * n;
+      int column = (int) u;
+      if (column == n) {
+        // nextDouble() * n may round up to n
+        column = n - 1;
+      }
+      return u - column < prob[column] ? column : alias[column];
+    }
+  }
+
+  private final List<Pair> values = new ArrayList<>();
+  private volatile AliasTable table;
+
+  /** The index of the last value each thread generated, or -1 if it generated none yet. */
+  private final ThreadLocal<int[]> lastindex = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[]{-1};
+    }
+  };
 
   public DiscreteGenerator() {
-    lastvalue = null;
   }
 
   /**
@@ -50,42 +133,68 @@ public class DiscreteGenerator extends Generator<String> {
    */
   @Override
   public String nextValue() {
-    double sum = 0;
-
-    for (Pair p : values) {
-      sum += p.weight;
-    }
-
-    double val = Utils.random().nextDouble();
-
-    for (Pair p : values) {
-      double pw = p.weight / sum;
-      if (val < pw) {
-        return p.value;
-      }
-
-      val -= pw;
-    }
-
-    throw new AssertionError("oops. should not get here.");
+    AliasTable t = table();
+    int index = t.next();
+    lastindex.get()[0] = index;
+    return t.values[index];
+  }
 
+  /**
+   * Generate the next value in the distribution as its index, in the order the values were added.
+   *
+   * @throws IllegalStateException if no value was added.
+   */
+  public int nextIndex() {
+    int index = table().next();
+    lastindex.get()[0] = index;
+    return index;
   }
 
   /**
-   * Return the previous string generated by the distribution; e.g., returned from the last nextString() call.
-   * Calling lastString() should not advance the distribution or have any side effects. If nextString() has not yet
-   * been called, lastString() should return something reasonable.
+   * Return the previous value generated by the distribution in this thread, by {@link #nextValue()} or
+   * {@link #nextIndex()}. It does not advance the distribution, unless this thread generated no value yet: then
+   * it generates one.
    */
   @Override
   public String lastValue() {
-    if (lastvalue == null) {
-      lastvalue = nextValue();
+    int[] last = lastindex.get();
+    if (last[0] < 0) {
+      return nextValue();
     }
-    return lastvalue;
+    return getValue(last[0]);
+  }
+
+  /**
+   * @return The value added at the given index.
+   */
+  public String getValue(int index) {
+    return table().values[index];
   }
 
-  public void addValue(double weight, String value) {
+  /**
+   * @return The number of values added.
+   */
+  public synchronized int size() {
+    return values.size();
+  }
+
+  public synchronized void addValue(double weight, String value) {
     values.add(new Pair(weight, value));
+    table = null;
   }
 
+  private AliasTable table() {
+    AliasTable t = table;
+    return t != null ? t : buildTable();
+  }
+
+  private synchronized AliasTable buildTable() {
+    if (table == null) {
+      if (values.isEmpty()) {
+        throw new IllegalStateException("No values to choose from");
+      }
+      table = new AliasTable(values);
+    }
+    return table;
+  }
 }
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2010-2016 Yahoo! Inc., 2017 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.generator;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the integers from countstart to countend - 1, each once, without the threads contending on a
+ * shared counter for every value.
+ *
+ * Each thread leases a block of integers from the shared counter and hands them out one by one. The blocks
+ * shrink as the range runs out, and a thread whose block is empty once the range is all leased takes half of
+ * what is left in the block of another thread. So all the integers of the range are handed out before any
+ * integer past countend, even if some threads stop early. Past countend, the integers come one by one from the
+ * shared counter, like {@link CounterGenerator}. Within a thread the values increase, but across threads they
+ * come out of order.
+ */
+public class LeasedCounterGenerator extends NumberGenerator {
+  /** The largest block a thread leases. */
+  static final int MAX_LEASE = 1024;
+
+  /**
+   * The integers leased by a thread, from the next one to hand out to the limit, packed in one long so the
+   * owner and threads stealing from the top of the block agree on both.
+   */
+  private static final class Lease extends AtomicLong {
+    private static final long serialVersionUID = 1L;
+
+    private static long pack(int next, int limit) {
+      return ((long) next << 32) | (limit & 0xFFFFFFFFL);
+    }
+
+    private static int next(long lease) {
+      return (int) (lease >>> 32);
+    }
+
+    private static int limit(long lease) {
+      return (int) lease;
+    }
+
+    private static int size(long lease) {
+      return limit(lease) - next(lease);
+    }
+
+    /**
+     * @return The next integer of the block, or null if it is empty.
+     */
+    private Integer take() {
+      while (true) {
+        long lease = get();
+        if (size(lease) <= 0) {
+          return null;
+        }
+        int next = next(lease);
+        if (compareAndSet(lease, pack(next + 1, limit(lease)))) {
+          return next;
+        }
+      }
+    }
+
+    /**
+     * Moves the top half of the block, rounded up, to an empty lease. The integers moved are in neither lease
+     * until the empty lease is set, so the move counts as leasing meanwhile.
+     *
+     * @return false if the block is empty.
+     */
+    private boolean stealInto(Lease empty, AtomicInteger leasing) {
+      while (true) {
+        long lease = get();
+        int size = size(lease);
+        if (size <= 0) {
+          return false;
+        }
+        int limit = limit(lease);
+        int middle = limit - (size + 1) / 2;
+        leasing.incrementAndGet();
+        try {
+          if (compareAndSet(lease, pack(next(lease), middle))) {
+            empty.set(pack(middle, limit));
+            return true;
+          }
+        } finally {
+          leasing.decrementAndGet();
+        }
+      }
+    }
+  }
+
+  private final AtomicLong counter;
+  private final long countend;
+  /** The number of blocks taken from the counter or another lease but not yet visible to threads stealing. */
+  private final AtomicInteger leasing = new AtomicInteger();
+  private final List<Lease> leases = new CopyOnWriteArrayList<>();
+  private final ThreadLocal<Lease> lease = new ThreadLocal<Lease>() {
+    @Override
+    protected Lease initialValue() {
+      Lease l = new Lease();
+      leases.add(l);
+      return l;
+    }
+  };
+
+  /**
+   * Create a counter that hands out countstart to countend - 1 first.
+   */
+  public LeasedCounterGenerator(int countstart, int countend) {
+    counter = new AtomicLong(countstart);
+    this.countend = countend;
+  }
+
+  @Override
+  public Integer nextValue() {
+    Lease own = lease.get();
+    Integer value = own.take();
+    while (value == null) {
+      if (!leaseFromCounter(own) && !stealInto(own)) {
+        if (leasing.get() == 0) {
+          // the whole range is handed out, or about to be by the threads holding it
+          return (int) counter.getAndIncrement();
+        }
+        Thread.yield();
+      }
+      value = own.take();
+    }
+    return value;
+  }
+
+  /**
+   * Leases a block from the shared counter, smaller as fewer integers are left for the threads. The block ends
+   * at countend at the latest, so the counter never skips the integers past it.
+   *
+   * @return false if the range is all leased.
+   */
+  private boolean leaseFromCounter(Lease own) {
+    if (counter.get() >= countend) {
+      // past the range the threads do not count as leasing, not to hold each other up
+      return false;
+    }
+    leasing.incrementAndGet();
+    try {
+      while (true) {
+        long start = counter.get();
+        long remaining = countend - start;
+        if (remaining <= 0) {
+          return false;
+        }
+        long size = Math.max(1, Math.min(MAX_LEASE, remaining / (4 * leases.size())));
+        long end = Math.min(start + size, countend);
+        if (counter.compareAndSet(start, end)) {
+          own.set(Lease.pack((int) start, (int) end));
+          return true;
+        }
+      }
+    } finally {
+      leasing.decrementAndGet();
+    }
+  }
+
+  private boolean stealInto(Lease own) {
+    for (Lease other : leases) {
+      if (other != own && other.stealInto(own, leasing)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * The highest integer leased, which may not be handed out yet.
+   */
+  @Override
+  public Integer lastValue() {
+    return (int) (counter.get() - 1);
+  }
+
+  @Override
+  public double mean() {
+    throw new UnsupportedOperationException("Can't compute mean of non-stationary distribution!");
+  }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2016 Yahoo! Inc., 2017 YCSB contributors. All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.generator;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * A file keeping the values of zeta computed for the zipfian generators, by number of items and zipfian constant,
+ * so runs over the same number of items do not compute them again. Client processes may share the file: it is
+ * read again before every update and replaced as a whole.
+ */
+public final class ZetaCache {
+
+  private static File file;
+
+  private ZetaCache() {
+    // not used
+  }
+
+  /**
+   * Sets the file of the cache, or null to keep no cache.
+   */
+  public static synchronized void setFile(File cacheFile) {
+    file = cacheFile;
+  }
+
+  /**
+   * @return The cached value of zeta for n items and a zipfian constant, or null if there is none.
+   */
+  static synchronized Double get(long n, double theta) {
+    if (file == null) {
+      return null;
+    }
+    String value = load().getProperty(key(n, theta));
+    return value == null ? null : Double.valueOf(value);
+  }
+
+  /**
+   * Adds a value of zeta to the cache.
+   */
+  static synchronized void put(long n, double theta, double zetan) {
+    if (file == null) {
+      return;
+    }
+    Properties values = load();
+    values.setProperty(key(n, theta), Double.toString(zetan));
+    try {
+      File parent = file.getAbsoluteFile().getParentFile();
+      if (parent != null && !parent.exists() && !parent.mkdirs()) {
+        throw new IOException("Could not create " + parent);
+      }
+      File tmp = File.createTempFile(file.getName(), ".tmp", parent);
+      try (OutputStream out = new FileOutputStream(tmp)) {
+        values.store(out, "zeta of the zipfian generators, by number of items and zipfian constant");
+      }
+      Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      System.err.println("Could not update the zeta cache " + file + ": " + e.getMessage());
+    }
+  }
+
+  private static String key(long n, double theta) {
+    return n + "," + theta;
+  }
+
+  private static Properties load() {
+    Properties values = new Properties();
+    if (file.exists()) {
+      try (InputStream in = new FileInputStream(file)) {
+        values.load(in);
+      } catch (IOException | IllegalArgumentException e) {
+        System.err.println("Could not read the zeta cache " + file + ": " + e.getMessage());
+      }
+    }
+    return values;
+  }
+}
@@ -19,6 +19,9 @@ package com.yahoo.ycsb.generator;
 
 import com.yahoo.ycsb.Utils;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * A generator of a zipfian distribution. It produces a sequence of items, such that some items are more popular than
  * others, according to a zipfian distribution. When you construct an instance of this class, you specify the number
@@ -30,12 +33,12 @@ import com.yahoo.ycsb.Utils;
  * popular, and so on (or min is the most popular, min+1 the next most popular, etc.) If you don't want this clustering,
  * and instead want the popular items scattered throughout the item space, then use ScrambledZipfianGenerator instead.
  *
- * Be aware: initializing this generator may take a long time if there are lots of items to choose from (e.g. over a
- * minute for 100 million objects). This is because certain mathematical values need to be computed to properly
- * generate a zipfian skew, and one of those values (zeta) is a sum sequence from 1 to n, where n is the itemcount.
- * Note that if you increase the number of items in the set, we can compute a new zeta incrementally, so it should be
- * fast unless you have added millions of items. However, if you decrease the number of items, we recompute zeta from
- * scratch, so this can take a long time.
+ * Certain mathematical values need to be computed to properly generate a zipfian skew, and one of those values (zeta)
+ * is a sum sequence from 1 to n, where n is the itemcount. The first {@link #APPROXIMATION_THRESHOLD} terms are summed
+ * exactly, in parallel for long sums, and the rest is approximated with the Euler-Maclaurin formula, so initializing
+ * takes well under a second however many items there are. Sums computed from scratch are also kept in the
+ * {@link ZetaCache} when one is set. If you increase the number of items in the set, we compute a new zeta
+ * incrementally. However, if you decrease the number of items, we recompute zeta from scratch.
  *
  * The algorithm used here is from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994.
  */
@@ -60,12 +63,37 @@ public class ZipfianGenerator extends NumberGenerator {
   /**
    * Computed parameters for generating the distribution.
    */
-  private double alpha, zetan, eta, theta, zeta2theta;
+  private double alpha, theta, zeta2theta;
+
+  /**
+   * The parameters depending on the number of items, replaced as a whole when the number of items changes.
+   */
+  private static final class Zeta {
+    /**
+     * The number of items used to compute zetan.
+     */
+    private final long countforzeta;
+    private final double zetan;
+    private final double eta;
+
+    private Zeta(long countforzeta, double zetan, double eta) {
+      this.countforzeta = countforzeta;
+      this.zetan = zetan;
+      this.eta = eta;
+    }
+  }
+
+  private volatile Zeta zeta;
 
   /**
-   * The number of items used to compute zetan the last time.
+   * Sums of more terms than this are split over the common fork-join pool.
    */
-  private long countforzeta;
+  static final long PARALLEL_THRESHOLD = 1L << 20;
+
+  /**
+   * The number of terms of zeta summed exactly, the remaining terms are approximated.
+   */
+  static final long APPROXIMATION_THRESHOLD = 1L << 24;
 
   /**
    * Flag to prevent problems. If you increase the number of items the zipfian generator is allowed to choose from,
@@ -137,74 +165,113 @@ public class ZipfianGenerator extends NumberGenerator {
 
     theta = this.zipfianconstant;
 
-    zeta2theta = zeta(2, theta);
-    
+    zeta2theta = zetastatic(2, theta);
+
     alpha = 1.0 / (1.0 - theta);
-    this.zetan = zetan;
-    countforzeta = items;
-    eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / this.zetan);
+    zeta = new Zeta(items, zetan, eta(zetan));
 
     nextValue();
   }
 
   /**************************************************************************/
 
-  /**
-   * Compute the zeta constant needed for the distribution. Do this from scratch for a distribution with n items,
-   * using the zipfian constant thetaVal. Remember the value of n, so if we change the itemcount, we can recompute zeta.
-   *
-   * @param n The number of items to compute zeta over.
-   * @param thetaVal The zipfian constant.
-   */
-  double zeta(long n, double thetaVal) {
-    countforzeta = n;
-    return zetastatic(n, thetaVal);
+  private double eta(double zetan) {
+    return (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
   }
 
   /**
    * Compute the zeta constant needed for the distribution. Do this from scratch for a distribution with n items,
-   * using the zipfian constant theta. This is a static version of the function which will not remember n.
+   * using the zipfian constant theta. Long sums are looked up in, and added to, the {@link ZetaCache}.
    * @param n The number of items to compute zeta over.
    * @param theta The zipfian constant.
    */
   static double zetastatic(long n, double theta) {
-    return zetastatic(0, n, theta, 0);
+    if (n <= PARALLEL_THRESHOLD) {
+      return zetastatic(0, n, theta, 0);
+    }
+    Double cached = ZetaCache.get(n, theta);
+    if (cached != null) {
+      return cached;
+    }
+    double zetan = zetastatic(0, n, theta, 0);
+    ZetaCache.put(n, theta, zetan);
+    return zetan;
   }
 
   /**
    * Compute the zeta constant needed for the distribution. Do this incrementally for a distribution that
-   * has n items now but used to have st items. Use the zipfian constant thetaVal. Remember the new value of
-   * n so that if we change the itemcount, we'll know to recompute zeta.
-   *
+   * has n items now but used to have st items. Use the zipfian constant theta. The terms beyond the first
+   * {@link #APPROXIMATION_THRESHOLD} are approximated.
    * @param st The number of items used to compute the last initialsum
    * @param n The number of items to compute zeta over.
-   * @param thetaVal The zipfian constant.
+   * @param theta The zipfian constant.
    * @param initialsum The value of zeta we are computing incrementally from.
    */
-  double zeta(long st, long n, double thetaVal, double initialsum) {
-    countforzeta = n;
-    return zetastatic(st, n, thetaVal, initialsum);
+  static double zetastatic(long st, long n, double theta, double initialsum) {
+    long exact = Math.min(n, Math.max(st, APPROXIMATION_THRESHOLD));
+    double sum = initialsum + sum(st, exact, theta);
+    if (n > exact) {
+      sum += approximateSum(exact + 1, n, theta);
+    }
+    return sum;
   }
 
   /**
-   * Compute the zeta constant needed for the distribution. Do this incrementally for a distribution that
-   * has n items now but used to have st items. Use the zipfian constant theta. Remember the new value of
-   * n so that if we change the itemcount, we'll know to recompute zeta.
-   * @param st The number of items used to compute the last initialsum
-   * @param n The number of items to compute zeta over.
-   * @param theta The zipfian constant.
-   * @param initialsum The value of zeta we are computing incrementally from.
+   * @return The sum of 1 / (i + 1) ^ theta for i from st to n - 1, computed in parallel for long sums.
    */
-  static double zetastatic(long st, long n, double theta, double initialsum) {
-    double sum = initialsum;
+  private static double sum(long st, long n, double theta) {
+    if (n - st > PARALLEL_THRESHOLD) {
+      return ForkJoinPool.commonPool().invoke(new SumTask(st, n, theta));
+    }
+    double sum = 0;
     for (long i = st; i < n; i++) {
-
       sum += 1 / (Math.pow(i + 1, theta));
     }
+    return sum;
+  }
 
-    //System.out.println("countforzeta="+countforzeta);
+  /**
+   * Sums a range of the terms of zeta, splitting it in halves down to {@link #PARALLEL_THRESHOLD} terms.
+   */
+  private static final class SumTask extends RecursiveTask<Double> {
+    private final long st;
+    private final long n;
+    private final double theta;
+
+    private SumTask(long st, long n, double theta) {
+      this.st = st;
+      this.n = n;
+      this.theta = theta;
+    }
 
-    return sum;
+    @Override
+    protected Double compute() {
+      if (n - st <= PARALLEL_THRESHOLD) {
+        return sum(st, n, theta);
+      }
+      long middle = st + (n - st) / 2;
+      SumTask low = new SumTask(st, middle, theta);
+      low.fork();
+      double high = new SumTask(middle, n, theta).compute();
+      return low.join() + high;
+    }
+  }
+
+  /**
+   * Approximates the sum of 1 / k ^ theta for k from a to b with the Euler-Maclaurin formula: the integral, the
+   * mean of the end terms and the corrections of the first and third derivatives. For a in the millions the next
+   * correction is below the precision of a double.
+   */
+  static double approximateSum(long a, long b, double theta) {
+    double logRatio = Math.log((double) b / a);
+    // the integral of x ^ -theta from a to b, written to stay precise for theta close to 1
+    double integral = theta == 1
+        ? logRatio
+        : Math.pow(a, 1 - theta) * Math.expm1((1 - theta) * logRatio) / (1 - theta);
+    double ends = (Math.pow(a, -theta) + Math.pow(b, -theta)) / 2;
+    double first = -theta * (Math.pow(b, -theta - 1) - Math.pow(a, -theta - 1));
+    double third = -theta * (theta + 1) * (theta + 2) * (Math.pow(b, -theta - 3) - Math.pow(a, -theta - 3));
+    return integral + ends + first / 12 - third / 720;
   }
 
   /****************************************************************************************/
@@ -219,36 +286,13 @@ public class ZipfianGenerator extends NumberGenerator {
   long nextLong(long itemcount) {
     //from "Quickly Generating Billion-Record Synthetic Databases", Jim Gray et al, SIGMOD 1994
 
-    if (itemcount != countforzeta) {
-
-      //have to recompute zetan and eta, since they depend on itemcount
-      synchronized (this) {
-        if (itemcount > countforzeta) {
-          //System.err.println("WARNING: Incrementally recomputing Zipfian distribtion. (itemcount="+itemcount+"
-          // countforzeta="+countforzeta+")");
-
-          //we have added more items. can compute zetan incrementally, which is cheaper
-          zetan = zeta(countforzeta, itemcount, theta, zetan);
-          eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
-        } else if ((itemcount < countforzeta) && (allowitemcountdecrease)) {
-          //have to start over with zetan
-          //note : for large itemsets, this is very slow. so don't do it!
-
-          //TODO: can also have a negative incremental computation, e.g. if you decrease the number of items,
-          // then just subtract the zeta sequence terms for the items that went away. This would be faster than
-          // recomputing from scratch when the number of items decreases
-
-          System.err.println("WARNING: Recomputing Zipfian distribtion. This is slow and should be avoided. " +
-              "(itemcount=" + itemcount + " countforzeta=" + countforzeta + ")");
-
-          zetan = zeta(itemcount, theta);
-          eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2theta / zetan);
-        }
-      }
+    Zeta z = zeta;
+    if (itemcount != z.countforzeta) {
+      z = recompute(z, itemcount);
     }
 
     double u = Utils.random().nextDouble();
-    double uz = u * zetan;
+    double uz = u * z.zetan;
 
     if (uz < 1.0) {
       return base;
@@ -258,11 +302,49 @@ public class ZipfianGenerator extends NumberGenerator {
       return base + 1;
     }
 
-    long ret = base + (long) ((itemcount) * Math.pow(eta * u - eta + 1, alpha));
+    long ret = base + (long) ((itemcount) * Math.pow(z.eta * u - z.eta + 1, alpha));
     setLastValue(ret);
     return ret;
   }
 
+  /**
+   * Recomputes zetan and eta, since they depend on itemcount. The sum is computed without holding a lock; threads
+   * racing to extend to the same number of items compute the same values.
+   *
+   * @param z The parameters the caller read.
+   * @param itemcount The number of items the caller asks for.
+   * @return The parameters to generate the caller's item with.
+   */
+  private Zeta recompute(Zeta z, long itemcount) {
+    double zetan;
+    if (itemcount > z.countforzeta) {
+      //we have added more items. can compute zetan incrementally, which is cheaper
+      zetan = zetastatic(z.countforzeta, itemcount, theta, z.zetan);
+    } else if (allowitemcountdecrease) {
+      //have to start over with zetan
+
+      //TODO: can also have a negative incremental computation, e.g. if you decrease the number of items,
+      // then just subtract the zeta sequence terms for the items that went away. This would be faster than
+      // recomputing from scratch when the number of items decreases
+
+      System.err.println("WARNING: Recomputing Zipfian distribtion. This is slow and should be avoided. " +
+          "(itemcount=" + itemcount + " countforzeta=" + z.countforzeta + ")");
+
+      zetan = zetastatic(itemcount, theta);
+    } else {
+      return z;
+    }
+
+    Zeta recomputed = new Zeta(itemcount, zetan, eta(zetan));
+    synchronized (this) {
+      // keep the largest number of items any thread asked for, unless decreasing it is allowed
+      if (itemcount > zeta.countforzeta || (allowitemcountdecrease && zeta == z)) {
+        zeta = recomputed;
+      }
+    }
+    return recomputed;
+  }
+
   /**
    * Return the next value, skewed by the Zipfian distribution. The 0th item will be the most popular, followed by
    * the 1st, followed by the 2nd, etc. (Or, if min != 0, the min-th item is the most popular, the min+1th item the
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A thread writing the values measured in each interval to HdrHistogram interval logs, with compressed
+ * histograms, either one log per measurement or a single log tagging each histogram with its measurement. The
+ * measuring threads record into their own recorders and are never waited for.
+ *
+ * <p>The thread is started by {@link #startLogging()} when the run starts and stopped by {@link #finish()} when
+ * the measurements are exported, which closes the logs for good.
+ */
+final class HistogramLogThread extends Thread {
+
+  private final Measurements measurements;
+  private final boolean tagged;
+  private final String path;
+  private final long intervalMs;
+  private long baseTimeMs;
+  private boolean started;
+  private boolean finished;
+
+  // by measurement name, or the single tagged log under null
+  private final Map<String, PrintStream> logs = new HashMap<>();
+  private ByteBuffer buffer = ByteBuffer.allocate(1024);
+  private long intervalStartMs;
+
+  HistogramLogThread(Measurements measurements, boolean tagged, String path, long intervalMs) {
+    super("HistogramLogThread");
+    setDaemon(true);
+    this.measurements = measurements;
+    this.tagged = tagged;
+    this.path = path;
+    this.intervalMs = intervalMs;
+    baseTimeMs = System.currentTimeMillis();
+    intervalStartMs = baseTimeMs;
+  }
+
+  /**
+   * Start logging, the intervals count from now. Does nothing once started or finished.
+   */
+  synchronized void startLogging() {
+    if (started || finished) {
+      return;
+    }
+    started = true;
+    baseTimeMs = System.currentTimeMillis();
+    intervalStartMs = baseTimeMs;
+    start();
+  }
+
+  @Override
+  public void run() {
+    long next = baseTimeMs + intervalMs;
+    try {
+      while (true) {
+        long now = System.currentTimeMillis();
+        if (now < next) {
+          Thread.sleep(next - now);
+          continue;
+        }
+        logInterval();
+        next += intervalMs;
+      }
+    } catch (InterruptedException e) {
+      // finished
+    }
+  }
+
+  /**
+   * Stop the thread, log the last interval and close the logs. Later calls do nothing, so exporting the
+   * measurements again does not reopen and truncate the logs.
+   */
+  synchronized void finish() throws InterruptedException {
+    if (finished) {
+      return;
+    }
+    finished = true;
+    interrupt();
+    join();
+    logInterval();
+    for (PrintStream log : logs.values()) {
+      if (log != null) {
+        log.close();
+      }
+    }
+  }
+
+  private void logInterval() {
+    long now = System.currentTimeMillis();
+    List<IntervalLoggedMeasurement> logged = measurements.getIntervalLoggedMeasurements();
+    for (IntervalLoggedMeasurement measurement : logged) {
+      Histogram interval = measurement.getIntervalHistogram();
+      if (interval.getTotalCount() == 0) {
+        continue;
+      }
+      PrintStream log = getLog(measurement.getName());
+      if (log == null) {
+        continue;
+      }
+      if (buffer.capacity() < interval.getNeededByteBufferCapacity()) {
+        buffer = ByteBuffer.allocate(interval.getNeededByteBufferCapacity());
+      }
+      buffer.clear();
+      int length = interval.encodeIntoCompressedByteBuffer(buffer);
+      String payload = Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+      // the values are in nanoseconds, the maximum is logged in milliseconds
+      log.print(tagged ? "Tag=" + measurement.getName() + "," : "");
+      log.println(String.format(Locale.US, "%.3f,%.3f,%.3f,%s",
+          (intervalStartMs - baseTimeMs) / 1000.0, (now - intervalStartMs) / 1000.0,
+          interval.getMaxValue() / 1000000.0, payload));
+    }
+    for (PrintStream log : logs.values()) {
+      if (log != null) {
+        log.flush();
+      }
+    }
+    intervalStartMs = now;
+  }
+
+  private PrintStream getLog(String name) {
+    String key = tagged ? null : name;
+    PrintStream log = logs.get(key);
+    if (log == null && !logs.containsKey(key)) {
+      String filename = path + (tagged ? "measurements" : name) + ".hlog";
+      try {
+        log = new PrintStream(new BufferedOutputStream(new FileOutputStream(filename)), false);
+        log.println("#[Logged with YCSB" + (tagged ? "" : " for: " + name) + "]");
+        log.println("#[Histogram log format version " + (tagged ? "1.3" : "1.2") + "]");
+        log.println(String.format(Locale.US, "#[StartTime: %.3f (seconds since epoch), %s]",
+            baseTimeMs / 1000.0, new Date(baseTimeMs)));
+        log.println("\"StartTimestamp\",\"Interval_Length\",\"Interval_Max\",\"Interval_Compressed_Histogram\"");
+      } catch (FileNotFoundException e) {
+        System.err.println("Could not open the histogram log " + filename + ", not logging " + name);
+        e.printStackTrace();
+      }
+      logs.put(key, log);
+    }
+    return log;
+  }
+}
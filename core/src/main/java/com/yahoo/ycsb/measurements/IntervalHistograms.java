@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2016 Yahoo! Inc., 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns the total histograms of the measurements into the histograms of the intervals between two reads, for
+ * reporters reading the measurements on their own schedule. Unlike {@link OneMeasurement#getSummary()} this
+ * leaves the intervals of the status reports alone. Only measurement types keeping an HdrHistogram are
+ * included.
+ */
+public class IntervalHistograms {
+  private final Measurements measurements;
+  private final boolean intended;
+  private Map<String, Histogram> totals = Collections.emptyMap();
+  private int generation;
+
+  /**
+   * @param measurements The measurements to read.
+   * @param intended     Whether to prefer the histograms measured from the intended start of the operations.
+   */
+  public IntervalHistograms(Measurements measurements, boolean intended) {
+    this.measurements = measurements;
+    this.intended = intended;
+  }
+
+  /**
+   * Reads the measurements. When the measurements started a new series since the previous read, because a
+   * warm-up measured apart started or ended, the intervals hold all values of the new series.
+   *
+   * @return The histograms of the values measured since the previous read, in nanoseconds, by operation in
+   * alphabetical order.
+   */
+  public Map<String, Histogram> next() {
+    Measurements.TotalHistograms read = measurements.getGenerationTotalHistograms(intended);
+    Map<String, Histogram> current = new TreeMap<>(read.getHistograms());
+    Map<String, Histogram> previousTotals = read.getGeneration() == generation ?
+        totals : Collections.<String, Histogram>emptyMap();
+    Map<String, Histogram> intervals = new TreeMap<>();
+    for (Map.Entry<String, Histogram> entry : current.entrySet()) {
+      Histogram interval = entry.getValue().copy();
+      Histogram previous = previousTotals.get(entry.getKey());
+      if (previous != null) {
+        interval.subtract(previous);
+      }
+      intervals.put(entry.getKey(), interval);
+    }
+    totals = current;
+    generation = read.getGeneration();
+    return intervals;
+  }
+
+  /**
+   * @return The histograms of all values measured up to the last read, in nanoseconds, by operation in
+   * alphabetical order.
+   */
+  public Map<String, Histogram> getTotals() {
+    return totals;
+  }
+}
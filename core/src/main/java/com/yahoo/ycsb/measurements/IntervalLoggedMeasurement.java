@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.Status;
+import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Delegates to a measurement of any type, for the interval log written by {@link HistogramLogThread}. A
+ * measurement keeping an HdrHistogram hands over the values of each interval from its own recorders; for the
+ * other types the values are also recorded in an HdrHistogram per stripe of threads.
+ */
+final class IntervalLoggedMeasurement extends OneMeasurement {
+
+  private final OneMeasurement measurement;
+  // the HdrHistogram measurement the intervals are taken from, or null to record them here
+  private final OneMeasurementHdrHistogram hdrMeasurement;
+  private final StripedRecorders<SingleWriterRecorder> recorders;
+
+  // reused by the log thread, so logging an interval does not allocate
+  private final Histogram recorderInterval = new Histogram(3);
+  private final Histogram interval = new Histogram(3);
+
+  IntervalLoggedMeasurement(OneMeasurement measurement) {
+    super(measurement.getName());
+    this.measurement = measurement;
+    OneMeasurement hdr = measurement instanceof TwoInOneMeasurement ?
+        ((TwoInOneMeasurement) measurement).getThing1() : measurement;
+    if (hdr instanceof OneMeasurementHdrHistogram) {
+      hdrMeasurement = (OneMeasurementHdrHistogram) hdr;
+      recorders = null;
+    } else {
+      hdrMeasurement = null;
+      recorders = new StripedRecorders<SingleWriterRecorder>() {
+        @Override
+        protected SingleWriterRecorder newRecorder() {
+          return new SingleWriterRecorder(3);
+        }
+      };
+    }
+  }
+
+  /**
+   * @return The measurement values are delegated to.
+   */
+  OneMeasurement getMeasurement() {
+    return measurement;
+  }
+
+  @Override
+  public void measure(long latencyNanos) {
+    measurement.measure(latencyNanos);
+    if (recorders != null) {
+      SingleWriterRecorder recorder = recorders.get();
+      synchronized (recorder) {
+        recorder.recordValue(latencyNanos);
+      }
+    }
+  }
+
+  @Override
+  public void reportStatus(Status status) {
+    measurement.reportStatus(status);
+  }
+
+  @Override
+  public Map<String, Integer> getStatusCounts() {
+    return measurement.getStatusCounts();
+  }
+
+  @Override
+  void seriesEnded() {
+    measurement.seriesEnded();
+  }
+
+  @Override
+  public String getSummary() {
+    return measurement.getSummary();
+  }
+
+  @Override
+  public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
+    measurement.exportMeasurements(exporter);
+  }
+
+  /**
+   * Merge what all threads recorded since the last call. This swaps the histograms of the recorders without
+   * waiting for the threads recording into them. Only called by a single thread at a time.
+   *
+   * @return The histogram of the interval, reused by the next call.
+   */
+  Histogram getIntervalHistogram() {
+    if (hdrMeasurement != null) {
+      hdrMeasurement.drainUnloggedInto(interval);
+      return interval;
+    }
+    interval.reset();
+    for (SingleWriterRecorder recorder : recorders.all()) {
+      recorder.getIntervalHistogramInto(recorderInterval);
+      interval.add(recorderInterval);
+    }
+    return interval;
+  }
+}
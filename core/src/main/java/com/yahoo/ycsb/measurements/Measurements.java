@@ -19,8 +19,14 @@ package com.yahoo.ycsb.measurements;
 
 import com.yahoo.ycsb.Status;
 import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
+import org.HdrHistogram.Histogram;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -49,6 +55,33 @@ public class Measurements {
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY = "measurement.trackjvm";
   public static final String MEASUREMENT_TRACK_JVM_PROPERTY_DEFAULT = "false";
 
+  /**
+   * What happens to the measurements taken during a warm-up: "discard" drops them, "separate" reports them
+   * apart, prefixed with "WARMUP-".
+   */
+  public static final String WARMUP_MEASURE_PROPERTY = "warmup.measure";
+  public static final String WARMUP_MEASURE_PROPERTY_DEFAULT = "discard";
+
+  /**
+   * Whether to write HdrHistogram interval logs of the measurements, whatever their type: "off", "perop" for
+   * a log per measurement or "tagged" for a single log tagging the histograms with their measurement.
+   */
+  public static final String HISTOGRAM_LOG_PROPERTY = "measurement.histogramlog";
+  public static final String HISTOGRAM_LOG_PROPERTY_DEFAULT = "off";
+
+  /**
+   * The length of the intervals of the histogram logs, in milliseconds.
+   */
+  public static final String HISTOGRAM_LOG_INTERVAL_PROPERTY = "measurement.histogramlog.interval";
+  public static final String HISTOGRAM_LOG_INTERVAL_PROPERTY_DEFAULT = "1000";
+
+  /**
+   * The prefix of the paths of the histogram logs, followed by the name of the measurement, or "measurements"
+   * for the tagged log, and ".hlog".
+   */
+  public static final String HISTOGRAM_LOG_PATH_PROPERTY = "measurement.histogramlog.path";
+  public static final String HISTOGRAM_LOG_PATH_PROPERTY_DEFAULT = "";
+
   private static Measurements singleton = null;
   private static Properties measurementproperties = null;
 
@@ -66,20 +99,61 @@ public class Measurements {
     return singleton;
   }
 
-  private final ConcurrentHashMap<String, OneMeasurement> opToMesurementMap;
-  private final ConcurrentHashMap<String, OneMeasurement> opToIntendedMesurementMap;
+  /**
+   * The measurements of one phase of a run, replaced as a whole when a warm-up ends.
+   */
+  private static final class Series {
+    private final String prefix;
+    // counts the series of the measurements, so readers can tell when the series was replaced
+    private final int generation;
+    private final ConcurrentHashMap<String, OneMeasurement> opToMesurementMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OneMeasurement> opToIntendedMesurementMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OneMeasurement> opToQueueMesurementMap = new ConcurrentHashMap<>();
+    // the gauges are kept apart from the operations, so readers of the latencies never mistake them for one
+    private final ConcurrentHashMap<String, OneMeasurement> gaugeMeasurementMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> gaugeValues = new ConcurrentHashMap<>();
+
+    Series(String prefix, int generation) {
+      this.prefix = prefix;
+      this.generation = generation;
+    }
+
+    /**
+     * Tells the measurements of the series that it was replaced.
+     */
+    void end() {
+      for (Map<String, OneMeasurement> map : Arrays.asList(opToMesurementMap, opToIntendedMesurementMap,
+          opToQueueMesurementMap, gaugeMeasurementMap)) {
+        for (OneMeasurement m : map.values()) {
+          m.seriesEnded();
+        }
+      }
+    }
+  }
+
+  private volatile Series series;
+  private volatile boolean discarding;
+  private volatile Series warmupSeries;
+  private final boolean separateWarmup;
   private final MeasurementType measurementType;
   private final int measurementInterval;
   private final Properties props;
+  // the properties of the gauges, which are reported in microseconds whatever the units of the latencies
+  private final Properties gaugeProps;
+  private final HistogramLogThread histogramLog;
 
   /**
    * Create a new object with the specified properties.
    */
   public Measurements(Properties props) {
-    opToMesurementMap = new ConcurrentHashMap<>();
-    opToIntendedMesurementMap = new ConcurrentHashMap<>();
+    series = new Series("", 0);
 
     this.props = props;
+    gaugeProps = new Properties();
+    for (String name : props.stringPropertyNames()) {
+      gaugeProps.setProperty(name, props.getProperty(name));
+    }
+    gaugeProps.setProperty(OneMeasurement.UNITS_PROPERTY, "us");
 
     String mTypeString = this.props.getProperty(MEASUREMENT_TYPE_PROPERTY, MEASUREMENT_TYPE_PROPERTY_DEFAULT);
     switch (mTypeString) {
@@ -105,6 +179,11 @@ public class Measurements {
       throw new IllegalArgumentException("unknown " + MEASUREMENT_TYPE_PROPERTY + "=" + mTypeString);
     }
 
+    if (measurementType != MeasurementType.HISTOGRAM && measurementType != MeasurementType.TIMESERIES
+        && measurementType != MeasurementType.RAW) {
+      OneMeasurementHdrHistogram.checkCorrection(this.props);
+    }
+
     String mIntervalString = this.props.getProperty(MEASUREMENT_INTERVAL, MEASUREMENT_INTERVAL_DEFAULT);
     switch (mIntervalString) {
     case "op":
@@ -119,21 +198,104 @@ public class Measurements {
     default:
       throw new IllegalArgumentException("unknown " + MEASUREMENT_INTERVAL + "=" + mIntervalString);
     }
+
+    String warmupString = this.props.getProperty(WARMUP_MEASURE_PROPERTY, WARMUP_MEASURE_PROPERTY_DEFAULT);
+    switch (warmupString) {
+    case "discard":
+      separateWarmup = false;
+      break;
+    case "separate":
+      separateWarmup = true;
+      break;
+    default:
+      throw new IllegalArgumentException("unknown " + WARMUP_MEASURE_PROPERTY + "=" + warmupString);
+    }
+
+    String logString = this.props.getProperty(HISTOGRAM_LOG_PROPERTY, HISTOGRAM_LOG_PROPERTY_DEFAULT);
+    switch (logString) {
+    case "off":
+      histogramLog = null;
+      break;
+    case "perop":
+    case "tagged":
+      histogramLog = new HistogramLogThread(this, logString.equals("tagged"),
+          this.props.getProperty(HISTOGRAM_LOG_PATH_PROPERTY, HISTOGRAM_LOG_PATH_PROPERTY_DEFAULT),
+          Long.parseLong(this.props.getProperty(HISTOGRAM_LOG_INTERVAL_PROPERTY,
+              HISTOGRAM_LOG_INTERVAL_PROPERTY_DEFAULT)));
+      break;
+    default:
+      throw new IllegalArgumentException("unknown " + HISTOGRAM_LOG_PROPERTY + "=" + logString);
+    }
+  }
+
+  /**
+   * Starts writing the histogram logs configured by {@link #HISTOGRAM_LOG_PROPERTY}, with the intervals counted
+   * from now. Call it when the run starts; the logs are finished when the measurements are exported.
+   */
+  public void startHistogramLog() {
+    if (histogramLog != null) {
+      histogramLog.startLogging();
+    }
+  }
+
+  /**
+   * Starts a warm-up. Until {@link #endWarmup()} measurements are dropped or kept apart as configured by
+   * {@link #WARMUP_MEASURE_PROPERTY}.
+   */
+  public synchronized void startWarmup() {
+    if (separateWarmup) {
+      Series replaced = series;
+      series = new Series("WARMUP-", replaced.generation + 1);
+      replaced.end();
+    } else {
+      discarding = true;
+    }
+  }
+
+  /**
+   * Ends the warm-up. All threads switch to a fresh set of measurements at once, so no value measured before
+   * this call is mixed into the measurements of the rest of the run.
+   */
+  public synchronized void endWarmup() {
+    if (separateWarmup) {
+      warmupSeries = series;
+      series = new Series("", warmupSeries.generation + 1);
+      warmupSeries.end();
+    } else {
+      discarding = false;
+    }
   }
 
   private OneMeasurement constructOneMeasurement(String name) {
+    return constructOneMeasurement(name, false);
+  }
+
+  /**
+   * @param correctable true for the latencies of the operations of a thread, which the HdrHistogram measurements
+   *                    may correct for coordinated omission
+   */
+  private OneMeasurement constructOneMeasurement(String name, boolean correctable) {
+    return constructOneMeasurement(name, correctable, props);
+  }
+
+  private OneMeasurement constructOneMeasurement(String name, boolean correctable, Properties props) {
+    OneMeasurement m = constructOneMeasurementOfType(name, correctable, props);
+    return histogramLog == null ? m : new IntervalLoggedMeasurement(m);
+  }
+
+  private OneMeasurement constructOneMeasurementOfType(String name, boolean correctable, Properties props) {
     switch (measurementType) {
     case HISTOGRAM:
       return new OneMeasurementHistogram(name, props);
     case HDRHISTOGRAM:
-      return new OneMeasurementHdrHistogram(name, props);
+      return new OneMeasurementHdrHistogram(name, props, correctable);
     case HDRHISTOGRAM_AND_HISTOGRAM:
       return new TwoInOneMeasurement(name,
-          new OneMeasurementHdrHistogram("Hdr" + name, props),
+          new OneMeasurementHdrHistogram("Hdr" + name, props, correctable),
           new OneMeasurementHistogram("Bucket" + name, props));
     case HDRHISTOGRAM_AND_RAW:
       return new TwoInOneMeasurement(name,
-          new OneMeasurementHdrHistogram("Hdr" + name, props),
+          new OneMeasurementHdrHistogram("Hdr" + name, props, correctable),
           new OneMeasurementRaw("Raw" + name, props));
     case TIMESERIES:
       return new OneMeasurementTimeSeries(name, props);
@@ -177,16 +339,39 @@ public class Measurements {
   }
 
   /**
-   * Report a single value of a single metric. E.g. for read latency, operation="READ" and latency is the measured
-   * value.
+   * Report a single value of a single metric, in microseconds.
+   *
+   * @deprecated Use {@link #handle(String)}, or {@link #measureNanos(String, long)} which does not truncate the
+   * latency to whole microseconds.
    */
+  @Deprecated
   public void measure(String operation, int latency) {
-    if (measurementInterval == 1) {
+    measureNanos(operation, latency * 1000L);
+  }
+
+  /**
+   * Report a single value of a single metric measured from the intended start of the operation, in
+   * microseconds.
+   *
+   * @deprecated Use {@link #handle(String)}, or {@link #measureIntendedNanos(String, long)} which does not
+   * truncate the latency to whole microseconds.
+   */
+  @Deprecated
+  public void measureIntended(String operation, int latency) {
+    measureIntendedNanos(operation, latency * 1000L);
+  }
+
+  /**
+   * Report a single value of a single metric. E.g. for read latency, operation="READ" and latency is the measured
+   * value, in nanoseconds.
+   */
+  public void measureNanos(String operation, long latencyNanos) {
+    if (measurementInterval == 1 || discarding) {
       return;
     }
     try {
       OneMeasurement m = getOpMeasurement(operation);
-      m.measure(latency);
+      m.measure(latencyNanos);
     } catch (java.lang.ArrayIndexOutOfBoundsException e) {
       // This seems like a terribly hacky way to cover up for a bug in the measurement code
       System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
@@ -197,15 +382,15 @@ public class Measurements {
 
   /**
    * Report a single value of a single metric. E.g. for read latency, operation="READ" and latency is the measured
-   * value.
+   * value from the intended start of the operation, in nanoseconds.
    */
-  public void measureIntended(String operation, int latency) {
-    if (measurementInterval == 0) {
+  public void measureIntendedNanos(String operation, long latencyNanos) {
+    if (measurementInterval == 0 || discarding) {
       return;
     }
     try {
       OneMeasurement m = getOpIntendedMeasurement(operation);
-      m.measure(latency);
+      m.measure(latencyNanos);
     } catch (java.lang.ArrayIndexOutOfBoundsException e) {
       // This seems like a terribly hacky way to cover up for a bug in the measurement code
       System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
@@ -214,11 +399,64 @@ public class Measurements {
     }
   }
 
-  private OneMeasurement getOpMeasurement(String operation) {
-    OneMeasurement m = opToMesurementMap.get(operation);
+  /**
+   * Report a sample of a metric which is not a latency, such as the number of threads of the JVM. The value is
+   * reported as it is, whatever {@link OneMeasurement#UNITS_PROPERTY} is: gauges keep the microsecond columns
+   * they were always reported in, holding the plain values. Gauges are exported with the operations, but are
+   * not operations: {@link #getTotalHistograms(boolean)} and {@link #getStatusCounts()} leave them out.
+   */
+  public void measureGauge(String metric, long value) {
+    if (discarding) {
+      return;
+    }
+    final Series s = series;
+    s.gaugeValues.put(metric, value);
+    OneMeasurement m = s.gaugeMeasurementMap.get(metric);
     if (m == null) {
-      m = constructOneMeasurement(operation);
-      OneMeasurement oldM = opToMesurementMap.putIfAbsent(operation, m);
+      m = constructOneMeasurement(s.prefix + metric, false, gaugeProps);
+      OneMeasurement oldM = s.gaugeMeasurementMap.putIfAbsent(metric, m);
+      if (oldM != null) {
+        m = oldM;
+      }
+    }
+    m.measure(value * 1000);
+  }
+
+  /**
+   * Return the last value reported of each gauge, see {@link #measureGauge(String, long)}.
+   */
+  public Map<String, Long> getGauges() {
+    return new HashMap<>(series.gaugeValues);
+  }
+
+  /**
+   * Report the time a single operation of an open-loop run waited between its arrival and its start. Unlike
+   * the other series it is recorded whatever the measurement interval.
+   */
+  public void measureQueue(String operation, long latencyNanos) {
+    if (discarding) {
+      return;
+    }
+    try {
+      OneMeasurement m = getOpQueueMeasurement(operation);
+      m.measure(latencyNanos);
+    } catch (java.lang.ArrayIndexOutOfBoundsException e) {
+      // This seems like a terribly hacky way to cover up for a bug in the measurement code
+      System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
+      e.printStackTrace();
+      e.printStackTrace(System.out);
+    }
+  }
+
+  OneMeasurement getOpMeasurement(String operation) {
+    return getOpMeasurement(series, operation);
+  }
+
+  private OneMeasurement getOpMeasurement(Series s, String operation) {
+    OneMeasurement m = s.opToMesurementMap.get(operation);
+    if (m == null) {
+      m = constructOneMeasurement(s.prefix + operation, true);
+      OneMeasurement oldM = s.opToMesurementMap.putIfAbsent(operation, m);
       if (oldM != null) {
         m = oldM;
       }
@@ -227,11 +465,15 @@ public class Measurements {
   }
 
   private OneMeasurement getOpIntendedMeasurement(String operation) {
-    OneMeasurement m = opToIntendedMesurementMap.get(operation);
+    return getOpIntendedMeasurement(series, operation);
+  }
+
+  private OneMeasurement getOpIntendedMeasurement(Series s, String operation) {
+    OneMeasurement m = s.opToIntendedMesurementMap.get(operation);
     if (m == null) {
       final String name = measurementInterval == 1 ? operation : "Intended-" + operation;
-      m = constructOneMeasurement(name);
-      OneMeasurement oldM = opToIntendedMesurementMap.putIfAbsent(operation, m);
+      m = constructOneMeasurement(s.prefix + name);
+      OneMeasurement oldM = s.opToIntendedMesurementMap.putIfAbsent(operation, m);
       if (oldM != null) {
         m = oldM;
       }
@@ -239,16 +481,230 @@ public class Measurements {
     return m;
   }
 
+  private OneMeasurement getOpQueueMeasurement(String operation) {
+    final Series s = series;
+    OneMeasurement m = s.opToQueueMesurementMap.get(operation);
+    if (m == null) {
+      m = constructOneMeasurement(s.prefix + "Queue-" + operation);
+      OneMeasurement oldM = s.opToQueueMesurementMap.putIfAbsent(operation, m);
+      if (oldM != null) {
+        m = oldM;
+      }
+    }
+    return m;
+  }
+
+  /**
+   * Return a handle measuring a single operation, e.g. "READ". Resolve it once and keep it: recording through a
+   * handle looks nothing up by name.
+   */
+  public Handle handle(String operation) {
+    return new Handle(operation);
+  }
+
+  /**
+   * The measurements of a single operation, resolved again only when a warm-up ends.
+   */
+  private static final class Resolved {
+    private final Series series;
+    private final OneMeasurement measurement;
+    private final OneMeasurement intendedMeasurement;
+
+    private Resolved(Series series, OneMeasurement measurement, OneMeasurement intendedMeasurement) {
+      this.series = series;
+      this.measurement = measurement;
+      this.intendedMeasurement = intendedMeasurement;
+    }
+  }
+
+  /**
+   * Records the latencies and return codes of a single operation, see {@link #handle(String)}. A handle may be
+   * shared by threads.
+   */
+  public final class Handle {
+    private final String operation;
+    private volatile Resolved resolved;
+
+    private Handle(String operation) {
+      this.operation = operation;
+    }
+
+    private Resolved resolve() {
+      final Series s = series;
+      Resolved r = resolved;
+      if (r == null || r.series != s) {
+        r = new Resolved(s,
+            measurementInterval == 1 ? null : getOpMeasurement(s, operation),
+            measurementInterval == 0 ? null : getOpIntendedMeasurement(s, operation));
+        resolved = r;
+      }
+      return r;
+    }
+
+    /**
+     * Report a single operation with no intended start of its own, see
+     * {@link #record(long, long, Status)}.
+     */
+    public void record(long latencyNanos, Status status) {
+      record(latencyNanos, latencyNanos, status);
+    }
+
+    /**
+     * Report the latency and the return code of a single operation.
+     *
+     * @param latencyNanos The latency from the start of the operation.
+     * @param intendedLatencyNanos The latency from the intended start of the operation.
+     * @param status The return code.
+     */
+    public void record(long latencyNanos, long intendedLatencyNanos, Status status) {
+      if (discarding) {
+        return;
+      }
+      Resolved r = resolve();
+      if (r.measurement != null) {
+        measure(r.measurement, latencyNanos);
+        if (r.intendedMeasurement != null) {
+          measure(r.intendedMeasurement, intendedLatencyNanos);
+        }
+        r.measurement.reportStatus(status);
+      } else {
+        measure(r.intendedMeasurement, intendedLatencyNanos);
+        r.intendedMeasurement.reportStatus(status);
+      }
+    }
+
+    /**
+     * Report the latency of a single operation without counting its return code.
+     *
+     * @param latencyNanos The latency from the start of the operation.
+     * @param intendedLatencyNanos The latency from the intended start of the operation.
+     */
+    public void measure(long latencyNanos, long intendedLatencyNanos) {
+      if (discarding) {
+        return;
+      }
+      Resolved r = resolve();
+      if (r.measurement != null) {
+        measure(r.measurement, latencyNanos);
+      }
+      if (r.intendedMeasurement != null) {
+        measure(r.intendedMeasurement, intendedLatencyNanos);
+      }
+    }
+
+    /**
+     * Report the return code of a single operation without measuring its latency.
+     */
+    public void reportStatus(Status status) {
+      if (discarding) {
+        return;
+      }
+      Resolved r = resolve();
+      (r.measurement != null ? r.measurement : r.intendedMeasurement).reportStatus(status);
+    }
+
+    private void measure(OneMeasurement m, long latencyNanos) {
+      try {
+        m.measure(latencyNanos);
+      } catch (java.lang.ArrayIndexOutOfBoundsException e) {
+        // This seems like a terribly hacky way to cover up for a bug in the measurement code
+        System.out.println("ERROR: java.lang.ArrayIndexOutOfBoundsException - ignoring and continuing");
+        e.printStackTrace();
+        e.printStackTrace(System.out);
+      }
+    }
+  }
+
   /**
    * Report a return code for a single DB operation.
    */
   public void reportStatus(final String operation, final Status status) {
+    if (discarding) {
+      return;
+    }
     OneMeasurement m = measurementInterval == 1 ?
         getOpIntendedMeasurement(operation) :
         getOpMeasurement(operation);
     m.reportStatus(status);
   }
 
+  /**
+   * Return copies of the HdrHistograms of all values measured so far, in nanoseconds, by operation. Only
+   * measurement types keeping an HdrHistogram are included, and no gauges.
+   *
+   * @param intended Whether to prefer the histograms measured from the intended start of the operations
+   *                 when both are measured.
+   */
+  public Map<String, Histogram> getTotalHistograms(boolean intended) {
+    return getTotalHistograms(series, intended);
+  }
+
+  /**
+   * Return copies of the histograms of all values measured so far, as {@link #getTotalHistograms(boolean)}, with
+   * the generation of the series they were taken from.
+   */
+  TotalHistograms getGenerationTotalHistograms(boolean intended) {
+    final Series s = series;
+    return new TotalHistograms(s.generation, getTotalHistograms(s, intended));
+  }
+
+  /**
+   * The total histograms of a series of the measurements. The series are replaced when a warm-up measured apart
+   * starts and ends, each replacement starting the totals again with a new generation.
+   */
+  static final class TotalHistograms {
+    private final int generation;
+    private final Map<String, Histogram> histograms;
+
+    private TotalHistograms(int generation, Map<String, Histogram> histograms) {
+      this.generation = generation;
+      this.histograms = histograms;
+    }
+
+    int getGeneration() {
+      return generation;
+    }
+
+    Map<String, Histogram> getHistograms() {
+      return histograms;
+    }
+  }
+
+  private Map<String, Histogram> getTotalHistograms(Series s, boolean intended) {
+    Map<String, OneMeasurement> measurements =
+        measurementInterval == 1 || (intended && measurementInterval == 2) ?
+        s.opToIntendedMesurementMap : s.opToMesurementMap;
+    Map<String, Histogram> histograms = new HashMap<>();
+    for (Map.Entry<String, OneMeasurement> entry : measurements.entrySet()) {
+      OneMeasurement m = entry.getValue();
+      if (m instanceof IntervalLoggedMeasurement) {
+        m = ((IntervalLoggedMeasurement) m).getMeasurement();
+      }
+      if (m instanceof TwoInOneMeasurement) {
+        m = ((TwoInOneMeasurement) m).getThing1();
+      }
+      if (m instanceof OneMeasurementHdrHistogram) {
+        histograms.put(entry.getKey(), ((OneMeasurementHdrHistogram) m).getTotalHistogram());
+      }
+    }
+    return histograms;
+  }
+
+  /**
+   * Return the number of times each status was reported so far, by operation and status name. The counts are
+   * read while the operations run, without disturbing them.
+   */
+  public Map<String, Map<String, Integer>> getStatusCounts() {
+    final Series s = series;
+    Map<String, OneMeasurement> measurements =
+        measurementInterval == 1 ? s.opToIntendedMesurementMap : s.opToMesurementMap;
+    Map<String, Map<String, Integer>> counts = new HashMap<>();
+    for (Map.Entry<String, OneMeasurement> entry : measurements.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().getStatusCounts());
+    }
+    return counts;
+  }
+
   /**
    * Export the current measurements to a suitable format.
    *
@@ -256,26 +712,74 @@ public class Measurements {
    * @throws IOException Thrown if the export failed.
    */
   public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
-    for (OneMeasurement measurement : opToMesurementMap.values()) {
+    if (histogramLog != null) {
+      try {
+        histogramLog.finish();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (warmupSeries != null) {
+      exportMeasurements(warmupSeries, exporter);
+    }
+    exportMeasurements(series, exporter);
+  }
+
+  private static void exportMeasurements(Series s, MeasurementsExporter exporter) throws IOException {
+    for (OneMeasurement measurement : s.opToMesurementMap.values()) {
+      measurement.exportMeasurements(exporter);
+    }
+    for (OneMeasurement measurement : s.gaugeMeasurementMap.values()) {
+      measurement.exportMeasurements(exporter);
+    }
+    for (OneMeasurement measurement : s.opToIntendedMesurementMap.values()) {
       measurement.exportMeasurements(exporter);
     }
-    for (OneMeasurement measurement : opToIntendedMesurementMap.values()) {
+    for (OneMeasurement measurement : s.opToQueueMesurementMap.values()) {
       measurement.exportMeasurements(exporter);
     }
   }
 
+  /**
+   * @return The measurements of all series which are logged in intervals.
+   */
+  List<IntervalLoggedMeasurement> getIntervalLoggedMeasurements() {
+    List<IntervalLoggedMeasurement> logged = new ArrayList<>();
+    for (Series s : new Series[]{warmupSeries, series}) {
+      if (s == null) {
+        continue;
+      }
+      for (Map<String, OneMeasurement> map : Arrays.asList(s.opToMesurementMap, s.opToIntendedMesurementMap,
+          s.opToQueueMesurementMap, s.gaugeMeasurementMap)) {
+        for (OneMeasurement m : map.values()) {
+          if (m instanceof IntervalLoggedMeasurement) {
+            logged.add((IntervalLoggedMeasurement) m);
+          }
+        }
+      }
+    }
+    return logged;
+  }
+
   /**
    * Return a one line summary of the measurements.
    */
   public synchronized String getSummary() {
-    String ret = "";
-    for (OneMeasurement m : opToMesurementMap.values()) {
-      ret += m.getSummary() + " ";
+    final Series s = series;
+    StringBuilder ret = new StringBuilder();
+    for (OneMeasurement m : s.opToMesurementMap.values()) {
+      ret.append(m.getSummary()).append(' ');
+    }
+    for (OneMeasurement m : s.gaugeMeasurementMap.values()) {
+      ret.append(m.getSummary()).append(' ');
+    }
+    for (OneMeasurement m : s.opToIntendedMesurementMap.values()) {
+      ret.append(m.getSummary()).append(' ');
     }
-    for (OneMeasurement m : opToIntendedMesurementMap.values()) {
-      ret += m.getSummary() + " ";
+    for (OneMeasurement m : s.opToQueueMesurementMap.values()) {
+      ret.append(m.getSummary()).append(' ');
     }
-    return ret;
+    return ret.toString();
   }
 
 }
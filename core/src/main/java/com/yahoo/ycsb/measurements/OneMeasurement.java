@@ -21,7 +21,9 @@ import com.yahoo.ycsb.Status;
 import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -30,7 +32,22 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public abstract class OneMeasurement {
 
+  /**
+   * The unit latencies are reported in: "ns", "us" or "ms". They are always measured in nanoseconds.
+   */
+  public static final String UNITS_PROPERTY = "measurement.units";
+  public static final String UNITS_PROPERTY_DEFAULT = "us";
+
   private final String name;
+  private final String units;
+  private final long nanosPerUnit;
+  // the return codes of the statuses defined by Status, counted per stripe of threads and indexed by their ordinal
+  private final StripedRecorders<int[]> definedreturncodes = new StripedRecorders<int[]>() {
+    @Override
+    protected int[] newRecorder() {
+      return new int[Status.DEFINED_STATUSES];
+    }
+  };
   private final ConcurrentHashMap<Status, AtomicInteger> returncodes;
 
   public String getName() {
@@ -41,18 +58,74 @@ public abstract class OneMeasurement {
    * @param name measurement name
    */
   public OneMeasurement(String name) {
+    this(name, new Properties());
+  }
+
+  /**
+   * @param name measurement name
+   * @param props properties, for the reporting units
+   */
+  public OneMeasurement(String name, Properties props) {
     this.name = name;
     this.returncodes = new ConcurrentHashMap<>();
+    units = props.getProperty(UNITS_PROPERTY, UNITS_PROPERTY_DEFAULT);
+    switch (units) {
+    case "ns":
+      nanosPerUnit = 1;
+      break;
+    case "us":
+      nanosPerUnit = 1000;
+      break;
+    case "ms":
+      nanosPerUnit = 1000000;
+      break;
+    default:
+      throw new IllegalArgumentException("unknown " + UNITS_PROPERTY + "=" + units);
+    }
   }
 
-  public abstract void measure(int latency);
+  /**
+   * @param latencyNanos The measured value, in nanoseconds.
+   */
+  public abstract void measure(long latencyNanos);
 
   public abstract String getSummary();
 
   /**
-   * No need for synchronization, using CHM to deal with that.
+   * @return The name of the unit latencies are reported in, such as "us".
+   */
+  protected final String units() {
+    return units;
+  }
+
+  /**
+   * @return A latency in nanoseconds in the reporting units.
+   */
+  protected final double toUnits(double nanos) {
+    return nanos / nanosPerUnit;
+  }
+
+  /**
+   * @return A latency in nanoseconds in whole reporting units, as latencies were reported when they were
+   * measured in them. The exporters write it as an int while it fits one.
+   */
+  protected final long toWholeUnits(long nanos) {
+    return nanos / nanosPerUnit;
+  }
+
+  /**
+   * The statuses defined by {@link Status} are counted per stripe of threads and the others in a CHM.
    */
   public void reportStatus(Status status) {
+    int ordinal = status.ordinal();
+    if (ordinal >= 0) {
+      int[] counts = definedreturncodes.get();
+      synchronized (counts) {
+        counts[ordinal]++;
+      }
+      return;
+    }
+
     AtomicInteger counter = returncodes.get(status);
 
     if (counter == null) {
@@ -66,6 +139,13 @@ public abstract class OneMeasurement {
     counter.incrementAndGet();
   }
 
+  /**
+   * Called once the series of measurements this measurement belongs to was replaced, when a warm-up measured apart
+   * starts or ends. Nothing is measured into it afterwards, though it may still be exported.
+   */
+  void seriesEnded() {
+  }
+
   /**
    * Export the current measurements to a suitable format.
    *
@@ -75,8 +155,35 @@ public abstract class OneMeasurement {
   public abstract void exportMeasurements(MeasurementsExporter exporter) throws IOException;
 
   protected final void exportStatusCounts(MeasurementsExporter exporter) throws IOException {
+    for (Map.Entry<String, Integer> entry : getStatusCounts().entrySet()) {
+      exporter.write(getName(), "Return=" + entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Reads the counts without stopping the threads reporting statuses, so counts read while they run may lag
+   * behind by the last few statuses.
+   *
+   * @return The number of times each status was reported, by status name, the statuses defined by
+   * {@link Status} first. Statuses sharing a name, such as the "ERROR" statuses of several bindings, are counted
+   * together.
+   */
+  public Map<String, Integer> getStatusCounts() {
+    int[] counts = new int[Status.DEFINED_STATUSES];
+    for (int[] recorder : definedreturncodes.all()) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += recorder[i];
+      }
+    }
+    Map<String, Integer> statusCounts = new LinkedHashMap<>();
+    for (Status status : Status.defined()) {
+      if (counts[status.ordinal()] > 0) {
+        statusCounts.put(status.getName(), counts[status.ordinal()]);
+      }
+    }
     for (Map.Entry<Status, AtomicInteger> entry : returncodes.entrySet()) {
-      exporter.write(getName(), "Return=" + entry.getKey().getName(), entry.getValue().get());
+      statusCounts.merge(entry.getKey().getName(), entry.getValue().get(), Integer::sum);
     }
+    return statusCounts;
   }
 }
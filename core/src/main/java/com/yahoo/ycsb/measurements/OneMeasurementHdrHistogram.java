@@ -17,10 +17,13 @@
 
 package com.yahoo.ycsb.measurements;
 
+import com.yahoo.ycsb.Client;
+import com.yahoo.ycsb.ThroughputSearch;
 import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
+import com.yahoo.ycsb.rate.RateProfile;
 import org.HdrHistogram.Histogram;
 import org.HdrHistogram.HistogramLogWriter;
-import org.HdrHistogram.Recorder;
+import org.HdrHistogram.SingleWriterRecorder;
 
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -41,8 +44,23 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
   private final PrintStream log;
   private final HistogramLogWriter histogramLogWriter;
 
-  private final Recorder histogram;
+  // the recorders of the stripes of measuring threads, so the threads rarely share the counts of a histogram
+  private final StripedRecorders<SingleWriterRecorder> histogram =
+      new StripedRecorders<SingleWriterRecorder>() {
+        @Override
+        protected SingleWriterRecorder newRecorder() {
+          return new SingleWriterRecorder(3);
+        }
+      };
+  // the same values recorded with the correction for coordinated omission, when recording corrected
+  private final StripedRecorders<SingleWriterRecorder> correctedHistogram;
+  private long intervalStart = System.currentTimeMillis();
   private Histogram totalHistogram;
+  private Histogram totalCorrectedHistogram;
+  // recorded values not yet reported in a summary or the log
+  private Histogram unreportedHistogram;
+  // recorded values not yet written to the interval log of the measurements, see IntervalLoggedMeasurement
+  private final Histogram unloggedHistogram = new Histogram(3);
 
   /**
    * The name of the property for deciding what percentile values to output.
@@ -54,11 +72,52 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
    */
   public static final String PERCENTILES_PROPERTY_DEFAULT = "95,99";
 
+  /**
+   * The name of the property for correcting the latencies for coordinated omission: "off" (the default),
+   * "record" to record every latency longer than the expected interval together with the latencies of the
+   * operations it held back, or "copy" to correct a copy of the histogram when the measurements are exported.
+   * The corrected latencies are exported next to the measured ones. The correction assumes a fixed interval
+   * between the operations of a thread, so it is refused under a varying rate profile, with more than one
+   * outstanding operation per thread or during a throughput search; the latencies from the intended start
+   * times ({@link Measurements#MEASUREMENT_INTERVAL}) include the omitted waits in those modes.
+   */
+  public static final String CORRECTION_PROPERTY = "hdrhistogram.correction";
+  public static final String CORRECTION_PROPERTY_DEFAULT = "off";
+
+  /**
+   * The name of the property for the expected interval between the operations of a thread, in nanoseconds
+   * (not microseconds, whatever the reporting units). Defaults to the interval of a thread at the "target" rate.
+   */
+  public static final String EXPECTED_INTERVAL_PROPERTY = "hdrhistogram.expectedinterval";
+
   private final List<Double> percentiles;
+  private final boolean copyCorrected;
+  private final long expectedIntervalNs;
 
   public OneMeasurementHdrHistogram(String name, Properties props) {
-    super(name);
+    this(name, props, true);
+  }
+
+  /**
+   * @param correctable false for measurements which are not the latency of the operations of a thread, such as
+   *                    the latency from the intended start time, that are not corrected for coordinated omission
+   */
+  OneMeasurementHdrHistogram(String name, Properties props, boolean correctable) {
+    super(name, props);
     percentiles = getPercentileValues(props.getProperty(PERCENTILES_PROPERTY, PERCENTILES_PROPERTY_DEFAULT));
+    String correction = checkCorrection(props);
+    expectedIntervalNs = correctable && !correction.equals("off") ? expectedIntervalNs(props) : 0;
+    copyCorrected = expectedIntervalNs > 0 && correction.equals("copy");
+    if (expectedIntervalNs > 0 && correction.equals("record")) {
+      correctedHistogram = new StripedRecorders<SingleWriterRecorder>() {
+        @Override
+        protected SingleWriterRecorder newRecorder() {
+          return new SingleWriterRecorder(3);
+        }
+      };
+    } else {
+      correctedHistogram = null;
+    }
     boolean shouldLog = Boolean.parseBoolean(props.getProperty("hdrhistogram.fileoutput", "false"));
     if (!shouldLog) {
       log = null;
@@ -78,15 +137,74 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
       histogramLogWriter.setBaseTime(now);
       histogramLogWriter.outputLegend();
     }
-    histogram = new Recorder(3);
   }
 
   /**
-   * It appears latency is reported in micros.
-   * Using {@link Recorder} to support concurrent updates to histogram.
+   * Latency is recorded in nanos, the histograms grow to the range of the values recorded.
+   * Using a {@link SingleWriterRecorder} per stripe of threads to support concurrent updates to histogram.
+   */
+  public void measure(long latencyInNanos) {
+    SingleWriterRecorder recorder = histogram.get();
+    synchronized (recorder) {
+      recorder.recordValue(latencyInNanos);
+    }
+    if (correctedHistogram != null) {
+      recorder = correctedHistogram.get();
+      synchronized (recorder) {
+        recorder.recordValueWithExpectedInterval(latencyInNanos, expectedIntervalNs);
+      }
+    }
+  }
+
+  /**
+   * Checks that the latencies can be corrected for coordinated omission as configured.
+   *
+   * @return The configured {@link #CORRECTION_PROPERTY}.
+   * @throws IllegalArgumentException if the correction is unknown, or the operations of a thread have no fixed
+   *                                  interval to correct with.
    */
-  public void measure(int latencyInMicros) {
-    histogram.recordValue(latencyInMicros);
+  static String checkCorrection(Properties props) {
+    String correction = props.getProperty(CORRECTION_PROPERTY, CORRECTION_PROPERTY_DEFAULT);
+    if (!correction.equals("off") && !correction.equals("record") && !correction.equals("copy")) {
+      throw new IllegalArgumentException("unknown " + CORRECTION_PROPERTY + "=" + correction);
+    }
+    if (correction.equals("off")) {
+      return correction;
+    }
+    String mode = null;
+    String profile = props.getProperty(RateProfile.RATE_PROFILE_PROPERTY, RateProfile.RATE_PROFILE_PROPERTY_DEFAULT);
+    if (!profile.equals("constant")) {
+      mode = RateProfile.RATE_PROFILE_PROPERTY + "=" + profile;
+    } else if (Integer.parseInt(props.getProperty(Client.OUTSTANDING_OPS_PROPERTY,
+        Client.OUTSTANDING_OPS_PROPERTY_DEFAULT)) > 1) {
+      mode = Client.OUTSTANDING_OPS_PROPERTY + " > 1";
+    } else if (ThroughputSearch.isEnabled(props)) {
+      mode = "a throughput search";
+    }
+    if (mode != null) {
+      throw new IllegalArgumentException(CORRECTION_PROPERTY + "=" + correction + " cannot be used with " + mode
+          + ": the operations of a thread have no fixed interval to correct with. Measure the latencies from the"
+          + " intended start times with " + Measurements.MEASUREMENT_INTERVAL + "=both instead.");
+    }
+    return correction;
+  }
+
+  /**
+   * The expected interval between the operations of a thread, or 0 when there is none to correct with.
+   */
+  private static long expectedIntervalNs(Properties props) {
+    String interval = props.getProperty(EXPECTED_INTERVAL_PROPERTY);
+    if (interval != null) {
+      return Long.parseLong(interval);
+    }
+    double target = Double.parseDouble(props.getProperty("target", "0"));
+    if (target <= 0) {
+      System.err.println("[WARN] " + CORRECTION_PROPERTY + " needs a target or " + EXPECTED_INTERVAL_PROPERTY
+          + ", the latencies will not be corrected.");
+      return 0;
+    }
+    int threads = Integer.parseInt(props.getProperty("threadcount", "1"));
+    return (long) (1000000000L * threads / target);
   }
 
   /**
@@ -101,14 +219,28 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
       // we can close now
       log.close();
     }
-    exporter.write(getName(), "Operations", totalHistogram.getTotalCount());
-    exporter.write(getName(), "AverageLatency(us)", totalHistogram.getMean());
-    exporter.write(getName(), "MinLatency(us)", totalHistogram.getMinValue());
-    exporter.write(getName(), "MaxLatency(us)", totalHistogram.getMaxValue());
+    // the counts and whole units are written as doubles, as the longs of the histogram always were
+    exporter.write(getName(), "Operations", (double) totalHistogram.getTotalCount());
+    exporter.write(getName(), "AverageLatency(" + units() + ")", toUnits(totalHistogram.getMean()));
+    Histogram h = totalHistogram;
+    exporter.write(getName(), "MinLatency(" + units() + ")", (double) toWholeUnits(h, h.getMinValue()));
+    exporter.write(getName(), "MaxLatency(" + units() + ")", (double) toWholeUnits(h, h.getMaxValue()));
 
     for (Double percentile : percentiles) {
-      exporter.write(getName(), ordinal(percentile) + "PercentileLatency(us)",
-          totalHistogram.getValueAtPercentile(percentile));
+      exporter.write(getName(), ordinal(percentile) + "PercentileLatency(" + units() + ")",
+          (double) toWholeUnits(h, h.getValueAtPercentile(percentile)));
+    }
+
+    Histogram corrected = getTotalCorrectedHistogram();
+    if (corrected != null) {
+      exporter.write(getName(), "CorrectedOperations", (double) corrected.getTotalCount());
+      exporter.write(getName(), "CorrectedAverageLatency(" + units() + ")", toUnits(corrected.getMean()));
+      exporter.write(getName(), "CorrectedMaxLatency(" + units() + ")",
+          (double) toWholeUnits(corrected, corrected.getMaxValue()));
+      for (Double percentile : percentiles) {
+        exporter.write(getName(), "Corrected" + ordinal(percentile) + "PercentileLatency(" + units() + ")",
+            (double) toWholeUnits(corrected, corrected.getValueAtPercentile(percentile)));
+      }
     }
 
     exportStatusCounts(exporter);
@@ -130,23 +262,93 @@ public class OneMeasurementHdrHistogram extends OneMeasurement {
     }
 
     DecimalFormat d = new DecimalFormat("#.##");
-    return "[" + getName() + ": Count=" + intervalHistogram.getTotalCount() + ", Max="
-        + intervalHistogram.getMaxValue() + ", Min=" + intervalHistogram.getMinValue() + ", Avg="
-        + d.format(intervalHistogram.getMean()) + ", 90=" + d.format(intervalHistogram.getValueAtPercentile(90))
-        + ", 99=" + d.format(intervalHistogram.getValueAtPercentile(99)) + ", 99.9="
-        + d.format(intervalHistogram.getValueAtPercentile(99.9)) + ", 99.99="
-        + d.format(intervalHistogram.getValueAtPercentile(99.99)) + "]";
+    Histogram h = intervalHistogram;
+    return "[" + getName() + ": Count=" + h.getTotalCount() + ", Max=" + toWholeUnits(h, h.getMaxValue())
+        + ", Min=" + toWholeUnits(h, h.getMinValue()) + ", Avg=" + d.format(toUnits(h.getMean()))
+        + ", 90=" + toWholeUnits(h, h.getValueAtPercentile(90))
+        + ", 99=" + toWholeUnits(h, h.getValueAtPercentile(99))
+        + ", 99.9=" + toWholeUnits(h, h.getValueAtPercentile(99.9))
+        + ", 99.99=" + toWholeUnits(h, h.getValueAtPercentile(99.99)) + "]";
+  }
+
+  /**
+   * Returns a copy of the histogram of all values measured so far, in nanoseconds. Comparing copies taken at two
+   * points in time gives the histogram of the window between them without disturbing the intervals of the status
+   * reports.
+   */
+  public synchronized Histogram getTotalHistogram() {
+    accumulate();
+    return totalHistogram.copy();
+  }
+
+  /**
+   * Returns a copy of the histogram of all values measured so far corrected for coordinated omission, in
+   * nanoseconds, or null if the latencies are not corrected.
+   */
+  public synchronized Histogram getTotalCorrectedHistogram() {
+    accumulate();
+    if (copyCorrected) {
+      return totalHistogram.copyCorrectedForCoordinatedOmission(expectedIntervalNs);
+    }
+    return totalCorrectedHistogram == null ? null : totalCorrectedHistogram.copy();
+  }
+
+  /**
+   * Moves the values recorded since the last call into {@code interval}, in nanoseconds, for the interval log
+   * of the measurements. The values stay in the totals and the status reports.
+   */
+  synchronized void drainUnloggedInto(Histogram interval) {
+    accumulate();
+    interval.reset();
+    interval.add(unloggedHistogram);
+    unloggedHistogram.reset();
+  }
+
+  private synchronized Histogram getIntervalHistogramAndAccumulate() {
+    accumulate();
+    Histogram intervalHistogram = unreportedHistogram;
+    unreportedHistogram = null;
+    return intervalHistogram;
   }
 
-  private Histogram getIntervalHistogramAndAccumulate() {
-    Histogram intervalHistogram = histogram.getIntervalHistogram();
+  private void accumulate() {
+    Histogram intervalHistogram = new Histogram(3);
+    for (SingleWriterRecorder recorder : histogram.all()) {
+      intervalHistogram.add(recorder.getIntervalHistogram());
+    }
+    long now = System.currentTimeMillis();
+    intervalHistogram.setStartTimeStamp(intervalStart);
+    intervalHistogram.setEndTimeStamp(now);
+    intervalStart = now;
     // add this to the total time histogram.
     if (totalHistogram == null) {
-      totalHistogram = intervalHistogram;
+      totalHistogram = intervalHistogram.copy();
     } else {
       totalHistogram.add(intervalHistogram);
     }
-    return intervalHistogram;
+    unloggedHistogram.add(intervalHistogram);
+    if (unreportedHistogram == null) {
+      unreportedHistogram = intervalHistogram;
+    } else {
+      unreportedHistogram.add(intervalHistogram);
+      unreportedHistogram.setEndTimeStamp(intervalHistogram.getEndTimeStamp());
+    }
+    if (correctedHistogram != null) {
+      if (totalCorrectedHistogram == null) {
+        totalCorrectedHistogram = new Histogram(3);
+      }
+      for (SingleWriterRecorder recorder : correctedHistogram.all()) {
+        totalCorrectedHistogram.add(recorder.getIntervalHistogram());
+      }
+    }
+  }
+
+  /**
+   * A value of a histogram in whole reporting units. The histogram keeps the values in ranges, the middle of the
+   * range stands for the value.
+   */
+  private long toWholeUnits(Histogram h, long nanos) {
+    return toWholeUnits(h.medianEquivalentValue(nanos));
   }
 
   /**
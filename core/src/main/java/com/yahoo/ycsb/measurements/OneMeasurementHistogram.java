@@ -37,120 +37,161 @@ public class OneMeasurementHistogram extends OneMeasurement {
   private final int buckets;
 
   /**
-   * Groups operations in discrete blocks of 1ms width.
+   * The values measured by one stripe of threads.
    */
-  private final int[] histogram;
-
-  /**
-   * Counts all operations outside the histogram's range.
-   */
-  private int histogramoverflow;
-
-  /**
-   * The total number of reported operations.
-   */
-  private int operations;
-
-  /**
-   * The sum of each latency measurement over all operations.
-   * Calculated in ms.
-   */
-  private long totallatency;
-
-  /**
-   * The sum of each latency measurement squared over all operations. 
-   * Used to calculate variance of latency.
-   * Calculated in ms. 
-   */
-  private double totalsquaredlatency;
+  private static final class Recorder {
+    /**
+     * Groups operations in discrete blocks of 1ms width.
+     */
+    private final int[] histogram;
+
+    /**
+     * Counts all operations outside the histogram's range.
+     */
+    private int histogramoverflow;
+
+    /**
+     * The total number of reported operations.
+     */
+    private int operations;
+
+    /**
+     * The sum of each latency measurement over all operations.
+     * Calculated in ns.
+     */
+    private long totallatency;
+
+    /**
+     * The sum of each latency measurement squared over all operations.
+     * Used to calculate variance of latency.
+     * Calculated in ns.
+     */
+    private double totalsquaredlatency;
+
+    private long min = -1;
+    private long max = -1;
+
+    Recorder(int buckets) {
+      histogram = new int[buckets];
+    }
+  }
 
-  //keep a windowed version of these stats for printing status
-  private int windowoperations;
-  private long windowtotallatency;
+  private final StripedRecorders<Recorder> recorders = new StripedRecorders<Recorder>() {
+    @Override
+    protected Recorder newRecorder() {
+      return new Recorder(buckets);
+    }
+  };
 
-  private int min;
-  private int max;
+  //the totals of the last status report, the window printed next is what was measured since
+  private int reportedoperations;
+  private long reportedlatency;
 
   public OneMeasurementHistogram(String name, Properties props) {
-    super(name);
+    super(name, props);
     buckets = Integer.parseInt(props.getProperty(BUCKETS, BUCKETS_DEFAULT));
-    histogram = new int[buckets];
-    histogramoverflow = 0;
-    operations = 0;
-    totallatency = 0;
-    totalsquaredlatency = 0;
-    windowoperations = 0;
-    windowtotallatency = 0;
-    min = -1;
-    max = -1;
   }
 
   /* (non-Javadoc)
-   * @see com.yahoo.ycsb.OneMeasurement#measure(int)
+   * @see com.yahoo.ycsb.OneMeasurement#measure(long)
    */
-  public synchronized void measure(int latency) {
-    //latency reported in us and collected in bucket by ms.
-    if (latency / 1000 >= buckets) {
-      histogramoverflow++;
-    } else {
-      histogram[latency / 1000]++;
-    }
-    operations++;
-    totallatency += latency;
-    totalsquaredlatency += ((double) latency) * ((double) latency);
-    windowoperations++;
-    windowtotallatency += latency;
-
-    if ((min < 0) || (latency < min)) {
-      min = latency;
-    }
+  public void measure(long latency) {
+    Recorder r = recorders.get();
+    synchronized (r) {
+      //latency reported in ns and collected in bucket by ms.
+      if (latency / 1000000 >= buckets) {
+        r.histogramoverflow++;
+      } else {
+        r.histogram[(int) (latency / 1000000)]++;
+      }
+      r.operations++;
+      r.totallatency += latency;
+      r.totalsquaredlatency += ((double) latency) * ((double) latency);
 
-    if ((max < 0) || (latency > max)) {
-      max = latency;
+      if ((r.min < 0) || (latency < r.min)) {
+        r.min = latency;
+      }
+
+      if ((r.max < 0) || (latency > r.max)) {
+        r.max = latency;
+      }
     }
   }
 
   @Override
   public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
-    double mean = totallatency / ((double) operations);
-    double variance = totalsquaredlatency / ((double) operations) - (mean * mean);
+    int[] histogram = new int[buckets];
+    int histogramoverflow = 0;
+    int operations = 0;
+    long totallatency = 0;
+    double totalsquaredlatency = 0;
+    long min = -1;
+    long max = -1;
+    for (Recorder r : recorders.all()) {
+      for (int i = 0; i < buckets; i++) {
+        histogram[i] += r.histogram[i];
+      }
+      histogramoverflow += r.histogramoverflow;
+      operations += r.operations;
+      totallatency += r.totallatency;
+      totalsquaredlatency += r.totalsquaredlatency;
+      if ((min < 0) || (r.min >= 0 && r.min < min)) {
+        min = r.min;
+      }
+      if (r.max > max) {
+        max = r.max;
+      }
+    }
+
+    double mean = toUnits(totallatency / ((double) operations));
+    double variance = toUnits(toUnits(totalsquaredlatency / ((double) operations))) - (mean * mean);
     exporter.write(getName(), "Operations", operations);
-    exporter.write(getName(), "AverageLatency(us)", mean);
-    exporter.write(getName(), "LatencyVariance(us)", variance);
-    exporter.write(getName(), "MinLatency(us)", min);
-    exporter.write(getName(), "MaxLatency(us)", max);
+    exporter.write(getName(), "AverageLatency(" + units() + ")", mean);
+    exporter.write(getName(), "LatencyVariance(" + units() + ")", variance);
+    exporter.write(getName(), "MinLatency(" + units() + ")", min < 0 ? -1 : toWholeUnits(min));
+    exporter.write(getName(), "MaxLatency(" + units() + ")", max < 0 ? -1 : toWholeUnits(max));
 
     int opcounter = 0;
     boolean done95th = false;
     for (int i = 0; i < buckets; i++) {
       opcounter += histogram[i];
       if ((!done95th) && (((double) opcounter) / ((double) operations) >= 0.95)) {
-        exporter.write(getName(), "95thPercentileLatency(us)", i * 1000);
+        exporter.write(getName(), "95thPercentileLatency(" + units() + ")", toWholeUnits(i * 1000000L));
         done95th = true;
       }
       if (((double) opcounter) / ((double) operations) >= 0.99) {
-        exporter.write(getName(), "99thPercentileLatency(us)", i * 1000);
+        exporter.write(getName(), "99thPercentileLatency(" + units() + ")", toWholeUnits(i * 1000000L));
         break;
       }
     }
 
     exportStatusCounts(exporter);
 
+    long[] keys = new long[buckets];
     for (int i = 0; i < buckets; i++) {
-      exporter.write(getName(), Integer.toString(i), histogram[i]);
+      keys[i] = i;
     }
+    exporter.write(getName(), keys, histogram);
     exporter.write(getName(), ">" + buckets, histogramoverflow);
   }
 
   @Override
-  public String getSummary() {
+  public synchronized String getSummary() {
+    int operations = 0;
+    long totallatency = 0;
+    for (Recorder r : recorders.all()) {
+      operations += r.operations;
+      totallatency += r.totallatency;
+    }
+    int windowoperations = operations - reportedoperations;
+    long windowtotallatency = totallatency - reportedlatency;
     if (windowoperations == 0) {
       return "";
     }
+    reportedoperations = operations;
+    reportedlatency = totallatency;
     DecimalFormat d = new DecimalFormat("#.##");
-    double report = ((double) windowtotallatency) / ((double) windowoperations);
-    windowtotallatency = 0;
-    windowoperations = 0;
-    return "[" + getName() + " AverageLatency(us)=" + d.format(report) + "]";
+    double report = toUnits(((double) windowtotallatency) / ((double) windowoperations));
+    return "[" + getName() + " AverageLatency(" + units() + ")=" + d.format(report) + "]";
   }
 }
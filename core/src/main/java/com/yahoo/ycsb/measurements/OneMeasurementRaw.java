@@ -19,53 +19,53 @@ package com.yahoo.ycsb.measurements;
 
 import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Properties;
 
 /**
  * Record a series of measurements as raw data points without down sampling,
  * optionally write to an output file when configured.
  *
+ * <p>Each stripe of threads appends its data points to a chunk of primitive
+ * arrays. Full chunks are spilled to a temporary file, so the heap holds a
+ * single chunk per stripe whatever the length of the run. At export the
+ * chunks are streamed back: merged by timestamp for the raw output, and
+ * sorted in runs and merged for the percentiles.
  */
 public class OneMeasurementRaw extends OneMeasurement {
   /**
-   * One raw data point, two fields: timestamp (ms) when the datapoint is
-   * inserted, and the value.
+   * The raw data points measured by one stripe of threads, two values each: timestamp (ms)
+   * when the datapoint is inserted, and the value.
    */
-  class RawDataPoint {
-    private final long timestamp;
-    private final int value;
-
-    public RawDataPoint(int value) {
-      this.timestamp = System.currentTimeMillis();
-      this.value = value;
-    }
-
-    public long timeStamp() {
-      return timestamp;
-    }
-
-    public int value() {
-      return value;
-    }
-  }
-
-  class RawDataPointComparator implements Comparator<RawDataPoint> {
-    @Override
-    public int compare(RawDataPoint p1, RawDataPoint p2) {
-      if (p1.value() < p2.value()) {
-        return -1;
-      } else if (p1.value() == p2.value()) {
-        return 0;
-      } else {
-        return 1;
+  private final class Recorder {
+    private final long[] timestamps = new long[chunkSize];
+    private final long[] values = new long[chunkSize];
+    private int size;
+    // the positions of the chunks spilled, in the order they were measured
+    private final List<Long> spilled = new ArrayList<>();
+    private long operations;
+    private long totalLatency;
+
+    void add(long value) {
+      if (size == chunkSize) {
+        spilled.add(spill(timestamps, values));
+        size = 0;
       }
+      timestamps[size] = System.currentTimeMillis();
+      values[size] = value;
+      size++;
+      operations++;
+      totalLatency += value;
     }
   }
 
@@ -88,21 +88,56 @@ public class OneMeasurementRaw extends OneMeasurement {
   public static final String NO_SUMMARY_STATS = "measurement.raw.no_summary";
   public static final String NO_SUMMARY_STATS_DEFAULT = "false";
 
+  /**
+   * The number of data points each stripe of threads keeps in memory before spilling them to disk.
+   */
+  public static final String CHUNK_SIZE = "measurement.raw.chunk_size";
+  public static final String CHUNK_SIZE_DEFAULT = "16384";
+
+  /**
+   * The directory of the temporary files the data points are spilled to. Defaults to the temporary directory
+   * of the JVM.
+   */
+  public static final String SPILL_DIR = "measurement.raw.spill_dir";
+
+  /**
+   * The number of latencies sorted in memory at once when computing the percentiles.
+   */
+  public static final String SORT_RUN_SIZE = "measurement.raw.sort_run_size";
+  public static final String SORT_RUN_SIZE_DEFAULT = "4194304";
+
+  /**
+   * The number of latencies read at once from each sorted run while merging them.
+   */
+  private static final int MERGE_BLOCK_SIZE = 4096;
+
+  private static final double[] PERCENTILES = {0.01, 0.05, 0.5, 0.9, 0.95, 0.99, 0.999, 0.9999};
+  private static final String[] PERCENTILE_NAMES = {"p1", "p5", "p50", "p90", "p95", "p99", "p99.9", "p99.99"};
+
   private final PrintStream outputStream;
 
   private boolean noSummaryStats = false;
 
-  private LinkedList<RawDataPoint> measurements;
-  private long totalLatency = 0;
+  private final int chunkSize;
+  private final int sortRunSize;
+  private final File spillDir;
+  private RawSpillFile spillFile;
 
-  // A window of stats to print summary for at the next getSummary() call.
-  // It's supposed to be a one line summary, so we will just print count and
-  // average.
-  private int windowOperations = 0;
-  private long windowTotalLatency = 0;
+  private final StripedRecorders<Recorder> recorders = new StripedRecorders<Recorder>() {
+    @Override
+    protected Recorder newRecorder() {
+      return new Recorder();
+    }
+  };
+
+  // The totals at the last getSummary() call, the window of stats to print
+  // at the next call is what was measured since. It's supposed to be a one
+  // line summary, so we will just print count and average.
+  private long reportedOperations = 0;
+  private long reportedLatency = 0;
 
   public OneMeasurementRaw(String name, Properties props) {
-    super(name);
+    super(name, props);
 
     String outputFilePath = props.getProperty(OUTPUT_FILE_PATH, OUTPUT_FILE_PATH_DEFAULT);
     if (!outputFilePath.isEmpty()) {
@@ -111,8 +146,8 @@ public class OneMeasurementRaw extends OneMeasurement {
 
       try {
         outputStream = new PrintStream(
-            new FileOutputStream(outputFilePath, true),
-            true);
+            new BufferedOutputStream(new FileOutputStream(outputFilePath, true), 1 << 16),
+            false);
       } catch (FileNotFoundException e) {
         throw new RuntimeException("Failed to open raw data output file", e);
       }
@@ -125,17 +160,183 @@ public class OneMeasurementRaw extends OneMeasurement {
 
     noSummaryStats = Boolean.parseBoolean(props.getProperty(NO_SUMMARY_STATS,
         NO_SUMMARY_STATS_DEFAULT));
-
-    measurements = new LinkedList<>();
+    chunkSize = Integer.parseInt(props.getProperty(CHUNK_SIZE, CHUNK_SIZE_DEFAULT));
+    sortRunSize = Integer.parseInt(props.getProperty(SORT_RUN_SIZE, SORT_RUN_SIZE_DEFAULT));
+    spillDir = new File(props.getProperty(SPILL_DIR, System.getProperty("java.io.tmpdir")));
   }
 
   @Override
-  public synchronized void measure(int latency) {
-    totalLatency += latency;
-    windowTotalLatency += latency;
-    windowOperations++;
+  public void measure(long latency) {
+    Recorder recorder = recorders.get();
+    synchronized (recorder) {
+      recorder.add(latency);
+    }
+  }
+
+  /**
+   * Spill a full chunk of data points, opening the spill file on the first call.
+   *
+   * @return The position of the chunk in the spill file.
+   */
+  private long spill(long[] timestamps, long[] values) {
+    try {
+      return getSpillFile().append(chunkSize, timestamps, values);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to spill raw data points", e);
+    }
+  }
+
+  private synchronized RawSpillFile getSpillFile() throws IOException {
+    if (spillFile == null) {
+      spillFile = new RawSpillFile(spillDir, getName());
+    }
+    return spillFile;
+  }
+
+  /**
+   * Iterates over the data points of one stripe in the order they were measured, the spilled chunks first.
+   */
+  private final class Cursor {
+    private final Recorder recorder;
+    private long[] timestamps;
+    private long[] values;
+    private int chunk;
+    private int next;
+    private int size;
+
+    private long timestamp;
+    private long value;
+
+    Cursor(Recorder recorder) {
+      this.recorder = recorder;
+    }
 
-    measurements.add(new RawDataPoint(latency));
+    boolean next() throws IOException {
+      while (next == size) {
+        if (chunk < recorder.spilled.size()) {
+          if (timestamps == null || timestamps == recorder.timestamps) {
+            timestamps = new long[chunkSize];
+            values = new long[chunkSize];
+          }
+          long position = recorder.spilled.get(chunk);
+          spillFile.read(position, 0, timestamps, chunkSize);
+          spillFile.read(position, chunkSize, values, chunkSize);
+          size = chunkSize;
+        } else if (chunk == recorder.spilled.size()) {
+          timestamps = recorder.timestamps;
+          values = recorder.values;
+          size = recorder.size;
+        } else {
+          return false;
+        }
+        chunk++;
+        next = 0;
+      }
+      timestamp = timestamps[next];
+      value = values[next];
+      next++;
+      return true;
+    }
+  }
+
+  /**
+   * Sorts the latencies in runs of {@link #SORT_RUN_SIZE} latencies, spilling the sorted runs when there are more than
+   * one, and streams them back merged.
+   */
+  private final class LatencySorter {
+    private final long[] run;
+    private int size;
+    private RawSpillFile runs;
+    private final List<Long> runPositions = new ArrayList<>();
+    private final List<Integer> runLengths = new ArrayList<>();
+
+    LatencySorter(long operations) {
+      run = new long[(int) Math.min(operations, sortRunSize)];
+    }
+
+    void add(long latency) throws IOException {
+      if (size == run.length) {
+        spillRun();
+      }
+      run[size++] = latency;
+    }
+
+    private void spillRun() throws IOException {
+      Arrays.sort(run, 0, size);
+      if (runs == null) {
+        runs = new RawSpillFile(spillDir, getName() + "-sorted");
+      }
+      runPositions.add(runs.append(size, run));
+      runLengths.add(size);
+      size = 0;
+    }
+
+    /**
+     * Read the latencies at the given ranks of the sorted latencies.
+     *
+     * @param ranks The ranks, in ascending order.
+     */
+    long[] valuesAt(long[] ranks) throws IOException {
+      long[] found = new long[ranks.length];
+      if (runs == null) {
+        Arrays.sort(run, 0, size);
+        for (int i = 0; i < ranks.length; i++) {
+          found[i] = run[(int) ranks[i]];
+        }
+        return found;
+      }
+      if (size > 0) {
+        spillRun();
+      }
+
+      final long[][] blocks = new long[runPositions.size()][];
+      final int[] next = new int[blocks.length];
+      final int[] blockSize = new int[blocks.length];
+      final long[] read = new long[blocks.length];
+      PriorityQueue<Integer> byLatency = new PriorityQueue<>(blocks.length, new Comparator<Integer>() {
+        @Override
+        public int compare(Integer r1, Integer r2) {
+          return Long.compare(blocks[r1][next[r1]], blocks[r2][next[r2]]);
+        }
+      });
+      for (int r = 0; r < blocks.length; r++) {
+        blocks[r] = new long[MERGE_BLOCK_SIZE];
+        if (readBlock(r, blocks, blockSize, read)) {
+          byLatency.add(r);
+        }
+      }
+
+      long rank = 0;
+      int i = 0;
+      while (i < ranks.length && !byLatency.isEmpty()) {
+        int r = byLatency.poll();
+        long latency = blocks[r][next[r]];
+        while (i < ranks.length && ranks[i] == rank) {
+          found[i++] = latency;
+        }
+        rank++;
+        if (++next[r] == blockSize[r]) {
+          next[r] = 0;
+          if (!readBlock(r, blocks, blockSize, read)) {
+            continue;
+          }
+        }
+        byLatency.add(r);
+      }
+      runs.delete();
+      return found;
+    }
+
+    private boolean readBlock(int r, long[][] blocks, int[] blockSize, long[] read) throws IOException {
+      int length = (int) Math.min(MERGE_BLOCK_SIZE, runLengths.get(r) - read[r]);
+      if (length == 0) {
+        return false;
+      }
+      runs.read(runPositions.get(r), read[r], blocks[r], length);
+      read[r] += length;
+      blockSize[r] = length;
+      return true;
+    }
   }
 
   @Override
@@ -145,62 +346,115 @@ public class OneMeasurementRaw extends OneMeasurement {
     // stdout.
 
     outputStream.println(getName() +
-        " latency raw data: op, timestamp(ms), latency(us)");
-    for (RawDataPoint point : measurements) {
-      outputStream.println(
-          String.format("%s,%d,%d", getName(), point.timeStamp(),
-              point.value()));
+        " latency raw data: op, timestamp(ms), latency(" + units() + ")");
+    // merge the points of all threads by timestamp
+    PriorityQueue<Cursor> byTimestamp = new PriorityQueue<>(Math.max(1, recorders.all().size()),
+        new Comparator<Cursor>() {
+          @Override
+          public int compare(Cursor c1, Cursor c2) {
+            return Long.compare(c1.timestamp, c2.timestamp);
+          }
+        });
+    long totalOps = 0;
+    long totalLatency = 0;
+    for (Recorder recorder : recorders.all()) {
+      totalOps += recorder.operations;
+      totalLatency += recorder.totalLatency;
+      Cursor cursor = new Cursor(recorder);
+      if (cursor.next()) {
+        byTimestamp.add(cursor);
+      }
+    }
+    LatencySorter sorter = noSummaryStats ? null : new LatencySorter(totalOps);
+    StringBuilder line = new StringBuilder();
+    while (!byTimestamp.isEmpty()) {
+      Cursor cursor = byTimestamp.poll();
+      line.setLength(0);
+      line.append(getName()).append(',').append(cursor.timestamp).append(',').append(toWholeUnits(cursor.value));
+      outputStream.println(line);
+      if (sorter != null) {
+        sorter.add(cursor.value);
+      }
+      if (cursor.next()) {
+        byTimestamp.add(cursor);
+      }
     }
     if (outputStream != System.out) {
       outputStream.close();
+    } else {
+      outputStream.flush();
+    }
+    if (spillFile != null) {
+      spillFile.delete();
+      spillFile = null;
     }
 
-    int totalOps = measurements.size();
-    exporter.write(getName(), "Total Operations", totalOps);
+    writeCount(exporter, "Total Operations", totalOps);
     if (totalOps > 0 && !noSummaryStats) {
       exporter.write(getName(),
-          "Below is a summary of latency in microseconds:", -1);
+          "Below is a summary of latency in " + unitsName() + ":", -1);
       exporter.write(getName(), "Average",
-          (double) totalLatency / (double) totalOps);
-
-      Collections.sort(measurements, new RawDataPointComparator());
-
-      exporter.write(getName(), "Min", measurements.get(0).value());
-      exporter.write(
-          getName(), "Max", measurements.get(totalOps - 1).value());
-      exporter.write(
-          getName(), "p1", measurements.get((int) (totalOps * 0.01)).value());
-      exporter.write(
-          getName(), "p5", measurements.get((int) (totalOps * 0.05)).value());
-      exporter.write(
-          getName(), "p50", measurements.get((int) (totalOps * 0.5)).value());
-      exporter.write(
-          getName(), "p90", measurements.get((int) (totalOps * 0.9)).value());
-      exporter.write(
-          getName(), "p95", measurements.get((int) (totalOps * 0.95)).value());
-      exporter.write(
-          getName(), "p99", measurements.get((int) (totalOps * 0.99)).value());
-      exporter.write(getName(), "p99.9",
-          measurements.get((int) (totalOps * 0.999)).value());
-      exporter.write(getName(), "p99.99",
-          measurements.get((int) (totalOps * 0.9999)).value());
+          toUnits((double) totalLatency / (double) totalOps));
+
+      long[] ranks = new long[PERCENTILES.length + 2];
+      ranks[0] = 0;
+      ranks[1] = totalOps - 1;
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        ranks[i + 2] = (long) (totalOps * PERCENTILES[i]);
+      }
+      Arrays.sort(ranks);
+      long[] values = sorter.valuesAt(ranks);
+
+      exporter.write(getName(), "Min", toWholeUnits(values[0]));
+      exporter.write(getName(), "Max", toWholeUnits(values[ranks.length - 1]));
+      for (int i = 0; i < PERCENTILES.length; i++) {
+        int at = Arrays.binarySearch(ranks, (long) (totalOps * PERCENTILES[i]));
+        exporter.write(getName(), PERCENTILE_NAMES[i], toWholeUnits(values[at]));
+      }
     }
 
     exportStatusCounts(exporter);
   }
 
+  private void writeCount(MeasurementsExporter exporter, String measurement, long count) throws IOException {
+    if (count <= Integer.MAX_VALUE) {
+      exporter.write(getName(), measurement, (int) count);
+    } else {
+      exporter.write(getName(), measurement, (double) count);
+    }
+  }
+
+  private String unitsName() {
+    switch (units()) {
+    case "ns":
+      return "nanoseconds";
+    case "ms":
+      return "milliseconds";
+    default:
+      return "microseconds";
+    }
+  }
+
   @Override
   public synchronized String getSummary() {
+    long operations = 0;
+    long latency = 0;
+    for (Recorder recorder : recorders.all()) {
+      operations += recorder.operations;
+      latency += recorder.totalLatency;
+    }
+    long windowOperations = operations - reportedOperations;
+    long windowTotalLatency = latency - reportedLatency;
     if (windowOperations == 0) {
       return "";
     }
 
-    String toReturn = String.format("%s count: %d, average latency(us): %.2f",
-        getName(), windowOperations,
-        (double) windowTotalLatency / (double) windowOperations);
+    String toReturn = String.format("%s count: %d, average latency(%s): %.2f",
+        getName(), windowOperations, units(),
+        toUnits((double) windowTotalLatency / (double) windowOperations));
 
-    windowTotalLatency = 0;
-    windowOperations = 0;
+    reportedOperations = operations;
+    reportedLatency = latency;
 
     return toReturn;
   }
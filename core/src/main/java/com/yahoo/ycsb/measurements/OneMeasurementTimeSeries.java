@@ -18,129 +18,349 @@
 package com.yahoo.ycsb.measurements;
 
 import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
 
 import java.io.IOException;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.Properties;
-import java.util.Vector;
-
-class SeriesUnit {
-  /**
-   * @param time
-   * @param average
-   */
-  public SeriesUnit(long time, double average) {
-    this.time = time;
-    this.average = average;
-  }
-
-  protected final long time;
-  protected final double average;
-}
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
- * A time series measurement of a metric, such as READ LATENCY.
+ * A time series measurement of a metric, such as READ LATENCY. The values of each window of
+ * {@link #GRANULARITY} milliseconds are kept in an HdrHistogram per stripe of threads. A timer thread shared by
+ * all time series closes the windows, so measuring never looks at the clock, and keeps only the count, mean,
+ * percentiles and max of every window closed. The timer stops closing the windows of a time series once it is
+ * exported or its series of measurements is replaced. The windows are keyed by their start in milliseconds
+ * from the start of the first window with a value, so the first key is 0 however late the first value comes.
+ *
+ * <p>At most {@link #MAX_WINDOWS} windows are kept. When they are all used, each two neighbouring windows are
+ * merged into one and the windows closed from then on are twice as long, so a long run keeps a bounded number
+ * of windows of a coarser granularity.
  */
 public class OneMeasurementTimeSeries extends OneMeasurement {
 
   /**
-   * Granularity for time series; measurements will be averaged in chunks of this granularity. Units are milliseconds.
+   * Granularity for time series; measurements will be summarized in windows of this granularity. Units are
+   * milliseconds.
    */
   public static final String GRANULARITY = "timeseries.granularity";
   public static final String GRANULARITY_DEFAULT = "1000";
 
+  /**
+   * The maximum number of windows kept. A merged window reports the larger of the percentiles of the two
+   * windows merged, an upper bound of the percentiles of the merged window.
+   */
+  public static final String MAX_WINDOWS = "timeseries.maxwindows";
+  public static final String MAX_WINDOWS_DEFAULT = "4096";
+
+  private static final double[] PERCENTILES = {50, 99, 99.9};
+  private static final String[] PERCENTILE_NAMES = {"50th", "99th", "99.9th"};
+
+  // closes the windows of all time series, the windows are counted from its start
+  private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1,
+      new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "TimeSeriesThread");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+  private static final long TIMER_START = System.currentTimeMillis();
+
+  static {
+    // the time series which stopped leave the queue of the timer right away
+    TIMER.setRemoveOnCancelPolicy(true);
+  }
+
   private final int granularity;
-  private final Vector<SeriesUnit> measurements;
+  private final int maxWindows;
+  private final ScheduledFuture<?> timer;
+
+  /**
+   * The values measured by one stripe of threads.
+   */
+  private static final class Recorder {
+    private final SingleWriterRecorder window = new SingleWriterRecorder(3);
+    private int operations = 0;
+    private long totallatency = 0;
+
+    private long min = -1;
+    private long max = -1;
+  }
+
+  private final StripedRecorders<Recorder> recorders = new StripedRecorders<Recorder>() {
+    @Override
+    protected Recorder newRecorder() {
+      return new Recorder();
+    }
+  };
 
-  private long start = -1;
-  private long currentunit = -1;
-  private int count = 0;
-  private int sum = 0;
-  private int operations = 0;
-  private long totallatency = 0;
+  // the values of the open window, and its start in milliseconds from the start of the timer
+  private final Histogram window = new Histogram(3);
+  private final Histogram interval = new Histogram(3);
+  private long windowstart;
+  // the number of timer ticks a window lasts, doubled each time the windows are merged, and the ticks so far
+  private int span = 1;
+  private int ticks = 0;
+  private boolean stopped = false;
 
-  //keep a windowed version of these stats for printing status
-  private int windowoperations = 0;
-  private long windowtotallatency = 0;
+  // the closed windows, one column per statistic and latencies in nanoseconds
+  private int windows = 0;
+  private long[] starts;
+  private int[] counts;
+  private double[] means;
+  private long[][] percentiles;
+  private long[] maxes;
 
-  private int min = -1;
-  private int max = -1;
+  //the totals of the last status report, the window printed next is what was measured since
+  private int reportedoperations = 0;
+  private long reportedlatency = 0;
 
   public OneMeasurementTimeSeries(String name, Properties props) {
-    super(name);
+    super(name, props);
     granularity = Integer.parseInt(props.getProperty(GRANULARITY, GRANULARITY_DEFAULT));
-    measurements = new Vector<>();
+    maxWindows = Integer.parseInt(props.getProperty(MAX_WINDOWS, MAX_WINDOWS_DEFAULT));
+    if (maxWindows < 2) {
+      throw new IllegalArgumentException(MAX_WINDOWS + " must be at least 2, was " + maxWindows);
+    }
+    int capacity = Math.min(64, maxWindows);
+    starts = new long[capacity];
+    counts = new int[capacity];
+    means = new double[capacity];
+    percentiles = new long[PERCENTILES.length][capacity];
+    maxes = new long[capacity];
+    long sinceStart = System.currentTimeMillis() - TIMER_START;
+    windowstart = sinceStart / granularity * granularity;
+    timer = TIMER.scheduleAtFixedRate(new Runnable() {
+      @Override
+      public void run() {
+        tick();
+      }
+    }, windowstart + granularity - sinceStart, granularity, TimeUnit.MILLISECONDS);
   }
 
-  private synchronized void checkEndOfUnit(boolean forceend) {
-    long now = System.currentTimeMillis();
-
-    if (start < 0) {
-      currentunit = 0;
-      start = now;
-    }
+  /**
+   * @return The number of time series the timer closes the windows of.
+   */
+  static int getTimedSeries() {
+    return TIMER.getQueue().size();
+  }
 
-    long unit = ((now - start) / granularity) * granularity;
+  @Override
+  public void measure(long latency) {
+    Recorder r = recorders.get();
+    synchronized (r) {
+      r.window.recordValue(latency);
 
-    if ((unit > currentunit) || (forceend)) {
-      double avg = ((double) sum) / ((double) count);
-      measurements.add(new SeriesUnit(currentunit, avg));
+      r.totallatency += latency;
+      r.operations++;
 
-      currentunit = unit;
+      if (latency > r.max) {
+        r.max = latency;
+      }
 
-      count = 0;
-      sum = 0;
+      if ((latency < r.min) || (r.min < 0)) {
+        r.min = latency;
+      }
     }
   }
 
-  @Override
-  public void measure(int latency) {
-    checkEndOfUnit(false);
+  /**
+   * Adds the values measured since the last call to the open window.
+   */
+  private void collect() {
+    for (Recorder r : recorders.all()) {
+      r.window.getIntervalHistogramInto(interval);
+      window.add(interval);
+    }
+  }
 
-    count++;
-    sum += latency;
-    totallatency += latency;
-    operations++;
-    windowoperations++;
-    windowtotallatency += latency;
+  /**
+   * Called by the timer every granularity, closes the open window once it lasted its span.
+   */
+  private synchronized void tick() {
+    if (stopped) {
+      return;
+    }
+    collect();
+    if (++ticks < span) {
+      return;
+    }
+    ticks = 0;
+    closeWindow();
+  }
 
-    if (latency > max) {
-      max = latency;
+  /**
+   * Stops the timer closing the windows, keeping the open window for the export.
+   */
+  private void stop() {
+    timer.cancel(false);
+    synchronized (this) {
+      stopped = true;
     }
+  }
 
-    if ((latency < min) || (min < 0)) {
-      min = latency;
+  @Override
+  void seriesEnded() {
+    stop();
+  }
+
+  /**
+   * Closes the open window, keeping its statistics if anything was measured in it.
+   */
+  private void closeWindow() {
+    if (window.getTotalCount() > 0) {
+      if (windows == maxWindows) {
+        mergeWindows();
+      }
+      if (windows == starts.length) {
+        int capacity = Math.min(windows * 2, maxWindows);
+        starts = Arrays.copyOf(starts, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        means = Arrays.copyOf(means, capacity);
+        for (int p = 0; p < PERCENTILES.length; p++) {
+          percentiles[p] = Arrays.copyOf(percentiles[p], capacity);
+        }
+        maxes = Arrays.copyOf(maxes, capacity);
+      }
+      starts[windows] = windowstart;
+      counts[windows] = (int) window.getTotalCount();
+      means[windows] = window.getMean();
+      for (int p = 0; p < PERCENTILES.length; p++) {
+        percentiles[p][windows] = window.medianEquivalentValue(window.getValueAtPercentile(PERCENTILES[p]));
+      }
+      maxes[windows] = window.medianEquivalentValue(window.getMaxValue());
+      windows++;
+      window.reset();
     }
+    // the timer may run late, the next window starts at the closest multiple of the granularity
+    windowstart = Math.round((System.currentTimeMillis() - TIMER_START) / (double) granularity) * granularity;
   }
 
+  /**
+   * Merges each two neighbouring windows into one, starting at the first of them, and doubles the span of the
+   * windows closed from now on.
+   */
+  private void mergeWindows() {
+    int merged = 0;
+    for (int i = 0; i < windows; i += 2, merged++) {
+      starts[merged] = starts[i];
+      counts[merged] = counts[i];
+      means[merged] = means[i];
+      for (int p = 0; p < PERCENTILES.length; p++) {
+        percentiles[p][merged] = percentiles[p][i];
+      }
+      maxes[merged] = maxes[i];
+      if (i + 1 < windows) {
+        long count = (long) counts[i] + counts[i + 1];
+        means[merged] = (means[i] * counts[i] + means[i + 1] * counts[i + 1]) / count;
+        counts[merged] = (int) Math.min(Integer.MAX_VALUE, count);
+        for (int p = 0; p < PERCENTILES.length; p++) {
+          percentiles[p][merged] = Math.max(percentiles[p][i], percentiles[p][i + 1]);
+        }
+        maxes[merged] = Math.max(maxes[i], maxes[i + 1]);
+      }
+    }
+    windows = merged;
+    span *= 2;
+  }
 
   @Override
   public void exportMeasurements(MeasurementsExporter exporter) throws IOException {
-    checkEndOfUnit(true);
+    // nothing is measured after the export, the windows stay as they are exported
+    stop();
+    export(exporter);
+  }
 
-    exporter.write(getName(), "Operations", operations);
-    exporter.write(getName(), "AverageLatency(us)", (((double) totallatency) / ((double) operations)));
-    exporter.write(getName(), "MinLatency(us)", min);
-    exporter.write(getName(), "MaxLatency(us)", max);
+  private synchronized void export(MeasurementsExporter exporter) throws IOException {
+    int operations = 0;
+    long totallatency = 0;
+    long min = -1;
+    long max = -1;
+    for (Recorder r : recorders.all()) {
+      operations += r.operations;
+      totallatency += r.totallatency;
+      if ((min < 0) || (r.min >= 0 && r.min < min)) {
+        min = r.min;
+      }
+      if (r.max > max) {
+        max = r.max;
+      }
+    }
 
-    // TODO: 95th and 99th percentile latency
+    exporter.write(getName(), "Operations", operations);
+    exporter.write(getName(), "AverageLatency(" + units() + ")",
+        toUnits(((double) totallatency) / ((double) operations)));
+    exporter.write(getName(), "MinLatency(" + units() + ")", min < 0 ? -1 : toWholeUnits(min));
+    exporter.write(getName(), "MaxLatency(" + units() + ")", max < 0 ? -1 : toWholeUnits(max));
 
     exportStatusCounts(exporter);
-    for (SeriesUnit unit : measurements) {
-      exporter.write(getName(), Long.toString(unit.time), unit.average);
+
+    // the windows closed so far and the one still open
+    collect();
+    boolean open = window.getTotalCount() > 0;
+    int n = windows + (open ? 1 : 0);
+    long[] keys = Arrays.copyOf(starts, n);
+    int[] windowcounts = Arrays.copyOf(counts, n);
+    double[] windowmeans = new double[n];
+    long[][] windowpercentiles = new long[PERCENTILES.length][n];
+    long[] windowmaxes = new long[n];
+    for (int i = 0; i < windows; i++) {
+      windowmeans[i] = toUnits(means[i]);
+      for (int p = 0; p < PERCENTILES.length; p++) {
+        windowpercentiles[p][i] = toWholeUnits(percentiles[p][i]);
+      }
+      windowmaxes[i] = toWholeUnits(maxes[i]);
+    }
+    if (open) {
+      keys[windows] = windowstart;
+      windowcounts[windows] = (int) window.getTotalCount();
+      windowmeans[windows] = toUnits(window.getMean());
+      for (int p = 0; p < PERCENTILES.length; p++) {
+        windowpercentiles[p][windows] =
+            toWholeUnits(window.medianEquivalentValue(window.getValueAtPercentile(PERCENTILES[p])));
+      }
+      windowmaxes[windows] = toWholeUnits(window.medianEquivalentValue(window.getMaxValue()));
+    }
+    // the windows are counted from the timer, the keys from the first window with a value
+    for (int i = n - 1; i >= 0; i--) {
+      keys[i] -= keys[0];
     }
+
+    // the averages under the name of the measurement, as the time series always reported them
+    exporter.write(getName(), keys, windowmeans);
+    exporter.write(getName() + "-Operations", keys, windowcounts);
+    for (int p = 0; p < PERCENTILES.length; p++) {
+      exporter.write(getName() + "-" + PERCENTILE_NAMES[p] + "PercentileLatency(" + units() + ")", keys,
+          windowpercentiles[p]);
+    }
+    exporter.write(getName() + "-MaxLatency(" + units() + ")", keys, windowmaxes);
   }
 
   @Override
-  public String getSummary() {
+  public synchronized String getSummary() {
+    int operations = 0;
+    long totallatency = 0;
+    for (Recorder r : recorders.all()) {
+      operations += r.operations;
+      totallatency += r.totallatency;
+    }
+    int windowoperations = operations - reportedoperations;
+    long windowtotallatency = totallatency - reportedlatency;
     if (windowoperations == 0) {
       return "";
     }
+    reportedoperations = operations;
+    reportedlatency = totallatency;
     DecimalFormat d = new DecimalFormat("#.##");
-    double report = ((double) windowtotallatency) / ((double) windowoperations);
-    windowtotallatency = 0;
-    windowoperations = 0;
-    return "[" + getName() + " AverageLatency(us)=" + d.format(report) + "]";
+    double report = toUnits(((double) windowtotallatency) / ((double) windowoperations));
+    return "[" + getName() + " AverageLatency(" + units() + ")=" + d.format(report) + "]";
   }
 
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A temporary file of blocks of longs. Blocks are appended at the end of the file and read back by the
+ * position returned, through positional writes and reads of a single direct buffer, so spilling maps and
+ * allocates nothing per block. Appends and reads are serialized on the file.
+ */
+final class RawSpillFile {
+  /**
+   * The size of the buffer the blocks are copied through, in bytes.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final File file;
+  private final RandomAccessFile raf;
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.nativeOrder());
+  private final LongBuffer longs = buffer.asLongBuffer();
+  private long end;
+
+  RawSpillFile(File dir, String name) throws IOException {
+    file = File.createTempFile("ycsb-" + name.replaceAll("[^A-Za-z0-9-]", "_") + "-", ".raw", dir);
+    file.deleteOnExit();
+    raf = new RandomAccessFile(file, "rw");
+    channel = raf.getChannel();
+  }
+
+  /**
+   * Append the first {@code length} longs of each of the arrays, one after the other.
+   *
+   * @return The position of the block.
+   */
+  synchronized long append(int length, long[]... arrays) throws IOException {
+    long position = end;
+    for (long[] array : arrays) {
+      for (int i = 0; i < length; i += BUFFER_SIZE / 8) {
+        int n = Math.min(length - i, BUFFER_SIZE / 8);
+        longs.clear();
+        longs.put(array, i, n);
+        buffer.clear();
+        buffer.limit(8 * n);
+        while (buffer.hasRemaining()) {
+          end += channel.write(buffer, end);
+        }
+      }
+    }
+    return position;
+  }
+
+  /**
+   * Read {@code length} longs into {@code array}, starting {@code offset} longs into the block at
+   * {@code position}.
+   */
+  synchronized void read(long position, long offset, long[] array, int length) throws IOException {
+    long at = position + 8 * offset;
+    for (int i = 0; i < length; i += BUFFER_SIZE / 8) {
+      int n = Math.min(length - i, BUFFER_SIZE / 8);
+      buffer.clear();
+      buffer.limit(8 * n);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, at + buffer.position()) < 0) {
+          throw new EOFException("The raw data spill file " + file + " ends before the block read");
+        }
+      }
+      longs.clear();
+      longs.get(array, i, n);
+      at += 8 * n;
+    }
+  }
+
+  /**
+   * Close and delete the file.
+   */
+  void delete() throws IOException {
+    channel.close();
+    raf.close();
+    if (!file.delete()) {
+      System.err.println("Could not delete the raw data spill file " + file);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Spreads the threads measuring a metric over a bounded number of recorders, so measuring threads rarely
+ * contend with each other, and keeps all of them so they can be merged when the metric is read.
+ *
+ * <p>Every thread gets a stripe the first time it measures anything, numbered in the order threads arrive
+ * and shared by all metrics. Up to {@link #STRIPES} threads each have a recorder of their own; beyond that
+ * threads share recorders, so a metric never holds more than {@link #STRIPES} of them however many threads
+ * a run has, e.g. with thousands of virtual threads. A recorder is created when its stripe first measures.
+ *
+ * <p>Writers hold the monitor of the recorder while they write to it, see {@link #get()}. Taking a monitor
+ * nobody else holds costs a compare-and-swap per value; threads sharing a stripe wait for each other. Readers
+ * merge the recorders without stopping the writers: the status thread may see values a few operations
+ * behind, while the final export happens after the client threads were joined and sees everything.
+ *
+ * @param <T> The type of the recorders.
+ */
+abstract class StripedRecorders<T> {
+  /**
+   * The maximum number of recorders of a metric: four per available processor.
+   */
+  static final int STRIPES = 4 * Runtime.getRuntime().availableProcessors();
+
+  private static final AtomicInteger NEXT_STRIPE = new AtomicInteger();
+
+  private static final ThreadLocal<Integer> STRIPE = new ThreadLocal<Integer>() {
+    @Override
+    protected Integer initialValue() {
+      return (NEXT_STRIPE.getAndIncrement() & Integer.MAX_VALUE) % STRIPES;
+    }
+  };
+
+  private final AtomicReferenceArray<T> stripes = new AtomicReferenceArray<>(STRIPES);
+  private final List<T> recorders = new CopyOnWriteArrayList<>();
+
+  /**
+   * Create the recorder of a stripe measuring for the first time.
+   */
+  protected abstract T newRecorder();
+
+  /**
+   * @return The recorder of the calling thread's stripe. Other threads may write to it too, so the caller
+   * must hold its monitor while writing to it.
+   */
+  T get() {
+    int stripe = STRIPE.get();
+    T recorder = stripes.get(stripe);
+    if (recorder == null) {
+      T created = newRecorder();
+      if (stripes.compareAndSet(stripe, null, created)) {
+        recorders.add(created);
+        return created;
+      }
+      recorder = stripes.get(stripe);
+    }
+    return recorder;
+  }
+
+  /**
+   * @return The recorders of all stripes which measured so far.
+   */
+  List<T> all() {
+    return recorders;
+  }
+}
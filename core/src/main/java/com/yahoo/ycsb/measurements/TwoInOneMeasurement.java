@@ -21,6 +21,7 @@ import com.yahoo.ycsb.Status;
 import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
 
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * delegates to 2 measurement instances.
@@ -35,6 +36,13 @@ public class TwoInOneMeasurement extends OneMeasurement {
     this.thing2 = thing2;
   }
 
+  /**
+   * @return The first of the two measurements, the one status codes are reported to.
+   */
+  OneMeasurement getThing1() {
+    return thing1;
+  }
+
   /**
    * No need for synchronization, using CHM to deal with that.
    */
@@ -43,14 +51,19 @@ public class TwoInOneMeasurement extends OneMeasurement {
     thing1.reportStatus(status);
   }
 
+  @Override
+  public Map<String, Integer> getStatusCounts() {
+    return thing1.getStatusCounts();
+  }
+
   /**
-   * It appears latency is reported in micros.
-   * Using {@link org.HdrHistogram.Recorder} to support concurrent updates to histogram.
+   * Latency is reported in nanos.
+   * The measurements support concurrent updates.
    */
   @Override
-  public void measure(int latencyInMicros) {
-    thing1.measure(latencyInMicros);
-    thing2.measure(latencyInMicros);
+  public void measure(long latencyInNanos) {
+    thing1.measure(latencyInNanos);
+    thing2.measure(latencyInNanos);
   }
 
   /**
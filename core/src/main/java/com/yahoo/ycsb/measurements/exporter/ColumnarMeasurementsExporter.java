@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2016 Yahoo! Inc., 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package com.yahoo.ycsb.measurements.exporter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Export measurements into a compact binary file of typed columns, read back by
+ * {@link ColumnarMeasurementsReader}. Series such as the buckets of a histogram are kept as vectors, so a
+ * file loads with a few bulk reads however many buckets or units it holds.
+ * <p>
+ * The measurements are collected in memory and written on close, all numbers big-endian:
+ * <pre>
+ * magic       "YCSBCOL" followed by the format version byte
+ * strings     int count, then for each an int length and its UTF-8 bytes
+ * rows        int count, then the columns int[] metric, int[] measurement (indexes into the strings),
+ *             byte[] type and long[] value
+ * series      int count, then for each a byte type, an int length, long[] keys and int[] or double[] values
+ * </pre>
+ * A row holds an int, the bits of a double, or the index of a series written at that point of the export, so
+ * the measurements read back in the order they were written.
+ */
+public class ColumnarMeasurementsExporter implements MeasurementsExporter {
+
+  static final byte[] MAGIC = {'Y', 'C', 'S', 'B', 'C', 'O', 'L', 1};
+  static final byte INT = 0;
+  static final byte DOUBLE = 1;
+  static final byte SERIES = 2;
+
+  private final OutputStream os;
+
+  private final Map<String, Integer> stringIds = new HashMap<>();
+  private final List<String> strings = new ArrayList<>();
+
+  private int rows;
+  private int[] metrics = new int[64];
+  private int[] measurements = new int[64];
+  private byte[] types = new byte[64];
+  private long[] values = new long[64];
+
+  private final List<long[]> seriesKeys = new ArrayList<>();
+  private final List<Object> seriesValues = new ArrayList<>();
+
+  public ColumnarMeasurementsExporter(OutputStream os) {
+    this.os = os;
+  }
+
+  @Override
+  public void write(String metric, String measurement, int i) throws IOException {
+    add(metric, measurement, INT, i);
+  }
+
+  @Override
+  public void write(String metric, String measurement, double d) throws IOException {
+    add(metric, measurement, DOUBLE, Double.doubleToLongBits(d));
+  }
+
+  @Override
+  public void write(String metric, long[] keys, int[] series) throws IOException {
+    addSeries(metric, keys, series.clone());
+  }
+
+  @Override
+  public void write(String metric, long[] keys, double[] series) throws IOException {
+    addSeries(metric, keys, series.clone());
+  }
+
+  private void addSeries(String metric, long[] keys, Object series) {
+    add(metric, "", SERIES, seriesKeys.size());
+    seriesKeys.add(keys.clone());
+    seriesValues.add(series);
+  }
+
+  private void add(String metric, String measurement, byte type, long value) {
+    if (rows == values.length) {
+      metrics = Arrays.copyOf(metrics, rows * 2);
+      measurements = Arrays.copyOf(measurements, rows * 2);
+      types = Arrays.copyOf(types, rows * 2);
+      values = Arrays.copyOf(values, rows * 2);
+    }
+    metrics[rows] = id(metric);
+    measurements[rows] = id(measurement);
+    types[rows] = type;
+    values[rows] = value;
+    rows++;
+  }
+
+  private int id(String s) {
+    Integer id = stringIds.get(s);
+    if (id == null) {
+      id = strings.size();
+      stringIds.put(s, id);
+      strings.add(s);
+    }
+    return id;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+      out.write(MAGIC);
+
+      out.writeInt(strings.size());
+      for (String s : strings) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+
+      out.writeInt(rows);
+      for (int i = 0; i < rows; i++) {
+        out.writeInt(metrics[i]);
+      }
+      for (int i = 0; i < rows; i++) {
+        out.writeInt(measurements[i]);
+      }
+      out.write(types, 0, rows);
+      for (int i = 0; i < rows; i++) {
+        out.writeLong(values[i]);
+      }
+
+      out.writeInt(seriesKeys.size());
+      for (int s = 0; s < seriesKeys.size(); s++) {
+        long[] keys = seriesKeys.get(s);
+        Object series = seriesValues.get(s);
+        out.writeByte(series instanceof int[] ? INT : DOUBLE);
+        out.writeInt(keys.length);
+        for (long key : keys) {
+          out.writeLong(key);
+        }
+        if (series instanceof int[]) {
+          for (int value : (int[]) series) {
+            out.writeInt(value);
+          }
+        } else {
+          for (double value : (double[]) series) {
+            out.writeDouble(value);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2010-2016 Yahoo! Inc., 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+package com.yahoo.ycsb.measurements.exporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the measurements written by {@link ColumnarMeasurementsExporter}. The columns are decoded with bulk
+ * reads, the series are kept as arrays.
+ * <p>
+ * Run as a program it prints the files named on the command line as text.
+ */
+public class ColumnarMeasurementsReader {
+
+  private final String[] strings;
+  private final int[] metrics;
+  private final int[] measurements;
+  private final byte[] types;
+  private final long[] values;
+  private final long[][] seriesKeys;
+  private final int[][] seriesIntValues;
+  private final double[][] seriesDoubleValues;
+
+  /**
+   * Reads measurements from a buffer, from its position on.
+   *
+   * @throws IOException If the buffer does not hold measurements in this format.
+   */
+  public ColumnarMeasurementsReader(ByteBuffer buf) throws IOException {
+    byte[] magic = new byte[ColumnarMeasurementsExporter.MAGIC.length];
+    if (buf.remaining() < magic.length) {
+      throw new IOException("not a columnar measurements file");
+    }
+    buf.get(magic);
+    for (int i = 0; i < magic.length; i++) {
+      if (magic[i] != ColumnarMeasurementsExporter.MAGIC[i]) {
+        throw new IOException("not a columnar measurements file, or of another version");
+      }
+    }
+
+    strings = new String[buf.getInt()];
+    for (int i = 0; i < strings.length; i++) {
+      int length = buf.getInt();
+      strings[i] = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+      buf.position(buf.position() + length);
+    }
+
+    int rows = buf.getInt();
+    metrics = new int[rows];
+    measurements = new int[rows];
+    types = new byte[rows];
+    values = new long[rows];
+    getInts(buf, metrics);
+    getInts(buf, measurements);
+    buf.get(types);
+    getLongs(buf, values);
+
+    int series = buf.getInt();
+    seriesKeys = new long[series][];
+    seriesIntValues = new int[series][];
+    seriesDoubleValues = new double[series][];
+    for (int s = 0; s < series; s++) {
+      byte type = buf.get();
+      int length = buf.getInt();
+      seriesKeys[s] = new long[length];
+      getLongs(buf, seriesKeys[s]);
+      if (type == ColumnarMeasurementsExporter.INT) {
+        seriesIntValues[s] = new int[length];
+        getInts(buf, seriesIntValues[s]);
+      } else {
+        seriesDoubleValues[s] = new double[length];
+        buf.asDoubleBuffer().get(seriesDoubleValues[s]);
+        buf.position(buf.position() + 8 * length);
+      }
+    }
+  }
+
+  private static void getInts(ByteBuffer buf, int[] dst) {
+    buf.asIntBuffer().get(dst);
+    buf.position(buf.position() + 4 * dst.length);
+  }
+
+  private static void getLongs(ByteBuffer buf, long[] dst) {
+    buf.asLongBuffer().get(dst);
+    buf.position(buf.position() + 8 * dst.length);
+  }
+
+  /**
+   * Reads measurements from a stream, to its end.
+   */
+  public static ColumnarMeasurementsReader read(InputStream in) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte[] buf = new byte[1 << 16];
+    int n;
+    while ((n = in.read(buf)) > 0) {
+      bytes.write(buf, 0, n);
+    }
+    return new ColumnarMeasurementsReader(ByteBuffer.wrap(bytes.toByteArray()));
+  }
+
+  /**
+   * Reads measurements from a file.
+   */
+  public static ColumnarMeasurementsReader read(String path) throws IOException {
+    try (FileInputStream in = new FileInputStream(path); FileChannel channel = in.getChannel()) {
+      ByteBuffer buf = ByteBuffer.allocate((int) channel.size());
+      while (buf.hasRemaining() && channel.read(buf) >= 0) {
+        // read it all
+      }
+      buf.flip();
+      return new ColumnarMeasurementsReader(buf);
+    }
+  }
+
+  /**
+   * @return The number of measurements, counting each series as one.
+   */
+  public int size() {
+    return values.length;
+  }
+
+  public String getMetric(int i) {
+    return strings[metrics[i]];
+  }
+
+  /**
+   * @return The name of a measurement, empty for a series.
+   */
+  public String getMeasurement(int i) {
+    return strings[measurements[i]];
+  }
+
+  /**
+   * @return Whether a measurement is a series.
+   */
+  public boolean isSeries(int i) {
+    return types[i] == ColumnarMeasurementsExporter.SERIES;
+  }
+
+  /**
+   * @return Whether a measurement was written as an int.
+   */
+  public boolean isInt(int i) {
+    return types[i] == ColumnarMeasurementsExporter.INT;
+  }
+
+  /**
+   * @return The value of a measurement which is not a series.
+   */
+  public double getValue(int i) {
+    return isInt(i) ? values[i] : Double.longBitsToDouble(values[i]);
+  }
+
+  /**
+   * @return The value of the first measurement of a metric with a name, or NaN if there is none.
+   */
+  public double getValue(String metric, String measurement) {
+    for (int i = 0; i < values.length; i++) {
+      if (!isSeries(i) && getMetric(i).equals(metric) && getMeasurement(i).equals(measurement)) {
+        return getValue(i);
+      }
+    }
+    return Double.NaN;
+  }
+
+  /**
+   * @return The keys of a series.
+   */
+  public long[] getSeriesKeys(int i) {
+    return seriesKeys[(int) values[i]];
+  }
+
+  /**
+   * @return The values of a series written as ints, null if they were written as doubles.
+   */
+  public int[] getSeriesIntValues(int i) {
+    return seriesIntValues[(int) values[i]];
+  }
+
+  /**
+   * @return The values of a series written as doubles, null if they were written as ints.
+   */
+  public double[] getSeriesDoubleValues(int i) {
+    return seriesDoubleValues[(int) values[i]];
+  }
+
+  /**
+   * Writes the measurements to another exporter, in the order they were written.
+   */
+  public void export(MeasurementsExporter exporter) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (isSeries(i)) {
+        if (getSeriesIntValues(i) != null) {
+          exporter.write(getMetric(i), getSeriesKeys(i), getSeriesIntValues(i));
+        } else {
+          exporter.write(getMetric(i), getSeriesKeys(i), getSeriesDoubleValues(i));
+        }
+      } else if (isInt(i)) {
+        exporter.write(getMetric(i), getMeasurement(i), (int) values[i]);
+      } else {
+        exporter.write(getMetric(i), getMeasurement(i), getValue(i));
+      }
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: java " + ColumnarMeasurementsReader.class.getName() + " file...");
+      System.exit(1);
+    }
+    try (TextMeasurementsExporter text = new TextMeasurementsExporter(System.out)) {
+      for (String path : args) {
+        read(path).export(text);
+      }
+    }
+  }
+}
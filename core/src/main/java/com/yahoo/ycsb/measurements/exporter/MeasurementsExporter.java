@@ -43,4 +43,77 @@ public interface MeasurementsExporter extends Closeable {
    * @throws IOException if writing failed
    */
   void write(String metric, String measurement, double d) throws IOException;
+
+  /**
+   * Write a measurement to the exported format. By default it is written as an int when it fits one, and as a
+   * double otherwise, so large values are not clamped. Callers whose long values were always written as
+   * doubles cast them to double instead, so their output does not change.
+   *
+   * @param metric Metric name, for example "READ LATENCY".
+   * @param measurement Measurement name, for example "Max latency".
+   * @param l Measurement to write.
+   * @throws IOException if writing failed
+   */
+  default void write(String metric, String measurement, long l) throws IOException {
+    if (l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) {
+      write(metric, measurement, (int) l);
+    } else {
+      write(metric, measurement, (double) l);
+    }
+  }
+
+  /**
+   * Write a series of measurements of a metric, such as the buckets of a histogram, each named by its key. By
+   * default every value is written as a measurement of its own.
+   *
+   * @param metric Metric name, for example "READ LATENCY".
+   * @param keys The keys naming the values, for example the bucket of each value.
+   * @param values The values, one per key.
+   * @throws IOException if writing failed
+   */
+  default void write(String metric, long[] keys, int[] values) throws IOException {
+    for (int i = 0; i < keys.length; i++) {
+      write(metric, Long.toString(keys[i]), values[i]);
+    }
+  }
+
+  /**
+   * Write a series of measurements of a metric, such as the units of a time series, each named by its key. By
+   * default every value is written as a measurement of its own.
+   *
+   * @param metric Metric name, for example "READ LATENCY".
+   * @param keys The keys naming the values, for example the start of the unit of each value.
+   * @param values The values, one per key.
+   * @throws IOException if writing failed
+   */
+  default void write(String metric, long[] keys, double[] values) throws IOException {
+    for (int i = 0; i < keys.length; i++) {
+      write(metric, Long.toString(keys[i]), values[i]);
+    }
+  }
+
+  /**
+   * Write a series of measurements of a metric, each named by its key. By default the series is written as
+   * ints when all values fit one, and as doubles otherwise.
+   *
+   * @param metric Metric name, for example "READ LATENCY".
+   * @param keys The keys naming the values, for example the start of the unit of each value.
+   * @param values The values, one per key.
+   * @throws IOException if writing failed
+   */
+  default void write(String metric, long[] keys, long[] values) throws IOException {
+    int[] ints = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] < Integer.MIN_VALUE || values[i] > Integer.MAX_VALUE) {
+        double[] doubles = new double[values.length];
+        for (int j = 0; j < values.length; j++) {
+          doubles[j] = values[j];
+        }
+        write(metric, keys, doubles);
+        return;
+      }
+      ints[i] = (int) values[i];
+    }
+    write(metric, keys, ints);
+  }
 }
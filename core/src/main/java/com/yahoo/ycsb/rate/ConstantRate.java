@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.rate;
+
+/**
+ * A fixed target rate. The rate may be changed while clients run; operations that were due before the change
+ * but not issued yet are then dropped rather than issued at once, so a backlog built up at a rate the
+ * system could not sustain does not burst into the new rate.
+ */
+public class ConstantRate extends RateProfile {
+  private volatile double rate;
+  private volatile double changedAt;
+
+  public ConstantRate(double rate) {
+    checkRate(rate);
+    this.rate = rate;
+  }
+
+  private static void checkRate(double rate) {
+    if (rate <= 0) {
+      throw new IllegalArgumentException("a constant rate must be positive");
+    }
+  }
+
+  /**
+   * Changes the rate from now on.
+   */
+  public void setRate(double rate) {
+    checkRate(rate);
+    this.rate = rate;
+    changedAt = Math.max(0, elapsed(System.nanoTime()));
+  }
+
+  @Override
+  public double rate(double time) {
+    return rate;
+  }
+
+  @Override
+  public double advance(double from, double ops) {
+    return Math.max(from, changedAt) + ops / rate;
+  }
+
+  @Override
+  public double operations(double from, double to) {
+    return (to - from) * rate;
+  }
+}
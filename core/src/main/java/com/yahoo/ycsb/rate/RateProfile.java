@@ -0,0 +1,405 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.rate;
+
+import com.yahoo.ycsb.Client;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The target throughput of a run over time, in operations per second across all client threads. Time is
+ * measured in seconds from the start of the profile, which is the first time any client asks for it.
+ * <p>
+ * Clients pace themselves by {@link #advance(double, double) advancing} through the profile: a client
+ * issuing every n-th of the operations moves forward by n operations worth of integrated rate each time.
+ */
+public abstract class RateProfile {
+
+  /**
+   * The shape of the target throughput: "constant" (the default, at the "target" rate), "ramp", "step",
+   * "sine", "burst", "curve" or "file".
+   */
+  public static final String RATE_PROFILE_PROPERTY = "rate.profile";
+  public static final String RATE_PROFILE_PROPERTY_DEFAULT = "constant";
+
+  /** The initial rate of the "ramp" and "step" profiles. */
+  public static final String RATE_START_PROPERTY = "rate.start";
+
+  /** The final rate of the "ramp" and "step" profiles. Defaults to the target. */
+  public static final String RATE_END_PROPERTY = "rate.end";
+
+  /** The time, in seconds, the "ramp" profile takes to go from the start to the end rate. */
+  public static final String RATE_DURATION_PROPERTY = "rate.duration";
+
+  /** The rate added by every step of the "step" profile. */
+  public static final String RATE_STEP_PROPERTY = "rate.step";
+
+  /** The time, in seconds, the "step" profile holds each rate. */
+  public static final String RATE_STEP_TIME_PROPERTY = "rate.steptime";
+
+  /** The amplitude of the "sine" profile around the target rate. */
+  public static final String RATE_AMPLITUDE_PROPERTY = "rate.amplitude";
+
+  /** The period, in seconds, of the "sine" and "burst" profiles. */
+  public static final String RATE_PERIOD_PROPERTY = "rate.period";
+  public static final String RATE_PERIOD_PROPERTY_DEFAULT = "86400";
+
+  /** The rate during the bursts of the "burst" profile. */
+  public static final String RATE_BURST_RATE_PROPERTY = "rate.burst.rate";
+
+  /** The length, in seconds, of each burst of the "burst" profile. */
+  public static final String RATE_BURST_DURATION_PROPERTY = "rate.burst.duration";
+
+  /** The points of the "curve" profile as comma separated "seconds:ops/sec" pairs. */
+  public static final String RATE_CURVE_PROPERTY = "rate.curve";
+
+  /**
+   * The file of the "file" profile, with one "timestamp rate" pair per line. Timestamps are in seconds and
+   * taken relative to the first one, so captured epoch timestamps can be used as they are.
+   */
+  public static final String RATE_FILE_PROPERTY = "rate.file";
+
+  /** A factor applied to the rates read from {@link #RATE_FILE_PROPERTY}. */
+  public static final String RATE_FILE_SCALE_PROPERTY = "rate.file.scale";
+  public static final String RATE_FILE_SCALE_PROPERTY_DEFAULT = "1";
+
+  /** The resolution, in seconds, of the numeric integration of profiles without a closed form. */
+  private static final double STEP = 0.001;
+
+  private long startNs;
+
+  /**
+   * Creates the profile configured by the properties.
+   *
+   * @param props The properties of the run.
+   * @return The profile, or null if neither a target nor a profile was set.
+   */
+  public static RateProfile fromProperties(Properties props) {
+    String profile = props.getProperty(RATE_PROFILE_PROPERTY);
+    double target = Double.parseDouble(props.getProperty(Client.TARGET_PROPERTY, "0"));
+    if (profile == null) {
+      return target > 0 ? new ConstantRate(target) : null;
+    }
+
+    switch (profile) {
+    case "constant":
+      if (target <= 0) {
+        throw new IllegalArgumentException("the constant rate profile needs a " + Client.TARGET_PROPERTY);
+      }
+      return new ConstantRate(target);
+    case "ramp":
+      return PiecewiseLinearRate.ramp(doubleProperty(props, RATE_START_PROPERTY, 0),
+          doubleProperty(props, RATE_END_PROPERTY, target), doubleProperty(props, RATE_DURATION_PROPERTY, -1));
+    case "step":
+      return PiecewiseLinearRate.steps(doubleProperty(props, RATE_START_PROPERTY, 0),
+          doubleProperty(props, RATE_END_PROPERTY, target), doubleProperty(props, RATE_STEP_PROPERTY, -1),
+          doubleProperty(props, RATE_STEP_TIME_PROPERTY, -1));
+    case "sine":
+      return new SineRate(target, doubleProperty(props, RATE_AMPLITUDE_PROPERTY, 0),
+          Double.parseDouble(props.getProperty(RATE_PERIOD_PROPERTY, RATE_PERIOD_PROPERTY_DEFAULT)));
+    case "burst":
+      return new BurstRate(target, doubleProperty(props, RATE_BURST_RATE_PROPERTY, -1),
+          doubleProperty(props, RATE_BURST_DURATION_PROPERTY, -1),
+          Double.parseDouble(props.getProperty(RATE_PERIOD_PROPERTY, RATE_PERIOD_PROPERTY_DEFAULT)));
+    case "curve":
+      String curve = props.getProperty(RATE_CURVE_PROPERTY);
+      if (curve == null) {
+        throw new IllegalArgumentException("the curve rate profile needs a " + RATE_CURVE_PROPERTY);
+      }
+      return PiecewiseLinearRate.parse(curve);
+    case "file":
+      String file = props.getProperty(RATE_FILE_PROPERTY);
+      if (file == null) {
+        throw new IllegalArgumentException("the file rate profile needs a " + RATE_FILE_PROPERTY);
+      }
+      try {
+        return PiecewiseLinearRate.read(file, Double.parseDouble(props.getProperty(RATE_FILE_SCALE_PROPERTY,
+            RATE_FILE_SCALE_PROPERTY_DEFAULT)));
+      } catch (IOException e) {
+        throw new IllegalArgumentException("could not read " + RATE_FILE_PROPERTY + " " + file, e);
+      }
+    default:
+      throw new IllegalArgumentException("unknown " + RATE_PROFILE_PROPERTY + "=" + profile);
+    }
+  }
+
+  private static double doubleProperty(Properties props, String name, double defaultValue) {
+    String value = props.getProperty(name);
+    if (value == null) {
+      if (defaultValue < 0) {
+        throw new IllegalArgumentException("missing property " + name);
+      }
+      return defaultValue;
+    }
+    return Double.parseDouble(value);
+  }
+
+  /**
+   * @return The start of the profile in {@link System#nanoTime()} terms. The profile starts on the first call.
+   */
+  public synchronized long startNs() {
+    if (startNs == 0) {
+      startNs = System.nanoTime();
+    }
+    return startNs;
+  }
+
+  /**
+   * @return The time since the start of the profile, in seconds, or -1 if it has not started yet.
+   */
+  public synchronized double elapsed(long nanoTime) {
+    return startNs == 0 ? -1 : (nanoTime - startNs) / 1e9;
+  }
+
+  /**
+   * @return The target rate, in operations per second, at a time in seconds.
+   */
+  public abstract double rate(double time);
+
+  /**
+   * Finds the time at which the rate integrated from a given time reaches a given number of operations.
+   * Subclasses with a closed form override this; the default integrates numerically.
+   *
+   * @param from The time to integrate from, in seconds.
+   * @param ops  The number of operations.
+   * @return The time in seconds, or -1 if the profile ends before reaching the number of operations.
+   */
+  public double advance(double from, double ops) {
+    double t = from;
+    while (true) {
+      double r = rate(t);
+      if (r > 0 && ops / r <= STEP) {
+        return t + ops / r;
+      }
+      ops -= r * STEP;
+      t += STEP;
+    }
+  }
+
+  /**
+   * @return The number of operations targeted between two times in seconds.
+   */
+  public double operations(double from, double to) {
+    double ops = 0;
+    for (double t = from; t < to; t += STEP) {
+      ops += rate(t + Math.min(STEP, to - t) / 2) * Math.min(STEP, to - t);
+    }
+    return ops;
+  }
+
+  /**
+   * A piecewise linear profile through points of time and rate, holding the last rate after the last point.
+   * Two points at the same time make a step.
+   */
+  static final class PiecewiseLinearRate extends RateProfile {
+    private final double[] times;
+    private final double[] rates;
+
+    PiecewiseLinearRate(double[] times, double[] rates) {
+      if (times.length == 0 || times.length != rates.length || times[0] != 0) {
+        throw new IllegalArgumentException("a rate curve must start at 0 seconds");
+      }
+      for (int i = 0; i < times.length; i++) {
+        if (rates[i] < 0 || (i > 0 && times[i] < times[i - 1])) {
+          throw new IllegalArgumentException("rate curve points must have increasing times and non-negative rates");
+        }
+      }
+      this.times = times;
+      this.rates = rates;
+    }
+
+    static PiecewiseLinearRate ramp(double start, double end, double duration) {
+      return new PiecewiseLinearRate(new double[]{0, duration}, new double[]{start, end});
+    }
+
+    static PiecewiseLinearRate steps(double start, double end, double step, double stepTime) {
+      if (step <= 0 || stepTime <= 0) {
+        throw new IllegalArgumentException("the step rate profile needs a positive step and step time");
+      }
+      int count = (int) Math.ceil((end - start) / step);
+      double[] times = new double[2 * count + 1];
+      double[] rates = new double[2 * count + 1];
+      rates[0] = start;
+      for (int i = 1; i <= count; i++) {
+        times[2 * i - 1] = i * stepTime;
+        rates[2 * i - 1] = rates[2 * i - 2];
+        times[2 * i] = i * stepTime;
+        rates[2 * i] = Math.min(start + i * step, end);
+      }
+      return new PiecewiseLinearRate(times, rates);
+    }
+
+    static PiecewiseLinearRate parse(String curve) {
+      String[] points = curve.split(",");
+      double[] times = new double[points.length];
+      double[] rates = new double[points.length];
+      for (int i = 0; i < points.length; i++) {
+        String[] point = points[i].trim().split(":");
+        if (point.length != 2) {
+          throw new IllegalArgumentException("malformed " + RATE_CURVE_PROPERTY + " point: " + points[i]);
+        }
+        times[i] = Double.parseDouble(point[0]);
+        rates[i] = Double.parseDouble(point[1]);
+      }
+      return new PiecewiseLinearRate(times, rates);
+    }
+
+    static PiecewiseLinearRate read(String file, double scale) throws IOException {
+      List<double[]> points = new ArrayList<>();
+      try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          line = line.trim();
+          if (line.isEmpty() || line.startsWith("#")) {
+            continue;
+          }
+          String[] point = line.split("[\\s,]+");
+          if (point.length != 2) {
+            throw new IOException("malformed rate file line: " + line);
+          }
+          points.add(new double[]{Double.parseDouble(point[0]), Double.parseDouble(point[1]) * scale});
+        }
+      }
+      if (points.isEmpty()) {
+        throw new IOException("empty rate file " + file);
+      }
+      double[] times = new double[points.size()];
+      double[] rates = new double[points.size()];
+      for (int i = 0; i < times.length; i++) {
+        times[i] = points.get(i)[0] - points.get(0)[0];
+        rates[i] = points.get(i)[1];
+      }
+      return new PiecewiseLinearRate(times, rates);
+    }
+
+    @Override
+    public double rate(double time) {
+      int i = segment(time);
+      if (i == times.length - 1) {
+        return rates[i];
+      }
+      return rates[i] + (rates[i + 1] - rates[i]) * (time - times[i]) / (times[i + 1] - times[i]);
+    }
+
+    @Override
+    public double advance(double from, double ops) {
+      double t = from;
+      int i = segment(t);
+      while (i < times.length - 1) {
+        if (times[i + 1] == times[i]) {
+          i++;
+          continue;
+        }
+        double slope = (rates[i + 1] - rates[i]) / (times[i + 1] - times[i]);
+        double rate = rates[i] + slope * (t - times[i]);
+        double span = times[i + 1] - t;
+        double area = rate * span + slope * span * span / 2;
+        if (area > 0 && area >= ops) {
+          if (slope == 0) {
+            return t + ops / rate;
+          }
+          return t + (Math.sqrt(Math.max(0, rate * rate + 2 * slope * ops)) - rate) / slope;
+        }
+        ops -= area;
+        t = times[++i];
+      }
+      double last = rates[times.length - 1];
+      return last > 0 ? t + ops / last : -1;
+    }
+
+    @Override
+    public double operations(double from, double to) {
+      return cumulative(to) - cumulative(from);
+    }
+
+    private double cumulative(double time) {
+      double ops = 0;
+      int i = 0;
+      for (; i < times.length - 1 && times[i + 1] <= time; i++) {
+        ops += (rates[i] + rates[i + 1]) * (times[i + 1] - times[i]) / 2;
+      }
+      return ops + (rates[i] + rate(time)) * (time - times[i]) / 2;
+    }
+
+    /**
+     * @return The last point at or before a time, skipping the first point of a step.
+     */
+    private int segment(double time) {
+      int i = 0;
+      while (i < times.length - 1 && times[i + 1] <= time) {
+        i++;
+      }
+      return i;
+    }
+  }
+
+  /**
+   * A diurnal profile swinging sinusoidally around a mean rate, never dropping below 0.
+   */
+  static final class SineRate extends RateProfile {
+    private final double mean;
+    private final double amplitude;
+    private final double period;
+
+    SineRate(double mean, double amplitude, double period) {
+      if (mean <= 0 || period <= 0) {
+        throw new IllegalArgumentException("the sine rate profile needs a positive " + Client.TARGET_PROPERTY
+            + " and period");
+      }
+      this.mean = mean;
+      this.amplitude = amplitude;
+      this.period = period;
+    }
+
+    @Override
+    public double rate(double time) {
+      return Math.max(0, mean + amplitude * Math.sin(2 * Math.PI * time / period));
+    }
+  }
+
+  /**
+   * A base rate with a burst at a higher rate ending each period.
+   */
+  static final class BurstRate extends RateProfile {
+    private final double base;
+    private final double burst;
+    private final double duration;
+    private final double period;
+
+    BurstRate(double base, double burst, double duration, double period) {
+      if ((base <= 0 && burst <= 0) || duration <= 0 || duration > period) {
+        throw new IllegalArgumentException("the burst rate profile needs a positive rate and a burst duration "
+            + "within the period");
+      }
+      this.base = base;
+      this.burst = burst;
+      this.duration = duration;
+      this.period = period;
+    }
+
+    @Override
+    public double rate(double time) {
+      return time % period >= period - duration ? burst : base;
+    }
+  }
+}
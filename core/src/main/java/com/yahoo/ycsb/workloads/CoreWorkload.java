@@ -21,8 +21,11 @@ import com.yahoo.ycsb.*;
 import com.yahoo.ycsb.generator.*;
 import com.yahoo.ycsb.measurements.Measurements;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * The core benchmark scenario. Represents a set of clients doing simple CRUD operations. The
@@ -58,6 +61,8 @@ import java.util.*;
  * digits in the record number.
  * <LI><b>insertorder</b>: should records be inserted in order by key ("ordered"), or in hashed
  * order ("hashed") (default: hashed)
+ * <LI><b>reusevalues</b>: should each thread write its values from one reused buffer, for bindings that do
+ * not keep them once a call returns (default: false)
  * </ul>
  */
 public class CoreWorkload extends Workload {
@@ -172,6 +177,23 @@ public class CoreWorkload extends Workload {
    */
   private boolean dataintegrity;
 
+  /**
+   * The name of the property for reusing the values of the writes of a thread from one write to the next,
+   * in one buffer per thread. Only for bindings that do not keep the values maps or their iterators once a
+   * call returns. Asynchronous writes and writes with dataintegrity always get new values.
+   */
+  public static final String REUSE_VALUES_PROPERTY = "reusevalues";
+
+  /**
+   * The default value for the reusevalues property.
+   */
+  public static final String REUSE_VALUES_PROPERTY_DEFAULT = "false";
+
+  /**
+   * The values each thread reuses, or null if the values are not reused.
+   */
+  private ThreadLocal<RecordBuffer> recordbuffers;
+
   /**
    * The name of the property for the proportion of transactions that are reads.
    */
@@ -308,8 +330,38 @@ public class CoreWorkload extends Workload {
   public static final String INSERTION_RETRY_INTERVAL = "core_workload_insertion_retry_interval";
   public static final String INSERTION_RETRY_INTERVAL_DEFAULT = "3";
 
+  /**
+   * The file keeping the values of zeta computed for zipfian distributions across runs, none by default.
+   */
+  public static final String ZETA_CACHE_PROPERTY = "zipfian.zetacache";
+
+  /**
+   * The operations a workload chooses from. DELETE is only chosen by {@link RestWorkload}. OTHER stands for
+   * any other name a subclass adds to the operation chooser, see {@link #doTransactionByName(DB, String)}.
+   */
+  public enum Operation {
+    READ, UPDATE, INSERT, SCAN, READMODIFYWRITE, DELETE, OTHER;
+
+    /**
+     * @return The operation of each value of an operation chooser, by index.
+     */
+    static Operation[] of(DiscreteGenerator chooser) {
+      Operation[] operations = new Operation[chooser.size()];
+      for (int i = 0; i < operations.length; i++) {
+        operations[i] = OTHER;
+        for (Operation operation : values()) {
+          if (operation != OTHER && operation.name().equals(chooser.getValue(i))) {
+            operations[i] = operation;
+          }
+        }
+      }
+      return operations;
+    }
+  }
+
   protected NumberGenerator keysequence;
   protected DiscreteGenerator operationchooser;
+  protected Operation[] operations;
   protected NumberGenerator keychooser;
   protected NumberGenerator fieldchooser;
   protected AcknowledgedCounterGenerator transactioninsertkeysequence;
@@ -321,6 +373,7 @@ public class CoreWorkload extends Workload {
   protected int insertionRetryInterval;
 
   private Measurements measurements = Measurements.getMeasurements();
+  private final Measurements.Handle readModifyWriteMeasurement = measurements.handle("READ-MODIFY-WRITE");
 
   protected static NumberGenerator getFieldLengthGenerator(Properties p) throws WorkloadException {
     NumberGenerator fieldlengthgenerator;
@@ -350,12 +403,21 @@ public class CoreWorkload extends Workload {
     return fieldlengthgenerator;
   }
 
+  /**
+   * Keeps the values of zeta in the file named by {@link #ZETA_CACHE_PROPERTY}, if any.
+   */
+  protected static void setZetaCache(Properties p) {
+    String zetacache = p.getProperty(ZETA_CACHE_PROPERTY);
+    ZetaCache.setFile(zetacache == null || zetacache.isEmpty() ? null : new File(zetacache));
+  }
+
   /**
    * Initialize the scenario.
    * Called once, in the main client thread, before any operations are started.
    */
   @Override
   public void init(Properties p) throws WorkloadException {
+    setZetaCache(p);
     table = p.getProperty(TABLENAME_PROPERTY, TABLENAME_PROPERTY_DEFAULT);
 
     fieldcount =
@@ -406,6 +468,13 @@ public class CoreWorkload extends Workload {
       System.err.println("Must have constant field size to check data integrity.");
       System.exit(-1);
     }
+    if (!dataintegrity
+        && Boolean.parseBoolean(p.getProperty(REUSE_VALUES_PROPERTY, REUSE_VALUES_PROPERTY_DEFAULT))) {
+      final List<String> names = fieldnames;
+      recordbuffers = ThreadLocal.withInitial(() -> new RecordBuffer(names));
+    } else {
+      recordbuffers = null;
+    }
 
     if (p.getProperty(INSERT_ORDER_PROPERTY, INSERT_ORDER_PROPERTY_DEFAULT).compareTo("hashed") == 0) {
       orderedinserts = false;
@@ -421,8 +490,9 @@ public class CoreWorkload extends Workload {
       orderedinserts = true;
     }
 
-    keysequence = new CounterGenerator(insertstart);
+    keysequence = new LeasedCounterGenerator(insertstart, insertstart + insertcount);
     operationchooser = createOperationGenerator(p);
+    operations = Operation.of(operationchooser);
 
     transactioninsertkeysequence = new AcknowledgedCounterGenerator(recordcount);
     if (requestdistrib.compareTo("uniform") == 0) {
@@ -526,6 +596,61 @@ public class CoreWorkload extends Workload {
     return values;
   }
 
+  /**
+   * The fields to read: a random one, or null for all of them if readallfields is set.
+   */
+  private HashSet<String> chooseFields() {
+    if (readallfields) {
+      return null;
+    }
+    HashSet<String> fields = new HashSet<String>();
+    fields.add(fieldnames.get(fieldchooser.nextValue().intValue()));
+    return fields;
+  }
+
+  /**
+   * The fields for a read to ask for. Like {@link #chooseFields()}, but with dataintegrity all the fields are
+   * listed, so they can be verified.
+   */
+  private HashSet<String> chooseReadFields() {
+    if (readallfields && dataintegrity) {
+      return new HashSet<String>(fieldnames);
+    }
+    return chooseFields();
+  }
+
+  /**
+   * The values of an update: new data for all the fields if writeallfields is set, for a random field
+   * otherwise.
+   *
+   * @param reusable Whether the values may come from the reused record buffer of the thread, which is only
+   *                 the case when the DB call completes before the next operation of the thread.
+   */
+  private HashMap<String, ByteIterator> chooseUpdateValues(String keyname, boolean reusable) {
+    if (writeallfields) {
+      return reusable ? writeValues(keyname) : buildValues(keyname);
+    }
+    return reusable ? writeSingleValue(keyname) : buildSingleValue(keyname);
+  }
+
+  /**
+   * Builds values for all fields for a synchronous write, in the record buffer of the thread if values are
+   * reused.
+   */
+  private HashMap<String, ByteIterator> writeValues(String key) {
+    return recordbuffers != null ? recordbuffers.get().fillAll(fieldlengthgenerator) : buildValues(key);
+  }
+
+  /**
+   * Builds a value for a randomly chosen field for a synchronous write, in the record buffer of the thread if
+   * values are reused.
+   */
+  private HashMap<String, ByteIterator> writeSingleValue(String key) {
+    return recordbuffers != null
+        ? recordbuffers.get().fillOne(fieldchooser.nextValue().intValue(), fieldlengthgenerator)
+        : buildSingleValue(key);
+  }
+
   /**
    * Build a deterministic value given the key information.
    */
@@ -554,7 +679,7 @@ public class CoreWorkload extends Workload {
   public boolean doInsert(DB db, Object threadstate) {
     int keynum = keysequence.nextValue().intValue();
     String dbkey = buildKeyName(keynum);
-    HashMap<String, ByteIterator> values = buildValues(dbkey);
+    HashMap<String, ByteIterator> values = writeValues(dbkey);
 
     Status status;
     int numOfRetries = 0;
@@ -595,24 +720,22 @@ public class CoreWorkload extends Workload {
    */
   @Override
   public boolean doTransaction(DB db, Object threadstate) {
-    String operation = operationchooser.nextString();
-    if(operation == null) {
-      return false;
-    }
-
-    switch (operation) {
-    case "READ":
+    switch (nextOperation()) {
+    case READ:
       doTransactionRead(db);
       break;
-    case "UPDATE":
+    case UPDATE:
       doTransactionUpdate(db);
       break;
-    case "INSERT":
+    case INSERT:
       doTransactionInsert(db);
       break;
-    case "SCAN":
+    case SCAN:
       doTransactionScan(db);
       break;
+    case OTHER:
+      doTransactionByName(db, operationchooser.lastValue());
+      break;
     default:
       doTransactionReadModifyWrite(db);
     }
@@ -620,6 +743,24 @@ public class CoreWorkload extends Workload {
     return true;
   }
 
+  /**
+   * Choose the next operation to perform. Names the operations do not know, or added to the chooser after
+   * {@link #init}, are {@link Operation#OTHER}; the name chosen is then the last value of the chooser.
+   */
+  protected Operation nextOperation() {
+    int index = operationchooser.nextIndex();
+    return index < operations.length ? operations[index] : Operation.OTHER;
+  }
+
+  /**
+   * Do one transaction of an operation a subclass added to the operation chooser, chosen by its name. By
+   * default it is a read-modify-write, as any unknown operation always was. The asynchronous path calls it
+   * as well, blocking.
+   */
+  protected void doTransactionByName(DB db, String operation) {
+    doTransactionReadModifyWrite(db);
+  }
+
   /**
    * Results are reported in the first three buckets of the histogram under
    * the label "VERIFY".
@@ -642,7 +783,7 @@ public class CoreWorkload extends Workload {
       verifyStatus = Status.ERROR;
     }
     long endTime = System.nanoTime();
-    measurements.measure("VERIFY", (int) (endTime - startTime) / 1000);
+    measurements.measureNanos("VERIFY", endTime - startTime);
     measurements.reportStatus("VERIFY", verifyStatus);
   }
 
@@ -666,18 +807,7 @@ public class CoreWorkload extends Workload {
 
     String keyname = buildKeyName(keynum);
 
-    HashSet<String> fields = null;
-
-    if (!readallfields) {
-      // read a random field
-      String fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
-
-      fields = new HashSet<String>();
-      fields.add(fieldname);
-    } else if (dataintegrity) {
-      // pass the full field list if dataintegrity is on for verification
-      fields = new HashSet<String>(fieldnames);
-    }
+    HashSet<String> fields = chooseReadFields();
 
     HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
     db.read(table, keyname, fields, cells);
@@ -693,25 +823,9 @@ public class CoreWorkload extends Workload {
 
     String keyname = buildKeyName(keynum);
 
-    HashSet<String> fields = null;
+    HashSet<String> fields = chooseFields();
 
-    if (!readallfields) {
-      // read a random field
-      String fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
-
-      fields = new HashSet<String>();
-      fields.add(fieldname);
-    }
-
-    HashMap<String, ByteIterator> values;
-
-    if (writeallfields) {
-      // new data for all the fields
-      values = buildValues(keyname);
-    } else {
-      // update a random field
-      values = buildSingleValue(keyname);
-    }
+    HashMap<String, ByteIterator> values = chooseUpdateValues(keyname, true);
 
     // do the transaction
 
@@ -730,8 +844,7 @@ public class CoreWorkload extends Workload {
       verifyRow(keyname, cells);
     }
 
-    measurements.measure("READ-MODIFY-WRITE", (int) ((en - st) / 1000));
-    measurements.measureIntended("READ-MODIFY-WRITE", (int) ((en - ist) / 1000));
+    readModifyWriteMeasurement.measure(en - st, en - ist);
   }
 
   public void doTransactionScan(DB db) {
@@ -743,15 +856,7 @@ public class CoreWorkload extends Workload {
     // choose a random scan length
     int len = scanlength.nextValue().intValue();
 
-    HashSet<String> fields = null;
-
-    if (!readallfields) {
-      // read a random field
-      String fieldname = fieldnames.get(fieldchooser.nextValue().intValue());
-
-      fields = new HashSet<String>();
-      fields.add(fieldname);
-    }
+    HashSet<String> fields = chooseFields();
 
     db.scan(table, startkeyname, len, fields, new Vector<HashMap<String, ByteIterator>>());
   }
@@ -762,15 +867,7 @@ public class CoreWorkload extends Workload {
 
     String keyname = buildKeyName(keynum);
 
-    HashMap<String, ByteIterator> values;
-
-    if (writeallfields) {
-      // new data for all the fields
-      values = buildValues(keyname);
-    } else {
-      // update a random field
-      values = buildSingleValue(keyname);
-    }
+    HashMap<String, ByteIterator> values = chooseUpdateValues(keyname, true);
 
     db.update(table, keyname, values);
   }
@@ -782,13 +879,151 @@ public class CoreWorkload extends Workload {
     try {
       String dbkey = buildKeyName(keynum);
 
-      HashMap<String, ByteIterator> values = buildValues(dbkey);
+      HashMap<String, ByteIterator> values = writeValues(dbkey);
       db.insert(table, dbkey, values);
     } finally {
       transactioninsertkeysequence.acknowledge(keynum);
     }
   }
 
+  /**
+   * Asynchronous variant of {@link #doInsert}. Insertion retries sleep between attempts, so when
+   * {@link #INSERTION_RETRY_LIMIT} is set the blocking path is used instead.
+   */
+  @Override
+  public CompletionStage<Boolean> doInsertAsync(DB db, Object threadstate) {
+    if (insertionRetryLimit > 0) {
+      return super.doInsertAsync(db, threadstate);
+    }
+    int keynum = keysequence.nextValue().intValue();
+    String dbkey = buildKeyName(keynum);
+    HashMap<String, ByteIterator> values = buildValues(dbkey);
+    return db.insertAsync(table, dbkey, values).thenApply(status -> null != status && status.isOk());
+  }
+
+  /**
+   * Asynchronous variant of {@link #doTransaction}. The operation is chosen and its arguments are built on
+   * the calling thread; only the database calls complete asynchronously.
+   */
+  @Override
+  public CompletionStage<Boolean> doTransactionAsync(DB db, Object threadstate) {
+    CompletionStage<Status> stage;
+    switch (nextOperation()) {
+    case READ:
+      stage = doTransactionReadAsync(db);
+      break;
+    case UPDATE:
+      stage = doTransactionUpdateAsync(db);
+      break;
+    case INSERT:
+      stage = doTransactionInsertAsync(db);
+      break;
+    case SCAN:
+      stage = doTransactionScanAsync(db);
+      break;
+    case OTHER:
+      doTransactionByName(db, operationchooser.lastValue());
+      return CompletableFuture.completedFuture(true);
+    default:
+      stage = doTransactionReadModifyWriteAsync(db);
+    }
+
+    return stage.thenApply(status -> true);
+  }
+
+  public CompletionStage<Status> doTransactionReadAsync(DB db) {
+    // choose a random key
+    int keynum = nextKeynum();
+
+    final String keyname = buildKeyName(keynum);
+
+    HashSet<String> fields = chooseReadFields();
+
+    final HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
+    CompletionStage<Status> stage = db.readAsync(table, keyname, fields, cells);
+
+    if (dataintegrity) {
+      stage = stage.thenApply(status -> {
+        verifyRow(keyname, cells);
+        return status;
+      });
+    }
+    return stage;
+  }
+
+  public CompletionStage<Status> doTransactionReadModifyWriteAsync(final DB db) {
+    // choose a random key
+    int keynum = nextKeynum();
+
+    final String keyname = buildKeyName(keynum);
+
+    HashSet<String> fields = chooseFields();
+
+    final HashMap<String, ByteIterator> values = chooseUpdateValues(keyname, false);
+
+    // do the transaction, issuing the update once the read has completed
+
+    final HashMap<String, ByteIterator> cells = new HashMap<String, ByteIterator>();
+
+    final long ist = measurements.getIntendedtartTimeNs();
+    final long st = System.nanoTime();
+    return db.readAsync(table, keyname, fields, cells)
+        .thenCompose(status -> db.updateAsync(table, keyname, values))
+        .thenApply(status -> {
+          long en = System.nanoTime();
+
+          if (dataintegrity) {
+            verifyRow(keyname, cells);
+          }
+
+          readModifyWriteMeasurement.measure(en - st, en - ist);
+          return status;
+        });
+  }
+
+  public CompletionStage<Status> doTransactionScanAsync(DB db) {
+    // choose a random key
+    int keynum = nextKeynum();
+
+    String startkeyname = buildKeyName(keynum);
+
+    // choose a random scan length
+    int len = scanlength.nextValue().intValue();
+
+    HashSet<String> fields = chooseFields();
+
+    return db.scanAsync(table, startkeyname, len, fields, new Vector<HashMap<String, ByteIterator>>());
+  }
+
+  public CompletionStage<Status> doTransactionUpdateAsync(DB db) {
+    // choose a random key
+    int keynum = nextKeynum();
+
+    String keyname = buildKeyName(keynum);
+
+    HashMap<String, ByteIterator> values = chooseUpdateValues(keyname, false);
+
+    return db.updateAsync(table, keyname, values);
+  }
+
+  public CompletionStage<Status> doTransactionInsertAsync(DB db) {
+    // choose the next key
+    final int keynum = transactioninsertkeysequence.nextValue();
+
+    CompletionStage<Status> stage;
+    try {
+      String dbkey = buildKeyName(keynum);
+
+      HashMap<String, ByteIterator> values = buildValues(dbkey);
+      stage = db.insertAsync(table, dbkey, values);
+    } catch (RuntimeException e) {
+      transactioninsertkeysequence.acknowledge(keynum);
+      throw e;
+    }
+    // the key only becomes visible to readers once the insert has actually completed
+    return stage.whenComplete((status, error) -> transactioninsertkeysequence.acknowledge(keynum));
+  }
+
   /**
    * Creates a weighted discrete values with database operations for a workload to perform.
    * Weights/proportions are read from the properties list and defaults are used
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.workloads;
+
+import com.yahoo.ycsb.ByteArrayByteIterator;
+import com.yahoo.ycsb.ByteIterator;
+import com.yahoo.ycsb.RandomByteIterator;
+import com.yahoo.ycsb.generator.NumberGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The values of a record a thread writes, reused from one write to the next. The random bytes of all the
+ * fields are in one buffer, and each field is a {@link ByteArrayByteIterator} over its slice of it. The maps
+ * handed to the DB are built once, so a write allocates nothing once the buffer has grown to fit the record.
+ */
+final class RecordBuffer {
+  private final ByteArrayByteIterator[] fields;
+  private final int[] lengths;
+  private final HashMap<String, ByteIterator> all;
+  /** For each field, a map with only that field. */
+  private final List<HashMap<String, ByteIterator>> singles;
+  private byte[] buffer = new byte[0];
+
+  RecordBuffer(List<String> fieldnames) {
+    int count = fieldnames.size();
+    fields = new ByteArrayByteIterator[count];
+    lengths = new int[count];
+    all = new HashMap<>();
+    singles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      fields[i] = new ByteArrayByteIterator(buffer, 0, 0);
+      all.put(fieldnames.get(i), fields[i]);
+      HashMap<String, ByteIterator> single = new HashMap<>();
+      single.put(fieldnames.get(i), fields[i]);
+      singles.add(single);
+    }
+  }
+
+  /**
+   * Fills all the fields with new random bytes.
+   *
+   * @param fieldlengths The lengths of the fields.
+   * @return The values of all the fields, by field name.
+   */
+  HashMap<String, ByteIterator> fillAll(NumberGenerator fieldlengths) {
+    int total = 0;
+    for (int i = 0; i < fields.length; i++) {
+      lengths[i] = fieldlengths.nextValue().intValue();
+      total += lengths[i];
+    }
+    fill(total);
+    int off = 0;
+    for (int i = 0; i < fields.length; i++) {
+      fields[i].reset(buffer, off, lengths[i]);
+      off += lengths[i];
+    }
+    return all;
+  }
+
+  /**
+   * Fills one field with new random bytes.
+   *
+   * @param field The index of the field.
+   * @param fieldlengths The lengths of the fields.
+   * @return The value of the field, by field name.
+   */
+  HashMap<String, ByteIterator> fillOne(int field, NumberGenerator fieldlengths) {
+    int length = fieldlengths.nextValue().intValue();
+    fill(length);
+    fields[field].reset(buffer, 0, length);
+    return singles.get(field);
+  }
+
+  private void fill(int length) {
+    if (buffer.length < length) {
+      buffer = new byte[Math.max(length, buffer.length * 2)];
+    }
+    RandomByteIterator.fill(buffer, 0, length);
+  }
+}
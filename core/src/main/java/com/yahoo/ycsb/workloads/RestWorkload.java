@@ -20,6 +20,7 @@ package com.yahoo.ycsb.workloads;
 import com.yahoo.ycsb.ByteIterator;
 import com.yahoo.ycsb.DB;
 import com.yahoo.ycsb.RandomByteIterator;
+import com.yahoo.ycsb.Status;
 import com.yahoo.ycsb.WorkloadException;
 import com.yahoo.ycsb.generator.*;
 
@@ -29,6 +30,8 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Typical RESTFul services benchmarking scenario. Represents a set of client
@@ -108,10 +111,10 @@ public class RestWorkload extends CoreWorkload {
   private NumberGenerator deleteKeyChooser;
   private NumberGenerator updateKeyChooser;
   private NumberGenerator fieldlengthgenerator;
-  private DiscreteGenerator operationchooser;
 
   @Override
   public void init(Properties p) throws WorkloadException {
+    setZetaCache(p);
 
     readRecordCount = Integer.parseInt(p.getProperty(READ_RECORD_COUNT_PROPERTY, String.valueOf(Integer.MAX_VALUE)));
     insertRecordCount = Integer
@@ -127,6 +130,7 @@ public class RestWorkload extends CoreWorkload {
     updateUrlMap = getTrace(p.getProperty(UPDATE_TRACE_FILE, UPDATE_TRACE_FILE_DEFAULT), updateRecordCount);
 
     operationchooser = createOperationGenerator(p);
+    operations = Operation.of(operationchooser);
 
     // Common distribution for all operations.
     String requestDistrib = p.getProperty(REQUEST_DISTRIBUTION_PROPERTY, REQUEST_DISTRIBUTION_PROPERTY_DEFAULT);
@@ -240,19 +244,14 @@ public class RestWorkload extends CoreWorkload {
 
   @Override
   public boolean doTransaction(DB db, Object threadstate) {
-    String operation = operationchooser.nextString();
-    if (operation == null) {
-      return false;
-    }
-
-    switch (operation) {
-    case "UPDATE":
+    switch (nextOperation()) {
+    case UPDATE:
       doTransactionUpdate(db);
       break;
-    case "INSERT":
+    case INSERT:
       doTransactionInsert(db);
       break;
-    case "DELETE":
+    case DELETE:
       doTransactionDelete(db);
       break;
     default:
@@ -261,6 +260,36 @@ public class RestWorkload extends CoreWorkload {
     return true;
   }
 
+  /**
+   * Not required for Rest Clients as data population is service specific.
+   */
+  @Override
+  public CompletionStage<Boolean> doInsertAsync(DB db, Object threadstate) {
+    return CompletableFuture.completedFuture(doInsert(db, threadstate));
+  }
+
+  /**
+   * Asynchronous variant of {@link #doTransaction}, calling the URLs of the traces as well.
+   */
+  @Override
+  public CompletionStage<Boolean> doTransactionAsync(DB db, Object threadstate) {
+    CompletionStage<Status> stage;
+    switch (nextOperation()) {
+    case UPDATE:
+      stage = doTransactionUpdateAsync(db);
+      break;
+    case INSERT:
+      stage = doTransactionInsertAsync(db);
+      break;
+    case DELETE:
+      stage = doTransactionDeleteAsync(db);
+      break;
+    default:
+      stage = doTransactionReadAsync(db);
+    }
+    return stage.thenApply(status -> true);
+  }
+
   /**
    * Returns next URL to be called.
    */
@@ -294,6 +323,30 @@ public class RestWorkload extends CoreWorkload {
     db.delete(null, getNextURL(3));
   }
 
+  @Override
+  public CompletionStage<Status> doTransactionReadAsync(DB db) {
+    HashMap<String, ByteIterator> result = new HashMap<String, ByteIterator>();
+    return db.readAsync(null, getNextURL(1), null, result);
+  }
+
+  @Override
+  public CompletionStage<Status> doTransactionInsertAsync(DB db) {
+    HashMap<String, ByteIterator> value = new HashMap<String, ByteIterator>();
+    value.put("data", new RandomByteIterator(fieldlengthgenerator.nextValue().longValue()));
+    return db.insertAsync(null, getNextURL(2), value);
+  }
+
+  public CompletionStage<Status> doTransactionDeleteAsync(DB db) {
+    return db.deleteAsync(null, getNextURL(3));
+  }
+
+  @Override
+  public CompletionStage<Status> doTransactionUpdateAsync(DB db) {
+    HashMap<String, ByteIterator> value = new HashMap<String, ByteIterator>();
+    value.put("data", new RandomByteIterator(fieldlengthgenerator.nextValue().longValue()));
+    return db.updateAsync(null, getNextURL(4), value);
+  }
+
   @Override
   public void doTransactionUpdate(DB db) {
     HashMap<String, ByteIterator> value = new HashMap<String, ByteIterator>();
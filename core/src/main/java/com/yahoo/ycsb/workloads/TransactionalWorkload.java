@@ -1,7 +1,7 @@
 package com.yahoo.ycsb.workloads;
 
 import com.yahoo.ycsb.*;
-import com.yahoo.ycsb.generator.CounterGenerator;
+import com.yahoo.ycsb.generator.LeasedCounterGenerator;
 import com.yahoo.ycsb.generator.NumberGenerator;
 import com.yahoo.ycsb.generator.ScrambledZipfianGenerator;
 import com.yahoo.ycsb.generator.UniformIntegerGenerator;
@@ -61,6 +61,10 @@ public class TransactionalWorkload extends Workload {
   protected int batchSize;
 
   private Measurements measurements = Measurements.getMeasurements();
+  private final Measurements.Handle transactionMeasurement = measurements.handle("TRANSACTION");
+
+  // cleared once the DB turns out not to implement transfers
+  private volatile boolean transfers = true;
 
   @Override
   public void init(Properties p) throws WorkloadException {
@@ -78,7 +82,7 @@ public class TransactionalWorkload extends Workload {
         Integer.parseInt(p.getProperty(INSERT_START_PROPERTY, INSERT_START_PROPERTY_DEFAULT));
     int insertCount =
         Integer.parseInt(p.getProperty(INSERT_COUNT_PROPERTY, String.valueOf(recordcount - insertStart)));
-    keysequence = new CounterGenerator(insertStart);
+    keysequence = new LeasedCounterGenerator(insertStart, insertStart + insertCount);
     keychooser = new UniformIntegerGenerator(insertStart, insertStart + insertCount);
 
     insertionRetryLimit = Integer.parseInt(p.getProperty(
@@ -168,6 +172,18 @@ public class TransactionalWorkload extends Workload {
         int keynum2 = keychooser.nextValue().intValue();
         String keyname2 = buildKeyName(keynum2);
 
+        long change = ThreadLocalRandom.current().nextLong(-1000, 1000);
+        if (transfers) {
+          Status transferred = db.transfer(table, keyname1, keyname2, FIELDNAME, change);
+          if (transferred != Status.NOT_IMPLEMENTED) {
+            if (transferred != Status.OK) {
+              status = false;
+            }
+            continue;
+          }
+          transfers = false;
+        }
+
         HashMap<String, ByteIterator> cells1 = new HashMap<>();
         cells1.put(FIELDNAME, new LongByteIterator(0));
         HashMap<String, ByteIterator> cells2 = new HashMap<>();
@@ -178,7 +194,6 @@ public class TransactionalWorkload extends Workload {
 
         long balance1 = ((LongByteIterator) cells1.get(FIELDNAME)).getValue();
         long balance2 = ((LongByteIterator) cells2.get(FIELDNAME)).getValue();
-        long change = ThreadLocalRandom.current().nextLong(-1000, 1000);
         cells1.put(FIELDNAME, new LongByteIterator(balance1 + change));
         cells2.put(FIELDNAME, new LongByteIterator(balance2 - change));
 
@@ -205,8 +220,7 @@ public class TransactionalWorkload extends Workload {
     }
 
     long en = System.nanoTime();
-    measurements.measure("TRANSACTION", (int) ((en - st) / 1000));
-    measurements.measureIntended("TRANSACTION", (int) ((en - ist) / 1000));
+    transactionMeasurement.measure(en - st, en - ist);
     return true;
   }
 }
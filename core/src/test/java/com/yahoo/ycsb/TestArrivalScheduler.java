@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.yahoo.ycsb.rate.ConstantRate;
+import com.yahoo.ycsb.rate.RateProfile;
+
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+public class TestArrivalScheduler {
+
+  @Test
+  public void closedLoopByDefault() {
+    assertNull(ArrivalScheduler.fromProperties(new Properties(), new ConstantRate(1000), 0));
+  }
+
+  @Test
+  public void constantArrivalsAreEvenlySpaced() {
+    ArrivalScheduler arrivals = new ArrivalScheduler("constant", new ConstantRate(1000), 0, 1);
+    long first = arrivals.nextArrivalNs();
+    for (int i = 1; i <= 1000; i++) {
+      assertEquals(arrivals.nextArrivalNs() - first, i * 1000000L, 1.0);
+    }
+  }
+
+  @Test
+  public void stopsAfterMaxArrivals() {
+    ArrivalScheduler arrivals = new ArrivalScheduler("constant", new ConstantRate(1000), 3, 1);
+    assertTrue(arrivals.nextArrivalNs() >= 0);
+    assertTrue(arrivals.nextArrivalNs() >= 0);
+    assertTrue(arrivals.nextArrivalNs() >= 0);
+    assertEquals(arrivals.nextArrivalNs(), -1);
+  }
+
+  @Test
+  public void poissonArrivalsHaveTheTargetMeanRate() {
+    ArrivalScheduler arrivals = new ArrivalScheduler("poisson", new ConstantRate(1000), 0, 1);
+    long first = arrivals.nextArrivalNs();
+    long last = first;
+    for (int i = 0; i < 100000; i++) {
+      last = arrivals.nextArrivalNs();
+    }
+    // 100000 arrivals at 1000/s take 100s, within a few standard deviations
+    assertEquals((last - first) / 1e9, 100, 2);
+  }
+
+  @Test
+  public void followsTheRateCurve() {
+    // ramps from 0 to 200 ops/sec over 10 seconds, then stops
+    Properties props = new Properties();
+    props.setProperty(RateProfile.RATE_PROFILE_PROPERTY, "curve");
+    props.setProperty(RateProfile.RATE_CURVE_PROPERTY, "0:0,10:200,10.001:0");
+    ArrivalScheduler arrivals = new ArrivalScheduler("constant", RateProfile.fromProperties(props), 0, 1);
+    long first = arrivals.nextArrivalNs();
+    // the integrated rate reaches n at sqrt(n / 10) seconds
+    for (int n = 1; n <= 1000; n++) {
+      assertEquals((arrivals.nextArrivalNs() - first) / 1e9, Math.sqrt(n / 10.0), 1e-6);
+    }
+    assertEquals(arrivals.nextArrivalNs(), -1);
+  }
+}
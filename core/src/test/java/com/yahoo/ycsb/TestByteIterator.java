@@ -18,6 +18,9 @@
 package com.yahoo.ycsb;
 
 import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+
 import static org.testng.AssertJUnit.*;
 
 public class TestByteIterator {
@@ -36,4 +39,88 @@ public class TestByteIterator {
     assertFalse(itor.hasNext());
     assertEquals(0, itor.bytesLeft());
   }
+
+  @Test
+  public void testRandomByteIteratorBulk() {
+    int size = 1000;
+    ByteIterator itor = new RandomByteIterator(size);
+    assertPrintable(itor.nextByte());
+    assertPrintable(itor.nextByte());
+    assertPrintable(itor.nextByte());
+    assertEquals(size - 3, itor.bytesLeft());
+
+    // an offset that is not a multiple of eight, and more room than bytes left
+    byte[] buf = new byte[size + 10];
+    assertEquals(5 + size - 3, itor.nextBuf(buf, 5));
+    for (int i = 5; i < 5 + size - 3; i++) {
+      assertPrintable(buf[i]);
+    }
+    assertEquals(0, buf[size + 2]);
+    assertFalse(itor.hasNext());
+    assertEquals(0, itor.bytesLeft());
+    assertEquals(3, itor.nextBuf(buf, 3));
+  }
+
+  @Test
+  public void testRandomByteIteratorByteBuffer() {
+    for (ByteBuffer buf : new ByteBuffer[] {ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+      ByteIterator itor = new RandomByteIterator(100);
+      buf.position(3).limit(50);
+      assertEquals(47, itor.nextBuf(buf));
+      assertEquals(50, buf.position());
+      assertEquals(53, itor.bytesLeft());
+      for (int i = 3; i < 50; i++) {
+        assertPrintable(buf.get(i));
+      }
+      buf.clear();
+      assertEquals(0, buf.get(50));
+      assertEquals(53, itor.nextBuf(buf));
+      assertEquals(53, buf.position());
+      assertFalse(itor.hasNext());
+    }
+  }
+
+  @Test
+  public void testByteArrayByteIteratorBulk() {
+    byte[] bytes = "0123456789".getBytes();
+    ByteIterator itor = new ByteArrayByteIterator(bytes, 2, 6);
+    assertEquals('2', itor.nextByte());
+    byte[] buf = new byte[4];
+    assertEquals(4, itor.nextBuf(buf, 1));
+    assertEquals("345", new String(buf, 1, 3));
+
+    ByteBuffer bb = ByteBuffer.allocate(4);
+    assertEquals(2, itor.nextBuf(bb));
+    assertEquals("67", new String(bb.array(), 0, 2));
+    assertFalse(itor.hasNext());
+  }
+
+  @Test
+  public void testRandomByteIteratorKeepsItsCharacters() {
+    // each group of six bytes keeps 5, 6, 7, 5, 6 and 7 bits above ' '
+    int[] masks = {31, 63, 95, 31, 63, 95};
+    byte[] buf = new byte[1000];
+    new RandomByteIterator(buf.length).nextBuf(buf, 0);
+    ByteBuffer direct = ByteBuffer.allocateDirect(buf.length);
+    new RandomByteIterator(buf.length).nextBuf(direct);
+    ByteIterator bytes = new RandomByteIterator(buf.length);
+    boolean[] seen = new boolean[128];
+    for (int i = 0; i < buf.length; i++) {
+      int mask = masks[i % masks.length];
+      for (int b : new int[] {buf[i], direct.get(i), bytes.nextByte()}) {
+        assertTrue("byte " + b + " at " + i, b >= ' ' && ((b - ' ') & ~mask) == 0);
+        seen[b] = true;
+      }
+    }
+    // the seven bit bytes reach past '_'
+    boolean high = false;
+    for (int b = '`'; b < seen.length; b++) {
+      high |= seen[b];
+    }
+    assertTrue(high);
+  }
+
+  private static void assertPrintable(byte b) {
+    assertTrue("byte " + b + " is not printable", b >= ' ');
+  }
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import static org.testng.Assert.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+public class TestClientExecutor {
+  private static final int CLIENTS = 32;
+
+  /**
+   * Runs clients that each wait for all the others, so they only finish if every one of them runs at once.
+   */
+  private static void assertAllRunAtOnce(ExecutorService executor) throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(CLIENTS);
+    final CountDownLatch done = new CountDownLatch(CLIENTS);
+    try {
+      for (int i = 0; i < CLIENTS; i++) {
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            started.countDown();
+            try {
+              if (started.await(10, TimeUnit.SECONDS)) {
+                done.countDown();
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        });
+      }
+      assertTrue(done.await(20, TimeUnit.SECONDS), "clients were serialized by the executor");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void virtualRunsEveryClientAtOnce() throws InterruptedException {
+    // virtual threads where the runtime has them, one platform thread per client otherwise
+    assertAllRunAtOnce(Client.newClientExecutor("virtual", new Properties(), CLIENTS));
+  }
+
+  @Test
+  public void forkJoinRunsEveryClientAtOnce() throws InterruptedException {
+    Properties p = new Properties();
+    p.setProperty(Client.CLIENT_EXECUTOR_PARALLELISM_PROPERTY, String.valueOf(CLIENTS));
+    ExecutorService executor = Client.newClientExecutor("forkjoin", p, CLIENTS);
+    assertTrue(executor instanceof ForkJoinPool);
+    assertAllRunAtOnce(executor);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void forkJoinRejectsFewerWorkersThanClients() {
+    Properties p = new Properties();
+    p.setProperty(Client.CLIENT_EXECUTOR_PARALLELISM_PROPERTY, "4");
+    Client.newClientExecutor("forkjoin", p, CLIENTS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void forkJoinDefaultsToTheProcessorCount() {
+    Client.newClientExecutor("forkjoin", new Properties(), Runtime.getRuntime().availableProcessors() + 1);
+  }
+}
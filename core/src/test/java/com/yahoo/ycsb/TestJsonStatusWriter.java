@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import com.yahoo.ycsb.measurements.Measurements;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestJsonStatusWriter {
+
+  @Test
+  public void writesALinePerInterval() throws Exception {
+    Measurements measurements = new Measurements(new Properties());
+    Measurements.Handle read = measurements.handle("READ");
+    for (int i = 1; i <= 100; i++) {
+      read.record(i * 1000L, Status.OK);
+    }
+    measurements.handle("\"QUOTED\"").record(1000, Status.OK);
+    measurements.measureGauge("USED_MEM_MB", 120);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    JsonStatusWriter json = new JsonStatusWriter(out, measurements);
+    json.write(1500000000000L, 10000, 101, 10.1, Double.NaN);
+    read.record(5000, Status.OK);
+    json.write(1500000010000L, 20000, 102, 0.1, 1000);
+    json.close();
+
+    String[] lines = out.toString("UTF-8").split("\n");
+    assertEquals(2, lines.length);
+    assertTrue(lines[0], lines[0].startsWith(
+        "{\"time\":1500000000000,\"elapsed_ms\":10000,\"operations\":101,\"throughput\":10.1,\"target\":null,"));
+    assertTrue(lines[0], lines[0].contains("\"ops\":{\"\\\"QUOTED\\\"\":{\"count\":1,"));
+    assertTrue(lines[0], lines[0].contains("\"READ\":{\"count\":100,\"mean_ns\":"));
+    assertTrue(lines[0], lines[0].contains("\"p50_ns\":50"));
+    assertTrue(lines[0], lines[0].contains("\"max_ns\":100"));
+    assertTrue(lines[0], lines[0].contains("\"jvm\":{\"threads\":"));
+    // the gauges are no operations
+    assertTrue(lines[0], !lines[0].contains("USED_MEM_MB"));
+    assertTrue(lines[0], lines[0].endsWith("}}"));
+
+    // the second line covers its own interval only
+    assertTrue(lines[1], lines[1].contains("\"target\":1000.0,"));
+    assertTrue(lines[1], lines[1].contains("\"ops\":{\"\\\"QUOTED\\\"\":{\"count\":0},\"READ\":{\"count\":1,"));
+    assertTrue(lines[1], lines[1].contains("\"p999_ns\":5"));
+  }
+}
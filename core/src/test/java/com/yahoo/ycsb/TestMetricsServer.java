@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import com.yahoo.ycsb.measurements.Measurements;
+import com.yahoo.ycsb.rate.ConstantRate;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestMetricsServer {
+
+  private static String scrape(int port) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/metrics")
+        .openConnection();
+    assertEquals(200, connection.getResponseCode());
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    try (InputStream in = connection.getInputStream()) {
+      byte[] buf = new byte[4096];
+      int n;
+      while ((n = in.read(buf)) > 0) {
+        body.write(buf, 0, n);
+      }
+    }
+    return body.toString("UTF-8");
+  }
+
+  @Test
+  public void servesTheLastSnapshot() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(MetricsServer.METRICS_PORT_PROPERTY, "0");
+    props.setProperty(MetricsServer.METRICS_INTERVAL_PROPERTY, "3600");
+    Measurements measurements = new Measurements(props);
+    Measurements.Handle read = measurements.handle("READ");
+    for (int i = 1; i <= 100; i++) {
+      read.record(i * 1000000L, Status.OK);
+    }
+    read.reportStatus(Status.NOT_FOUND);
+    measurements.measureGauge("THREAD_COUNT", 42);
+
+    MetricsServer server = new MetricsServer(props, Collections.<ClientThread>emptyList(), new ConstantRate(500),
+        measurements);
+    server.start();
+    try {
+      while (server.getSnapshot().length == 0) {
+        Thread.sleep(10);
+      }
+      String metrics = scrape(server.getPort());
+      assertTrue(metrics, metrics.contains("# TYPE ycsb_latency_seconds summary\n"));
+      assertTrue(metrics, metrics.contains("ycsb_latency_seconds_count{operation=\"READ\"} 100\n"));
+      assertTrue(metrics, metrics.contains("ycsb_latency_seconds{operation=\"READ\",quantile=\"0.5\"} 0.05"));
+      assertTrue(metrics, metrics.contains("ycsb_operation_statuses_total{operation=\"READ\",status=\"OK\"} 100\n"));
+      assertTrue(metrics,
+          metrics.contains("ycsb_operation_statuses_total{operation=\"READ\",status=\"NOT_FOUND\"} 1\n"));
+      assertTrue(metrics, metrics.contains("ycsb_target_throughput 0\n"));
+      assertTrue(metrics, metrics.contains("ycsb_jvm_threads "));
+      assertTrue(metrics, metrics.contains("# TYPE ycsb_operations_total counter\n"));
+      assertTrue(metrics, metrics.contains("# TYPE ycsb_operation_statuses_total counter\n"));
+      assertTrue(metrics, metrics.contains("# TYPE ycsb_jvm_gc_collections_total counter\n"));
+      assertTrue(metrics, metrics.contains("# TYPE ycsb_jvm_gc_time_seconds_total counter\n"));
+      // the gauges are sampled as they are, not as latencies
+      assertTrue(metrics, metrics.contains("# TYPE ycsb_gauge gauge\n"));
+      assertTrue(metrics, metrics.contains("ycsb_gauge{gauge=\"THREAD_COUNT\"} 42\n"));
+      assertTrue(metrics, !metrics.contains("operation=\"THREAD_COUNT\""));
+
+      // nothing new in the next interval
+      server.refresh();
+      metrics = scrape(server.getPort());
+      assertTrue(metrics, metrics.contains("ycsb_latency_seconds_count{operation=\"READ\"} 100\n"));
+      assertTrue(metrics, metrics.contains("ycsb_latency_seconds{operation=\"READ\",quantile=\"0.99\"} NaN\n"));
+    } finally {
+      server.finish();
+    }
+  }
+}
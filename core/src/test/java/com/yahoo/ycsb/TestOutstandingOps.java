@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.yahoo.ycsb.measurements.Measurements;
+import com.yahoo.ycsb.workloads.CoreWorkload;
+import com.yahoo.ycsb.workloads.RestWorkload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Properties;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Runs a client thread with {@link Client#OUTSTANDING_OPS_PROPERTY} against a DB whose asynchronous operations
+ * complete later, on another thread.
+ */
+public class TestOutstandingOps {
+  private static final int OUTSTANDING = 8;
+  private static final int OPERATIONS = 500;
+
+  private ScheduledExecutorService completions;
+
+  /**
+   * Completes every asynchronous operation after a short delay, and tracks how many are in flight.
+   */
+  private final class AsyncDB extends DB {
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger deletes = new AtomicInteger();
+
+    private CompletionStage<Status> later(String key) {
+      calls.incrementAndGet();
+      keys.add(key);
+      int now = inflight.incrementAndGet();
+      maxInflight.accumulateAndGet(now, Math::max);
+      final CompletableFuture<Status> result = new CompletableFuture<>();
+      completions.schedule(new Runnable() {
+        @Override
+        public void run() {
+          inflight.decrementAndGet();
+          result.complete(Status.OK);
+        }
+      }, 200, TimeUnit.MICROSECONDS);
+      return result;
+    }
+
+    @Override
+    public Status read(String table, String key, Set<String> fields, HashMap<String, ByteIterator> result) {
+      throw new AssertionError("the blocking path was used");
+    }
+
+    @Override
+    public Status scan(String table, String startkey, int recordcount, Set<String> fields,
+                       Vector<HashMap<String, ByteIterator>> result) {
+      throw new AssertionError("the blocking path was used");
+    }
+
+    @Override
+    public Status update(String table, String key, HashMap<String, ByteIterator> values) {
+      throw new AssertionError("the blocking path was used");
+    }
+
+    @Override
+    public Status insert(String table, String key, HashMap<String, ByteIterator> values) {
+      throw new AssertionError("the blocking path was used");
+    }
+
+    @Override
+    public Status delete(String table, String key) {
+      throw new AssertionError("the blocking path was used");
+    }
+
+    @Override
+    public CompletionStage<Status> readAsync(String table, String key, Set<String> fields,
+                                             HashMap<String, ByteIterator> result) {
+      return later(key);
+    }
+
+    @Override
+    public CompletionStage<Status> updateAsync(String table, String key, HashMap<String, ByteIterator> values) {
+      return later(key);
+    }
+
+    @Override
+    public CompletionStage<Status> insertAsync(String table, String key, HashMap<String, ByteIterator> values) {
+      return later(key);
+    }
+
+    @Override
+    public CompletionStage<Status> deleteAsync(String table, String key) {
+      deletes.incrementAndGet();
+      return later(key);
+    }
+  }
+
+  @BeforeMethod
+  public void setUp() {
+    completions = Executors.newScheduledThreadPool(4);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    completions.shutdownNow();
+  }
+
+  private AsyncDB run(boolean dotransactions, Properties props) throws Exception {
+    return run(dotransactions, props, CoreWorkload::new);
+  }
+
+  private AsyncDB run(boolean dotransactions, Properties props, Supplier<CoreWorkload> workloads)
+      throws Exception {
+    props.setProperty(Client.OUTSTANDING_OPS_PROPERTY, String.valueOf(OUTSTANDING));
+    props.setProperty(Client.RECORD_COUNT_PROPERTY, String.valueOf(OPERATIONS));
+    Measurements.setProperties(props);
+    CoreWorkload workload = workloads.get();
+    workload.init(props);
+
+    AsyncDB db = new AsyncDB();
+    CountDownLatch complete = new CountDownLatch(1);
+    ClientThread client = new ClientThread(db, dotransactions, workload, props, OPERATIONS, null, complete, null);
+    client.run();
+
+    assertEquals(complete.getCount(), 0);
+    assertEquals(client.getOpsDone(), OPERATIONS);
+    // every operation completed before run() returned
+    assertEquals(db.inflight.get(), 0);
+    assertTrue(db.maxInflight.get() <= OUTSTANDING, "more than " + OUTSTANDING + " operations in flight");
+    assertTrue(db.maxInflight.get() > 1, "the operations were not overlapped");
+    return db;
+  }
+
+  @Test
+  public void boundsTheInsertsInFlight() throws Exception {
+    AsyncDB db = run(false, new Properties());
+    assertEquals(db.calls.get(), OPERATIONS);
+  }
+
+  @Test
+  public void boundsTheTransactionsInFlight() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0.5");
+    props.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0.5");
+    AsyncDB db = run(true, props);
+    assertEquals(db.calls.get(), OPERATIONS);
+  }
+
+  private static String trace(String... urls) throws IOException {
+    File file = File.createTempFile("trace", ".txt");
+    file.deleteOnExit();
+    Files.write(file.toPath(), Arrays.asList(urls), StandardCharsets.UTF_8);
+    return file.getPath();
+  }
+
+  @Test
+  public void callsTheRestTracesInFlight() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(CoreWorkload.READ_PROPORTION_PROPERTY, "0.25");
+    props.setProperty(CoreWorkload.UPDATE_PROPORTION_PROPERTY, "0.25");
+    props.setProperty(CoreWorkload.INSERT_PROPORTION_PROPERTY, "0.25");
+    props.setProperty(RestWorkload.DELETE_PROPORTION_PROPERTY, "0.25");
+    props.setProperty(CoreWorkload.REQUEST_DISTRIBUTION_PROPERTY, "uniform");
+    props.setProperty("url.trace.read", trace("/read/1", "/read/2"));
+    props.setProperty("url.trace.insert", trace("/insert/1"));
+    props.setProperty("url.trace.delete", trace("/delete/1"));
+    props.setProperty("url.trace.update", trace("/update/1"));
+    AsyncDB db = run(true, props, RestWorkload::new);
+    assertEquals(db.calls.get(), OPERATIONS);
+    assertTrue(db.deletes.get() > 0, "no delete was issued");
+    // only the URLs of the traces are called
+    for (String key : db.keys) {
+      assertTrue(key.matches("/(read/[12]|insert/1|delete/1|update/1)"), key);
+    }
+  }
+}
@@ -18,6 +18,7 @@ package com.yahoo.ycsb;
 
 import org.testng.annotations.Test;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
@@ -38,4 +39,14 @@ public class TestStatus {
     assertFalse(Status.SERVICE_UNAVAILABLE.isOk());
     assertFalse(Status.UNEXPECTED_STATE.isOk());
   }
+
+  @Test
+  public void testOrdinals() {
+    Status[] defined = Status.defined();
+    assertEquals(defined.length, Status.DEFINED_STATUSES);
+    for (int i = 0; i < defined.length; i++) {
+      assertEquals(defined[i].ordinal(), i);
+    }
+    assertEquals(new Status("OK", "The operation completed successfully.").ordinal(), -1);
+  }
 }
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.yahoo.ycsb.measurements.Measurements;
+import com.yahoo.ycsb.rate.ConstantRate;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+/**
+ * Drives the search with synthetic windows from a system that serves up to a given capacity, instead of
+ * running clients against a database.
+ */
+public class TestThroughputSearch {
+
+  /**
+   * A search whose windows come from a model: up to its latency capacity operations take 1ms, beyond it
+   * 100ms, and the clients never achieve more than the throughput capacity.
+   */
+  private static final class ModelSearch extends ThroughputSearch {
+    private final double latencyCapacity;
+    private final double throughputCapacity;
+    private final Histogram total = new Histogram(3);
+
+    ModelSearch(Properties props, double latencyCapacity, double throughputCapacity) {
+      super(props, new ConstantRate(getStartRate(props)), new ArrayList<ClientThread>(), idleWorkload());
+      this.latencyCapacity = latencyCapacity;
+      this.throughputCapacity = throughputCapacity;
+    }
+
+    @Override
+    Window measure(double target) {
+      Histogram before = total.copy();
+      total.recordValueWithCount(target <= latencyCapacity ? 1000000 : 100000000, 1000);
+      return new Window(Math.min(target, throughputCapacity),
+          Collections.singletonMap("READ", before), Collections.singletonMap("READ", total.copy()));
+    }
+  }
+
+  private static Workload idleWorkload() {
+    return new Workload() {
+      @Override
+      public boolean doInsert(DB db, Object threadstate) {
+        return true;
+      }
+
+      @Override
+      public boolean doTransaction(DB db, Object threadstate) {
+        return true;
+      }
+    };
+  }
+
+  private static Properties props(String... keyValues) {
+    Properties p = new Properties();
+    p.setProperty(ThroughputSearch.SEARCH_SLO_LATENCY_PROPERTY, "10000");
+    p.setProperty(ThroughputSearch.SEARCH_START_PROPERTY, "1000");
+    for (int i = 0; i < keyValues.length; i += 2) {
+      p.setProperty(keyValues[i], keyValues[i + 1]);
+    }
+    Measurements.setProperties(p);
+    return p;
+  }
+
+  @Test
+  public void binarySearchConverges() throws InterruptedException {
+    ModelSearch search = new ModelSearch(props(), 7300, Double.MAX_VALUE);
+    search.search();
+    // 1000, 2000, 4000 and 8000, then bisecting 6000, 7000, 7500 and 7250
+    assertEquals(search.getBest(), 7250.0);
+    assertEquals(search.getSteps(), 8);
+  }
+
+  @Test
+  public void binarySearchHalvesAFailingStart() throws InterruptedException {
+    ModelSearch search = new ModelSearch(props(), 300, Double.MAX_VALUE);
+    search.search();
+    // 1000, 500 and 250 to find a passing target, then bisecting 375, 312.5, 281.25, 296.875 and 304.6875
+    assertEquals(search.getBest(), 296.875);
+    assertEquals(search.getSteps(), 8);
+  }
+
+  @Test
+  public void binarySearchStopsAtTheMaximum() throws InterruptedException {
+    ModelSearch search = new ModelSearch(props(ThroughputSearch.SEARCH_MAX_PROPERTY, "5000"),
+        Double.MAX_VALUE, Double.MAX_VALUE);
+    search.search();
+    assertEquals(search.getBest(), 5000.0);
+    assertEquals(search.getSteps(), 4);
+  }
+
+  @Test
+  public void stepSearchConverges() throws InterruptedException {
+    ModelSearch search = new ModelSearch(props(ThroughputSearch.SEARCH_MODE_PROPERTY, "step",
+        ThroughputSearch.SEARCH_STEP_PROPERTY, "1000"), 7300, Double.MAX_VALUE);
+    search.search();
+    assertEquals(search.getBest(), 7000.0);
+    assertEquals(search.getSteps(), 8);
+  }
+
+  @Test
+  public void stepsFailWhenTheTargetIsNotAchieved() throws InterruptedException {
+    // the latency always meets the SLO, only the achieved throughput limits the search
+    ModelSearch search = new ModelSearch(props(), Double.MAX_VALUE, 5000);
+    search.search();
+    // 5250 ops/sec are achieved at 95.2%, 5500 only at 90.9%
+    assertEquals(search.getBest(), 5250.0);
+    assertTrue(search.getBest() * 0.95 <= 5000);
+  }
+
+  @Test
+  public void judgesOnlyTheWindow() {
+    ThroughputSearch search = new ModelSearch(props(), 0, 0);
+    Histogram before = new Histogram(3);
+    before.recordValueWithCount(100000000, 100000);
+    Histogram after = before.copy();
+    after.recordValueWithCount(1000000, 1000);
+    Map<String, Histogram> beforeMap = new HashMap<>();
+    beforeMap.put("READ", before);
+    Map<String, Histogram> afterMap = new HashMap<>();
+    afterMap.put("READ", after);
+    // an operation first measured in the window has no histogram before it
+    Histogram update = new Histogram(3);
+    update.recordValueWithCount(2000000, 1000);
+    afterMap.put("UPDATE", update);
+    // the cleanup is not held to the SLO
+    Histogram cleanup = new Histogram(3);
+    cleanup.recordValue(1000000000);
+    afterMap.put("CLEANUP", cleanup);
+
+    assertTrue(search.judge(1000, new ThroughputSearch.Window(1000, beforeMap, afterMap)));
+
+    Histogram slow = after.copy();
+    slow.recordValueWithCount(100000000, 1000);
+    afterMap.put("READ", slow);
+    beforeMap.put("READ", after);
+    assertFalse(search.judge(1000, new ThroughputSearch.Window(1000, beforeMap, afterMap)));
+  }
+
+  @Test
+  public void judgesNoGauges() throws InterruptedException {
+    Properties p = props(ThroughputSearch.SEARCH_MAX_PROPERTY, "1000",
+        ThroughputSearch.SEARCH_SETTLE_PROPERTY, "0",
+        ThroughputSearch.SEARCH_WINDOW_PROPERTY, "0.05",
+        ThroughputSearch.SEARCH_MIN_ACHIEVED_PROPERTY, "0",
+        Measurements.MEASUREMENT_TYPE_PROPERTY, "hdrhistogram",
+        Measurements.MEASUREMENT_TRACK_JVM_PROPERTY, "true");
+    final Measurements measurements = new Measurements(p);
+    final Measurements.Handle read = measurements.handle("READ");
+    Thread clients = new Thread() {
+      @Override
+      public void run() {
+        while (!isInterrupted()) {
+          read.record(1000000, Status.OK);
+          // 20000 MB of heap is no latency of 20ms breaking the SLO of 10ms
+          measurements.measureGauge("USED_MEM_MB", 20000);
+          try {
+            Thread.sleep(1);
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+      }
+    };
+    clients.start();
+    try {
+      ThroughputSearch search = new ThroughputSearch(p, new ConstantRate(1000), new ArrayList<ClientThread>(),
+          idleWorkload(), measurements);
+      search.search();
+      assertEquals(search.getBest(), 1000.0);
+      assertEquals(search.getSteps(), 1);
+    } finally {
+      clients.interrupt();
+      clients.join();
+    }
+    assertFalse(measurements.getTotalHistograms(true).containsKey("USED_MEM_MB"));
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void needsHistograms() {
+    ThroughputSearch search = new ModelSearch(props(), 0, 0);
+    search.judge(1000, new ThroughputSearch.Window(1000, new HashMap<String, Histogram>(),
+        new HashMap<String, Histogram>()));
+  }
+}
@@ -21,11 +21,45 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import org.testng.annotations.Test;
 
 public class TestUtils {
 
+  @Test
+  public void randomIsPerThreadAndSeeded() throws Exception {
+    final Random[] other = new Random[1];
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        other[0] = Utils.random();
+      }
+    };
+    thread.start();
+    thread.join();
+    assertTrue(Utils.random() == Utils.random());
+    assertTrue(Utils.random() != other[0]);
+
+    Random a = new XoshiroRandom(42);
+    Random b = new XoshiroRandom(42);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(a.nextLong(), b.nextLong());
+    }
+    b.setSeed(43);
+    assertTrue(a.nextLong() != b.nextLong());
+
+    int[] counts = new int[10];
+    for (int i = 0; i < 100000; i++) {
+      counts[a.nextInt(10)]++;
+      double d = a.nextDouble();
+      assertTrue(d >= 0 && d < 1);
+    }
+    for (int count : counts) {
+      assertTrue(count > 9000 && count < 11000);
+    }
+  }
+
   @Test
   public void bytesToFromLong() throws Exception {
     byte[] bytes = new byte[8];
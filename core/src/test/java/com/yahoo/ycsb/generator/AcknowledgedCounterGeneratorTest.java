@@ -16,9 +16,15 @@
  */
 package com.yahoo.ycsb.generator;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
@@ -58,4 +64,78 @@ public class AcknowledgedCounterGeneratorTest {
     }
 
   }
+
+  /**
+   * Test that values acknowledged out of order by many threads all end up below the limit.
+   */
+  @Test
+  public void testConcurrentAcknowledgements() throws InterruptedException {
+    final int perThread = 100000;
+    final int threads = 8;
+    final AcknowledgedCounterGenerator generator = new AcknowledgedCounterGenerator(0);
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      workers.add(new Thread() {
+        @Override
+        public void run() {
+          Random rand = new Random();
+          int held = -1;
+          for (int i = 0; i < perThread; i++) {
+            int value = generator.nextValue();
+            // hold some values back for a while
+            if (held < 0 && rand.nextInt(10) == 0) {
+              held = value;
+            } else {
+              generator.acknowledge(value);
+            }
+            if (held >= 0 && rand.nextInt(100) == 0) {
+              generator.acknowledge(held);
+              held = -1;
+            }
+          }
+          if (held >= 0) {
+            generator.acknowledge(held);
+          }
+        }
+      });
+    }
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    assertEquals(generator.lastValue().intValue(), threads * perThread - 1);
+  }
+
+  /**
+   * Test that a full window makes nextValue() wait for the oldest value instead of failing.
+   */
+  @Test
+  public void testFullWindowAppliesBackPressure() throws InterruptedException {
+    final AcknowledgedCounterGenerator generator = new AcknowledgedCounterGenerator(0);
+    for (int i = 0; i < AcknowledgedCounterGenerator.WINDOW_SIZE; i++) {
+      assertEquals(generator.nextValue().intValue(), i);
+    }
+    for (int i = 1; i < AcknowledgedCounterGenerator.WINDOW_SIZE; i++) {
+      generator.acknowledge(i);
+    }
+
+    final AtomicInteger next = new AtomicInteger(-1);
+    Thread waiting = new Thread() {
+      @Override
+      public void run() {
+        next.set(generator.nextValue());
+      }
+    };
+    waiting.start();
+    waiting.join(200);
+    assertTrue(waiting.isAlive());
+    assertEquals(generator.lastValue().intValue(), -1);
+
+    generator.acknowledge(0);
+    waiting.join();
+    assertEquals(next.get(), AcknowledgedCounterGenerator.WINDOW_SIZE);
+    assertEquals(generator.lastValue().intValue(), AcknowledgedCounterGenerator.WINDOW_SIZE - 1);
+  }
 }
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.generator;
+
+import com.yahoo.ycsb.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A microbenchmark of {@link DiscreteGenerator} over mixes of 2 to 16 operations, against the linear scan
+ * over the weights it used to do for every value. Run it with
+ * <pre>java -cp ... com.yahoo.ycsb.generator.DiscreteGeneratorBenchmark [threads] [values per thread]</pre>
+ */
+public final class DiscreteGeneratorBenchmark {
+  private static final int[] MIXES = {2, 4, 8, 16};
+  private static final int ROUNDS = 5;
+
+  /** What the benchmark measures. */
+  private interface Chooser {
+    int next();
+  }
+
+  private DiscreteGeneratorBenchmark() {
+    // not used
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int threads = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+    int count = args.length > 1 ? Integer.parseInt(args[1]) : 10000000;
+
+    System.out.println("operations,threads,method,ns/value");
+    for (int mix : MIXES) {
+      final double[] weights = new double[mix];
+      final DiscreteGenerator gen = new DiscreteGenerator();
+      for (int i = 0; i < mix; i++) {
+        // a skewed mix, like read-mostly workloads
+        weights[i] = 1.0 / (i + 1);
+        gen.addValue(weights[i], "OP" + i);
+      }
+      run(mix, threads, count, "linear-scan", new Chooser() {
+        @Override
+        public int next() {
+          return linearScan(weights);
+        }
+      });
+      run(mix, threads, count, "nextValue", new Chooser() {
+        @Override
+        public int next() {
+          return gen.nextValue().length();
+        }
+      });
+      run(mix, threads, count, "nextIndex", new Chooser() {
+        @Override
+        public int next() {
+          return gen.nextIndex();
+        }
+      });
+    }
+  }
+
+  /**
+   * What DiscreteGenerator did before the alias table: sum the weights, then walk them.
+   */
+  private static int linearScan(double[] weights) {
+    double sum = 0;
+    for (double w : weights) {
+      sum += w;
+    }
+    double val = Utils.random().nextDouble();
+    for (int i = 0; i < weights.length; i++) {
+      double pw = weights[i] / sum;
+      if (val < pw) {
+        return i;
+      }
+      val -= pw;
+    }
+    return weights.length - 1;
+  }
+
+  private static void run(int mix, int threads, final int count, String method, final Chooser chooser)
+      throws InterruptedException {
+    double best = Double.MAX_VALUE;
+    // the first rounds warm up the JIT, the best one is reported
+    for (int round = 0; round < ROUNDS; round++) {
+      final long[] sinks = new long[threads];
+      List<Thread> workers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final int id = t;
+        workers.add(new Thread("DiscreteGeneratorBenchmark-" + t) {
+          @Override
+          public void run() {
+            long sink = 0;
+            for (int i = 0; i < count; i++) {
+              sink += chooser.next();
+            }
+            sinks[id] = sink;
+          }
+        });
+      }
+      long start = System.nanoTime();
+      for (Thread worker : workers) {
+        worker.start();
+      }
+      for (Thread worker : workers) {
+        worker.join();
+      }
+      best = Math.min(best, (System.nanoTime() - start) / (double) count);
+    }
+    System.out.printf("%d,%d,%s,%.2f%n", mix, threads, method, best);
+  }
+}
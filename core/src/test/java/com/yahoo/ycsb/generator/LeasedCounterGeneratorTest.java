@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.generator;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the LeasedCounterGenerator class.
+ */
+public class LeasedCounterGeneratorTest {
+
+  /**
+   * Test that threads doing different numbers of values hand out the whole range, once.
+   */
+  @Test
+  public void testHandsOutTheRangeOnce() throws InterruptedException {
+    final int start = 1000;
+    final int threads = 8;
+    final int[] counts = new int[threads];
+    int total = 0;
+    for (int t = 0; t < threads; t++) {
+      // the first threads stop long before the others
+      counts[t] = 1 + t * t * 3000;
+      total += counts[t];
+    }
+    final LeasedCounterGenerator generator = new LeasedCounterGenerator(start, start + total);
+
+    final List<int[]> values = new ArrayList<>();
+    List<Thread> workers = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      final int[] mine = new int[counts[t]];
+      values.add(mine);
+      workers.add(new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < mine.length; i++) {
+            mine[i] = generator.nextValue();
+          }
+        }
+      });
+    }
+    for (Thread worker : workers) {
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+
+    BitSet seen = new BitSet();
+    for (int[] mine : values) {
+      for (int value : mine) {
+        assertTrue(value >= start && value < start + total, "value " + value + " out of the range");
+        assertTrue(!seen.get(value - start), "value " + value + " handed out twice");
+        seen.set(value - start);
+      }
+    }
+    assertEquals(seen.cardinality(), total);
+
+    // past the range, values keep coming in order
+    assertEquals(generator.nextValue().intValue(), start + total);
+    assertEquals(generator.nextValue().intValue(), start + total + 1);
+  }
+
+  /**
+   * Test that a thread takes over the block of a thread that stopped.
+   */
+  @Test
+  public void testStealsFromAnotherLease() throws InterruptedException {
+    final LeasedCounterGenerator generator = new LeasedCounterGenerator(0, 100);
+    Thread first = new Thread() {
+      @Override
+      public void run() {
+        generator.nextValue();
+      }
+    };
+    first.start();
+    first.join();
+
+    BitSet seen = new BitSet();
+    for (int i = 0; i < 99; i++) {
+      seen.set(generator.nextValue());
+    }
+    assertEquals(seen.cardinality(), 99);
+    assertEquals(seen.nextSetBit(100), -1);
+    assertEquals(generator.nextValue().intValue(), 100);
+  }
+
+  /**
+   * Test that threads stealing the last integers of the range from each other hand out none past it.
+   */
+  @Test
+  public void testHandsOutNothingPastTheRangeWhileStealing() throws InterruptedException {
+    final int threads = 4;
+    final int each = 16;
+    for (int round = 0; round < 200; round++) {
+      final LeasedCounterGenerator generator = new LeasedCounterGenerator(0, threads * each);
+      final int[][] values = new int[threads][each];
+      List<Thread> workers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final int[] mine = values[t];
+        workers.add(new Thread() {
+          @Override
+          public void run() {
+            for (int i = 0; i < mine.length; i++) {
+              mine[i] = generator.nextValue();
+            }
+          }
+        });
+      }
+      for (Thread worker : workers) {
+        worker.start();
+      }
+      for (Thread worker : workers) {
+        worker.join();
+      }
+
+      BitSet seen = new BitSet();
+      for (int[] mine : values) {
+        for (int value : mine) {
+          assertTrue(value < threads * each, "value " + value + " handed out before the range");
+          seen.set(value);
+        }
+      }
+      assertEquals(seen.cardinality(), threads * each);
+    }
+  }
+
+  /**
+   * Test that the integers past the range follow it without gaps, like those of a CounterGenerator.
+   */
+  @Test
+  public void testLeavesNoGapPastTheRange() throws InterruptedException {
+    final int threads = 4;
+    final int each = 400;
+    for (int round = 0; round < 50; round++) {
+      final LeasedCounterGenerator generator = new LeasedCounterGenerator(0, 1000);
+      final int[][] values = new int[threads][each];
+      List<Thread> workers = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final int[] mine = values[t];
+        workers.add(new Thread() {
+          @Override
+          public void run() {
+            for (int i = 0; i < mine.length; i++) {
+              mine[i] = generator.nextValue();
+            }
+          }
+        });
+      }
+      for (Thread worker : workers) {
+        worker.start();
+      }
+      for (Thread worker : workers) {
+        worker.join();
+      }
+
+      BitSet seen = new BitSet();
+      for (int[] mine : values) {
+        for (int value : mine) {
+          assertTrue(!seen.get(value), "value " + value + " handed out twice");
+          seen.set(value);
+        }
+      }
+      assertEquals(seen.nextClearBit(0), threads * each);
+      assertEquals(generator.nextValue().intValue(), threads * each);
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.generator;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.Test;
+
+public class TestDiscreteGenerator {
+
+  @Test
+  public void choosesValuesInProportionToTheirWeights() {
+    final double[] weights = {0.5, 0.3, 0.15, 0.05, 0};
+    final DiscreteGenerator gen = new DiscreteGenerator();
+    for (int i = 0; i < weights.length; i++) {
+      gen.addValue(weights[i], "v" + i);
+    }
+    assertEquals(gen.size(), weights.length);
+
+    final int draws = 1000000;
+    final int[] counts = new int[weights.length];
+    for (int i = 0; i < draws; i++) {
+      counts[gen.nextIndex()]++;
+    }
+    for (int i = 0; i < weights.length; i++) {
+      assertEquals(counts[i] / (double) draws, weights[i], 0.005);
+    }
+    assertEquals(counts[4], 0);
+  }
+
+  @Test
+  public void indexesFollowTheOrderOfTheValues() {
+    final DiscreteGenerator gen = new DiscreteGenerator();
+    gen.addValue(1, "READ");
+    assertEquals(gen.nextValue(), "READ");
+    assertEquals(gen.nextIndex(), 0);
+
+    // adding a value rebuilds the table
+    gen.addValue(3, "UPDATE");
+    assertEquals(gen.getValue(0), "READ");
+    assertEquals(gen.getValue(1), "UPDATE");
+    for (int i = 0; i < 100; i++) {
+      assertEquals(gen.getValue(gen.nextIndex()), gen.lastValue());
+    }
+  }
+
+  @Test
+  public void keepsTheLastValuePerThread() throws InterruptedException {
+    final DiscreteGenerator gen = new DiscreteGenerator();
+    gen.addValue(1, "a");
+    gen.addValue(1, "b");
+    final String last = gen.nextValue();
+    final String other = last.equals("a") ? "b" : "a";
+
+    final AtomicReference<String> otherLast = new AtomicReference<>();
+    final Thread thread = new Thread() {
+      @Override
+      public void run() {
+        String value;
+        do {
+          value = gen.nextValue();
+        } while (!value.equals(other));
+        otherLast.set(gen.lastValue());
+      }
+    };
+    thread.start();
+    thread.join();
+
+    assertEquals(otherLast.get(), other);
+    assertEquals(gen.lastValue(), last);
+    assertNotEquals(gen.lastValue(), otherLast.get());
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void failsWithoutValues() {
+    new DiscreteGenerator().nextValue();
+  }
+}
@@ -19,7 +19,13 @@ package com.yahoo.ycsb.generator;
 
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+
+import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 
 public class TestZipfianGenerator {
@@ -36,4 +42,53 @@ public class TestZipfianGenerator {
         }
 
     }
+
+    @Test
+    public void testApproximatedTailMatchesTheExactSum() {
+        long n = ZipfianGenerator.APPROXIMATION_THRESHOLD * 2;
+        double exact = 0;
+        for (long i = 0; i < n; i++) {
+            exact += 1 / Math.pow(i + 1, 0.99);
+        }
+        assertEquals(exact, ZipfianGenerator.zetastatic(0, n, 0.99, 0), exact * 1e-12);
+    }
+
+    @Test
+    public void testZetaOfTheScrambledZipfianItemCount() {
+        double zetan = ZipfianGenerator.zetastatic(ScrambledZipfianGenerator.ITEM_COUNT,
+            ScrambledZipfianGenerator.USED_ZIPFIAN_CONSTANT);
+        assertEquals(ScrambledZipfianGenerator.ZETAN, zetan, 1e-9);
+    }
+
+    @Test
+    public void testIncrementalZetaMatchesZetaFromScratch() {
+        long st = ZipfianGenerator.APPROXIMATION_THRESHOLD / 2;
+        long n = ZipfianGenerator.APPROXIMATION_THRESHOLD * 4;
+        double initialsum = ZipfianGenerator.zetastatic(0, st, 0.99, 0);
+        double fromScratch = ZipfianGenerator.zetastatic(0, n, 0.99, 0);
+        assertEquals(fromScratch, ZipfianGenerator.zetastatic(st, n, 0.99, initialsum), fromScratch * 1e-12);
+    }
+
+    @Test
+    public void testZetaCache() throws IOException {
+        File file = File.createTempFile("zeta", ".properties");
+        assertTrue(file.delete());
+        try {
+            ZetaCache.setFile(file);
+            assertNull(ZetaCache.get(12345, 0.99));
+            ZetaCache.put(12345, 0.99, 4.5);
+            assertEquals(4.5, ZetaCache.get(12345, 0.99), 0);
+            assertNull(ZetaCache.get(12345, 0.5));
+            assertTrue(file.exists());
+
+            long n = ZipfianGenerator.PARALLEL_THRESHOLD + 1;
+            double zetan = ZipfianGenerator.zetastatic(n, 0.99);
+            assertEquals(zetan, ZetaCache.get(n, 0.99), 0);
+            ZetaCache.put(n, 0.99, 1.0);
+            assertEquals(1.0, ZipfianGenerator.zetastatic(n, 0.99), 0);
+        } finally {
+            ZetaCache.setFile(null);
+            file.delete();
+        }
+    }
 }
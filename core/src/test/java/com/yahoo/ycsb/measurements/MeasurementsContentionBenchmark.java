@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import org.HdrHistogram.Recorder;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many latencies per second a number of threads can record into one measurement, the way the
+ * measurements recorded them before they kept striped recorders and the way they do now.
+ *
+ * <p>Before, "hdrhistogram" recorded into one concurrent {@link Recorder} shared by all threads, which is what
+ * the baseline path does. The other types had a synchronized measure method (or, for "timeseries", entered a
+ * synchronized method on every value), so their baseline path holds the monitor of the measurement around
+ * measuring. Both paths measure into a measurement resolved beforehand, so only the recording is compared.
+ *
+ * <p>Usage: MeasurementsContentionBenchmark [threads [seconds [measurementtype...]]]
+ */
+public final class MeasurementsContentionBenchmark {
+
+  private MeasurementsContentionBenchmark() {
+  }
+
+  /**
+   * The way a thread records a latency.
+   */
+  private interface Path {
+    void measure(long latency);
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    String[] types = args.length > 2 ?
+        Arrays.copyOfRange(args, 2, args.length) :
+        new String[]{"hdrhistogram", "histogram", "timeseries"};
+
+    for (String type : types) {
+      Properties props = new Properties();
+      props.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, type);
+      props.setProperty(OneMeasurementRaw.OUTPUT_FILE_PATH, "/dev/null");
+
+      Path baseline;
+      if (type.equals("hdrhistogram")) {
+        final Recorder shared = new Recorder(3);
+        baseline = new Path() {
+          @Override
+          public void measure(long latency) {
+            shared.recordValue(latency);
+          }
+        };
+      } else {
+        final OneMeasurement synchronizedMeasurement = new Measurements(props).getOpMeasurement("READ");
+        baseline = new Path() {
+          @Override
+          public void measure(long latency) {
+            synchronized (synchronizedMeasurement) {
+              synchronizedMeasurement.measure(latency);
+            }
+          }
+        };
+      }
+      double baselineRate = run(threads, seconds, baseline);
+
+      final OneMeasurement striped = new Measurements(props).getOpMeasurement("READ");
+      double stripedRate = run(threads, seconds, new Path() {
+        @Override
+        public void measure(long latency) {
+          striped.measure(latency);
+        }
+      });
+
+      System.out.printf("%s, %d threads: baseline %.0f ops/sec, striped recorders %.0f ops/sec (%.1fx)%n",
+          type, threads, baselineRate, stripedRate, stripedRate / baselineRate);
+    }
+  }
+
+  private static double run(int threads, int seconds, final Path path) throws InterruptedException {
+    final AtomicLong total = new AtomicLong();
+    final CountDownLatch start = new CountDownLatch(1);
+    final long end = System.nanoTime() + seconds * 1000000000L;
+    Thread[] workers = new Thread[threads];
+    for (int i = 0; i < threads; i++) {
+      workers[i] = new Thread("benchmark-" + i) {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          long ops = 0;
+          long latency = 1;
+          while ((ops & 1023) != 0 || System.nanoTime() < end) {
+            path.measure(latency);
+            latency = (latency * 31 + 7) & 0xffff;
+            ops++;
+          }
+          total.addAndGet(ops);
+        }
+      };
+      workers[i].start();
+    }
+    long st = System.nanoTime();
+    start.countDown();
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    return total.get() * 1e9 / (System.nanoTime() - st);
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.Status;
+import com.yahoo.ycsb.measurements.exporter.TextMeasurementsExporter;
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+import static org.testng.AssertJUnit.fail;
+
+public class TestCoordinatedOmissionCorrection {
+
+  private static Properties props(String correction) {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementHdrHistogram.CORRECTION_PROPERTY, correction);
+    // one operation of each of the two threads every 2ms, so every 1ms in total
+    props.setProperty("target", "1000");
+    props.setProperty("threadcount", "2");
+    return props;
+  }
+
+  /**
+   * 99 operations on time and one taking 10ms, which held back 4 operations of its thread.
+   */
+  private static void measure(OneMeasurementHdrHistogram m) {
+    for (int i = 0; i < 99; i++) {
+      m.measure(100000);
+    }
+    m.measure(10000000);
+  }
+
+  @Test
+  public void recordsTheOmittedOperations() {
+    OneMeasurementHdrHistogram m = new OneMeasurementHdrHistogram("READ", props("record"));
+    measure(m);
+    assertEquals(100, m.getTotalHistogram().getTotalCount());
+    Histogram corrected = m.getTotalCorrectedHistogram();
+    assertEquals(104, corrected.getTotalCount());
+    assertTrue(corrected.getValueAtPercentile(98) > 5000000);
+  }
+
+  @Test
+  public void correctsACopy() {
+    OneMeasurementHdrHistogram recorded = new OneMeasurementHdrHistogram("READ", props("record"));
+    OneMeasurementHdrHistogram copied = new OneMeasurementHdrHistogram("READ", props("copy"));
+    measure(recorded);
+    measure(copied);
+    Histogram expected = recorded.getTotalCorrectedHistogram();
+    Histogram actual = copied.getTotalCorrectedHistogram();
+    assertEquals(expected.getTotalCount(), actual.getTotalCount());
+    for (double percentile = 90; percentile <= 100; percentile++) {
+      // the copy is corrected from the ranges of the values, so the values may differ within the precision
+      assertEquals(expected.getValueAtPercentile(percentile), actual.getValueAtPercentile(percentile),
+          expected.getValueAtPercentile(percentile) / 100.0);
+    }
+    assertEquals(100, copied.getTotalHistogram().getTotalCount());
+  }
+
+  @Test
+  public void needsAnExpectedInterval() {
+    Properties props = props("record");
+    props.remove("target");
+    assertNull(new OneMeasurementHdrHistogram("READ", props).getTotalCorrectedHistogram());
+    props.setProperty(OneMeasurementHdrHistogram.EXPECTED_INTERVAL_PROPERTY, "1000000");
+    assertFalse(new OneMeasurementHdrHistogram("READ", props).getTotalCorrectedHistogram() == null);
+    assertNull(new OneMeasurementHdrHistogram("READ", props("off")).getTotalCorrectedHistogram());
+  }
+
+  @Test
+  public void exportsBothSideBySide() throws IOException {
+    Properties props = props("copy");
+    props.setProperty(Measurements.MEASUREMENT_INTERVAL, "both");
+    Measurements mm = new Measurements(props);
+    Measurements.Handle read = mm.handle("READ");
+    read.record(100000, 100000, Status.OK);
+    read.record(10000000, 10000000, Status.OK);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter export = new TextMeasurementsExporter(out);
+    mm.exportMeasurements(export);
+    export.close();
+    String result = out.toString("UTF-8");
+    assertTrue(result, result.contains("[READ], Operations, 2"));
+    assertTrue(result, result.contains("[READ], CorrectedOperations, 6"));
+    assertTrue(result, result.contains("[READ], Corrected99thPercentileLatency(us), "));
+    // the latencies from the intended start times already include the omitted waits
+    assertFalse(result, result.contains("[Intended-READ], Corrected"));
+  }
+
+  @Test
+  public void refusesToCorrectWithoutAFixedInterval() {
+    String[][] modes = {{"rate.profile", "ramp"}, {"outstandingops", "4"}, {"search.slo.latency", "1000"}};
+    for (String[] mode : modes) {
+      for (String correction : new String[]{"record", "copy"}) {
+        Properties props = props(correction);
+        props.setProperty(mode[0], mode[1]);
+        try {
+          new Measurements(props);
+          fail(mode[0] + " with " + correction);
+        } catch (IllegalArgumentException e) {
+          assertTrue(e.getMessage(), e.getMessage().contains(mode[0].equals("search.slo.latency") ?
+              "throughput search" : mode[0]));
+        }
+        // the measurements which do not correct do not care
+        props.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, "histogram");
+        new Measurements(props);
+        props.setProperty(OneMeasurementHdrHistogram.CORRECTION_PROPERTY, "off");
+        props.remove(Measurements.MEASUREMENT_TYPE_PROPERTY);
+        new Measurements(props);
+      }
+    }
+    Properties props = props("record");
+    props.setProperty("rate.profile", "constant");
+    props.setProperty("outstandingops", "1");
+    new Measurements(props);
+  }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.Status;
+import com.yahoo.ycsb.measurements.exporter.TextMeasurementsExporter;
+import org.HdrHistogram.Histogram;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestHistogramLog {
+
+  private static String measure(String mode, String type, File dir) throws Exception {
+    Properties props = new Properties();
+    props.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, type);
+    props.setProperty(Measurements.HISTOGRAM_LOG_PROPERTY, mode);
+    props.setProperty(Measurements.HISTOGRAM_LOG_INTERVAL_PROPERTY, "20");
+    props.setProperty(Measurements.HISTOGRAM_LOG_PATH_PROPERTY, dir.getPath() + File.separator);
+    Measurements mm = new Measurements(props);
+    mm.startHistogramLog();
+    Measurements.Handle read = mm.handle("READ");
+    Measurements.Handle update = mm.handle("UPDATE");
+    for (int i = 0; i < 100; i++) {
+      read.record(1000000, Status.OK);
+      update.record(2000000, Status.OK);
+      if (i % 10 == 0) {
+        Thread.sleep(10);
+        // the status reports take intervals of the measurements too, the logs must still get every value
+        mm.getSummary();
+      }
+    }
+
+    String result = export(mm);
+    // exporting again leaves the logs as they are
+    export(mm);
+    return result;
+  }
+
+  private static String export(Measurements mm) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter export = new TextMeasurementsExporter(out);
+    mm.exportMeasurements(export);
+    export.close();
+    return out.toString("UTF-8");
+  }
+
+  private static File tempDir() throws Exception {
+    File dir = Files.createTempDirectory("hlog").toFile();
+    dir.deleteOnExit();
+    return dir;
+  }
+
+  /**
+   * Add up the intervals of a log, by tag. The reader of this HdrHistogram version needs JAXB, so the lines are
+   * decoded here.
+   */
+  private static Map<String, Histogram> read(File log) throws Exception {
+    log.deleteOnExit();
+    Map<String, Histogram> totals = new HashMap<>();
+    for (String line : Files.readAllLines(log.toPath(), StandardCharsets.UTF_8)) {
+      if (line.startsWith("#") || line.startsWith("\"")) {
+        continue;
+      }
+      String tag = "";
+      if (line.startsWith("Tag=")) {
+        tag = line.substring("Tag=".length(), line.indexOf(','));
+        line = line.substring(line.indexOf(',') + 1);
+      }
+      String[] fields = line.split(",");
+      Histogram interval = Histogram.decodeFromCompressedByteBuffer(
+          ByteBuffer.wrap(Base64.getDecoder().decode(fields[3])), 0);
+      if (!totals.containsKey(tag)) {
+        totals.put(tag, new Histogram(3));
+      }
+      totals.get(tag).add(interval);
+    }
+    return totals;
+  }
+
+  @Test
+  public void logsEachMeasurement() throws Exception {
+    File dir = tempDir();
+    String result = measure("perop", "histogram", dir);
+    assertTrue(result, result.contains("[READ], Operations, 100"));
+
+    Histogram read = read(new File(dir, "READ.hlog")).get("");
+    read(new File(dir, "UPDATE.hlog"));
+    assertEquals(100, read.getTotalCount());
+    assertEquals(1000000, read.getValueAtPercentile(50), 1000);
+  }
+
+  @Test
+  public void logsTaggedMeasurements() throws Exception {
+    File dir = tempDir();
+    measure("tagged", "raw", dir);
+
+    Map<String, Histogram> totals = read(new File(dir, "measurements.hlog"));
+    assertEquals(100, totals.get("READ").getTotalCount());
+    assertEquals(100, totals.get("UPDATE").getTotalCount());
+    assertEquals(2000000, totals.get("UPDATE").getMaxValue(), 2000);
+  }
+
+  @Test
+  public void logsTheIntervalsOfHdrHistograms() throws Exception {
+    File dir = tempDir();
+    String result = measure("perop", "hdrhistogram", dir);
+    assertTrue(result, result.contains("[READ], Operations, 100"));
+
+    Histogram read = read(new File(dir, "READ.hlog")).get("");
+    Histogram update = read(new File(dir, "UPDATE.hlog")).get("");
+    assertEquals(100, read.getTotalCount());
+    assertEquals(100, update.getTotalCount());
+    assertEquals(2000000, update.getValueAtPercentile(50), 2000);
+  }
+
+  @Test
+  public void writesNothingBeforeItIsStarted() throws Exception {
+    File dir = tempDir();
+    Properties props = new Properties();
+    props.setProperty(Measurements.HISTOGRAM_LOG_PROPERTY, "perop");
+    props.setProperty(Measurements.HISTOGRAM_LOG_INTERVAL_PROPERTY, "1");
+    props.setProperty(Measurements.HISTOGRAM_LOG_PATH_PROPERTY, dir.getPath() + File.separator);
+    Measurements mm = new Measurements(props);
+    mm.handle("READ").record(1000000, Status.OK);
+    Thread.sleep(20);
+    assertEquals(0, dir.list().length);
+
+    export(mm);
+    assertEquals(1, read(new File(dir, "READ.hlog")).get("").getTotalCount());
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.measurements.exporter.TextMeasurementsExporter;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestMeasurementsConcurrency {
+
+  private static final int THREADS = 8;
+  private static final int OPS = 10000;
+
+  private static String measureConcurrently(String type) throws Exception {
+    Properties props = new Properties();
+    props.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, type);
+    props.setProperty(OneMeasurementRaw.OUTPUT_FILE_PATH, "/dev/null");
+    final Measurements mm = new Measurements(props);
+    Thread[] threads = new Thread[THREADS];
+    for (int i = 0; i < THREADS; i++) {
+      final int latency = (i + 1) * 100;
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          for (int op = 0; op < OPS; op++) {
+            mm.measureNanos("READ", latency * 1000L);
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter export = new TextMeasurementsExporter(out);
+    mm.exportMeasurements(export);
+    export.close();
+    return out.toString("UTF-8");
+  }
+
+  private static void assertMerged(String result, String operations) {
+    assertTrue(result, result.contains("[READ], " + operations + ", " + THREADS * OPS));
+    assertTrue(result, result.contains("[READ], MinLatency(us), 100"));
+    assertTrue(result, result.contains("[READ], MaxLatency(us), 800"));
+  }
+
+  @Test
+  public void sharesRecordersBeyondTheNumberOfStripes() throws Exception {
+    final StripedRecorders<long[]> recorders = new StripedRecorders<long[]>() {
+      @Override
+      protected long[] newRecorder() {
+        return new long[1];
+      }
+    };
+    Thread[] threads = new Thread[2 * StripedRecorders.STRIPES + 1];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          for (int op = 0; op < OPS; op++) {
+            long[] count = recorders.get();
+            synchronized (count) {
+              count[0]++;
+            }
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertTrue(recorders.all().size() <= StripedRecorders.STRIPES);
+    long total = 0;
+    for (long[] count : recorders.all()) {
+      total += count[0];
+    }
+    assertEquals((long) threads.length * OPS, total);
+  }
+
+  @Test
+  public void mergesHdrHistograms() throws Exception {
+    assertMerged(measureConcurrently("hdrhistogram"), "Operations");
+  }
+
+  @Test
+  public void mergesHistograms() throws Exception {
+    String result = measureConcurrently("histogram");
+    assertMerged(result, "Operations");
+    assertTrue(result, result.contains("[READ], 0, " + THREADS * OPS));
+  }
+
+  @Test
+  public void mergesTimeSeries() throws Exception {
+    assertMerged(measureConcurrently("timeseries"), "Operations");
+  }
+
+  @Test
+  public void mergesRawMeasurements() throws Exception {
+    String result = measureConcurrently("raw");
+    assertTrue(result, result.contains("[READ], Total Operations, " + THREADS * OPS));
+    assertTrue(result, result.contains("[READ], Min, 100"));
+    assertTrue(result, result.contains("[READ], Max, 800"));
+    assertTrue(result, result.contains("[READ], Average, 450.0"));
+  }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.Status;
+import com.yahoo.ycsb.measurements.exporter.TextMeasurementsExporter;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestMeasurementsHandle {
+
+  private static String export(Measurements mm) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter export = new TextMeasurementsExporter(out);
+    mm.exportMeasurements(export);
+    export.close();
+    return out.toString("UTF-8");
+  }
+
+  @Test
+  public void recordsLatenciesAndStatuses() throws IOException {
+    Properties props = new Properties();
+    props.setProperty(Measurements.MEASUREMENT_INTERVAL, "both");
+    Measurements mm = new Measurements(props);
+    Measurements.Handle read = mm.handle("READ");
+    read.record(10000, 30000, Status.OK);
+    read.record(20000, 40000, Status.OK);
+    read.record(30000, 50000, Status.NOT_FOUND);
+    read.reportStatus(new Status("CUSTOM", "A status of a binding."));
+
+    String result = export(mm);
+    assertTrue(result, result.contains("[READ], Operations, 3.0"));
+    assertTrue(result, result.contains("[READ], MaxLatency(us), 30"));
+    assertTrue(result, result.contains("[Intended-READ], MaxLatency(us), 50"));
+    assertTrue(result, result.contains("[READ], Return=OK, 2"));
+    assertTrue(result, result.contains("[READ], Return=NOT_FOUND, 1"));
+    assertTrue(result, result.contains("[READ], Return=CUSTOM, 1"));
+  }
+
+  @Test
+  public void followsTheWarmup() throws IOException {
+    Properties props = new Properties();
+    props.setProperty(Measurements.WARMUP_MEASURE_PROPERTY, "separate");
+    Measurements mm = new Measurements(props);
+    Measurements.Handle read = mm.handle("READ");
+    mm.startWarmup();
+    read.record(1000000000L, Status.ERROR);
+    mm.endWarmup();
+    read.record(10000, Status.OK);
+
+    String result = export(mm);
+    assertTrue(result, result.contains("[WARMUP-READ], Return=ERROR, 1"));
+    assertTrue(result, result.contains("[READ], Operations, 1"));
+    assertTrue(result, result.contains("[READ], MaxLatency(us), 10"));
+    assertFalse(result, result.contains("[READ], Return=ERROR"));
+  }
+
+  @Test
+  public void reportsInTheConfiguredUnits() throws IOException {
+    for (String type : new String[]{"hdrhistogram", "histogram", "timeseries"}) {
+      Properties props = new Properties();
+      props.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, type);
+      props.setProperty(OneMeasurement.UNITS_PROPERTY, "ns");
+      Measurements mm = new Measurements(props);
+      Measurements.Handle read = mm.handle("READ");
+      read.record(300, Status.OK);
+      read.record(700, Status.OK);
+
+      String result = export(mm);
+      assertTrue(result, result.contains("[READ], AverageLatency(ns), 500.0"));
+      assertTrue(result, result.contains("[READ], MinLatency(ns), 300"));
+      assertTrue(result, result.contains("[READ], MaxLatency(ns), 700"));
+    }
+  }
+
+  @Test
+  public void doesNotClampLongLatencies() throws IOException {
+    for (String type : new String[]{"hdrhistogram", "histogram", "timeseries"}) {
+      Properties props = new Properties();
+      props.setProperty(Measurements.MEASUREMENT_TYPE_PROPERTY, type);
+      props.setProperty(OneMeasurement.UNITS_PROPERTY, "ns");
+      Measurements mm = new Measurements(props);
+      mm.handle("READ").record(5000000000L, Status.OK);
+
+      String result = export(mm);
+      int maxes = 0;
+      for (String line : result.split("\n")) {
+        if (line.contains("MaxLatency(ns)")) {
+          double max = Double.parseDouble(line.substring(line.lastIndexOf(", ") + 2).trim());
+          assertTrue(result, max > 4.99e9 && max < 5.01e9);
+          maxes++;
+        }
+      }
+      assertTrue(result, maxes > 0);
+    }
+  }
+
+  @Test
+  public void reportsGaugesAsTheyAre() throws IOException {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurement.UNITS_PROPERTY, "ms");
+    Measurements mm = new Measurements(props);
+    mm.measureGauge("THREAD_COUNT", 42);
+    mm.measureNanos("READ", 42000000L);
+
+    String result = export(mm);
+    assertTrue(result, result.contains("[THREAD_COUNT], MaxLatency(us), 42.0"));
+    // the latencies are still reported in the configured units
+    assertTrue(result, result.contains("[READ], AverageLatency(ms), 41.99"));
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void keepsMeasuringWholeMicroseconds() throws IOException {
+    Properties props = new Properties();
+    props.setProperty(Measurements.MEASUREMENT_INTERVAL, "both");
+    Measurements mm = new Measurements(props);
+    mm.measure("READ", 30);
+    mm.measureIntended("READ", 50);
+
+    String result = export(mm);
+    assertTrue(result, result.contains("[READ], MaxLatency(us), 30"));
+    assertTrue(result, result.contains("[Intended-READ], MaxLatency(us), 50"));
+  }
+
+  @Test
+  public void countsStatusesSharingANameTogether() throws IOException {
+    Measurements mm = new Measurements(new Properties());
+    Measurements.Handle read = mm.handle("READ");
+    read.record(10000, Status.ERROR);
+    read.reportStatus(new Status("ERROR", "An error of one binding."));
+    read.reportStatus(new Status("ERROR", "An error of another binding."));
+    read.reportStatus(new Status("ERROR", "An error of another binding."));
+
+    assertEquals(Integer.valueOf(4), mm.getStatusCounts().get("READ").get("ERROR"));
+    String result = export(mm);
+    assertTrue(result, result.contains("[READ], Return=ERROR, 4"));
+  }
+}
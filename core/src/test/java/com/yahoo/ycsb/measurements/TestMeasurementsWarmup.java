@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.Status;
+import com.yahoo.ycsb.measurements.exporter.TextMeasurementsExporter;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestMeasurementsWarmup {
+
+  private static String export(Measurements mm) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter export = new TextMeasurementsExporter(out);
+    mm.exportMeasurements(export);
+    export.close();
+    return out.toString("UTF-8");
+  }
+
+  @Test
+  public void discardsWarmup() throws IOException {
+    Properties props = new Properties();
+    Measurements mm = new Measurements(props);
+    mm.startWarmup();
+    mm.measureNanos("READ", 1000000 * 1000L);
+    mm.reportStatus("READ", Status.ERROR);
+    mm.endWarmup();
+    mm.measureNanos("READ", 10 * 1000L);
+    mm.reportStatus("READ", Status.OK);
+
+    String result = export(mm);
+    assertTrue(result.contains("[READ], Operations, 1"));
+    assertTrue(result.contains("[READ], MaxLatency(us), 10"));
+    assertFalse(result.contains("Return=ERROR"));
+    assertFalse(result.contains("WARMUP"));
+  }
+
+  @Test
+  public void separatesWarmup() throws IOException {
+    Properties props = new Properties();
+    props.setProperty(Measurements.WARMUP_MEASURE_PROPERTY, "separate");
+    props.setProperty(Measurements.MEASUREMENT_INTERVAL, "both");
+    Measurements mm = new Measurements(props);
+    mm.startWarmup();
+    mm.measureNanos("READ", 1000000 * 1000L);
+    mm.measureIntendedNanos("READ", 1000000 * 1000L);
+    mm.endWarmup();
+    mm.measureNanos("READ", 10 * 1000L);
+    mm.measureIntendedNanos("READ", 10 * 1000L);
+
+    String result = export(mm);
+    assertTrue(result.contains("[WARMUP-READ], MaxLatency(us), 1000"));
+    assertTrue(result.contains("[WARMUP-Intended-READ], Operations, 1"));
+    assertTrue(result.contains("[READ], MaxLatency(us), 10"));
+    assertTrue(result.contains("[Intended-READ], MaxLatency(us), 10"));
+    assertFalse(mm.getSummary().contains("WARMUP"));
+  }
+
+  @Test
+  public void intervalsStartAgainWithEachSeries() {
+    Properties props = new Properties();
+    props.setProperty(Measurements.WARMUP_MEASURE_PROPERTY, "separate");
+    Measurements mm = new Measurements(props);
+    IntervalHistograms intervals = new IntervalHistograms(mm, false);
+    mm.measureNanos("READ", 10 * 1000L);
+    assertEquals(1, intervals.next().get("READ").getTotalCount());
+
+    mm.startWarmup();
+    for (int i = 0; i < 3; i++) {
+      mm.measureNanos("READ", 10 * 1000L);
+    }
+    assertEquals(3, intervals.next().get("READ").getTotalCount());
+
+    // more values in every bucket than the warm-up had, which subtracting the warm-up would not catch
+    mm.endWarmup();
+    for (int i = 0; i < 5; i++) {
+      mm.measureNanos("READ", 10 * 1000L);
+    }
+    assertEquals(5, intervals.next().get("READ").getTotalCount());
+    mm.measureNanos("READ", 10 * 1000L);
+    assertEquals(1, intervals.next().get("READ").getTotalCount());
+    assertEquals(6, intervals.getTotals().get("READ").getTotalCount());
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.measurements.exporter.TextMeasurementsExporter;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestOneMeasurementRaw {
+
+  private static final int THREADS = 4;
+  private static final int OPS = 5000;
+
+  @Test
+  public void spillsAndMergesTheDataPoints() throws Exception {
+    File output = File.createTempFile("raw", ".csv");
+    output.deleteOnExit();
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementRaw.OUTPUT_FILE_PATH, output.getPath());
+    props.setProperty(OneMeasurementRaw.CHUNK_SIZE, "100");
+    props.setProperty(OneMeasurementRaw.SORT_RUN_SIZE, "1000");
+    final OneMeasurementRaw raw = new OneMeasurementRaw("READ", props);
+
+    Thread[] threads = new Thread[THREADS];
+    final long[] expected = new long[THREADS * OPS];
+    for (int i = 0; i < THREADS; i++) {
+      final int thread = i;
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          for (int op = 0; op < OPS; op++) {
+            // together the threads measure each of the latencies 1..THREADS * OPS us once
+            long latency = (op * THREADS + thread + 1) * 1000L;
+            raw.measure(latency);
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    for (int i = 0; i < expected.length; i++) {
+      expected[i] = i + 1;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TextMeasurementsExporter export = new TextMeasurementsExporter(out);
+    raw.exportMeasurements(export);
+    export.close();
+    String result = out.toString("UTF-8");
+
+    int total = THREADS * OPS;
+    assertTrue(result, result.contains("[READ], Total Operations, " + total));
+    assertTrue(result, result.contains("[READ], Min, 1\n"));
+    assertTrue(result, result.contains("[READ], Max, " + total + "\n"));
+    assertTrue(result, result.contains("[READ], p50, " + expected[total / 2] + "\n"));
+    assertTrue(result, result.contains("[READ], p99, " + expected[(int) (total * 0.99)] + "\n"));
+
+    List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+    assertEquals(total + 1, lines.size());
+    long[] latencies = new long[total];
+    long last = 0;
+    for (int i = 1; i < lines.size(); i++) {
+      String[] fields = lines.get(i).split(",");
+      long timestamp = Long.parseLong(fields[1]);
+      assertTrue(timestamp >= last);
+      last = timestamp;
+      latencies[i - 1] = Long.parseLong(fields[2]);
+    }
+    Arrays.sort(latencies);
+    assertTrue(Arrays.equals(expected, latencies));
+  }
+
+  @Test
+  public void spillFileReadsBackBlocksLargerThanItsBuffer() throws Exception {
+    RawSpillFile file = new RawSpillFile(new File(System.getProperty("java.io.tmpdir")), "READ");
+    try {
+      int length = 20000;
+      long[][] blocks = new long[3][length];
+      long[] positions = new long[blocks.length];
+      for (int b = 0; b < blocks.length; b++) {
+        for (int i = 0; i < length; i++) {
+          blocks[b][i] = b * 1000000L + i;
+        }
+        positions[b] = file.append(length / 2, blocks[b], Arrays.copyOfRange(blocks[b], length / 2, length));
+      }
+      for (int b = blocks.length - 1; b >= 0; b--) {
+        long[] read = new long[length];
+        file.read(positions[b], 0, read, length);
+        assertTrue(Arrays.equals(blocks[b], read));
+        long[] tail = new long[length - 12345];
+        file.read(positions[b], 12345, tail, tail.length);
+        assertTrue(Arrays.equals(Arrays.copyOfRange(blocks[b], 12345, length), tail));
+      }
+    } finally {
+      file.delete();
+    }
+  }
+}
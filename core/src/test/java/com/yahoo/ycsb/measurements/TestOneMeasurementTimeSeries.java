@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.measurements;
+
+import com.yahoo.ycsb.measurements.exporter.MeasurementsExporter;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+public class TestOneMeasurementTimeSeries {
+
+  /**
+   * Keeps the series exported, by metric.
+   */
+  private static final class SeriesExporter implements MeasurementsExporter {
+    private final Map<String, long[]> keys = new HashMap<>();
+    private final Map<String, int[]> values = new HashMap<>();
+
+    @Override
+    public void write(String metric, String measurement, int i) {
+    }
+
+    @Override
+    public void write(String metric, String measurement, double d) {
+    }
+
+    @Override
+    public void write(String metric, long[] k, int[] v) {
+      keys.put(metric, k);
+      values.put(metric, v);
+    }
+
+    @Override
+    public void write(String metric, long[] k, double[] v) {
+      keys.put(metric, k);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  @Test
+  public void summarizesEachWindow() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementTimeSeries.GRANULARITY, "100");
+    OneMeasurementTimeSeries m = new OneMeasurementTimeSeries("READ", props);
+    for (int i = 1; i <= 100; i++) {
+      m.measure(i * 1000000L);
+    }
+    Thread.sleep(250);
+    for (int i = 0; i < 10; i++) {
+      m.measure(5000);
+    }
+
+    SeriesExporter exporter = new SeriesExporter();
+    m.exportMeasurements(exporter);
+    long[] keys = exporter.keys.get("READ");
+    int[] counts = exporter.values.get("READ-Operations");
+    int[] p999 = exporter.values.get("READ-99.9thPercentileLatency(us)");
+    int[] max = exporter.values.get("READ-MaxLatency(us)");
+    assertTrue(keys.length >= 2);
+    assertEquals(0, keys[0]);
+    int total = 0;
+    int highest = 0;
+    for (int i = 0; i < keys.length; i++) {
+      assertEquals(0, keys[i] % 100);
+      assertTrue(i == 0 || keys[i] > keys[i - 1]);
+      total += counts[i];
+      highest = Math.max(highest, p999[i]);
+    }
+    assertEquals(110, total);
+    assertTrue(String.valueOf(highest), Math.abs(highest - 100000) < 100);
+    assertEquals(5, max[keys.length - 1]);
+  }
+
+  @Test
+  public void keysTheWindowsFromTheFirstValue() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementTimeSeries.GRANULARITY, "100");
+    OneMeasurementTimeSeries m = new OneMeasurementTimeSeries("READ", props);
+    Thread.sleep(250);
+    m.measure(1000000L);
+    Thread.sleep(150);
+    m.measure(1000000L);
+
+    SeriesExporter exporter = new SeriesExporter();
+    m.exportMeasurements(exporter);
+    long[] keys = exporter.keys.get("READ");
+    assertEquals(2, keys.length);
+    assertEquals(0, keys[0]);
+    assertTrue(String.valueOf(keys[1]), keys[1] == 100 || keys[1] == 200);
+  }
+
+  @Test
+  public void mergesWindowsBeyondTheMaximumAndStopsOnExport() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(OneMeasurementTimeSeries.GRANULARITY, "10");
+    props.setProperty(OneMeasurementTimeSeries.MAX_WINDOWS, "4");
+    int timed = OneMeasurementTimeSeries.getTimedSeries();
+    OneMeasurementTimeSeries m = new OneMeasurementTimeSeries("READ", props);
+    assertEquals(timed + 1, OneMeasurementTimeSeries.getTimedSeries());
+    int measured = 0;
+    long end = System.currentTimeMillis() + 300;
+    while (System.currentTimeMillis() < end) {
+      m.measure(1000000L);
+      measured++;
+      Thread.sleep(2);
+    }
+
+    SeriesExporter exporter = new SeriesExporter();
+    m.exportMeasurements(exporter);
+    assertEquals(timed, OneMeasurementTimeSeries.getTimedSeries());
+    long[] keys = exporter.keys.get("READ");
+    int[] counts = exporter.values.get("READ-Operations");
+    // the windows kept and the open window
+    assertTrue(String.valueOf(keys.length), keys.length <= 5);
+    int total = 0;
+    for (int i = 0; i < keys.length; i++) {
+      assertTrue(i == 0 || keys[i] > keys[i - 1]);
+      total += counts[i];
+    }
+    assertEquals(measured, total);
+  }
+}
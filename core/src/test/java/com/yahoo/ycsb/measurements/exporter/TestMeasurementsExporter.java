@@ -24,6 +24,7 @@ import org.testng.annotations.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Properties;
 
 import static org.testng.AssertJUnit.assertEquals;
@@ -43,7 +44,7 @@ public class TestMeasurementsExporter {
         ZipfianGenerator zipfian = new ZipfianGenerator(min, max);
         for (int i = 0; i < 1000; i++) {
             int rnd = zipfian.nextValue().intValue();
-            mm.measure("UPDATE", rnd);
+            mm.measureNanos("UPDATE", rnd * 1000L);
         }
         mm.exportMeasurements(export);
         export.close();
@@ -55,4 +56,51 @@ public class TestMeasurementsExporter {
         assertEquals(json.get(4).get("measurement").asText(), "MaxLatency(us)");
         assertEquals(json.get(11).get("measurement").asText(), "4");
     }
+
+    private static String text(Measurements mm) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TextMeasurementsExporter export = new TextMeasurementsExporter(out);
+        mm.exportMeasurements(export);
+        export.close();
+        return out.toString("UTF-8");
+    }
+
+    @Test
+    public void testColumnarMeasurementsExporter() throws IOException {
+        for (String type : new String[]{"histogram", "timeseries", "hdrhistogram"}) {
+            Properties props = new Properties();
+            props.put(Measurements.MEASUREMENT_TYPE_PROPERTY, type);
+            Measurements mm = new Measurements(props);
+            for (int i = 0; i < 1000; i++) {
+                mm.measureNanos("UPDATE", (5000 + i) * 1000L);
+                mm.measureNanos("READ", (100 + i) * 1000L);
+            }
+            String expected = text(mm);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ColumnarMeasurementsExporter export = new ColumnarMeasurementsExporter(out);
+            mm.exportMeasurements(export);
+            export.close();
+
+            ColumnarMeasurementsReader reader =
+                new ColumnarMeasurementsReader(ByteBuffer.wrap(out.toByteArray()));
+            assertEquals(1000.0, reader.getValue("UPDATE", "Operations"));
+            if (type.equals("histogram")) {
+                // the buckets are a single vector
+                assertTrue(reader.size() < 30);
+                for (int i = 0; i < reader.size(); i++) {
+                    if (reader.isSeries(i) && reader.getMetric(i).equals("UPDATE")) {
+                        assertEquals(1000, reader.getSeriesKeys(i).length);
+                        assertEquals(1000, reader.getSeriesIntValues(i)[5]);
+                    }
+                }
+            }
+
+            ByteArrayOutputStream replayed = new ByteArrayOutputStream();
+            TextMeasurementsExporter text = new TextMeasurementsExporter(replayed);
+            reader.export(text);
+            text.close();
+            assertEquals(expected, replayed.toString("UTF-8"));
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.rate;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Properties;
+
+import org.testng.annotations.Test;
+
+public class TestRateProfile {
+
+  private static RateProfile profile(String... keyValues) {
+    Properties props = new Properties();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      props.setProperty(keyValues[i], keyValues[i + 1]);
+    }
+    return RateProfile.fromProperties(props);
+  }
+
+  @Test
+  public void noTargetMeansNoProfile() {
+    assertNull(profile());
+    assertTrue(profile("target", "100") instanceof ConstantRate);
+  }
+
+  @Test
+  public void ramp() {
+    RateProfile ramp = profile("rate.profile", "ramp", "rate.start", "100", "target", "300", "rate.duration", "10");
+    assertEquals(ramp.rate(0), 100.0);
+    assertEquals(ramp.rate(5), 200.0);
+    assertEquals(ramp.rate(20), 300.0);
+    assertEquals(ramp.operations(0, 10), 2000.0, 1e-9);
+    assertEquals(ramp.operations(10, 11), 300.0, 1e-9);
+    // 110 operations take the first second of the ramp, which goes from 100 to 120 ops/sec
+    assertEquals(ramp.advance(0, 110), 1.0, 1e-9);
+  }
+
+  @Test
+  public void steps() {
+    RateProfile steps = profile("rate.profile", "step", "rate.start", "100", "rate.end", "250",
+        "rate.step", "100", "rate.steptime", "10");
+    assertEquals(steps.rate(0), 100.0);
+    assertEquals(steps.rate(9.99), 100.0);
+    assertEquals(steps.rate(10), 200.0);
+    assertEquals(steps.rate(25), 250.0);
+    assertEquals(steps.rate(1000), 250.0);
+    assertEquals(steps.operations(0, 20), 3000.0, 1e-9);
+    // the 1000th operation falls at the step, the next 200 take a second at the new rate
+    assertEquals(steps.advance(0, 1000), 10.0, 1e-9);
+    assertEquals(steps.advance(10, 200), 11.0, 1e-9);
+    assertEquals(steps.advance(9.5, 150), 10.5, 1e-9);
+  }
+
+  @Test
+  public void sineIntegratesNumerically() {
+    RateProfile sine = profile("rate.profile", "sine", "target", "1000", "rate.amplitude", "500",
+        "rate.period", "60");
+    assertEquals(sine.rate(15), 1500.0, 1e-9);
+    assertEquals(sine.rate(45), 500.0, 1e-9);
+    // a whole period averages to the mean
+    assertEquals(sine.operations(0, 60), 60000, 1);
+    assertEquals(sine.advance(0, 60000), 60, 0.01);
+  }
+
+  @Test
+  public void burst() {
+    RateProfile burst = profile("rate.profile", "burst", "target", "100", "rate.burst.rate", "1000",
+        "rate.burst.duration", "1", "rate.period", "10");
+    assertEquals(burst.rate(0), 100.0);
+    assertEquals(burst.rate(9.5), 1000.0);
+    assertEquals(burst.rate(10.5), 100.0);
+    assertEquals(burst.operations(0, 10), 1900, 1);
+  }
+
+  @Test
+  public void file() throws IOException {
+    File file = File.createTempFile("rates", ".txt");
+    file.deleteOnExit();
+    try (FileWriter writer = new FileWriter(file)) {
+      writer.write("# epoch seconds, ops/sec\n1500000000 100\n1500000010,200\n\n1500000020 0\n");
+    }
+    RateProfile replay = profile("rate.profile", "file", "rate.file", file.getPath(), "rate.file.scale", "2");
+    assertEquals(replay.rate(0), 200.0);
+    assertEquals(replay.rate(10), 400.0);
+    assertEquals(replay.operations(0, 20), 5000.0, 1e-9);
+    // the replay ends with the file
+    assertEquals(replay.advance(0, 5001), -1.0);
+  }
+}
@@ -16,13 +16,19 @@
  */
 package com.yahoo.ycsb.workloads;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import org.testng.annotations.Test;
 
+import com.yahoo.ycsb.DB;
+import com.yahoo.ycsb.WorkloadException;
 import com.yahoo.ycsb.generator.DiscreteGenerator;
+import com.yahoo.ycsb.measurements.Measurements;
 
 public class TestCoreWorkload {
 
@@ -67,4 +73,34 @@ public class TestCoreWorkload {
   public void createOperationChooserNullProperties() {
     CoreWorkload.createOperationGenerator(null);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void dispatchesOperationsOfSubclassesByName() throws WorkloadException {
+    Properties p = new Properties();
+    Measurements.setProperties(p);
+    final Map<String, Integer> done = new HashMap<>();
+    CoreWorkload workload = new CoreWorkload() {
+      @Override
+      public void init(Properties p) throws WorkloadException {
+        super.init(p);
+        operationchooser = new DiscreteGenerator();
+        operationchooser.addValue(1, "FOO");
+        operations = Operation.of(operationchooser);
+        // added after the operations were resolved
+        operationchooser.addValue(1, "BAR");
+      }
+
+      @Override
+      protected void doTransactionByName(DB db, String operation) {
+        done.merge(operation, 1, Integer::sum);
+      }
+    };
+    workload.init(p);
+
+    for (int i = 0; i < 200; i++) {
+      assertTrue(workload.doTransaction(null, null));
+    }
+    assertEquals(done.size(), 2);
+    assertEquals(done.get("FOO") + done.get("BAR"), 200);
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2017 YCSB contributors All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you
+ * may not use this file except in compliance with the License. You
+ * may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied. See the License for the specific language governing
+ * permissions and limitations under the License. See accompanying
+ * LICENSE file.
+ */
+
+package com.yahoo.ycsb.workloads;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.yahoo.ycsb.ByteArrayByteIterator;
+import com.yahoo.ycsb.ByteIterator;
+import com.yahoo.ycsb.generator.ConstantIntegerGenerator;
+import com.yahoo.ycsb.generator.UniformIntegerGenerator;
+
+public class TestRecordBuffer {
+
+  private static final List<String> FIELDS = Arrays.asList("field0", "field1", "field2");
+
+  @Test
+  public void reusesTheValuesOfAllFields() {
+    final RecordBuffer record = new RecordBuffer(FIELDS);
+    final HashMap<String, ByteIterator> values = record.fillAll(new ConstantIntegerGenerator(100));
+    assertEquals(values.keySet(), new HashSet<>(FIELDS));
+    byte[] array = null;
+    int off = 0;
+    for (String field : FIELDS) {
+      final ByteArrayByteIterator slice = (ByteArrayByteIterator) values.get(field);
+      assertEquals(slice.bytesLeft(), 100);
+      if (array == null) {
+        array = slice.getArray();
+      }
+      // the fields are consecutive slices of one array
+      assertSame(slice.getArray(), array);
+      assertEquals(slice.getOffset(), off);
+      off += 100;
+    }
+
+    for (ByteIterator value : values.values()) {
+      final byte[] bytes = value.toArray();
+      assertEquals(bytes.length, 100);
+      for (byte b : bytes) {
+        assertTrue(b >= ' ');
+      }
+    }
+
+    // the next write gets the same map and iterators back, reset
+    final HashMap<String, ByteIterator> again = record.fillAll(new UniformIntegerGenerator(10, 20));
+    assertSame(again, values);
+    for (ByteIterator value : again.values()) {
+      assertTrue(value.bytesLeft() >= 10 && value.bytesLeft() <= 20);
+    }
+  }
+
+  @Test
+  public void reusesTheValueOfOneField() {
+    final RecordBuffer record = new RecordBuffer(FIELDS);
+    final HashMap<String, ByteIterator> value = record.fillOne(1, new ConstantIntegerGenerator(1000));
+    assertEquals(value.size(), 1);
+    assertEquals(value.get("field1").bytesLeft(), 1000);
+    assertEquals(value.get("field1").toArray().length, 1000);
+
+    assertSame(record.fillOne(1, new ConstantIntegerGenerator(10)), value);
+    assertEquals(value.get("field1").bytesLeft(), 10);
+    assertEquals(record.fillOne(2, new ConstantIntegerGenerator(10)).keySet().iterator().next(), "field2");
+  }
+}
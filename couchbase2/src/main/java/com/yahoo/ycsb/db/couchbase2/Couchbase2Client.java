@@ -25,6 +25,7 @@ import com.couchbase.client.core.metrics.DefaultLatencyMetricsCollectorConfig;
 import com.couchbase.client.core.metrics.DefaultMetricsCollectorConfig;
 import com.couchbase.client.core.metrics.LatencyMetricsCollectorConfig;
 import com.couchbase.client.core.metrics.MetricsCollectorConfig;
+import com.couchbase.client.core.time.Delay;
 import com.couchbase.client.deps.com.fasterxml.jackson.core.JsonFactory;
 import com.couchbase.client.deps.com.fasterxml.jackson.core.JsonGenerator;
 import com.couchbase.client.deps.com.fasterxml.jackson.databind.JsonNode;
@@ -52,6 +53,7 @@ import com.couchbase.client.java.error.TemporaryFailureException;
 import com.couchbase.client.java.query.*;
 import com.couchbase.client.java.transcoder.JacksonTransformers;
 import com.couchbase.client.java.util.Blocking;
+import com.couchbase.client.java.util.retry.RetryBuilder;
 import com.yahoo.ycsb.ByteIterator;
 import com.yahoo.ycsb.DB;
 import com.yahoo.ycsb.DBException;
@@ -66,6 +68,8 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.channels.spi.SelectorProvider;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
@@ -96,6 +100,10 @@ import java.util.concurrent.locks.LockSupport;
  * <li><b>couchbase.documentExpiry=0</b> Document Expiry is the amount of time until a document expires in
  *      Couchbase.</li>
  * </ul>
+ *
+ * <p> The asynchronous YCSB operations subscribe to the RxJava observables of the SDK instead of blocking on
+ * them when the Key/Value path is used. Operations going through N1QL, and scans, fall back to the blocking
+ * implementation.
  */
 public class Couchbase2Client extends DB {
 
@@ -581,6 +589,119 @@ public class Couchbase2Client extends DB {
     return Status.OK;
   }
 
+  @Override
+  public CompletionStage<Status> readAsync(final String table, final String key, final Set<String> fields,
+      final HashMap<String, ByteIterator> result) {
+    if (!kv) {
+      return super.readAsync(table, key, fields, result);
+    }
+
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    bucket.async()
+        .get(formatId(table, key), RawJsonDocument.class)
+        .subscribe(new Subscriber<RawJsonDocument>() {
+          private boolean found = false;
+
+          @Override
+          public void onCompleted() {
+            future.complete(found ? Status.OK : Status.NOT_FOUND);
+          }
+
+          @Override
+          public void onError(Throwable e) {
+            e.printStackTrace();
+            future.complete(Status.ERROR);
+          }
+
+          @Override
+          public void onNext(RawJsonDocument document) {
+            found = true;
+            decode(document.content(), fields, result);
+          }
+        });
+    return future;
+  }
+
+  @Override
+  public CompletionStage<Status> updateAsync(final String table, final String key,
+      final HashMap<String, ByteIterator> values) {
+    if (!kv) {
+      return super.updateAsync(table, key, values);
+    }
+
+    RawJsonDocument document = RawJsonDocument.create(formatId(table, key), documentExpiry, encode(values));
+    if (upsert) {
+      return completeOnMutationResponse(bucket.async().upsert(document, persistTo, replicateTo));
+    }
+    return completeOnMutationResponse(bucket.async().replace(document, persistTo, replicateTo));
+  }
+
+  /**
+   * Asynchronous variant of {@link #insertKv(String, HashMap)}, retrying TMPFAILs in the same way through the
+   * SDK's retry support instead of sleeping on the calling thread.
+   */
+  @Override
+  public CompletionStage<Status> insertAsync(final String table, final String key,
+      final HashMap<String, ByteIterator> values) {
+    if (!kv) {
+      return super.insertAsync(table, key, values);
+    }
+
+    RawJsonDocument document = RawJsonDocument.create(formatId(table, key), documentExpiry, encode(values));
+    if (upsert) {
+      return completeOnMutationResponse(bucket.async().upsert(document, persistTo, replicateTo));
+    }
+    return completeOnMutationResponse(bucket.async()
+        .insert(document, persistTo, replicateTo)
+        .retryWhen(RetryBuilder
+            .anyOf(TemporaryFailureException.class)
+            .delay(Delay.fixed(1, TimeUnit.SECONDS))
+            .max(60)
+            .build()));
+  }
+
+  @Override
+  public CompletionStage<Status> deleteAsync(final String table, final String key) {
+    if (!kv) {
+      return super.deleteAsync(table, key);
+    }
+
+    return completeOnMutationResponse(bucket.async().remove(formatId(table, key), persistTo, replicateTo));
+  }
+
+  /**
+   * Asynchronous counterpart of {@link #waitForMutationResponse(Observable)}: the returned stage completes when
+   * the mutation has been acknowledged, or right away if "-p couchbase.syncMutationResponse=false" is set.
+   *
+   * @param input the async input observable.
+   * @return a stage completing with the result of the mutation.
+   */
+  private CompletionStage<Status> completeOnMutationResponse(final Observable<? extends Document<?>> input) {
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    ((Observable<Document<?>>) input).subscribe(new Subscriber<Document<?>>() {
+      @Override
+      public void onCompleted() {
+        future.complete(Status.OK);
+      }
+
+      @Override
+      public void onError(Throwable e) {
+        if (syncMutResponse) {
+          e.printStackTrace();
+        }
+        future.complete(Status.ERROR);
+      }
+
+      @Override
+      public void onNext(Document<?> document) {
+      }
+    });
+    if (!syncMutResponse) {
+      future.complete(Status.OK);
+    }
+    return future;
+  }
+
   @Override
   public Status scan(final String table, final String startkey, final int recordcount, final Set<String> fields,
       final Vector<HashMap<String, ByteIterator>> result) {
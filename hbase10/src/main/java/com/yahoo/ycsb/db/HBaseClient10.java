@@ -207,7 +207,7 @@ public class HBaseClient10 extends com.yahoo.ycsb.DB {
       }
       long en = System.nanoTime();
       final String type = clientSideBuffering ? "UPDATE" : "CLEANUP";
-      measurements.measure(type, (int) ((en - st) / 1000));
+      measurements.measureNanos(type, en - st);
       threadCount.decrementAndGet();
       if (threadCount.get() <= 0) {
         // Means we are done so ok to shut down the Connection.
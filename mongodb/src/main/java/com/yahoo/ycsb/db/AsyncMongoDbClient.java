@@ -18,6 +18,7 @@ package com.yahoo.ycsb.db;
 
 import static com.allanbank.mongodb.builder.QueryBuilder.where;
 
+import com.allanbank.mongodb.Callback;
 import com.allanbank.mongodb.Durability;
 import com.allanbank.mongodb.LockType;
 import com.allanbank.mongodb.MongoClient;
@@ -49,6 +50,8 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -58,6 +61,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>
  * See the <code>README.md</code> for configuration information.
  * </p>
+ * <p>
+ * The asynchronous YCSB operations use the driver's callback based methods
+ * directly. Scans, and inserts when a batch size is configured, fall back to
+ * the blocking implementation.
+ * </p>
  *
  * @author rjm
  * @see <a href="http://www.allanbank.com/mongodb-async-driver/">Asynchronous
@@ -469,6 +477,187 @@ public class AsyncMongoDbClient extends DB {
     }
   }
 
+  /**
+   * Asynchronously insert a record in the database. Only single document
+   * writes are issued asynchronously; batched inserts use the blocking path
+   * since they complete on whichever call fills the batch.
+   * 
+   * @param table
+   *          The name of the table
+   * @param key
+   *          The record key of the record to insert.
+   * @param values
+   *          A HashMap of field/value pairs to insert in the record
+   * @return A stage completing with the result of the operation.
+   */
+  @Override
+  public final CompletionStage<Status> insertAsync(final String table,
+      final String key, final HashMap<String, ByteIterator> values) {
+    if (batchSize > 1) {
+      return super.insertAsync(table, key, values);
+    }
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    try {
+      final MongoCollection collection = database.getCollection(table);
+      // The thread local builders can not be used here as the driver may
+      // still be encoding the document when the next operation is issued.
+      final DocumentBuilder toInsert = BuilderFactory.start().add("_id", key);
+      final Document query = toInsert.build();
+      for (final Map.Entry<String, ByteIterator> entry : values.entrySet()) {
+        toInsert.add(entry.getKey(), entry.getValue().toArray());
+      }
+
+      if (useUpsert) {
+        collection.updateAsync(new StatusCallback<Long>(future) {
+          @Override
+          public void callback(final Long result) {
+            complete(result == 1 ? Status.OK : Status.NOT_FOUND);
+          }
+        }, query, toInsert, /* multi= */false, /* upsert= */true, writeConcern);
+      } else {
+        // Return is not stable pre-SERVER-4381. No exception is success.
+        collection.insertAsync(new StatusCallback<Integer>(future) {
+          @Override
+          public void callback(final Integer result) {
+            complete(Status.OK);
+          }
+        }, writeConcern, toInsert);
+      }
+    } catch (final Exception e) {
+      e.printStackTrace();
+      future.complete(Status.ERROR);
+    }
+    return future;
+  }
+
+  /**
+   * Asynchronously read a record from the database.
+   * 
+   * @param table
+   *          The name of the table
+   * @param key
+   *          The record key of the record to read.
+   * @param fields
+   *          The list of fields to read, or null for all of them
+   * @param result
+   *          A HashMap of field/value pairs for the result
+   * @return A stage completing with the result of the operation.
+   */
+  @Override
+  public final CompletionStage<Status> readAsync(final String table,
+      final String key, final Set<String> fields,
+      final HashMap<String, ByteIterator> result) {
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    try {
+      final MongoCollection collection = database.getCollection(table);
+      final DocumentBuilder query = BuilderFactory.start().add("_id", key);
+      final StatusCallback<Document> callback =
+          new StatusCallback<Document>(future) {
+            @Override
+            public void callback(final Document queryResult) {
+              if (queryResult == null) {
+                complete(Status.NOT_FOUND);
+              } else {
+                fillMap(result, queryResult);
+                complete(Status.OK);
+              }
+            }
+          };
+
+      if (fields != null) {
+        final DocumentBuilder fieldsToReturn = BuilderFactory.start();
+        for (final String field : fields) {
+          fieldsToReturn.add(field, INCLUDE);
+        }
+
+        final Find.Builder fb = new Find.Builder(query);
+        fb.projection(fieldsToReturn);
+        fb.setLimit(1);
+        fb.setBatchSize(1);
+        fb.readPreference(readPreference);
+        collection.findOneAsync(callback, fb.build());
+      } else {
+        collection.findOneAsync(callback, query);
+      }
+    } catch (final Exception e) {
+      System.err.println(e.toString());
+      future.complete(Status.ERROR);
+    }
+    return future;
+  }
+
+  /**
+   * Asynchronously update a record in the database.
+   * 
+   * @param table
+   *          The name of the table
+   * @param key
+   *          The record key of the record to write.
+   * @param values
+   *          A HashMap of field/value pairs to update in the record
+   * @return A stage completing with the result of the operation.
+   */
+  @Override
+  public final CompletionStage<Status> updateAsync(final String table,
+      final String key, final HashMap<String, ByteIterator> values) {
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    try {
+      final MongoCollection collection = database.getCollection(table);
+      final DocumentBuilder query = BuilderFactory.start().add("_id", key);
+      final DocumentBuilder update = BuilderFactory.start();
+      final DocumentBuilder fieldsToSet = update.push("$set");
+
+      for (final Map.Entry<String, ByteIterator> entry : values.entrySet()) {
+        fieldsToSet.add(entry.getKey(), entry.getValue().toArray());
+      }
+      collection.updateAsync(new StatusCallback<Long>(future) {
+        @Override
+        public void callback(final Long res) {
+          complete(writeConcern == Durability.NONE || res == 1 ? Status.OK
+              : Status.NOT_FOUND);
+        }
+      }, query, update, false, false, writeConcern);
+    } catch (final Exception e) {
+      System.err.println(e.toString());
+      future.complete(Status.ERROR);
+    }
+    return future;
+  }
+
+  /**
+   * Asynchronously delete a record from the database.
+   * 
+   * @param table
+   *          The name of the table
+   * @param key
+   *          The record key of the record to delete.
+   * @return A stage completing with the result of the operation.
+   */
+  @Override
+  public final CompletionStage<Status> deleteAsync(final String table,
+      final String key) {
+    final CompletableFuture<Status> future = new CompletableFuture<Status>();
+    try {
+      final MongoCollection collection = database.getCollection(table);
+      final Document q = BuilderFactory.start().add("_id", key).build();
+      collection.deleteAsync(new StatusCallback<Long>(future) {
+        @Override
+        public void callback(final Long res) {
+          if (res == 0) {
+            System.err.println("Nothing deleted for key " + key);
+            complete(Status.NOT_FOUND);
+          } else {
+            complete(Status.OK);
+          }
+        }
+      }, q, false, writeConcern);
+    } catch (final Exception e) {
+      System.err.println(e.toString());
+      future.complete(Status.ERROR);
+    }
+    return future;
+  }
+
   /**
    * Fills the map with the ByteIterators from the document.
    * 
@@ -547,4 +736,44 @@ public class AsyncMongoDbClient extends DB {
       return value;
     }
   }
+
+  /**
+   * Adapts a driver {@link Callback} to the future of an asynchronous YCSB
+   * operation. Subclasses map the driver's result to a {@link Status}; failed
+   * operations complete with {@link Status#ERROR}.
+   * 
+   * @param <V>
+   *          The type of the driver's result.
+   */
+  private abstract static class StatusCallback<V> implements Callback<V> {
+
+    /** The future of the YCSB operation. */
+    private final CompletableFuture<Status> future;
+
+    /**
+     * Creates a new StatusCallback.
+     * 
+     * @param future
+     *          The future to complete.
+     */
+    StatusCallback(final CompletableFuture<Status> future) {
+      this.future = future;
+    }
+
+    /**
+     * Completes the operation.
+     * 
+     * @param status
+     *          The result of the operation.
+     */
+    protected final void complete(final Status status) {
+      future.complete(status);
+    }
+
+    @Override
+    public final void exception(final Throwable thrown) {
+      System.err.println(thrown.toString());
+      future.complete(Status.ERROR);
+    }
+  }
 }
@@ -0,0 +1,56 @@
+package com.yahoo.ycsb.db;
+
+import com.google.protobuf.ByteString;
+import com.yahoo.ycsb.ByteIterator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A ByteIterator over a protobuf ByteString, so values read from a response reach the workload without
+ * being copied again.
+ */
+public class ByteStringByteIterator extends ByteIterator {
+  private final ByteString bytes;
+  private int off;
+
+  public ByteStringByteIterator(ByteString bytes) {
+    this.bytes = bytes;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return off < bytes.size();
+  }
+
+  @Override
+  public byte nextByte() {
+    return bytes.byteAt(off++);
+  }
+
+  @Override
+  public int nextBuf(byte[] buf, int bufOff) {
+    int n = Math.min(buf.length - bufOff, bytes.size() - off);
+    bytes.copyTo(buf, off, bufOff, n);
+    off += n;
+    return bufOff + n;
+  }
+
+  @Override
+  public long bytesLeft() {
+    return bytes.size() - off;
+  }
+
+  @Override
+  public String toString() {
+    String s = bytes.substring(off).toString(StandardCharsets.UTF_8);
+    off = bytes.size();
+    return s;
+  }
+
+  /**
+   * @return The remaining bytes, without consuming them.
+   */
+  public ByteString getByteString() {
+    return bytes.substring(off);
+  }
+}
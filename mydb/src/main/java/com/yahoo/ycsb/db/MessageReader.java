@@ -0,0 +1,60 @@
+package com.yahoo.ycsb.db;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Parser;
+import com.yahoo.ycsb.ByteIterator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Reads varint length-delimited messages off a connection. All messages are parsed by a single
+ * CodedInputStream over the connection, rather than by the fresh stream and buffer
+ * {@code parseDelimitedFrom} allocates for every message, and the decoded response values wrap the parsed
+ * ByteStrings instead of copying them.
+ */
+final class MessageReader {
+  private final CodedInputStream in;
+
+  MessageReader(InputStream stream) {
+    in = CodedInputStream.newInstance(stream);
+  }
+
+  /**
+   * @param parser The parser of the messages of the protocol version spoken on the connection.
+   * @return The next message, null once the connection is closed.
+   */
+  <T> T next(Parser<T> parser) throws IOException {
+    if (in.isAtEnd()) {
+      return null;
+    }
+    int size = in.readRawVarint32();
+    int limit = in.pushLimit(size);
+    T message = parser.parseFrom(in);
+    in.popLimit(limit);
+    // the size limit of the stream applies to each message rather than to the connection
+    in.resetSizeCounter();
+    return message;
+  }
+
+  /**
+   * @return The result of a READ_LONG. Only servers still sending it as a string need it parsed.
+   */
+  static long longResult(Messages.Response response) {
+    if (response.getLongCase() == Messages.Response.LongCase.LONG_RESULT) {
+      return Long.parseLong(response.getLongResult());
+    }
+    return response.getLongValue();
+  }
+
+  /**
+   * Puts the fields of a READ_TEXT result in a map.
+   */
+  static void textResult(Messages.Response response, Map<String, ByteIterator> result) {
+    for (Map.Entry<String, ByteString> field : response.getTextResultMap().entrySet()) {
+      result.put(field.getKey(), new ByteStringByteIterator(field.getValue()));
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.yahoo.ycsb.db;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes varint length-delimited messages to a connection through a buffer that grows as needed and is
+ * reused across messages. Not thread safe.
+ */
+final class MessageWriter {
+  private final OutputStream out;
+  private byte[] buffer = new byte[512];
+
+  MessageWriter(OutputStream out) {
+    this.out = out;
+  }
+
+  void write(MessageLite m) throws IOException {
+    int size = m.getSerializedSize();
+    int length = CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    if (buffer.length < length) {
+      buffer = new byte[Math.max(length, 2 * buffer.length)];
+    }
+    CodedOutputStream coded = CodedOutputStream.newInstance(buffer, 0, length);
+    coded.writeUInt32NoTag(size);
+    m.writeTo(coded);
+    out.write(buffer, 0, length);
+    out.flush();
+  }
+}
@@ -114,6 +114,20 @@ public final class Messages {
      * <code>sint64 long_row = 7;</code>
      */
     long getLongRow();
+
+    /**
+     * <pre>
+     * echoed by the response, so requests can be pipelined on a connection
+     * </pre>
+     *
+     * <code>uint64 request_id = 8;</code>
+     */
+    long getRequestId();
+
+    /**
+     * <code>uint32 protocol_version = 9;</code>
+     */
+    int getProtocolVersion();
   }
   /**
    * Protobuf type {@code mydb.Request}
@@ -133,6 +147,8 @@ public final class Messages {
       fields_ = com.google.protobuf.LazyStringArrayList.EMPTY;
       longField_ = "";
       longRow_ = 0L;
+      requestId_ = 0L;
+      protocolVersion_ = 0;
     }
 
     @java.lang.Override
@@ -211,6 +227,16 @@ public final class Messages {
               longRow_ = input.readSInt64();
               break;
             }
+            case 64: {
+
+              requestId_ = input.readUInt64();
+              break;
+            }
+            case 72: {
+
+              protocolVersion_ = input.readUInt32();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -293,6 +319,14 @@ public final class Messages {
        * <code>ABORT = 9;</code>
        */
       ABORT(9),
+      /**
+       * <pre>
+       * asks for protocol_version, answered by a STATUS with the version the server picked
+       * </pre>
+       *
+       * <code>HELLO = 10;</code>
+       */
+      HELLO(10),
       UNRECOGNIZED(-1),
       ;
 
@@ -336,6 +370,14 @@ public final class Messages {
        * <code>ABORT = 9;</code>
        */
       public static final int ABORT_VALUE = 9;
+      /**
+       * <pre>
+       * asks for protocol_version, answered by a STATUS with the version the server picked
+       * </pre>
+       *
+       * <code>HELLO = 10;</code>
+       */
+      public static final int HELLO_VALUE = 10;
 
 
       public final int getNumber() {
@@ -366,6 +408,7 @@ public final class Messages {
           case 7: return START_TRANSACTION;
           case 8: return COMMIT;
           case 9: return ABORT;
+          case 10: return HELLO;
           default: return null;
         }
       }
@@ -651,6 +694,28 @@ public final class Messages {
       return longRow_;
     }
 
+    public static final int REQUEST_ID_FIELD_NUMBER = 8;
+    private long requestId_;
+    /**
+     * <pre>
+     * echoed by the response, so requests can be pipelined on a connection
+     * </pre>
+     *
+     * <code>uint64 request_id = 8;</code>
+     */
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    public static final int PROTOCOL_VERSION_FIELD_NUMBER = 9;
+    private int protocolVersion_;
+    /**
+     * <code>uint32 protocol_version = 9;</code>
+     */
+    public int getProtocolVersion() {
+      return protocolVersion_;
+    }
+
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -687,6 +752,12 @@ public final class Messages {
       if (longRow_ != 0L) {
         output.writeSInt64(7, longRow_);
       }
+      if (requestId_ != 0L) {
+        output.writeUInt64(8, requestId_);
+      }
+      if (protocolVersion_ != 0) {
+        output.writeUInt32(9, protocolVersion_);
+      }
     }
 
     public int getSerializedSize() {
@@ -729,6 +800,14 @@ public final class Messages {
         size += com.google.protobuf.CodedOutputStream
           .computeSInt64Size(7, longRow_);
       }
+      if (requestId_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(8, requestId_);
+      }
+      if (protocolVersion_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(9, protocolVersion_);
+      }
       memoizedSize = size;
       return size;
     }
@@ -758,6 +837,10 @@ public final class Messages {
           .equals(other.getLongField());
       result = result && (getLongRow()
           == other.getLongRow());
+      result = result && (getRequestId()
+          == other.getRequestId());
+      result = result && (getProtocolVersion()
+          == other.getProtocolVersion());
       return result;
     }
 
@@ -787,6 +870,11 @@ public final class Messages {
       hash = (37 * hash) + LONG_ROW_FIELD_NUMBER;
       hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
           getLongRow());
+      hash = (37 * hash) + REQUEST_ID_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getRequestId());
+      hash = (37 * hash) + PROTOCOL_VERSION_FIELD_NUMBER;
+      hash = (53 * hash) + getProtocolVersion();
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -951,6 +1039,10 @@ public final class Messages {
 
         longRow_ = 0L;
 
+        requestId_ = 0L;
+
+        protocolVersion_ = 0;
+
         return this;
       }
 
@@ -987,6 +1079,8 @@ public final class Messages {
         result.textRow_.makeImmutable();
         result.longField_ = longField_;
         result.longRow_ = longRow_;
+        result.requestId_ = requestId_;
+        result.protocolVersion_ = protocolVersion_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -1059,6 +1153,12 @@ public final class Messages {
         if (other.getLongRow() != 0L) {
           setLongRow(other.getLongRow());
         }
+        if (other.getRequestId() != 0L) {
+          setRequestId(other.getRequestId());
+        }
+        if (other.getProtocolVersion() != 0) {
+          setProtocolVersion(other.getProtocolVersion());
+        }
         onChanged();
         return this;
       }
@@ -1579,6 +1679,70 @@ public final class Messages {
         onChanged();
         return this;
       }
+
+      private long requestId_ ;
+      /**
+       * <pre>
+       * echoed by the response, so requests can be pipelined on a connection
+       * </pre>
+       *
+       * <code>uint64 request_id = 8;</code>
+       */
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <pre>
+       * echoed by the response, so requests can be pipelined on a connection
+       * </pre>
+       *
+       * <code>uint64 request_id = 8;</code>
+       */
+      public Builder setRequestId(long value) {
+        
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * echoed by the response, so requests can be pipelined on a connection
+       * </pre>
+       *
+       * <code>uint64 request_id = 8;</code>
+       */
+      public Builder clearRequestId() {
+        
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int protocolVersion_ ;
+      /**
+       * <code>uint32 protocol_version = 9;</code>
+       */
+      public int getProtocolVersion() {
+        return protocolVersion_;
+      }
+      /**
+       * <code>uint32 protocol_version = 9;</code>
+       */
+      public Builder setProtocolVersion(int value) {
+        
+        protocolVersion_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint32 protocol_version = 9;</code>
+       */
+      public Builder clearProtocolVersion() {
+        
+        protocolVersion_ = 0;
+        onChanged();
+        return this;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return this;
@@ -1656,6 +1820,11 @@ public final class Messages {
     com.google.protobuf.ByteString
         getLongResultBytes();
 
+    /**
+     * <code>sint64 long_value = 6;</code>
+     */
+    long getLongValue();
+
     /**
      * <code>map&lt;string, bytes&gt; text_result = 4;</code>
      */
@@ -1689,6 +1858,18 @@ public final class Messages {
 
     com.google.protobuf.ByteString getTextResultOrThrow(
         java.lang.String key);
+
+    /**
+     * <code>uint64 request_id = 5;</code>
+     */
+    long getRequestId();
+
+    /**
+     * <code>uint32 protocol_version = 7;</code>
+     */
+    int getProtocolVersion();
+
+    public com.yahoo.ycsb.db.Messages.Response.LongCase getLongCase();
   }
   /**
    * Protobuf type {@code mydb.Response}
@@ -1704,7 +1885,8 @@ public final class Messages {
     private Response() {
       type_ = 0;
       isStatusOk_ = false;
-      longResult_ = "";
+      requestId_ = 0L;
+      protocolVersion_ = 0;
     }
 
     @java.lang.Override
@@ -1745,15 +1927,15 @@ public final class Messages {
             }
             case 26: {
               java.lang.String s = input.readStringRequireUtf8();
-
-              longResult_ = s;
+              longCase_ = 3;
+              long_ = s;
               break;
             }
             case 34: {
-              if (!((mutable_bitField0_ & 0x00000008) == 0x00000008)) {
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
                 textResult_ = com.google.protobuf.MapField.newMapField(
                     TextResultDefaultEntryHolder.defaultEntry);
-                mutable_bitField0_ |= 0x00000008;
+                mutable_bitField0_ |= 0x00000010;
               }
               com.google.protobuf.MapEntry<java.lang.String, com.google.protobuf.ByteString>
               textResult__ = input.readMessage(
@@ -1762,6 +1944,21 @@ public final class Messages {
                   textResult__.getKey(), textResult__.getValue());
               break;
             }
+            case 40: {
+
+              requestId_ = input.readUInt64();
+              break;
+            }
+            case 48: {
+              longCase_ = 6;
+              long_ = input.readSInt64();
+              break;
+            }
+            case 56: {
+
+              protocolVersion_ = input.readUInt32();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -1904,6 +2101,44 @@ public final class Messages {
     }
 
     private int bitField0_;
+    private int longCase_ = 0;
+    private java.lang.Object long_;
+    public enum LongCase
+        implements com.google.protobuf.Internal.EnumLite {
+      LONG_RESULT(3),
+      LONG_VALUE(6),
+      LONG_NOT_SET(0);
+      private final int value;
+      private LongCase(int value) {
+        this.value = value;
+      }
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static LongCase valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static LongCase forNumber(int value) {
+        switch (value) {
+          case 3: return LONG_RESULT;
+          case 6: return LONG_VALUE;
+          case 0: return LONG_NOT_SET;
+          default: return null;
+        }
+      }
+      public int getNumber() {
+        return this.value;
+      }
+    };
+
+    public LongCase
+    getLongCase() {
+      return LongCase.forNumber(
+          longCase_);
+    }
+
     public static final int TYPE_FIELD_NUMBER = 1;
     private int type_;
     /**
@@ -1930,19 +2165,23 @@ public final class Messages {
     }
 
     public static final int LONG_RESULT_FIELD_NUMBER = 3;
-    private volatile java.lang.Object longResult_;
     /**
      * <code>string long_result = 3;</code>
      */
     public java.lang.String getLongResult() {
-      java.lang.Object ref = longResult_;
+      java.lang.Object ref = "";
+      if (longCase_ == 3) {
+        ref = long_;
+      }
       if (ref instanceof java.lang.String) {
         return (java.lang.String) ref;
       } else {
         com.google.protobuf.ByteString bs = 
             (com.google.protobuf.ByteString) ref;
         java.lang.String s = bs.toStringUtf8();
-        longResult_ = s;
+        if (longCase_ == 3) {
+          long_ = s;
+        }
         return s;
       }
     }
@@ -1951,18 +2190,34 @@ public final class Messages {
      */
     public com.google.protobuf.ByteString
         getLongResultBytes() {
-      java.lang.Object ref = longResult_;
+      java.lang.Object ref = "";
+      if (longCase_ == 3) {
+        ref = long_;
+      }
       if (ref instanceof java.lang.String) {
         com.google.protobuf.ByteString b = 
             com.google.protobuf.ByteString.copyFromUtf8(
                 (java.lang.String) ref);
-        longResult_ = b;
+        if (longCase_ == 3) {
+          long_ = b;
+        }
         return b;
       } else {
         return (com.google.protobuf.ByteString) ref;
       }
     }
 
+    public static final int LONG_VALUE_FIELD_NUMBER = 6;
+    /**
+     * <code>sint64 long_value = 6;</code>
+     */
+    public long getLongValue() {
+      if (longCase_ == 6) {
+        return (java.lang.Long) long_;
+      }
+      return 0L;
+    }
+
     public static final int TEXT_RESULT_FIELD_NUMBER = 4;
     private static final class TextResultDefaultEntryHolder {
       static final com.google.protobuf.MapEntry<
@@ -2039,6 +2294,24 @@ public final class Messages {
       return map.get(key);
     }
 
+    public static final int REQUEST_ID_FIELD_NUMBER = 5;
+    private long requestId_;
+    /**
+     * <code>uint64 request_id = 5;</code>
+     */
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    public static final int PROTOCOL_VERSION_FIELD_NUMBER = 7;
+    private int protocolVersion_;
+    /**
+     * <code>uint32 protocol_version = 7;</code>
+     */
+    public int getProtocolVersion() {
+      return protocolVersion_;
+    }
+
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
@@ -2057,8 +2330,8 @@ public final class Messages {
       if (isStatusOk_ != false) {
         output.writeBool(2, isStatusOk_);
       }
-      if (!getLongResultBytes().isEmpty()) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, longResult_);
+      if (longCase_ == 3) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, long_);
       }
       com.google.protobuf.GeneratedMessageV3
         .serializeStringMapTo(
@@ -2066,6 +2339,16 @@ public final class Messages {
           internalGetTextResult(),
           TextResultDefaultEntryHolder.defaultEntry,
           4);
+      if (requestId_ != 0L) {
+        output.writeUInt64(5, requestId_);
+      }
+      if (longCase_ == 6) {
+        output.writeSInt64(
+            6, (long)((java.lang.Long) long_));
+      }
+      if (protocolVersion_ != 0) {
+        output.writeUInt32(7, protocolVersion_);
+      }
     }
 
     public int getSerializedSize() {
@@ -2081,8 +2364,8 @@ public final class Messages {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(2, isStatusOk_);
       }
-      if (!getLongResultBytes().isEmpty()) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, longResult_);
+      if (longCase_ == 3) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, long_);
       }
       for (java.util.Map.Entry<java.lang.String, com.google.protobuf.ByteString> entry
            : internalGetTextResult().getMap().entrySet()) {
@@ -2094,6 +2377,19 @@ public final class Messages {
         size += com.google.protobuf.CodedOutputStream
             .computeMessageSize(4, textResult__);
       }
+      if (requestId_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(5, requestId_);
+      }
+      if (longCase_ == 6) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt64Size(
+              6, (long)((java.lang.Long) long_));
+      }
+      if (protocolVersion_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(7, protocolVersion_);
+      }
       memoizedSize = size;
       return size;
     }
@@ -2113,10 +2409,27 @@ public final class Messages {
       result = result && type_ == other.type_;
       result = result && (getIsStatusOk()
           == other.getIsStatusOk());
-      result = result && getLongResult()
-          .equals(other.getLongResult());
       result = result && internalGetTextResult().equals(
           other.internalGetTextResult());
+      result = result && (getRequestId()
+          == other.getRequestId());
+      result = result && (getProtocolVersion()
+          == other.getProtocolVersion());
+      result = result && getLongCase().equals(
+          other.getLongCase());
+      if (!result) return false;
+      switch (longCase_) {
+        case 3:
+          result = result && getLongResult()
+              .equals(other.getLongResult());
+          break;
+        case 6:
+          result = result && (getLongValue()
+              == other.getLongValue());
+          break;
+        case 0:
+        default:
+      }
       return result;
     }
 
@@ -2132,12 +2445,28 @@ public final class Messages {
       hash = (37 * hash) + ISSTATUSOK_FIELD_NUMBER;
       hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
           getIsStatusOk());
-      hash = (37 * hash) + LONG_RESULT_FIELD_NUMBER;
-      hash = (53 * hash) + getLongResult().hashCode();
       if (!internalGetTextResult().getMap().isEmpty()) {
         hash = (37 * hash) + TEXT_RESULT_FIELD_NUMBER;
         hash = (53 * hash) + internalGetTextResult().hashCode();
       }
+      hash = (37 * hash) + REQUEST_ID_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getRequestId());
+      hash = (37 * hash) + PROTOCOL_VERSION_FIELD_NUMBER;
+      hash = (53 * hash) + getProtocolVersion();
+      switch (longCase_) {
+        case 3:
+          hash = (37 * hash) + LONG_RESULT_FIELD_NUMBER;
+          hash = (53 * hash) + getLongResult().hashCode();
+          break;
+        case 6:
+          hash = (37 * hash) + LONG_VALUE_FIELD_NUMBER;
+          hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+              getLongValue());
+          break;
+        case 0:
+        default:
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -2293,9 +2622,13 @@ public final class Messages {
 
         isStatusOk_ = false;
 
-        longResult_ = "";
-
         internalGetMutableTextResult().clear();
+        requestId_ = 0L;
+
+        protocolVersion_ = 0;
+
+        longCase_ = 0;
+        long_ = null;
         return this;
       }
 
@@ -2322,10 +2655,18 @@ public final class Messages {
         int to_bitField0_ = 0;
         result.type_ = type_;
         result.isStatusOk_ = isStatusOk_;
-        result.longResult_ = longResult_;
+        if (longCase_ == 3) {
+          result.long_ = long_;
+        }
+        if (longCase_ == 6) {
+          result.long_ = long_;
+        }
         result.textResult_ = internalGetTextResult();
         result.textResult_.makeImmutable();
+        result.requestId_ = requestId_;
+        result.protocolVersion_ = protocolVersion_;
         result.bitField0_ = to_bitField0_;
+        result.longCase_ = longCase_;
         onBuilt();
         return result;
       }
@@ -2373,12 +2714,29 @@ public final class Messages {
         if (other.getIsStatusOk() != false) {
           setIsStatusOk(other.getIsStatusOk());
         }
-        if (!other.getLongResult().isEmpty()) {
-          longResult_ = other.longResult_;
-          onChanged();
-        }
         internalGetMutableTextResult().mergeFrom(
             other.internalGetTextResult());
+        if (other.getRequestId() != 0L) {
+          setRequestId(other.getRequestId());
+        }
+        if (other.getProtocolVersion() != 0) {
+          setProtocolVersion(other.getProtocolVersion());
+        }
+        switch (other.getLongCase()) {
+          case LONG_RESULT: {
+            longCase_ = 3;
+            long_ = other.long_;
+            onChanged();
+            break;
+          }
+          case LONG_VALUE: {
+            setLongValue(other.getLongValue());
+            break;
+          }
+          case LONG_NOT_SET: {
+            break;
+          }
+        }
         onChanged();
         return this;
       }
@@ -2404,6 +2762,21 @@ public final class Messages {
         }
         return this;
       }
+      private int longCase_ = 0;
+      private java.lang.Object long_;
+      public LongCase
+          getLongCase() {
+        return LongCase.forNumber(
+            longCase_);
+      }
+
+      public Builder clearLong() {
+        longCase_ = 0;
+        long_ = null;
+        onChanged();
+        return this;
+      }
+
       private int bitField0_;
 
       private int type_ = 0;
@@ -2476,17 +2849,21 @@ public final class Messages {
         return this;
       }
 
-      private java.lang.Object longResult_ = "";
       /**
        * <code>string long_result = 3;</code>
        */
       public java.lang.String getLongResult() {
-        java.lang.Object ref = longResult_;
+        java.lang.Object ref = "";
+        if (longCase_ == 3) {
+          ref = long_;
+        }
         if (!(ref instanceof java.lang.String)) {
           com.google.protobuf.ByteString bs =
               (com.google.protobuf.ByteString) ref;
           java.lang.String s = bs.toStringUtf8();
-          longResult_ = s;
+          if (longCase_ == 3) {
+            long_ = s;
+          }
           return s;
         } else {
           return (java.lang.String) ref;
@@ -2497,12 +2874,17 @@ public final class Messages {
        */
       public com.google.protobuf.ByteString
           getLongResultBytes() {
-        java.lang.Object ref = longResult_;
+        java.lang.Object ref = "";
+        if (longCase_ == 3) {
+          ref = long_;
+        }
         if (ref instanceof String) {
           com.google.protobuf.ByteString b = 
               com.google.protobuf.ByteString.copyFromUtf8(
                   (java.lang.String) ref);
-          longResult_ = b;
+          if (longCase_ == 3) {
+            long_ = b;
+          }
           return b;
         } else {
           return (com.google.protobuf.ByteString) ref;
@@ -2516,8 +2898,8 @@ public final class Messages {
         if (value == null) {
     throw new NullPointerException();
   }
-  
-        longResult_ = value;
+  longCase_ = 3;
+        long_ = value;
         onChanged();
         return this;
       }
@@ -2525,9 +2907,11 @@ public final class Messages {
        * <code>string long_result = 3;</code>
        */
       public Builder clearLongResult() {
-        
-        longResult_ = getDefaultInstance().getLongResult();
-        onChanged();
+        if (longCase_ == 3) {
+          longCase_ = 0;
+          long_ = null;
+          onChanged();
+        }
         return this;
       }
       /**
@@ -2539,11 +2923,41 @@ public final class Messages {
     throw new NullPointerException();
   }
   checkByteStringIsUtf8(value);
-        
-        longResult_ = value;
+        longCase_ = 3;
+        long_ = value;
+        onChanged();
+        return this;
+      }
+
+      /**
+       * <code>sint64 long_value = 6;</code>
+       */
+      public long getLongValue() {
+        if (longCase_ == 6) {
+          return (java.lang.Long) long_;
+        }
+        return 0L;
+      }
+      /**
+       * <code>sint64 long_value = 6;</code>
+       */
+      public Builder setLongValue(long value) {
+        longCase_ = 6;
+        long_ = value;
         onChanged();
         return this;
       }
+      /**
+       * <code>sint64 long_value = 6;</code>
+       */
+      public Builder clearLongValue() {
+        if (longCase_ == 6) {
+          longCase_ = 0;
+          long_ = null;
+          onChanged();
+        }
+        return this;
+      }
 
       private com.google.protobuf.MapField<
           java.lang.String, com.google.protobuf.ByteString> textResult_;
@@ -2667,6 +3081,58 @@ public final class Messages {
             .putAll(values);
         return this;
       }
+
+      private long requestId_ ;
+      /**
+       * <code>uint64 request_id = 5;</code>
+       */
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>uint64 request_id = 5;</code>
+       */
+      public Builder setRequestId(long value) {
+        
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint64 request_id = 5;</code>
+       */
+      public Builder clearRequestId() {
+        
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int protocolVersion_ ;
+      /**
+       * <code>uint32 protocol_version = 7;</code>
+       */
+      public int getProtocolVersion() {
+        return protocolVersion_;
+      }
+      /**
+       * <code>uint32 protocol_version = 7;</code>
+       */
+      public Builder setProtocolVersion(int value) {
+        
+        protocolVersion_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint32 protocol_version = 7;</code>
+       */
+      public Builder clearProtocolVersion() {
+        
+        protocolVersion_ = 0;
+        onChanged();
+        return this;
+      }
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
         return this;
@@ -2716,54 +3182,5595 @@ public final class Messages {
 
   }
 
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_mydb_Request_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_mydb_Request_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_mydb_Request_TextRowEntry_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_mydb_Request_TextRowEntry_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_mydb_Response_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_mydb_Response_fieldAccessorTable;
-  private static final com.google.protobuf.Descriptors.Descriptor
-    internal_static_mydb_Response_TextResultEntry_descriptor;
-  private static final 
-    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-      internal_static_mydb_Response_TextResultEntry_fieldAccessorTable;
+  public interface NameOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:mydb.Name)
+      com.google.protobuf.MessageOrBuilder {
 
-  public static com.google.protobuf.Descriptors.FileDescriptor
-      getDescriptor() {
-    return descriptor;
+    /**
+     * <code>uint32 id = 1;</code>
+     */
+    int getId();
+
+    /**
+     * <code>string name = 2;</code>
+     */
+    java.lang.String getName();
+    /**
+     * <code>string name = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getNameBytes();
   }
-  private static  com.google.protobuf.Descriptors.FileDescriptor
-      descriptor;
-  static {
-    java.lang.String[] descriptorData = {
-      "\n\027protobuf/messages.proto\022\004mydb\"\220\003\n\007Requ" +
-      "est\022(\n\004type\030\001 \001(\0162\032.mydb.Request.REQUEST" +
-      "_TYPE\022\r\n\005table\030\002 \001(\t\022\013\n\003key\030\003 \001(\t\022\016\n\006fie" +
+  /**
+   * Protobuf type {@code mydb.Name}
+   */
+  public  static final class Name extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:mydb.Name)
+      NameOrBuilder {
+    // Use Name.newBuilder() to construct.
+    private Name(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Name() {
+      id_ = 0;
+      name_ = "";
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private Name(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+
+              id_ = input.readUInt32();
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+
+              name_ = s;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_Name_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_Name_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.yahoo.ycsb.db.Messages.Name.class, com.yahoo.ycsb.db.Messages.Name.Builder.class);
+    }
+
+    public static final int ID_FIELD_NUMBER = 1;
+    private int id_;
+    /**
+     * <code>uint32 id = 1;</code>
+     */
+    public int getId() {
+      return id_;
+    }
+
+    public static final int NAME_FIELD_NUMBER = 2;
+    private volatile java.lang.Object name_;
+    /**
+     * <code>string name = 2;</code>
+     */
+    public java.lang.String getName() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        name_ = s;
+        return s;
+      }
+    }
+    /**
+     * <code>string name = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getNameBytes() {
+      java.lang.Object ref = name_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        name_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (id_ != 0) {
+        output.writeUInt32(1, id_);
+      }
+      if (!getNameBytes().isEmpty()) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, name_);
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (id_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(1, id_);
+      }
+      if (!getNameBytes().isEmpty()) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, name_);
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.yahoo.ycsb.db.Messages.Name)) {
+        return super.equals(obj);
+      }
+      com.yahoo.ycsb.db.Messages.Name other = (com.yahoo.ycsb.db.Messages.Name) obj;
+
+      boolean result = true;
+      result = result && (getId()
+          == other.getId());
+      result = result && getName()
+          .equals(other.getName());
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + ID_FIELD_NUMBER;
+      hash = (53 * hash) + getId();
+      hash = (37 * hash) + NAME_FIELD_NUMBER;
+      hash = (53 * hash) + getName().hashCode();
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Name parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.yahoo.ycsb.db.Messages.Name prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code mydb.Name}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:mydb.Name)
+        com.yahoo.ycsb.db.Messages.NameOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Name_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Name_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.yahoo.ycsb.db.Messages.Name.class, com.yahoo.ycsb.db.Messages.Name.Builder.class);
+      }
+
+      // Construct using com.yahoo.ycsb.db.Messages.Name.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        id_ = 0;
+
+        name_ = "";
+
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Name_descriptor;
+      }
+
+      public com.yahoo.ycsb.db.Messages.Name getDefaultInstanceForType() {
+        return com.yahoo.ycsb.db.Messages.Name.getDefaultInstance();
+      }
+
+      public com.yahoo.ycsb.db.Messages.Name build() {
+        com.yahoo.ycsb.db.Messages.Name result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.yahoo.ycsb.db.Messages.Name buildPartial() {
+        com.yahoo.ycsb.db.Messages.Name result = new com.yahoo.ycsb.db.Messages.Name(this);
+        result.id_ = id_;
+        result.name_ = name_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.yahoo.ycsb.db.Messages.Name) {
+          return mergeFrom((com.yahoo.ycsb.db.Messages.Name)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.yahoo.ycsb.db.Messages.Name other) {
+        if (other == com.yahoo.ycsb.db.Messages.Name.getDefaultInstance()) return this;
+        if (other.getId() != 0) {
+          setId(other.getId());
+        }
+        if (!other.getName().isEmpty()) {
+          name_ = other.name_;
+          onChanged();
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.yahoo.ycsb.db.Messages.Name parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.yahoo.ycsb.db.Messages.Name) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+
+      private int id_ ;
+      /**
+       * <code>uint32 id = 1;</code>
+       */
+      public int getId() {
+        return id_;
+      }
+      /**
+       * <code>uint32 id = 1;</code>
+       */
+      public Builder setId(int value) {
+        
+        id_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint32 id = 1;</code>
+       */
+      public Builder clearId() {
+        
+        id_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object name_ = "";
+      /**
+       * <code>string name = 2;</code>
+       */
+      public java.lang.String getName() {
+        java.lang.Object ref = name_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          name_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>string name = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getNameBytes() {
+        java.lang.Object ref = name_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          name_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>string name = 2;</code>
+       */
+      public Builder setName(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        name_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string name = 2;</code>
+       */
+      public Builder clearName() {
+        
+        name_ = getDefaultInstance().getName();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>string name = 2;</code>
+       */
+      public Builder setNameBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        name_ = value;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:mydb.Name)
+    }
+
+    // @@protoc_insertion_point(class_scope:mydb.Name)
+    private static final com.yahoo.ycsb.db.Messages.Name DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.yahoo.ycsb.db.Messages.Name();
+    }
+
+    public static com.yahoo.ycsb.db.Messages.Name getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<Name>
+        PARSER = new com.google.protobuf.AbstractParser<Name>() {
+      public Name parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Name(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Name> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Name> getParserForType() {
+      return PARSER;
+    }
+
+    public com.yahoo.ycsb.db.Messages.Name getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ValueOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:mydb.Value)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>uint32 field = 1;</code>
+     */
+    int getField();
+
+    /**
+     * <pre>
+     * for a field the connection has no id for
+     * </pre>
+     *
+     * <code>string field_name = 2;</code>
+     */
+    java.lang.String getFieldName();
+    /**
+     * <pre>
+     * for a field the connection has no id for
+     * </pre>
+     *
+     * <code>string field_name = 2;</code>
+     */
+    com.google.protobuf.ByteString
+        getFieldNameBytes();
+
+    /**
+     * <code>bytes text = 3;</code>
+     */
+    com.google.protobuf.ByteString getText();
+
+    /**
+     * <code>sint64 number = 4;</code>
+     */
+    long getNumber();
+
+    public com.yahoo.ycsb.db.Messages.Value.FieldRefCase getFieldRefCase();
+
+    public com.yahoo.ycsb.db.Messages.Value.ValueCase getValueCase();
+  }
+  /**
+   * Protobuf type {@code mydb.Value}
+   */
+  public  static final class Value extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:mydb.Value)
+      ValueOrBuilder {
+    // Use Value.newBuilder() to construct.
+    private Value(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Value() {
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private Value(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              fieldRefCase_ = 1;
+              fieldRef_ = input.readUInt32();
+              break;
+            }
+            case 18: {
+              java.lang.String s = input.readStringRequireUtf8();
+              fieldRefCase_ = 2;
+              fieldRef_ = s;
+              break;
+            }
+            case 26: {
+              valueCase_ = 3;
+              value_ = input.readBytes();
+              break;
+            }
+            case 32: {
+              valueCase_ = 4;
+              value_ = input.readSInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_Value_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_Value_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.yahoo.ycsb.db.Messages.Value.class, com.yahoo.ycsb.db.Messages.Value.Builder.class);
+    }
+
+    private int fieldRefCase_ = 0;
+    private java.lang.Object fieldRef_;
+    public enum FieldRefCase
+        implements com.google.protobuf.Internal.EnumLite {
+      FIELD(1),
+      FIELD_NAME(2),
+      FIELDREF_NOT_SET(0);
+      private final int value;
+      private FieldRefCase(int value) {
+        this.value = value;
+      }
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static FieldRefCase valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static FieldRefCase forNumber(int value) {
+        switch (value) {
+          case 1: return FIELD;
+          case 2: return FIELD_NAME;
+          case 0: return FIELDREF_NOT_SET;
+          default: return null;
+        }
+      }
+      public int getNumber() {
+        return this.value;
+      }
+    };
+
+    public FieldRefCase
+    getFieldRefCase() {
+      return FieldRefCase.forNumber(
+          fieldRefCase_);
+    }
+
+    private int valueCase_ = 0;
+    private java.lang.Object value_;
+    public enum ValueCase
+        implements com.google.protobuf.Internal.EnumLite {
+      TEXT(3),
+      NUMBER(4),
+      VALUE_NOT_SET(0);
+      private final int value;
+      private ValueCase(int value) {
+        this.value = value;
+      }
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static ValueCase valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static ValueCase forNumber(int value) {
+        switch (value) {
+          case 3: return TEXT;
+          case 4: return NUMBER;
+          case 0: return VALUE_NOT_SET;
+          default: return null;
+        }
+      }
+      public int getNumber() {
+        return this.value;
+      }
+    };
+
+    public ValueCase
+    getValueCase() {
+      return ValueCase.forNumber(
+          valueCase_);
+    }
+
+    public static final int FIELD_FIELD_NUMBER = 1;
+    /**
+     * <code>uint32 field = 1;</code>
+     */
+    public int getField() {
+      if (fieldRefCase_ == 1) {
+        return (java.lang.Integer) fieldRef_;
+      }
+      return 0;
+    }
+
+    public static final int FIELD_NAME_FIELD_NUMBER = 2;
+    /**
+     * <pre>
+     * for a field the connection has no id for
+     * </pre>
+     *
+     * <code>string field_name = 2;</code>
+     */
+    public java.lang.String getFieldName() {
+      java.lang.Object ref = "";
+      if (fieldRefCase_ == 2) {
+        ref = fieldRef_;
+      }
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (fieldRefCase_ == 2) {
+          fieldRef_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * for a field the connection has no id for
+     * </pre>
+     *
+     * <code>string field_name = 2;</code>
+     */
+    public com.google.protobuf.ByteString
+        getFieldNameBytes() {
+      java.lang.Object ref = "";
+      if (fieldRefCase_ == 2) {
+        ref = fieldRef_;
+      }
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        if (fieldRefCase_ == 2) {
+          fieldRef_ = b;
+        }
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int TEXT_FIELD_NUMBER = 3;
+    /**
+     * <code>bytes text = 3;</code>
+     */
+    public com.google.protobuf.ByteString getText() {
+      if (valueCase_ == 3) {
+        return (com.google.protobuf.ByteString) value_;
+      }
+      return com.google.protobuf.ByteString.EMPTY;
+    }
+
+    public static final int NUMBER_FIELD_NUMBER = 4;
+    /**
+     * <code>sint64 number = 4;</code>
+     */
+    public long getNumber() {
+      if (valueCase_ == 4) {
+        return (java.lang.Long) value_;
+      }
+      return 0L;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (fieldRefCase_ == 1) {
+        output.writeUInt32(
+            1, (int)((java.lang.Integer) fieldRef_));
+      }
+      if (fieldRefCase_ == 2) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, fieldRef_);
+      }
+      if (valueCase_ == 3) {
+        output.writeBytes(
+            3, (com.google.protobuf.ByteString) value_);
+      }
+      if (valueCase_ == 4) {
+        output.writeSInt64(
+            4, (long)((java.lang.Long) value_));
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (fieldRefCase_ == 1) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(
+              1, (int)((java.lang.Integer) fieldRef_));
+      }
+      if (fieldRefCase_ == 2) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, fieldRef_);
+      }
+      if (valueCase_ == 3) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(
+              3, (com.google.protobuf.ByteString) value_);
+      }
+      if (valueCase_ == 4) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt64Size(
+              4, (long)((java.lang.Long) value_));
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.yahoo.ycsb.db.Messages.Value)) {
+        return super.equals(obj);
+      }
+      com.yahoo.ycsb.db.Messages.Value other = (com.yahoo.ycsb.db.Messages.Value) obj;
+
+      boolean result = true;
+      result = result && getFieldRefCase().equals(
+          other.getFieldRefCase());
+      if (!result) return false;
+      switch (fieldRefCase_) {
+        case 1:
+          result = result && (getField()
+              == other.getField());
+          break;
+        case 2:
+          result = result && getFieldName()
+              .equals(other.getFieldName());
+          break;
+        case 0:
+        default:
+      }
+      result = result && getValueCase().equals(
+          other.getValueCase());
+      if (!result) return false;
+      switch (valueCase_) {
+        case 3:
+          result = result && getText()
+              .equals(other.getText());
+          break;
+        case 4:
+          result = result && (getNumber()
+              == other.getNumber());
+          break;
+        case 0:
+        default:
+      }
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      switch (fieldRefCase_) {
+        case 1:
+          hash = (37 * hash) + FIELD_FIELD_NUMBER;
+          hash = (53 * hash) + getField();
+          break;
+        case 2:
+          hash = (37 * hash) + FIELD_NAME_FIELD_NUMBER;
+          hash = (53 * hash) + getFieldName().hashCode();
+          break;
+        case 0:
+        default:
+      }
+      switch (valueCase_) {
+        case 3:
+          hash = (37 * hash) + TEXT_FIELD_NUMBER;
+          hash = (53 * hash) + getText().hashCode();
+          break;
+        case 4:
+          hash = (37 * hash) + NUMBER_FIELD_NUMBER;
+          hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+              getNumber());
+          break;
+        case 0:
+        default:
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Value parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.yahoo.ycsb.db.Messages.Value prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code mydb.Value}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:mydb.Value)
+        com.yahoo.ycsb.db.Messages.ValueOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Value_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Value_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.yahoo.ycsb.db.Messages.Value.class, com.yahoo.ycsb.db.Messages.Value.Builder.class);
+      }
+
+      // Construct using com.yahoo.ycsb.db.Messages.Value.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        fieldRefCase_ = 0;
+        fieldRef_ = null;
+        valueCase_ = 0;
+        value_ = null;
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Value_descriptor;
+      }
+
+      public com.yahoo.ycsb.db.Messages.Value getDefaultInstanceForType() {
+        return com.yahoo.ycsb.db.Messages.Value.getDefaultInstance();
+      }
+
+      public com.yahoo.ycsb.db.Messages.Value build() {
+        com.yahoo.ycsb.db.Messages.Value result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.yahoo.ycsb.db.Messages.Value buildPartial() {
+        com.yahoo.ycsb.db.Messages.Value result = new com.yahoo.ycsb.db.Messages.Value(this);
+        if (fieldRefCase_ == 1) {
+          result.fieldRef_ = fieldRef_;
+        }
+        if (fieldRefCase_ == 2) {
+          result.fieldRef_ = fieldRef_;
+        }
+        if (valueCase_ == 3) {
+          result.value_ = value_;
+        }
+        if (valueCase_ == 4) {
+          result.value_ = value_;
+        }
+        result.fieldRefCase_ = fieldRefCase_;
+        result.valueCase_ = valueCase_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.yahoo.ycsb.db.Messages.Value) {
+          return mergeFrom((com.yahoo.ycsb.db.Messages.Value)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.yahoo.ycsb.db.Messages.Value other) {
+        if (other == com.yahoo.ycsb.db.Messages.Value.getDefaultInstance()) return this;
+        switch (other.getFieldRefCase()) {
+          case FIELD: {
+            setField(other.getField());
+            break;
+          }
+          case FIELD_NAME: {
+            fieldRefCase_ = 2;
+            fieldRef_ = other.fieldRef_;
+            onChanged();
+            break;
+          }
+          case FIELDREF_NOT_SET: {
+            break;
+          }
+        }
+        switch (other.getValueCase()) {
+          case TEXT: {
+            setText(other.getText());
+            break;
+          }
+          case NUMBER: {
+            setNumber(other.getNumber());
+            break;
+          }
+          case VALUE_NOT_SET: {
+            break;
+          }
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.yahoo.ycsb.db.Messages.Value parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.yahoo.ycsb.db.Messages.Value) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int fieldRefCase_ = 0;
+      private java.lang.Object fieldRef_;
+      public FieldRefCase
+          getFieldRefCase() {
+        return FieldRefCase.forNumber(
+            fieldRefCase_);
+      }
+
+      public Builder clearFieldRef() {
+        fieldRefCase_ = 0;
+        fieldRef_ = null;
+        onChanged();
+        return this;
+      }
+
+      private int valueCase_ = 0;
+      private java.lang.Object value_;
+      public ValueCase
+          getValueCase() {
+        return ValueCase.forNumber(
+            valueCase_);
+      }
+
+      public Builder clearValue() {
+        valueCase_ = 0;
+        value_ = null;
+        onChanged();
+        return this;
+      }
+
+
+      /**
+       * <code>uint32 field = 1;</code>
+       */
+      public int getField() {
+        if (fieldRefCase_ == 1) {
+          return (java.lang.Integer) fieldRef_;
+        }
+        return 0;
+      }
+      /**
+       * <code>uint32 field = 1;</code>
+       */
+      public Builder setField(int value) {
+        fieldRefCase_ = 1;
+        fieldRef_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint32 field = 1;</code>
+       */
+      public Builder clearField() {
+        if (fieldRefCase_ == 1) {
+          fieldRefCase_ = 0;
+          fieldRef_ = null;
+          onChanged();
+        }
+        return this;
+      }
+
+      /**
+       * <pre>
+       * for a field the connection has no id for
+       * </pre>
+       *
+       * <code>string field_name = 2;</code>
+       */
+      public java.lang.String getFieldName() {
+        java.lang.Object ref = "";
+        if (fieldRefCase_ == 2) {
+          ref = fieldRef_;
+        }
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (fieldRefCase_ == 2) {
+            fieldRef_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <pre>
+       * for a field the connection has no id for
+       * </pre>
+       *
+       * <code>string field_name = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getFieldNameBytes() {
+        java.lang.Object ref = "";
+        if (fieldRefCase_ == 2) {
+          ref = fieldRef_;
+        }
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          if (fieldRefCase_ == 2) {
+            fieldRef_ = b;
+          }
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <pre>
+       * for a field the connection has no id for
+       * </pre>
+       *
+       * <code>string field_name = 2;</code>
+       */
+      public Builder setFieldName(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  fieldRefCase_ = 2;
+        fieldRef_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * for a field the connection has no id for
+       * </pre>
+       *
+       * <code>string field_name = 2;</code>
+       */
+      public Builder clearFieldName() {
+        if (fieldRefCase_ == 2) {
+          fieldRefCase_ = 0;
+          fieldRef_ = null;
+          onChanged();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * for a field the connection has no id for
+       * </pre>
+       *
+       * <code>string field_name = 2;</code>
+       */
+      public Builder setFieldNameBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        fieldRefCase_ = 2;
+        fieldRef_ = value;
+        onChanged();
+        return this;
+      }
+
+      /**
+       * <code>bytes text = 3;</code>
+       */
+      public com.google.protobuf.ByteString getText() {
+        if (valueCase_ == 3) {
+          return (com.google.protobuf.ByteString) value_;
+        }
+        return com.google.protobuf.ByteString.EMPTY;
+      }
+      /**
+       * <code>bytes text = 3;</code>
+       */
+      public Builder setText(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  valueCase_ = 3;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>bytes text = 3;</code>
+       */
+      public Builder clearText() {
+        if (valueCase_ == 3) {
+          valueCase_ = 0;
+          value_ = null;
+          onChanged();
+        }
+        return this;
+      }
+
+      /**
+       * <code>sint64 number = 4;</code>
+       */
+      public long getNumber() {
+        if (valueCase_ == 4) {
+          return (java.lang.Long) value_;
+        }
+        return 0L;
+      }
+      /**
+       * <code>sint64 number = 4;</code>
+       */
+      public Builder setNumber(long value) {
+        valueCase_ = 4;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>sint64 number = 4;</code>
+       */
+      public Builder clearNumber() {
+        if (valueCase_ == 4) {
+          valueCase_ = 0;
+          value_ = null;
+          onChanged();
+        }
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:mydb.Value)
+    }
+
+    // @@protoc_insertion_point(class_scope:mydb.Value)
+    private static final com.yahoo.ycsb.db.Messages.Value DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.yahoo.ycsb.db.Messages.Value();
+    }
+
+    public static com.yahoo.ycsb.db.Messages.Value getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<Value>
+        PARSER = new com.google.protobuf.AbstractParser<Value>() {
+      public Value parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Value(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Value> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Value> getParserForType() {
+      return PARSER;
+    }
+
+    public com.yahoo.ycsb.db.Messages.Value getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface RowOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:mydb.Row)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    java.util.List<com.yahoo.ycsb.db.Messages.Value> 
+        getValuesList();
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    com.yahoo.ycsb.db.Messages.Value getValues(int index);
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    int getValuesCount();
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    java.util.List<? extends com.yahoo.ycsb.db.Messages.ValueOrBuilder> 
+        getValuesOrBuilderList();
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    com.yahoo.ycsb.db.Messages.ValueOrBuilder getValuesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code mydb.Row}
+   */
+  public  static final class Row extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:mydb.Row)
+      RowOrBuilder {
+    // Use Row.newBuilder() to construct.
+    private Row(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Row() {
+      values_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private Row(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                values_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Value>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              values_.add(
+                  input.readMessage(com.yahoo.ycsb.db.Messages.Value.parser(), extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          values_ = java.util.Collections.unmodifiableList(values_);
+        }
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_Row_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_Row_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.yahoo.ycsb.db.Messages.Row.class, com.yahoo.ycsb.db.Messages.Row.Builder.class);
+    }
+
+    public static final int VALUES_FIELD_NUMBER = 1;
+    private java.util.List<com.yahoo.ycsb.db.Messages.Value> values_;
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    public java.util.List<com.yahoo.ycsb.db.Messages.Value> getValuesList() {
+      return values_;
+    }
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    public java.util.List<? extends com.yahoo.ycsb.db.Messages.ValueOrBuilder> 
+        getValuesOrBuilderList() {
+      return values_;
+    }
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    public int getValuesCount() {
+      return values_.size();
+    }
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.Value getValues(int index) {
+      return values_.get(index);
+    }
+    /**
+     * <code>repeated .mydb.Value values = 1;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.ValueOrBuilder getValuesOrBuilder(
+        int index) {
+      return values_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < values_.size(); i++) {
+        output.writeMessage(1, values_.get(i));
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < values_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, values_.get(i));
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.yahoo.ycsb.db.Messages.Row)) {
+        return super.equals(obj);
+      }
+      com.yahoo.ycsb.db.Messages.Row other = (com.yahoo.ycsb.db.Messages.Row) obj;
+
+      boolean result = true;
+      result = result && getValuesList()
+          .equals(other.getValuesList());
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getValuesCount() > 0) {
+        hash = (37 * hash) + VALUES_FIELD_NUMBER;
+        hash = (53 * hash) + getValuesList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.Row parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.yahoo.ycsb.db.Messages.Row prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code mydb.Row}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:mydb.Row)
+        com.yahoo.ycsb.db.Messages.RowOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Row_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Row_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.yahoo.ycsb.db.Messages.Row.class, com.yahoo.ycsb.db.Messages.Row.Builder.class);
+      }
+
+      // Construct using com.yahoo.ycsb.db.Messages.Row.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getValuesFieldBuilder();
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        if (valuesBuilder_ == null) {
+          values_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          valuesBuilder_.clear();
+        }
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_Row_descriptor;
+      }
+
+      public com.yahoo.ycsb.db.Messages.Row getDefaultInstanceForType() {
+        return com.yahoo.ycsb.db.Messages.Row.getDefaultInstance();
+      }
+
+      public com.yahoo.ycsb.db.Messages.Row build() {
+        com.yahoo.ycsb.db.Messages.Row result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.yahoo.ycsb.db.Messages.Row buildPartial() {
+        com.yahoo.ycsb.db.Messages.Row result = new com.yahoo.ycsb.db.Messages.Row(this);
+        int from_bitField0_ = bitField0_;
+        if (valuesBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            values_ = java.util.Collections.unmodifiableList(values_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.values_ = values_;
+        } else {
+          result.values_ = valuesBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.yahoo.ycsb.db.Messages.Row) {
+          return mergeFrom((com.yahoo.ycsb.db.Messages.Row)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.yahoo.ycsb.db.Messages.Row other) {
+        if (other == com.yahoo.ycsb.db.Messages.Row.getDefaultInstance()) return this;
+        if (valuesBuilder_ == null) {
+          if (!other.values_.isEmpty()) {
+            if (values_.isEmpty()) {
+              values_ = other.values_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureValuesIsMutable();
+              values_.addAll(other.values_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.values_.isEmpty()) {
+            if (valuesBuilder_.isEmpty()) {
+              valuesBuilder_.dispose();
+              valuesBuilder_ = null;
+              values_ = other.values_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              valuesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getValuesFieldBuilder() : null;
+            } else {
+              valuesBuilder_.addAllMessages(other.values_);
+            }
+          }
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.yahoo.ycsb.db.Messages.Row parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.yahoo.ycsb.db.Messages.Row) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<com.yahoo.ycsb.db.Messages.Value> values_ =
+        java.util.Collections.emptyList();
+      private void ensureValuesIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          values_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Value>(values_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Value, com.yahoo.ycsb.db.Messages.Value.Builder, com.yahoo.ycsb.db.Messages.ValueOrBuilder> valuesBuilder_;
+
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Value> getValuesList() {
+        if (valuesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(values_);
+        } else {
+          return valuesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public int getValuesCount() {
+        if (valuesBuilder_ == null) {
+          return values_.size();
+        } else {
+          return valuesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Value getValues(int index) {
+        if (valuesBuilder_ == null) {
+          return values_.get(index);
+        } else {
+          return valuesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder setValues(
+          int index, com.yahoo.ycsb.db.Messages.Value value) {
+        if (valuesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureValuesIsMutable();
+          values_.set(index, value);
+          onChanged();
+        } else {
+          valuesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder setValues(
+          int index, com.yahoo.ycsb.db.Messages.Value.Builder builderForValue) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          valuesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder addValues(com.yahoo.ycsb.db.Messages.Value value) {
+        if (valuesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureValuesIsMutable();
+          values_.add(value);
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder addValues(
+          int index, com.yahoo.ycsb.db.Messages.Value value) {
+        if (valuesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureValuesIsMutable();
+          values_.add(index, value);
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder addValues(
+          com.yahoo.ycsb.db.Messages.Value.Builder builderForValue) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.add(builderForValue.build());
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder addValues(
+          int index, com.yahoo.ycsb.db.Messages.Value.Builder builderForValue) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder addAllValues(
+          java.lang.Iterable<? extends com.yahoo.ycsb.db.Messages.Value> values) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, values_);
+          onChanged();
+        } else {
+          valuesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder clearValues() {
+        if (valuesBuilder_ == null) {
+          values_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          valuesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public Builder removeValues(int index) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.remove(index);
+          onChanged();
+        } else {
+          valuesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Value.Builder getValuesBuilder(
+          int index) {
+        return getValuesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.ValueOrBuilder getValuesOrBuilder(
+          int index) {
+        if (valuesBuilder_ == null) {
+          return values_.get(index);  } else {
+          return valuesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public java.util.List<? extends com.yahoo.ycsb.db.Messages.ValueOrBuilder> 
+           getValuesOrBuilderList() {
+        if (valuesBuilder_ != null) {
+          return valuesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(values_);
+        }
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Value.Builder addValuesBuilder() {
+        return getValuesFieldBuilder().addBuilder(
+            com.yahoo.ycsb.db.Messages.Value.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Value.Builder addValuesBuilder(
+          int index) {
+        return getValuesFieldBuilder().addBuilder(
+            index, com.yahoo.ycsb.db.Messages.Value.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .mydb.Value values = 1;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Value.Builder> 
+           getValuesBuilderList() {
+        return getValuesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Value, com.yahoo.ycsb.db.Messages.Value.Builder, com.yahoo.ycsb.db.Messages.ValueOrBuilder> 
+          getValuesFieldBuilder() {
+        if (valuesBuilder_ == null) {
+          valuesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.yahoo.ycsb.db.Messages.Value, com.yahoo.ycsb.db.Messages.Value.Builder, com.yahoo.ycsb.db.Messages.ValueOrBuilder>(
+                  values_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          values_ = null;
+        }
+        return valuesBuilder_;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:mydb.Row)
+    }
+
+    // @@protoc_insertion_point(class_scope:mydb.Row)
+    private static final com.yahoo.ycsb.db.Messages.Row DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.yahoo.ycsb.db.Messages.Row();
+    }
+
+    public static com.yahoo.ycsb.db.Messages.Row getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<Row>
+        PARSER = new com.google.protobuf.AbstractParser<Row>() {
+      public Row parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new Row(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<Row> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Row> getParserForType() {
+      return PARSER;
+    }
+
+    public com.yahoo.ycsb.db.Messages.Row getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface RequestV2OrBuilder extends
+      // @@protoc_insertion_point(interface_extends:mydb.RequestV2)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+     */
+    int getTypeValue();
+    /**
+     * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+     */
+    com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE getType();
+
+    /**
+     * <code>uint64 request_id = 2;</code>
+     */
+    long getRequestId();
+
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    java.util.List<com.yahoo.ycsb.db.Messages.Name> 
+        getNamesList();
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    com.yahoo.ycsb.db.Messages.Name getNames(int index);
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    int getNamesCount();
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    java.util.List<? extends com.yahoo.ycsb.db.Messages.NameOrBuilder> 
+        getNamesOrBuilderList();
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    com.yahoo.ycsb.db.Messages.NameOrBuilder getNamesOrBuilder(
+        int index);
+
+    /**
+     * <code>uint32 table = 4;</code>
+     */
+    int getTable();
+
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    java.util.List<java.lang.String>
+        getKeysList();
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    int getKeysCount();
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    java.lang.String getKeys(int index);
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    com.google.protobuf.ByteString
+        getKeysBytes(int index);
+
+    /**
+     * <pre>
+     * the fields to read, all of them if empty
+     * </pre>
+     *
+     * <code>repeated uint32 fields = 6;</code>
+     */
+    java.util.List<java.lang.Integer> getFieldsList();
+    /**
+     * <pre>
+     * the fields to read, all of them if empty
+     * </pre>
+     *
+     * <code>repeated uint32 fields = 6;</code>
+     */
+    int getFieldsCount();
+    /**
+     * <pre>
+     * the fields to read, all of them if empty
+     * </pre>
+     *
+     * <code>repeated uint32 fields = 6;</code>
+     */
+    int getFields(int index);
+
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    java.util.List<com.yahoo.ycsb.db.Messages.Row> 
+        getRowsList();
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    com.yahoo.ycsb.db.Messages.Row getRows(int index);
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    int getRowsCount();
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    java.util.List<? extends com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+        getRowsOrBuilderList();
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    com.yahoo.ycsb.db.Messages.RowOrBuilder getRowsOrBuilder(
+        int index);
+
+    /**
+     * <code>sint64 amount = 8;</code>
+     */
+    long getAmount();
+  }
+  /**
+   * Protobuf type {@code mydb.RequestV2}
+   */
+  public  static final class RequestV2 extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:mydb.RequestV2)
+      RequestV2OrBuilder {
+    // Use RequestV2.newBuilder() to construct.
+    private RequestV2(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private RequestV2() {
+      type_ = 0;
+      requestId_ = 0L;
+      names_ = java.util.Collections.emptyList();
+      table_ = 0;
+      keys_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      fields_ = java.util.Collections.emptyList();
+      rows_ = java.util.Collections.emptyList();
+      amount_ = 0L;
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private RequestV2(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              int rawValue = input.readEnum();
+
+              type_ = rawValue;
+              break;
+            }
+            case 16: {
+
+              requestId_ = input.readUInt64();
+              break;
+            }
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                names_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Name>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              names_.add(
+                  input.readMessage(com.yahoo.ycsb.db.Messages.Name.parser(), extensionRegistry));
+              break;
+            }
+            case 32: {
+
+              table_ = input.readUInt32();
+              break;
+            }
+            case 42: {
+              java.lang.String s = input.readStringRequireUtf8();
+              if (!((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+                keys_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000010;
+              }
+              keys_.add(s);
+              break;
+            }
+            case 48: {
+              if (!((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
+                fields_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000020;
+              }
+              fields_.add(input.readUInt32());
+              break;
+            }
+            case 50: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000020) == 0x00000020) && input.getBytesUntilLimit() > 0) {
+                fields_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000020;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                fields_.add(input.readUInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 58: {
+              if (!((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+                rows_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Row>();
+                mutable_bitField0_ |= 0x00000040;
+              }
+              rows_.add(
+                  input.readMessage(com.yahoo.ycsb.db.Messages.Row.parser(), extensionRegistry));
+              break;
+            }
+            case 64: {
+
+              amount_ = input.readSInt64();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          names_ = java.util.Collections.unmodifiableList(names_);
+        }
+        if (((mutable_bitField0_ & 0x00000010) == 0x00000010)) {
+          keys_ = keys_.getUnmodifiableView();
+        }
+        if (((mutable_bitField0_ & 0x00000020) == 0x00000020)) {
+          fields_ = java.util.Collections.unmodifiableList(fields_);
+        }
+        if (((mutable_bitField0_ & 0x00000040) == 0x00000040)) {
+          rows_ = java.util.Collections.unmodifiableList(rows_);
+        }
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_RequestV2_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_RequestV2_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.yahoo.ycsb.db.Messages.RequestV2.class, com.yahoo.ycsb.db.Messages.RequestV2.Builder.class);
+    }
+
+    /**
+     * Protobuf enum {@code mydb.RequestV2.REQUEST_TYPE}
+     */
+    public enum REQUEST_TYPE
+        implements com.google.protobuf.ProtocolMessageEnum {
+      /**
+       * <code>READ = 0;</code>
+       */
+      READ(0),
+      /**
+       * <code>INSERT = 1;</code>
+       */
+      INSERT(1),
+      /**
+       * <code>UPDATE = 2;</code>
+       */
+      UPDATE(2),
+      /**
+       * <code>DELETE = 3;</code>
+       */
+      DELETE(3),
+      /**
+       * <code>MULTI_READ = 4;</code>
+       */
+      MULTI_READ(4),
+      /**
+       * <code>MULTI_UPDATE = 5;</code>
+       */
+      MULTI_UPDATE(5),
+      /**
+       * <pre>
+       * adds amount to fields[0] of keys[0] and subtracts it from fields[0] of keys[1], atomically
+       * </pre>
+       *
+       * <code>TRANSFER = 6;</code>
+       */
+      TRANSFER(6),
+      /**
+       * <code>START_TRANSACTION = 7;</code>
+       */
+      START_TRANSACTION(7),
+      /**
+       * <code>COMMIT = 8;</code>
+       */
+      COMMIT(8),
+      /**
+       * <code>ABORT = 9;</code>
+       */
+      ABORT(9),
+      UNRECOGNIZED(-1),
+      ;
+
+      /**
+       * <code>READ = 0;</code>
+       */
+      public static final int READ_VALUE = 0;
+      /**
+       * <code>INSERT = 1;</code>
+       */
+      public static final int INSERT_VALUE = 1;
+      /**
+       * <code>UPDATE = 2;</code>
+       */
+      public static final int UPDATE_VALUE = 2;
+      /**
+       * <code>DELETE = 3;</code>
+       */
+      public static final int DELETE_VALUE = 3;
+      /**
+       * <code>MULTI_READ = 4;</code>
+       */
+      public static final int MULTI_READ_VALUE = 4;
+      /**
+       * <code>MULTI_UPDATE = 5;</code>
+       */
+      public static final int MULTI_UPDATE_VALUE = 5;
+      /**
+       * <pre>
+       * adds amount to fields[0] of keys[0] and subtracts it from fields[0] of keys[1], atomically
+       * </pre>
+       *
+       * <code>TRANSFER = 6;</code>
+       */
+      public static final int TRANSFER_VALUE = 6;
+      /**
+       * <code>START_TRANSACTION = 7;</code>
+       */
+      public static final int START_TRANSACTION_VALUE = 7;
+      /**
+       * <code>COMMIT = 8;</code>
+       */
+      public static final int COMMIT_VALUE = 8;
+      /**
+       * <code>ABORT = 9;</code>
+       */
+      public static final int ABORT_VALUE = 9;
+
+
+      public final int getNumber() {
+        if (this == UNRECOGNIZED) {
+          throw new java.lang.IllegalArgumentException(
+              "Can't get the number of an unknown enum value.");
+        }
+        return value;
+      }
+
+      /**
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static REQUEST_TYPE valueOf(int value) {
+        return forNumber(value);
+      }
+
+      public static REQUEST_TYPE forNumber(int value) {
+        switch (value) {
+          case 0: return READ;
+          case 1: return INSERT;
+          case 2: return UPDATE;
+          case 3: return DELETE;
+          case 4: return MULTI_READ;
+          case 5: return MULTI_UPDATE;
+          case 6: return TRANSFER;
+          case 7: return START_TRANSACTION;
+          case 8: return COMMIT;
+          case 9: return ABORT;
+          default: return null;
+        }
+      }
+
+      public static com.google.protobuf.Internal.EnumLiteMap<REQUEST_TYPE>
+          internalGetValueMap() {
+        return internalValueMap;
+      }
+      private static final com.google.protobuf.Internal.EnumLiteMap<
+          REQUEST_TYPE> internalValueMap =
+            new com.google.protobuf.Internal.EnumLiteMap<REQUEST_TYPE>() {
+              public REQUEST_TYPE findValueByNumber(int number) {
+                return REQUEST_TYPE.forNumber(number);
+              }
+            };
+
+      public final com.google.protobuf.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        return getDescriptor().getValues().get(ordinal());
+      }
+      public final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
+      }
+      public static final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return com.yahoo.ycsb.db.Messages.RequestV2.getDescriptor().getEnumTypes().get(0);
+      }
+
+      private static final REQUEST_TYPE[] VALUES = values();
+
+      public static REQUEST_TYPE valueOf(
+          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        if (desc.getIndex() == -1) {
+          return UNRECOGNIZED;
+        }
+        return VALUES[desc.getIndex()];
+      }
+
+      private final int value;
+
+      private REQUEST_TYPE(int value) {
+        this.value = value;
+      }
+
+      // @@protoc_insertion_point(enum_scope:mydb.RequestV2.REQUEST_TYPE)
+    }
+
+    private int bitField0_;
+    public static final int TYPE_FIELD_NUMBER = 1;
+    private int type_;
+    /**
+     * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+     */
+    public int getTypeValue() {
+      return type_;
+    }
+    /**
+     * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE getType() {
+      com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE result = com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE.valueOf(type_);
+      return result == null ? com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE.UNRECOGNIZED : result;
+    }
+
+    public static final int REQUEST_ID_FIELD_NUMBER = 2;
+    private long requestId_;
+    /**
+     * <code>uint64 request_id = 2;</code>
+     */
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    public static final int NAMES_FIELD_NUMBER = 3;
+    private java.util.List<com.yahoo.ycsb.db.Messages.Name> names_;
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    public java.util.List<com.yahoo.ycsb.db.Messages.Name> getNamesList() {
+      return names_;
+    }
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    public java.util.List<? extends com.yahoo.ycsb.db.Messages.NameOrBuilder> 
+        getNamesOrBuilderList() {
+      return names_;
+    }
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    public int getNamesCount() {
+      return names_.size();
+    }
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.Name getNames(int index) {
+      return names_.get(index);
+    }
+    /**
+     * <pre>
+     * names defined before the request is processed
+     * </pre>
+     *
+     * <code>repeated .mydb.Name names = 3;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.NameOrBuilder getNamesOrBuilder(
+        int index) {
+      return names_.get(index);
+    }
+
+    public static final int TABLE_FIELD_NUMBER = 4;
+    private int table_;
+    /**
+     * <code>uint32 table = 4;</code>
+     */
+    public int getTable() {
+      return table_;
+    }
+
+    public static final int KEYS_FIELD_NUMBER = 5;
+    private com.google.protobuf.LazyStringList keys_;
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    public com.google.protobuf.ProtocolStringList
+        getKeysList() {
+      return keys_;
+    }
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    public int getKeysCount() {
+      return keys_.size();
+    }
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    public java.lang.String getKeys(int index) {
+      return keys_.get(index);
+    }
+    /**
+     * <code>repeated string keys = 5;</code>
+     */
+    public com.google.protobuf.ByteString
+        getKeysBytes(int index) {
+      return keys_.getByteString(index);
+    }
+
+    public static final int FIELDS_FIELD_NUMBER = 6;
+    private java.util.List<java.lang.Integer> fields_;
+    /**
+     * <pre>
+     * the fields to read, all of them if empty
+     * </pre>
+     *
+     * <code>repeated uint32 fields = 6;</code>
+     */
+    public java.util.List<java.lang.Integer>
+        getFieldsList() {
+      return fields_;
+    }
+    /**
+     * <pre>
+     * the fields to read, all of them if empty
+     * </pre>
+     *
+     * <code>repeated uint32 fields = 6;</code>
+     */
+    public int getFieldsCount() {
+      return fields_.size();
+    }
+    /**
+     * <pre>
+     * the fields to read, all of them if empty
+     * </pre>
+     *
+     * <code>repeated uint32 fields = 6;</code>
+     */
+    public int getFields(int index) {
+      return fields_.get(index);
+    }
+    private int fieldsMemoizedSerializedSize = -1;
+
+    public static final int ROWS_FIELD_NUMBER = 7;
+    private java.util.List<com.yahoo.ycsb.db.Messages.Row> rows_;
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    public java.util.List<com.yahoo.ycsb.db.Messages.Row> getRowsList() {
+      return rows_;
+    }
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    public java.util.List<? extends com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+        getRowsOrBuilderList() {
+      return rows_;
+    }
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    public int getRowsCount() {
+      return rows_.size();
+    }
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.Row getRows(int index) {
+      return rows_.get(index);
+    }
+    /**
+     * <pre>
+     * the values to write, one row per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 7;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.RowOrBuilder getRowsOrBuilder(
+        int index) {
+      return rows_.get(index);
+    }
+
+    public static final int AMOUNT_FIELD_NUMBER = 8;
+    private long amount_;
+    /**
+     * <code>sint64 amount = 8;</code>
+     */
+    public long getAmount() {
+      return amount_;
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (type_ != com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE.READ.getNumber()) {
+        output.writeEnum(1, type_);
+      }
+      if (requestId_ != 0L) {
+        output.writeUInt64(2, requestId_);
+      }
+      for (int i = 0; i < names_.size(); i++) {
+        output.writeMessage(3, names_.get(i));
+      }
+      if (table_ != 0) {
+        output.writeUInt32(4, table_);
+      }
+      for (int i = 0; i < keys_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 5, keys_.getRaw(i));
+      }
+      if (getFieldsList().size() > 0) {
+        output.writeUInt32NoTag(50);
+        output.writeUInt32NoTag(fieldsMemoizedSerializedSize);
+      }
+      for (int i = 0; i < fields_.size(); i++) {
+        output.writeUInt32NoTag(fields_.get(i));
+      }
+      for (int i = 0; i < rows_.size(); i++) {
+        output.writeMessage(7, rows_.get(i));
+      }
+      if (amount_ != 0L) {
+        output.writeSInt64(8, amount_);
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (type_ != com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE.READ.getNumber()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(1, type_);
+      }
+      if (requestId_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(2, requestId_);
+      }
+      for (int i = 0; i < names_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, names_.get(i));
+      }
+      if (table_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(4, table_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < keys_.size(); i++) {
+          dataSize += computeStringSizeNoTag(keys_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getKeysList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < fields_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeUInt32SizeNoTag(fields_.get(i));
+        }
+        size += dataSize;
+        if (!getFieldsList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        fieldsMemoizedSerializedSize = dataSize;
+      }
+      for (int i = 0; i < rows_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(7, rows_.get(i));
+      }
+      if (amount_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeSInt64Size(8, amount_);
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.yahoo.ycsb.db.Messages.RequestV2)) {
+        return super.equals(obj);
+      }
+      com.yahoo.ycsb.db.Messages.RequestV2 other = (com.yahoo.ycsb.db.Messages.RequestV2) obj;
+
+      boolean result = true;
+      result = result && type_ == other.type_;
+      result = result && (getRequestId()
+          == other.getRequestId());
+      result = result && getNamesList()
+          .equals(other.getNamesList());
+      result = result && (getTable()
+          == other.getTable());
+      result = result && getKeysList()
+          .equals(other.getKeysList());
+      result = result && getFieldsList()
+          .equals(other.getFieldsList());
+      result = result && getRowsList()
+          .equals(other.getRowsList());
+      result = result && (getAmount()
+          == other.getAmount());
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + TYPE_FIELD_NUMBER;
+      hash = (53 * hash) + type_;
+      hash = (37 * hash) + REQUEST_ID_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getRequestId());
+      if (getNamesCount() > 0) {
+        hash = (37 * hash) + NAMES_FIELD_NUMBER;
+        hash = (53 * hash) + getNamesList().hashCode();
+      }
+      hash = (37 * hash) + TABLE_FIELD_NUMBER;
+      hash = (53 * hash) + getTable();
+      if (getKeysCount() > 0) {
+        hash = (37 * hash) + KEYS_FIELD_NUMBER;
+        hash = (53 * hash) + getKeysList().hashCode();
+      }
+      if (getFieldsCount() > 0) {
+        hash = (37 * hash) + FIELDS_FIELD_NUMBER;
+        hash = (53 * hash) + getFieldsList().hashCode();
+      }
+      if (getRowsCount() > 0) {
+        hash = (37 * hash) + ROWS_FIELD_NUMBER;
+        hash = (53 * hash) + getRowsList().hashCode();
+      }
+      hash = (37 * hash) + AMOUNT_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getAmount());
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.RequestV2 parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.yahoo.ycsb.db.Messages.RequestV2 prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code mydb.RequestV2}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:mydb.RequestV2)
+        com.yahoo.ycsb.db.Messages.RequestV2OrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_RequestV2_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_RequestV2_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.yahoo.ycsb.db.Messages.RequestV2.class, com.yahoo.ycsb.db.Messages.RequestV2.Builder.class);
+      }
+
+      // Construct using com.yahoo.ycsb.db.Messages.RequestV2.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getNamesFieldBuilder();
+          getRowsFieldBuilder();
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        type_ = 0;
+
+        requestId_ = 0L;
+
+        if (namesBuilder_ == null) {
+          names_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        } else {
+          namesBuilder_.clear();
+        }
+        table_ = 0;
+
+        keys_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        fields_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000020);
+        if (rowsBuilder_ == null) {
+          rows_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000040);
+        } else {
+          rowsBuilder_.clear();
+        }
+        amount_ = 0L;
+
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_RequestV2_descriptor;
+      }
+
+      public com.yahoo.ycsb.db.Messages.RequestV2 getDefaultInstanceForType() {
+        return com.yahoo.ycsb.db.Messages.RequestV2.getDefaultInstance();
+      }
+
+      public com.yahoo.ycsb.db.Messages.RequestV2 build() {
+        com.yahoo.ycsb.db.Messages.RequestV2 result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.yahoo.ycsb.db.Messages.RequestV2 buildPartial() {
+        com.yahoo.ycsb.db.Messages.RequestV2 result = new com.yahoo.ycsb.db.Messages.RequestV2(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        result.type_ = type_;
+        result.requestId_ = requestId_;
+        if (namesBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            names_ = java.util.Collections.unmodifiableList(names_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.names_ = names_;
+        } else {
+          result.names_ = namesBuilder_.build();
+        }
+        result.table_ = table_;
+        if (((bitField0_ & 0x00000010) == 0x00000010)) {
+          keys_ = keys_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        }
+        result.keys_ = keys_;
+        if (((bitField0_ & 0x00000020) == 0x00000020)) {
+          fields_ = java.util.Collections.unmodifiableList(fields_);
+          bitField0_ = (bitField0_ & ~0x00000020);
+        }
+        result.fields_ = fields_;
+        if (rowsBuilder_ == null) {
+          if (((bitField0_ & 0x00000040) == 0x00000040)) {
+            rows_ = java.util.Collections.unmodifiableList(rows_);
+            bitField0_ = (bitField0_ & ~0x00000040);
+          }
+          result.rows_ = rows_;
+        } else {
+          result.rows_ = rowsBuilder_.build();
+        }
+        result.amount_ = amount_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.yahoo.ycsb.db.Messages.RequestV2) {
+          return mergeFrom((com.yahoo.ycsb.db.Messages.RequestV2)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.yahoo.ycsb.db.Messages.RequestV2 other) {
+        if (other == com.yahoo.ycsb.db.Messages.RequestV2.getDefaultInstance()) return this;
+        if (other.type_ != 0) {
+          setTypeValue(other.getTypeValue());
+        }
+        if (other.getRequestId() != 0L) {
+          setRequestId(other.getRequestId());
+        }
+        if (namesBuilder_ == null) {
+          if (!other.names_.isEmpty()) {
+            if (names_.isEmpty()) {
+              names_ = other.names_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureNamesIsMutable();
+              names_.addAll(other.names_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.names_.isEmpty()) {
+            if (namesBuilder_.isEmpty()) {
+              namesBuilder_.dispose();
+              namesBuilder_ = null;
+              names_ = other.names_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              namesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getNamesFieldBuilder() : null;
+            } else {
+              namesBuilder_.addAllMessages(other.names_);
+            }
+          }
+        }
+        if (other.getTable() != 0) {
+          setTable(other.getTable());
+        }
+        if (!other.keys_.isEmpty()) {
+          if (keys_.isEmpty()) {
+            keys_ = other.keys_;
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            ensureKeysIsMutable();
+            keys_.addAll(other.keys_);
+          }
+          onChanged();
+        }
+        if (!other.fields_.isEmpty()) {
+          if (fields_.isEmpty()) {
+            fields_ = other.fields_;
+            bitField0_ = (bitField0_ & ~0x00000020);
+          } else {
+            ensureFieldsIsMutable();
+            fields_.addAll(other.fields_);
+          }
+          onChanged();
+        }
+        if (rowsBuilder_ == null) {
+          if (!other.rows_.isEmpty()) {
+            if (rows_.isEmpty()) {
+              rows_ = other.rows_;
+              bitField0_ = (bitField0_ & ~0x00000040);
+            } else {
+              ensureRowsIsMutable();
+              rows_.addAll(other.rows_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.rows_.isEmpty()) {
+            if (rowsBuilder_.isEmpty()) {
+              rowsBuilder_.dispose();
+              rowsBuilder_ = null;
+              rows_ = other.rows_;
+              bitField0_ = (bitField0_ & ~0x00000040);
+              rowsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getRowsFieldBuilder() : null;
+            } else {
+              rowsBuilder_.addAllMessages(other.rows_);
+            }
+          }
+        }
+        if (other.getAmount() != 0L) {
+          setAmount(other.getAmount());
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.yahoo.ycsb.db.Messages.RequestV2 parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.yahoo.ycsb.db.Messages.RequestV2) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private int type_ = 0;
+      /**
+       * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+       */
+      public int getTypeValue() {
+        return type_;
+      }
+      /**
+       * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+       */
+      public Builder setTypeValue(int value) {
+        type_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE getType() {
+        com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE result = com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE.valueOf(type_);
+        return result == null ? com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE.UNRECOGNIZED : result;
+      }
+      /**
+       * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+       */
+      public Builder setType(com.yahoo.ycsb.db.Messages.RequestV2.REQUEST_TYPE value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        
+        type_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.mydb.RequestV2.REQUEST_TYPE type = 1;</code>
+       */
+      public Builder clearType() {
+        
+        type_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private long requestId_ ;
+      /**
+       * <code>uint64 request_id = 2;</code>
+       */
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>uint64 request_id = 2;</code>
+       */
+      public Builder setRequestId(long value) {
+        
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint64 request_id = 2;</code>
+       */
+      public Builder clearRequestId() {
+        
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<com.yahoo.ycsb.db.Messages.Name> names_ =
+        java.util.Collections.emptyList();
+      private void ensureNamesIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          names_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Name>(names_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Name, com.yahoo.ycsb.db.Messages.Name.Builder, com.yahoo.ycsb.db.Messages.NameOrBuilder> namesBuilder_;
+
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Name> getNamesList() {
+        if (namesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(names_);
+        } else {
+          return namesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public int getNamesCount() {
+        if (namesBuilder_ == null) {
+          return names_.size();
+        } else {
+          return namesBuilder_.getCount();
+        }
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Name getNames(int index) {
+        if (namesBuilder_ == null) {
+          return names_.get(index);
+        } else {
+          return namesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder setNames(
+          int index, com.yahoo.ycsb.db.Messages.Name value) {
+        if (namesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureNamesIsMutable();
+          names_.set(index, value);
+          onChanged();
+        } else {
+          namesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder setNames(
+          int index, com.yahoo.ycsb.db.Messages.Name.Builder builderForValue) {
+        if (namesBuilder_ == null) {
+          ensureNamesIsMutable();
+          names_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          namesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder addNames(com.yahoo.ycsb.db.Messages.Name value) {
+        if (namesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureNamesIsMutable();
+          names_.add(value);
+          onChanged();
+        } else {
+          namesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder addNames(
+          int index, com.yahoo.ycsb.db.Messages.Name value) {
+        if (namesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureNamesIsMutable();
+          names_.add(index, value);
+          onChanged();
+        } else {
+          namesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder addNames(
+          com.yahoo.ycsb.db.Messages.Name.Builder builderForValue) {
+        if (namesBuilder_ == null) {
+          ensureNamesIsMutable();
+          names_.add(builderForValue.build());
+          onChanged();
+        } else {
+          namesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder addNames(
+          int index, com.yahoo.ycsb.db.Messages.Name.Builder builderForValue) {
+        if (namesBuilder_ == null) {
+          ensureNamesIsMutable();
+          names_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          namesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder addAllNames(
+          java.lang.Iterable<? extends com.yahoo.ycsb.db.Messages.Name> values) {
+        if (namesBuilder_ == null) {
+          ensureNamesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, names_);
+          onChanged();
+        } else {
+          namesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder clearNames() {
+        if (namesBuilder_ == null) {
+          names_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          namesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public Builder removeNames(int index) {
+        if (namesBuilder_ == null) {
+          ensureNamesIsMutable();
+          names_.remove(index);
+          onChanged();
+        } else {
+          namesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Name.Builder getNamesBuilder(
+          int index) {
+        return getNamesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.NameOrBuilder getNamesOrBuilder(
+          int index) {
+        if (namesBuilder_ == null) {
+          return names_.get(index);  } else {
+          return namesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public java.util.List<? extends com.yahoo.ycsb.db.Messages.NameOrBuilder> 
+           getNamesOrBuilderList() {
+        if (namesBuilder_ != null) {
+          return namesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(names_);
+        }
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Name.Builder addNamesBuilder() {
+        return getNamesFieldBuilder().addBuilder(
+            com.yahoo.ycsb.db.Messages.Name.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Name.Builder addNamesBuilder(
+          int index) {
+        return getNamesFieldBuilder().addBuilder(
+            index, com.yahoo.ycsb.db.Messages.Name.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * names defined before the request is processed
+       * </pre>
+       *
+       * <code>repeated .mydb.Name names = 3;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Name.Builder> 
+           getNamesBuilderList() {
+        return getNamesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Name, com.yahoo.ycsb.db.Messages.Name.Builder, com.yahoo.ycsb.db.Messages.NameOrBuilder> 
+          getNamesFieldBuilder() {
+        if (namesBuilder_ == null) {
+          namesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.yahoo.ycsb.db.Messages.Name, com.yahoo.ycsb.db.Messages.Name.Builder, com.yahoo.ycsb.db.Messages.NameOrBuilder>(
+                  names_,
+                  ((bitField0_ & 0x00000004) == 0x00000004),
+                  getParentForChildren(),
+                  isClean());
+          names_ = null;
+        }
+        return namesBuilder_;
+      }
+
+      private int table_ ;
+      /**
+       * <code>uint32 table = 4;</code>
+       */
+      public int getTable() {
+        return table_;
+      }
+      /**
+       * <code>uint32 table = 4;</code>
+       */
+      public Builder setTable(int value) {
+        
+        table_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint32 table = 4;</code>
+       */
+      public Builder clearTable() {
+        
+        table_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private com.google.protobuf.LazyStringList keys_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureKeysIsMutable() {
+        if (!((bitField0_ & 0x00000010) == 0x00000010)) {
+          keys_ = new com.google.protobuf.LazyStringArrayList(keys_);
+          bitField0_ |= 0x00000010;
+         }
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public com.google.protobuf.ProtocolStringList
+          getKeysList() {
+        return keys_.getUnmodifiableView();
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public int getKeysCount() {
+        return keys_.size();
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public java.lang.String getKeys(int index) {
+        return keys_.get(index);
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public com.google.protobuf.ByteString
+          getKeysBytes(int index) {
+        return keys_.getByteString(index);
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public Builder setKeys(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeysIsMutable();
+        keys_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public Builder addKeys(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeysIsMutable();
+        keys_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public Builder addAllKeys(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureKeysIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, keys_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public Builder clearKeys() {
+        keys_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated string keys = 5;</code>
+       */
+      public Builder addKeysBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureKeysIsMutable();
+        keys_.add(value);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<java.lang.Integer> fields_ = java.util.Collections.emptyList();
+      private void ensureFieldsIsMutable() {
+        if (!((bitField0_ & 0x00000020) == 0x00000020)) {
+          fields_ = new java.util.ArrayList<java.lang.Integer>(fields_);
+          bitField0_ |= 0x00000020;
+         }
+      }
+      /**
+       * <pre>
+       * the fields to read, all of them if empty
+       * </pre>
+       *
+       * <code>repeated uint32 fields = 6;</code>
+       */
+      public java.util.List<java.lang.Integer>
+          getFieldsList() {
+        return java.util.Collections.unmodifiableList(fields_);
+      }
+      /**
+       * <pre>
+       * the fields to read, all of them if empty
+       * </pre>
+       *
+       * <code>repeated uint32 fields = 6;</code>
+       */
+      public int getFieldsCount() {
+        return fields_.size();
+      }
+      /**
+       * <pre>
+       * the fields to read, all of them if empty
+       * </pre>
+       *
+       * <code>repeated uint32 fields = 6;</code>
+       */
+      public int getFields(int index) {
+        return fields_.get(index);
+      }
+      /**
+       * <pre>
+       * the fields to read, all of them if empty
+       * </pre>
+       *
+       * <code>repeated uint32 fields = 6;</code>
+       */
+      public Builder setFields(
+          int index, int value) {
+        ensureFieldsIsMutable();
+        fields_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * the fields to read, all of them if empty
+       * </pre>
+       *
+       * <code>repeated uint32 fields = 6;</code>
+       */
+      public Builder addFields(int value) {
+        ensureFieldsIsMutable();
+        fields_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * the fields to read, all of them if empty
+       * </pre>
+       *
+       * <code>repeated uint32 fields = 6;</code>
+       */
+      public Builder addAllFields(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureFieldsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, fields_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * the fields to read, all of them if empty
+       * </pre>
+       *
+       * <code>repeated uint32 fields = 6;</code>
+       */
+      public Builder clearFields() {
+        fields_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000020);
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<com.yahoo.ycsb.db.Messages.Row> rows_ =
+        java.util.Collections.emptyList();
+      private void ensureRowsIsMutable() {
+        if (!((bitField0_ & 0x00000040) == 0x00000040)) {
+          rows_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Row>(rows_);
+          bitField0_ |= 0x00000040;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Row, com.yahoo.ycsb.db.Messages.Row.Builder, com.yahoo.ycsb.db.Messages.RowOrBuilder> rowsBuilder_;
+
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Row> getRowsList() {
+        if (rowsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(rows_);
+        } else {
+          return rowsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public int getRowsCount() {
+        if (rowsBuilder_ == null) {
+          return rows_.size();
+        } else {
+          return rowsBuilder_.getCount();
+        }
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row getRows(int index) {
+        if (rowsBuilder_ == null) {
+          return rows_.get(index);
+        } else {
+          return rowsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder setRows(
+          int index, com.yahoo.ycsb.db.Messages.Row value) {
+        if (rowsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRowsIsMutable();
+          rows_.set(index, value);
+          onChanged();
+        } else {
+          rowsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder setRows(
+          int index, com.yahoo.ycsb.db.Messages.Row.Builder builderForValue) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          rowsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder addRows(com.yahoo.ycsb.db.Messages.Row value) {
+        if (rowsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRowsIsMutable();
+          rows_.add(value);
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder addRows(
+          int index, com.yahoo.ycsb.db.Messages.Row value) {
+        if (rowsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRowsIsMutable();
+          rows_.add(index, value);
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder addRows(
+          com.yahoo.ycsb.db.Messages.Row.Builder builderForValue) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.add(builderForValue.build());
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder addRows(
+          int index, com.yahoo.ycsb.db.Messages.Row.Builder builderForValue) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder addAllRows(
+          java.lang.Iterable<? extends com.yahoo.ycsb.db.Messages.Row> values) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, rows_);
+          onChanged();
+        } else {
+          rowsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder clearRows() {
+        if (rowsBuilder_ == null) {
+          rows_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000040);
+          onChanged();
+        } else {
+          rowsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public Builder removeRows(int index) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.remove(index);
+          onChanged();
+        } else {
+          rowsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row.Builder getRowsBuilder(
+          int index) {
+        return getRowsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.RowOrBuilder getRowsOrBuilder(
+          int index) {
+        if (rowsBuilder_ == null) {
+          return rows_.get(index);  } else {
+          return rowsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public java.util.List<? extends com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+           getRowsOrBuilderList() {
+        if (rowsBuilder_ != null) {
+          return rowsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(rows_);
+        }
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row.Builder addRowsBuilder() {
+        return getRowsFieldBuilder().addBuilder(
+            com.yahoo.ycsb.db.Messages.Row.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row.Builder addRowsBuilder(
+          int index) {
+        return getRowsFieldBuilder().addBuilder(
+            index, com.yahoo.ycsb.db.Messages.Row.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * the values to write, one row per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 7;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Row.Builder> 
+           getRowsBuilderList() {
+        return getRowsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Row, com.yahoo.ycsb.db.Messages.Row.Builder, com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+          getRowsFieldBuilder() {
+        if (rowsBuilder_ == null) {
+          rowsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.yahoo.ycsb.db.Messages.Row, com.yahoo.ycsb.db.Messages.Row.Builder, com.yahoo.ycsb.db.Messages.RowOrBuilder>(
+                  rows_,
+                  ((bitField0_ & 0x00000040) == 0x00000040),
+                  getParentForChildren(),
+                  isClean());
+          rows_ = null;
+        }
+        return rowsBuilder_;
+      }
+
+      private long amount_ ;
+      /**
+       * <code>sint64 amount = 8;</code>
+       */
+      public long getAmount() {
+        return amount_;
+      }
+      /**
+       * <code>sint64 amount = 8;</code>
+       */
+      public Builder setAmount(long value) {
+        
+        amount_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>sint64 amount = 8;</code>
+       */
+      public Builder clearAmount() {
+        
+        amount_ = 0L;
+        onChanged();
+        return this;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:mydb.RequestV2)
+    }
+
+    // @@protoc_insertion_point(class_scope:mydb.RequestV2)
+    private static final com.yahoo.ycsb.db.Messages.RequestV2 DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.yahoo.ycsb.db.Messages.RequestV2();
+    }
+
+    public static com.yahoo.ycsb.db.Messages.RequestV2 getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<RequestV2>
+        PARSER = new com.google.protobuf.AbstractParser<RequestV2>() {
+      public RequestV2 parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new RequestV2(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<RequestV2> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<RequestV2> getParserForType() {
+      return PARSER;
+    }
+
+    public com.yahoo.ycsb.db.Messages.RequestV2 getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ResponseV2OrBuilder extends
+      // @@protoc_insertion_point(interface_extends:mydb.ResponseV2)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>uint64 request_id = 1;</code>
+     */
+    long getRequestId();
+
+    /**
+     * <pre>
+     * false if the operation failed or a key was not found
+     * </pre>
+     *
+     * <code>bool ok = 2;</code>
+     */
+    boolean getOk();
+
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    java.util.List<com.yahoo.ycsb.db.Messages.Row> 
+        getRowsList();
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    com.yahoo.ycsb.db.Messages.Row getRows(int index);
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    int getRowsCount();
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    java.util.List<? extends com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+        getRowsOrBuilderList();
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    com.yahoo.ycsb.db.Messages.RowOrBuilder getRowsOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code mydb.ResponseV2}
+   */
+  public  static final class ResponseV2 extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:mydb.ResponseV2)
+      ResponseV2OrBuilder {
+    // Use ResponseV2.newBuilder() to construct.
+    private ResponseV2(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private ResponseV2() {
+      requestId_ = 0L;
+      ok_ = false;
+      rows_ = java.util.Collections.emptyList();
+    }
+
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return com.google.protobuf.UnknownFieldSet.getDefaultInstance();
+    }
+    private ResponseV2(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      this();
+      int mutable_bitField0_ = 0;
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!input.skipField(tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+
+              requestId_ = input.readUInt64();
+              break;
+            }
+            case 16: {
+
+              ok_ = input.readBool();
+              break;
+            }
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                rows_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Row>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              rows_.add(
+                  input.readMessage(com.yahoo.ycsb.db.Messages.Row.parser(), extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          rows_ = java.util.Collections.unmodifiableList(rows_);
+        }
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_ResponseV2_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.yahoo.ycsb.db.Messages.internal_static_mydb_ResponseV2_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.yahoo.ycsb.db.Messages.ResponseV2.class, com.yahoo.ycsb.db.Messages.ResponseV2.Builder.class);
+    }
+
+    private int bitField0_;
+    public static final int REQUEST_ID_FIELD_NUMBER = 1;
+    private long requestId_;
+    /**
+     * <code>uint64 request_id = 1;</code>
+     */
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    public static final int OK_FIELD_NUMBER = 2;
+    private boolean ok_;
+    /**
+     * <pre>
+     * false if the operation failed or a key was not found
+     * </pre>
+     *
+     * <code>bool ok = 2;</code>
+     */
+    public boolean getOk() {
+      return ok_;
+    }
+
+    public static final int ROWS_FIELD_NUMBER = 3;
+    private java.util.List<com.yahoo.ycsb.db.Messages.Row> rows_;
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    public java.util.List<com.yahoo.ycsb.db.Messages.Row> getRowsList() {
+      return rows_;
+    }
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    public java.util.List<? extends com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+        getRowsOrBuilderList() {
+      return rows_;
+    }
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    public int getRowsCount() {
+      return rows_.size();
+    }
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.Row getRows(int index) {
+      return rows_.get(index);
+    }
+    /**
+     * <pre>
+     * the rows read, one per key
+     * </pre>
+     *
+     * <code>repeated .mydb.Row rows = 3;</code>
+     */
+    public com.yahoo.ycsb.db.Messages.RowOrBuilder getRowsOrBuilder(
+        int index) {
+      return rows_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      if (requestId_ != 0L) {
+        output.writeUInt64(1, requestId_);
+      }
+      if (ok_ != false) {
+        output.writeBool(2, ok_);
+      }
+      for (int i = 0; i < rows_.size(); i++) {
+        output.writeMessage(3, rows_.get(i));
+      }
+    }
+
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (requestId_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(1, requestId_);
+      }
+      if (ok_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(2, ok_);
+      }
+      for (int i = 0; i < rows_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, rows_.get(i));
+      }
+      memoizedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof com.yahoo.ycsb.db.Messages.ResponseV2)) {
+        return super.equals(obj);
+      }
+      com.yahoo.ycsb.db.Messages.ResponseV2 other = (com.yahoo.ycsb.db.Messages.ResponseV2) obj;
+
+      boolean result = true;
+      result = result && (getRequestId()
+          == other.getRequestId());
+      result = result && (getOk()
+          == other.getOk());
+      result = result && getRowsList()
+          .equals(other.getRowsList());
+      return result;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + REQUEST_ID_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getRequestId());
+      hash = (37 * hash) + OK_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getOk());
+      if (getRowsCount() > 0) {
+        hash = (37 * hash) + ROWS_FIELD_NUMBER;
+        hash = (53 * hash) + getRowsList().hashCode();
+      }
+      hash = (29 * hash) + unknownFields.hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(com.yahoo.ycsb.db.Messages.ResponseV2 prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code mydb.ResponseV2}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:mydb.ResponseV2)
+        com.yahoo.ycsb.db.Messages.ResponseV2OrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_ResponseV2_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_ResponseV2_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.yahoo.ycsb.db.Messages.ResponseV2.class, com.yahoo.ycsb.db.Messages.ResponseV2.Builder.class);
+      }
+
+      // Construct using com.yahoo.ycsb.db.Messages.ResponseV2.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessageV3
+                .alwaysUseFieldBuilders) {
+          getRowsFieldBuilder();
+        }
+      }
+      public Builder clear() {
+        super.clear();
+        requestId_ = 0L;
+
+        ok_ = false;
+
+        if (rowsBuilder_ == null) {
+          rows_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        } else {
+          rowsBuilder_.clear();
+        }
+        return this;
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.yahoo.ycsb.db.Messages.internal_static_mydb_ResponseV2_descriptor;
+      }
+
+      public com.yahoo.ycsb.db.Messages.ResponseV2 getDefaultInstanceForType() {
+        return com.yahoo.ycsb.db.Messages.ResponseV2.getDefaultInstance();
+      }
+
+      public com.yahoo.ycsb.db.Messages.ResponseV2 build() {
+        com.yahoo.ycsb.db.Messages.ResponseV2 result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.yahoo.ycsb.db.Messages.ResponseV2 buildPartial() {
+        com.yahoo.ycsb.db.Messages.ResponseV2 result = new com.yahoo.ycsb.db.Messages.ResponseV2(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        result.requestId_ = requestId_;
+        result.ok_ = ok_;
+        if (rowsBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            rows_ = java.util.Collections.unmodifiableList(rows_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.rows_ = rows_;
+        } else {
+          result.rows_ = rowsBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder clone() {
+        return (Builder) super.clone();
+      }
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.setField(field, value);
+      }
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return (Builder) super.clearField(field);
+      }
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return (Builder) super.clearOneof(oneof);
+      }
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, Object value) {
+        return (Builder) super.setRepeatedField(field, index, value);
+      }
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          Object value) {
+        return (Builder) super.addRepeatedField(field, value);
+      }
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.yahoo.ycsb.db.Messages.ResponseV2) {
+          return mergeFrom((com.yahoo.ycsb.db.Messages.ResponseV2)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.yahoo.ycsb.db.Messages.ResponseV2 other) {
+        if (other == com.yahoo.ycsb.db.Messages.ResponseV2.getDefaultInstance()) return this;
+        if (other.getRequestId() != 0L) {
+          setRequestId(other.getRequestId());
+        }
+        if (other.getOk() != false) {
+          setOk(other.getOk());
+        }
+        if (rowsBuilder_ == null) {
+          if (!other.rows_.isEmpty()) {
+            if (rows_.isEmpty()) {
+              rows_ = other.rows_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureRowsIsMutable();
+              rows_.addAll(other.rows_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.rows_.isEmpty()) {
+            if (rowsBuilder_.isEmpty()) {
+              rowsBuilder_.dispose();
+              rowsBuilder_ = null;
+              rows_ = other.rows_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              rowsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getRowsFieldBuilder() : null;
+            } else {
+              rowsBuilder_.addAllMessages(other.rows_);
+            }
+          }
+        }
+        onChanged();
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.yahoo.ycsb.db.Messages.ResponseV2 parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.yahoo.ycsb.db.Messages.ResponseV2) e.getUnfinishedMessage();
+          throw e.unwrapIOException();
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      private long requestId_ ;
+      /**
+       * <code>uint64 request_id = 1;</code>
+       */
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <code>uint64 request_id = 1;</code>
+       */
+      public Builder setRequestId(long value) {
+        
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint64 request_id = 1;</code>
+       */
+      public Builder clearRequestId() {
+        
+        requestId_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private boolean ok_ ;
+      /**
+       * <pre>
+       * false if the operation failed or a key was not found
+       * </pre>
+       *
+       * <code>bool ok = 2;</code>
+       */
+      public boolean getOk() {
+        return ok_;
+      }
+      /**
+       * <pre>
+       * false if the operation failed or a key was not found
+       * </pre>
+       *
+       * <code>bool ok = 2;</code>
+       */
+      public Builder setOk(boolean value) {
+        
+        ok_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * false if the operation failed or a key was not found
+       * </pre>
+       *
+       * <code>bool ok = 2;</code>
+       */
+      public Builder clearOk() {
+        
+        ok_ = false;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<com.yahoo.ycsb.db.Messages.Row> rows_ =
+        java.util.Collections.emptyList();
+      private void ensureRowsIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          rows_ = new java.util.ArrayList<com.yahoo.ycsb.db.Messages.Row>(rows_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Row, com.yahoo.ycsb.db.Messages.Row.Builder, com.yahoo.ycsb.db.Messages.RowOrBuilder> rowsBuilder_;
+
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Row> getRowsList() {
+        if (rowsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(rows_);
+        } else {
+          return rowsBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public int getRowsCount() {
+        if (rowsBuilder_ == null) {
+          return rows_.size();
+        } else {
+          return rowsBuilder_.getCount();
+        }
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row getRows(int index) {
+        if (rowsBuilder_ == null) {
+          return rows_.get(index);
+        } else {
+          return rowsBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder setRows(
+          int index, com.yahoo.ycsb.db.Messages.Row value) {
+        if (rowsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRowsIsMutable();
+          rows_.set(index, value);
+          onChanged();
+        } else {
+          rowsBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder setRows(
+          int index, com.yahoo.ycsb.db.Messages.Row.Builder builderForValue) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          rowsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder addRows(com.yahoo.ycsb.db.Messages.Row value) {
+        if (rowsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRowsIsMutable();
+          rows_.add(value);
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder addRows(
+          int index, com.yahoo.ycsb.db.Messages.Row value) {
+        if (rowsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRowsIsMutable();
+          rows_.add(index, value);
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder addRows(
+          com.yahoo.ycsb.db.Messages.Row.Builder builderForValue) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.add(builderForValue.build());
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder addRows(
+          int index, com.yahoo.ycsb.db.Messages.Row.Builder builderForValue) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          rowsBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder addAllRows(
+          java.lang.Iterable<? extends com.yahoo.ycsb.db.Messages.Row> values) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, rows_);
+          onChanged();
+        } else {
+          rowsBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder clearRows() {
+        if (rowsBuilder_ == null) {
+          rows_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          rowsBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public Builder removeRows(int index) {
+        if (rowsBuilder_ == null) {
+          ensureRowsIsMutable();
+          rows_.remove(index);
+          onChanged();
+        } else {
+          rowsBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row.Builder getRowsBuilder(
+          int index) {
+        return getRowsFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.RowOrBuilder getRowsOrBuilder(
+          int index) {
+        if (rowsBuilder_ == null) {
+          return rows_.get(index);  } else {
+          return rowsBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public java.util.List<? extends com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+           getRowsOrBuilderList() {
+        if (rowsBuilder_ != null) {
+          return rowsBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(rows_);
+        }
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row.Builder addRowsBuilder() {
+        return getRowsFieldBuilder().addBuilder(
+            com.yahoo.ycsb.db.Messages.Row.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public com.yahoo.ycsb.db.Messages.Row.Builder addRowsBuilder(
+          int index) {
+        return getRowsFieldBuilder().addBuilder(
+            index, com.yahoo.ycsb.db.Messages.Row.getDefaultInstance());
+      }
+      /**
+       * <pre>
+       * the rows read, one per key
+       * </pre>
+       *
+       * <code>repeated .mydb.Row rows = 3;</code>
+       */
+      public java.util.List<com.yahoo.ycsb.db.Messages.Row.Builder> 
+           getRowsBuilderList() {
+        return getRowsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          com.yahoo.ycsb.db.Messages.Row, com.yahoo.ycsb.db.Messages.Row.Builder, com.yahoo.ycsb.db.Messages.RowOrBuilder> 
+          getRowsFieldBuilder() {
+        if (rowsBuilder_ == null) {
+          rowsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              com.yahoo.ycsb.db.Messages.Row, com.yahoo.ycsb.db.Messages.Row.Builder, com.yahoo.ycsb.db.Messages.RowOrBuilder>(
+                  rows_,
+                  ((bitField0_ & 0x00000004) == 0x00000004),
+                  getParentForChildren(),
+                  isClean());
+          rows_ = null;
+        }
+        return rowsBuilder_;
+      }
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return this;
+      }
+
+
+      // @@protoc_insertion_point(builder_scope:mydb.ResponseV2)
+    }
+
+    // @@protoc_insertion_point(class_scope:mydb.ResponseV2)
+    private static final com.yahoo.ycsb.db.Messages.ResponseV2 DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new com.yahoo.ycsb.db.Messages.ResponseV2();
+    }
+
+    public static com.yahoo.ycsb.db.Messages.ResponseV2 getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<ResponseV2>
+        PARSER = new com.google.protobuf.AbstractParser<ResponseV2>() {
+      public ResponseV2 parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+          return new ResponseV2(input, extensionRegistry);
+      }
+    };
+
+    public static com.google.protobuf.Parser<ResponseV2> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<ResponseV2> getParserForType() {
+      return PARSER;
+    }
+
+    public com.yahoo.ycsb.db.Messages.ResponseV2 getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_Request_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_Request_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_Request_TextRowEntry_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_Request_TextRowEntry_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_Response_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_Response_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_Response_TextResultEntry_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_Response_TextResultEntry_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_Name_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_Name_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_Value_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_Value_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_Row_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_Row_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_RequestV2_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_RequestV2_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_mydb_ResponseV2_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+      internal_static_mydb_ResponseV2_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static  com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\027protobuf/messages.proto\022\004mydb\"\311\003\n\007Requ" +
+      "est\022(\n\004type\030\001 \001(\0162\032.mydb.Request.REQUEST" +
+      "_TYPE\022\r\n\005table\030\002 \001(\t\022\013\n\003key\030\003 \001(\t\022\016\n\006fie" +
       "lds\030\004 \003(\t\022,\n\010text_row\030\005 \003(\0132\032.mydb.Reque" +
       "st.TextRowEntry\022\022\n\nlong_field\030\006 \001(\t\022\020\n\010l" +
-      "ong_row\030\007 \001(\022\032.\n\014TextRowEntry\022\013\n\003key\030\001 \001" +
-      "(\t\022\r\n\005value\030\002 \001(\014:\0028\001\"\252\001\n\014REQUEST_TYPE\022\017" +
-      "\n\013INSERT_TEXT\020\000\022\017\n\013INSERT_LONG\020\001\022\r\n\tREAD" +
-      "_TEXT\020\002\022\r\n\tREAD_LONG\020\003\022\017\n\013UPDATE_TEXT\020\004\022" +
-      "\017\n\013UPDATE_LONG\020\005\022\n\n\006DELETE\020\006\022\025\n\021START_TR",
-      "ANSACTION\020\007\022\n\n\006COMMIT\020\010\022\t\n\005ABORT\020\t\"\202\002\n\010R" +
-      "esponse\022*\n\004type\030\001 \001(\0162\034.mydb.Response.RE" +
-      "SPONSE_TYPE\022\022\n\nisStatusOk\030\002 \001(\010\022\023\n\013long_" +
-      "result\030\003 \001(\t\0223\n\013text_result\030\004 \003(\0132\036.mydb" +
-      ".Response.TextResultEntry\0321\n\017TextResultE" +
-      "ntry\022\013\n\003key\030\001 \001(\t\022\r\n\005value\030\002 \001(\014:\0028\001\"9\n\r" +
-      "RESPONSE_TYPE\022\r\n\tREAD_TEXT\020\000\022\r\n\tREAD_LON" +
-      "G\020\001\022\n\n\006STATUS\020\002B\035\n\021com.yahoo.ycsb.dbB\010Me" +
-      "ssagesb\006proto3"
+      "ong_row\030\007 \001(\022\022\022\n\nrequest_id\030\010 \001(\004\022\030\n\020pro" +
+      "tocol_version\030\t \001(\r\032.\n\014TextRowEntry\022\013\n\003k" +
+      "ey\030\001 \001(\t\022\r\n\005value\030\002 \001(\014:\0028\001\"\265\001\n\014REQUEST_" +
+      "TYPE\022\017\n\013INSERT_TEXT\020\000\022\017\n\013INSERT_LONG\020\001\022\r" +
+      "\n\tREAD_TEXT\020\002\022\r\n\tREAD_LONG\020\003\022\017\n\013UPDATE_T",
+      "EXT\020\004\022\017\n\013UPDATE_LONG\020\005\022\n\n\006DELETE\020\006\022\025\n\021ST" +
+      "ART_TRANSACTION\020\007\022\n\n\006COMMIT\020\010\022\t\n\005ABORT\020\t" +
+      "\022\t\n\005HELLO\020\n\"\320\002\n\010Response\022*\n\004type\030\001 \001(\0162\034" +
+      ".mydb.Response.RESPONSE_TYPE\022\022\n\nisStatus" +
+      "Ok\030\002 \001(\010\022\025\n\013long_result\030\003 \001(\tH\000\022\024\n\nlong_" +
+      "value\030\006 \001(\022H\000\0223\n\013text_result\030\004 \003(\0132\036.myd" +
+      "b.Response.TextResultEntry\022\022\n\nrequest_id" +
+      "\030\005 \001(\004\022\030\n\020protocol_version\030\007 \001(\r\0321\n\017Text" +
+      "ResultEntry\022\013\n\003key\030\001 \001(\t\022\r\n\005value\030\002 \001(\014:" +
+      "\0028\001\"9\n\rRESPONSE_TYPE\022\r\n\tREAD_TEXT\020\000\022\r\n\tR",
+      "EAD_LONG\020\001\022\n\n\006STATUS\020\002B\006\n\004long\" \n\004Name\022\n" +
+      "\n\002id\030\001 \001(\r\022\014\n\004name\030\002 \001(\t\"f\n\005Value\022\017\n\005fie" +
+      "ld\030\001 \001(\rH\000\022\024\n\nfield_name\030\002 \001(\tH\000\022\016\n\004text" +
+      "\030\003 \001(\014H\001\022\020\n\006number\030\004 \001(\022H\001B\013\n\tfield_refB" +
+      "\007\n\005value\"\"\n\003Row\022\033\n\006values\030\001 \003(\0132\013.mydb.V" +
+      "alue\"\331\002\n\tRequestV2\022*\n\004type\030\001 \001(\0162\034.mydb." +
+      "RequestV2.REQUEST_TYPE\022\022\n\nrequest_id\030\002 \001" +
+      "(\004\022\031\n\005names\030\003 \003(\0132\n.mydb.Name\022\r\n\005table\030\004" +
+      " \001(\r\022\014\n\004keys\030\005 \003(\t\022\016\n\006fields\030\006 \003(\r\022\027\n\004ro" +
+      "ws\030\007 \003(\0132\t.mydb.Row\022\016\n\006amount\030\010 \001(\022\"\232\001\n\014",
+      "REQUEST_TYPE\022\010\n\004READ\020\000\022\n\n\006INSERT\020\001\022\n\n\006UP" +
+      "DATE\020\002\022\n\n\006DELETE\020\003\022\016\n\nMULTI_READ\020\004\022\020\n\014MU" +
+      "LTI_UPDATE\020\005\022\014\n\010TRANSFER\020\006\022\025\n\021START_TRAN" +
+      "SACTION\020\007\022\n\n\006COMMIT\020\010\022\t\n\005ABORT\020\t\"E\n\nResp" +
+      "onseV2\022\022\n\nrequest_id\030\001 \001(\004\022\n\n\002ok\030\002 \001(\010\022\027" +
+      "\n\004rows\030\003 \003(\0132\t.mydb.RowB\035\n\021com.yahoo.ycs" +
+      "b.dbB\010Messagesb\006proto3"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
         new com.google.protobuf.Descriptors.FileDescriptor.    InternalDescriptorAssigner() {
@@ -2782,7 +8789,7 @@ public final class Messages {
     internal_static_mydb_Request_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_mydb_Request_descriptor,
-        new java.lang.String[] { "Type", "Table", "Key", "Fields", "TextRow", "LongField", "LongRow", });
+        new java.lang.String[] { "Type", "Table", "Key", "Fields", "TextRow", "LongField", "LongRow", "RequestId", "ProtocolVersion", });
     internal_static_mydb_Request_TextRowEntry_descriptor =
       internal_static_mydb_Request_descriptor.getNestedTypes().get(0);
     internal_static_mydb_Request_TextRowEntry_fieldAccessorTable = new
@@ -2794,13 +8801,43 @@ public final class Messages {
     internal_static_mydb_Response_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_mydb_Response_descriptor,
-        new java.lang.String[] { "Type", "IsStatusOk", "LongResult", "TextResult", });
+        new java.lang.String[] { "Type", "IsStatusOk", "LongResult", "LongValue", "TextResult", "RequestId", "ProtocolVersion", "Long", });
     internal_static_mydb_Response_TextResultEntry_descriptor =
       internal_static_mydb_Response_descriptor.getNestedTypes().get(0);
     internal_static_mydb_Response_TextResultEntry_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_mydb_Response_TextResultEntry_descriptor,
         new java.lang.String[] { "Key", "Value", });
+    internal_static_mydb_Name_descriptor =
+      getDescriptor().getMessageTypes().get(2);
+    internal_static_mydb_Name_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_mydb_Name_descriptor,
+        new java.lang.String[] { "Id", "Name", });
+    internal_static_mydb_Value_descriptor =
+      getDescriptor().getMessageTypes().get(3);
+    internal_static_mydb_Value_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_mydb_Value_descriptor,
+        new java.lang.String[] { "Field", "FieldName", "Text", "Number", "FieldRef", "Value", });
+    internal_static_mydb_Row_descriptor =
+      getDescriptor().getMessageTypes().get(4);
+    internal_static_mydb_Row_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_mydb_Row_descriptor,
+        new java.lang.String[] { "Values", });
+    internal_static_mydb_RequestV2_descriptor =
+      getDescriptor().getMessageTypes().get(5);
+    internal_static_mydb_RequestV2_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_mydb_RequestV2_descriptor,
+        new java.lang.String[] { "Type", "RequestId", "Names", "Table", "Keys", "Fields", "Rows", "Amount", });
+    internal_static_mydb_ResponseV2_descriptor =
+      getDescriptor().getMessageTypes().get(6);
+    internal_static_mydb_ResponseV2_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
+        internal_static_mydb_ResponseV2_descriptor,
+        new java.lang.String[] { "RequestId", "Ok", "Rows", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
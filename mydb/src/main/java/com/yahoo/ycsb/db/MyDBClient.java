@@ -3,96 +3,265 @@ package com.yahoo.ycsb.db;
 import com.etsy.net.JUDS;
 import com.etsy.net.UnixDomainSocketClient;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageLite;
 import com.yahoo.ycsb.*;
 import com.yahoo.ycsb.workloads.TransactionalWorkload;
 
 import java.io.*;
-import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongFunction;
 
+/**
+ * MyDB client binding. Messages are varint length-delimited protobufs, and every request carries an id the
+ * server echoes in its response. The asynchronous operations write their request and return, a reader thread
+ * matches the responses to the requests they answer, so any number of requests can be in flight on the
+ * socket (see the outstandingops property). The synchronous operations wait for their own response.
+ * <p>
+ * Responses are parsed straight off the socket (see {@link MessageReader}) and read values are returned
+ * as {@link ByteStringByteIterator}s over the parsed bytes.
+ * <p>
+ * At init the client offers version 2 of the protocol to the server with a HELLO, and keeps to version 1 if
+ * the server does not take it. Version 2 sends typed values, interns table and field names per connection,
+ * reads and updates batches of keys in one request (see {@link #multiRead} and {@link #multiUpdate}), and
+ * implements {@link #transfer} in a single round trip.
+ * <p>
+ * With mydb.embedded=true the clients share a {@link MyDBServer} they start in the YCSB process, which
+ * isolates the cost of the client side of the protocol. The server prints its own latencies at the end.
+ */
 public class MyDBClient extends DB {
 
+  /** The highest protocol version to offer the server, 1 to skip the negotiation. */
+  public static final String PROTOCOL_PROPERTY = "mydb.protocol";
+  public static final String PROTOCOL_PROPERTY_DEFAULT = "2";
+
+  /** The path of the server's unix domain socket. */
+  public static final String SOCKET_PROPERTY = "mydb.socket";
+  public static final String SOCKET_PROPERTY_DEFAULT = "/tmp/mydbsocket";
+
+  /** Whether to run a server in the process. */
+  public static final String EMBEDDED_PROPERTY = "mydb.embedded";
+  public static final String EMBEDDED_PROPERTY_DEFAULT = "false";
+
+  // the embedded server and the number of clients using it
+  private static MyDBServer embedded;
+  private static int embeddedClients;
+
   protected UnixDomainSocketClient socket;
   protected OutputStream out;
   protected InputStream in;
-  protected byte inp[];
+
+  // requests waiting for their response, by request id
+  private final Map<Long, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+  private final Object sendLock = new Object();
+  private long nextRequestId;
+  private boolean closed;
+  private MessageWriter requests;
+  private MessageReader responses;
+  private Thread reader;
+  private int version = 1;
+
+  // the ids defined for table and field names, the first guarded by sendLock
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final Map<Integer, String> names = new ConcurrentHashMap<>();
+  // names the server sent without an id, defined with the next request
+  private final Queue<String> undefined = new ConcurrentLinkedQueue<>();
 
   @Override
-  public void init() {
-    inp = new byte[512];
+  public void init() throws DBException {
+    String path = getProperties().getProperty(SOCKET_PROPERTY, SOCKET_PROPERTY_DEFAULT);
+    if (Boolean.parseBoolean(getProperties().getProperty(EMBEDDED_PROPERTY, EMBEDDED_PROPERTY_DEFAULT))) {
+      startEmbedded(path);
+    }
     try {
-      socket = new UnixDomainSocketClient("/tmp/mydbsocket", JUDS.SOCK_STREAM);
+      socket = new UnixDomainSocketClient(path, JUDS.SOCK_STREAM);
       out = socket.getOutputStream();
       in = socket.getInputStream();
+      requests = new MessageWriter(out);
+      responses = new MessageReader(in);
+      int offered = Integer.parseInt(getProperties().getProperty(PROTOCOL_PROPERTY, PROTOCOL_PROPERTY_DEFAULT));
+      if (offered >= 2) {
+        version = negotiate(offered);
+      }
     } catch (IOException e) {
       System.err.println("Error occurred during initialization");
       e.printStackTrace();
+      return;
     }
+    reader = new Thread("MyDBClient reader") {
+      @Override
+      public void run() {
+        receive();
+      }
+    };
+    reader.setDaemon(true);
+    reader.start();
   }
 
-  @Override
-  public Status read(String table, String key, Set<String> fields, HashMap<String, ByteIterator> result) {
-    inp = new byte[512];
-    if (!result.isEmpty()) {
-      Messages.Request.Builder b = Messages.Request.newBuilder()
-          .setType(Messages.Request.REQUEST_TYPE.READ_LONG)
-          .setTable(table)
-          .setKey(key);
-      if (fields != null) {
-        b.addAllFields(fields);
-      }
-      Messages.Request m = b.build();
+  private static synchronized void startEmbedded(String path) throws DBException {
+    if (embedded == null) {
+      embedded = new MyDBServer(path);
       try {
-        out.write(m.toByteArray());
+        embedded.start();
       } catch (IOException e) {
-        System.err.println("error sending message" + e);
+        embedded = null;
+        throw new DBException("could not start the embedded server", e);
       }
+    }
+    embeddedClients++;
+  }
+
+  private static synchronized void stopEmbedded() {
+    if (--embeddedClients == 0) {
+      embedded.stop();
+      embedded.printLatencies(System.err);
+      embedded = null;
+    }
+  }
+
+  /**
+   * @return The protocol version the server picked, 1 if it does not know HELLO.
+   */
+  private int negotiate(int offered) throws IOException {
+    synchronized (sendLock) {
+      requests.write(Messages.Request.newBuilder()
+          .setType(Messages.Request.REQUEST_TYPE.HELLO)
+          .setProtocolVersion(offered)
+          .build());
+    }
+    Messages.Response response = responses.next(Messages.Response.parser());
+    if (response == null) {
+      throw new EOFException("connection closed during the protocol negotiation");
+    }
+    if (response.getType() != Messages.Response.RESPONSE_TYPE.STATUS || !response.getIsStatusOk()
+        || response.getProtocolVersion() < 2) {
+      return 1;
+    }
+    return Math.min(offered, response.getProtocolVersion());
+  }
+
+  /**
+   * @return The protocol version spoken on the connection.
+   */
+  public int getProtocolVersion() {
+    return version;
+  }
+
+  @Override
+  public void cleanup() throws DBException {
+    synchronized (sendLock) {
+      closed = true;
+    }
+    if (socket != null) {
+      socket.close();
+    }
+    if (reader != null) {
       try {
-        int len = in.read(inp);
-        Messages.Response response = Messages.Response.parseFrom(new String(Arrays.copyOfRange(inp, 0, len)).getBytes());
+        reader.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (Boolean.parseBoolean(getProperties().getProperty(EMBEDDED_PROPERTY, EMBEDDED_PROPERTY_DEFAULT))) {
+      stopEmbedded();
+    }
+  }
 
-        if (response.getType() == Messages.Response.RESPONSE_TYPE.STATUS) {
-          return Status.ERROR;
-        } else {
-          result.put(TransactionalWorkload.FIELDNAME, new LongByteIterator(Long.parseLong(response.getLongResult())));
+  @Override
+  public Status read(String table, String key, Set<String> fields, HashMap<String, ByteIterator> result) {
+    return await(readAsync(table, key, fields, result));
+  }
+
+  @Override
+  public CompletionStage<Status> readAsync(final String table, final String key, final Set<String> fields,
+      final HashMap<String, ByteIterator> result) {
+    if (version >= 2) {
+      CompletableFuture<Messages.ResponseV2> request = send(id -> {
+          Messages.RequestV2.Builder b = requestV2(id, Messages.RequestV2.REQUEST_TYPE.READ, table).addKeys(key);
+          project(b, fields);
+          return b.build();
+        });
+      return request.handle((response, error) -> {
+          if (error != null) {
+            return failed(error);
+          }
+          if (!response.getOk() || response.getRowsCount() == 0) {
+            return Status.ERROR;
+          }
+          decode(response.getRows(0), result);
           return Status.OK;
+        });
+    }
+
+    // callers reading a long pass the field in the result
+    final boolean readLong = !result.isEmpty();
+    Messages.Request.Builder b = Messages.Request.newBuilder()
+        .setType(readLong ? Messages.Request.REQUEST_TYPE.READ_LONG : Messages.Request.REQUEST_TYPE.READ_TEXT)
+        .setTable(table)
+        .setKey(key);
+    if (fields != null) {
+      b.addAllFields(fields);
+    }
+    return sendV1(b).handle((response, error) -> {
+        if (error != null) {
+          return failed(error);
         }
-      } catch (IOException e) {
-        e.printStackTrace();
-        return Status.ERROR;
-      }
-    } else {
-      Messages.Request.Builder b = Messages.Request.newBuilder()
-          .setType(Messages.Request.REQUEST_TYPE.READ_TEXT)
-          .setTable(table)
-          .setKey(key);
-      if (fields != null) {
-        b.addAllFields(fields);
-      }
-      Messages.Request m = b.build();
-      try {
-        out.write(m.toByteArray());
-      } catch (IOException e) {
-        System.err.println("error sending message" + e);
-      }
-      try {
-        int len = in.read(inp);
-        Messages.Response response = Messages.Response.parseFrom(new String(Arrays.copyOfRange(inp, 0, len)).getBytes());
         if (response.getType() == Messages.Response.RESPONSE_TYPE.STATUS) {
           return Status.ERROR;
+        }
+        if (readLong) {
+          result.put(TransactionalWorkload.FIELDNAME, new LongByteIterator(MessageReader.longResult(response)));
         } else {
-          Map<String, ByteString> res = response.getTextResultMap();
-          for (String k : res.keySet()) {
-            result.put(k, new StringByteIterator(res.get(k).toString(Charset.defaultCharset())));
-          }
-          return Status.OK;
+          MessageReader.textResult(response, result);
         }
-      } catch (IOException e) {
-        e.printStackTrace();
-        return Status.ERROR;
-      }
+        return Status.OK;
+      });
+  }
+
+  /**
+   * Reads a batch of records in one request with version 2 of the protocol, or by pipelining reads with
+   * version 1.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to read.
+   * @param fields The list of fields to read, or null for all of them
+   * @param results The list the results are added to, one per key.
+   * @return The result of the operation, an error if any key was not read.
+   */
+  public Status multiRead(final String table, final List<String> keys, final Set<String> fields,
+      List<HashMap<String, ByteIterator>> results) {
+    List<HashMap<String, ByteIterator>> rows = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      rows.add(new HashMap<String, ByteIterator>());
+    }
+    results.addAll(rows);
 
+    if (version < 2) {
+      List<CompletionStage<Status>> reads = new ArrayList<>(keys.size());
+      for (int i = 0; i < keys.size(); i++) {
+        reads.add(readAsync(table, keys.get(i), fields, rows.get(i)));
+      }
+      return awaitAll(reads);
     }
+
+    CompletableFuture<Messages.ResponseV2> request = send(id -> {
+        Messages.RequestV2.Builder b = requestV2(id, Messages.RequestV2.REQUEST_TYPE.MULTI_READ, table)
+            .addAllKeys(keys);
+        project(b, fields);
+        return b.build();
+      });
+    return await(request.handle((response, error) -> {
+        if (error != null) {
+          return failed(error);
+        }
+        for (int i = 0; i < response.getRowsCount() && i < rows.size(); i++) {
+          decode(response.getRows(i), rows.get(i));
+        }
+        return response.getOk() && response.getRowsCount() == keys.size() ? Status.OK : Status.ERROR;
+      }));
   }
 
   @Override
@@ -102,167 +271,352 @@ public class MyDBClient extends DB {
 
   @Override
   public Status update(String table, String key, HashMap<String, ByteIterator> values) {
-    inp = new byte[512];
-    if (values.values().iterator().next() instanceof LongByteIterator) {
-      String field  = values.keySet().iterator().next();
-      long value = ((LongByteIterator) values.get(field)).getValue();
-      Messages.Request m = Messages.Request.newBuilder()
-          .setTable(table)
-          .setType(Messages.Request.REQUEST_TYPE.UPDATE_LONG)
-          .setKey(key)
-          .setLongField(field)
-          .setLongRow(value)
-          .build();
+    return await(updateAsync(table, key, values));
+  }
 
-      try {
-        out.write(m.toByteArray());
-      } catch (IOException e) {
-        System.err.println("error sending message" + e);
-      }
-      return processStatus();
-    } else {
-      HashMap<String, ByteString> row = new HashMap<>();
-      for (String field : values.keySet()) {
-        row.put(field, ByteString.copyFrom(values.get(field).toArray()));
-      }
-      Messages.Request m = Messages.Request.newBuilder()
-          .setTable(table)
-          .setType(Messages.Request.REQUEST_TYPE.UPDATE_TEXT)
-          .setKey(key)
-          .putAllTextRow(row)
-          .build();
+  @Override
+  public CompletionStage<Status> updateAsync(String table, String key, HashMap<String, ByteIterator> values) {
+    if (version >= 2) {
+      return writeV2(Messages.RequestV2.REQUEST_TYPE.UPDATE, table, key, values);
+    }
+    return status(sendV1(write(Messages.Request.REQUEST_TYPE.UPDATE_LONG, Messages.Request.REQUEST_TYPE.UPDATE_TEXT,
+        table, key, values)));
+  }
 
-      try {
-        out.write(m.toByteArray());
-      } catch (IOException e) {
-        System.err.println("error sending message" + e);
+  /**
+   * Updates a batch of records in one request with version 2 of the protocol, or by pipelining updates
+   * with version 1.
+   *
+   * @param table The name of the table
+   * @param keys The record keys of the records to update.
+   * @param values The values to update each record with, one map per key.
+   * @return The result of the operation, an error if any key was not updated.
+   */
+  public Status multiUpdate(final String table, final List<String> keys,
+      final List<HashMap<String, ByteIterator>> values) {
+    if (version < 2) {
+      List<CompletionStage<Status>> updates = new ArrayList<>(keys.size());
+      for (int i = 0; i < keys.size(); i++) {
+        updates.add(updateAsync(table, keys.get(i), values.get(i)));
       }
-      return processStatus();
+      return awaitAll(updates);
     }
+
+    return await(statusV2(send(id -> {
+        Messages.RequestV2.Builder b = requestV2(id, Messages.RequestV2.REQUEST_TYPE.MULTI_UPDATE, table)
+            .addAllKeys(keys);
+        for (HashMap<String, ByteIterator> row : values) {
+          b.addRows(encode(b, row));
+        }
+        return b.build();
+      })));
   }
+
   @Override
   public Status insert(String table, String key, HashMap<String, ByteIterator> values) {
-    inp = new byte[512];
+    return await(insertAsync(table, key, values));
+  }
+
+  @Override
+  public CompletionStage<Status> insertAsync(String table, String key, HashMap<String, ByteIterator> values) {
+    if (version >= 2) {
+      return writeV2(Messages.RequestV2.REQUEST_TYPE.INSERT, table, key, values);
+    }
+    return status(sendV1(write(Messages.Request.REQUEST_TYPE.INSERT_LONG, Messages.Request.REQUEST_TYPE.INSERT_TEXT,
+        table, key, values)));
+  }
+
+  /**
+   * Copies a value into a ByteString, straight from its array if it is a slice of one.
+   */
+  private static ByteString toByteString(ByteIterator value) {
+    if (value instanceof ByteArrayByteIterator) {
+      ByteArrayByteIterator slice = (ByteArrayByteIterator) value;
+      return ByteString.copyFrom(slice.getArray(), slice.getOffset(), (int) slice.bytesLeft());
+    }
+    return ByteString.copyFrom(value.toArray());
+  }
+
+  /**
+   * Builds an insert or an update, of a long if the values hold one, of text otherwise.
+   */
+  private static Messages.Request.Builder write(Messages.Request.REQUEST_TYPE longType,
+      Messages.Request.REQUEST_TYPE textType, String table, String key, HashMap<String, ByteIterator> values) {
+    Messages.Request.Builder b = Messages.Request.newBuilder()
+        .setTable(table)
+        .setKey(key);
     if (values.values().iterator().next() instanceof LongByteIterator) {
       String field = values.keySet().iterator().next();
       long value = ((LongByteIterator) values.get(field)).getValue();
-
-      Messages.Request m = Messages.Request.newBuilder()
-          .setTable(table)
-          .setType(Messages.Request.REQUEST_TYPE.INSERT_LONG)
-          .setKey(key)
+      b.setType(longType)
           .setLongField(field)
-          .setLongRow(value)
-          .build();
-
-      try {
-        out.write(m.toByteArray());
-      } catch (IOException e) {
-        System.err.println("error sending message" + e);
-      }
-      return processStatus();
+          .setLongRow(value);
     } else {
-      HashMap<String, ByteString> row = new HashMap<>();
-      for (String field : values.keySet()) {
-        row.put(field, ByteString.copyFrom(values.get(field).toArray()));
-      }
-      Messages.Request request = Messages.Request.newBuilder()
-          .setTable(table)
-          .setType(Messages.Request.REQUEST_TYPE.INSERT_TEXT)
-          .setKey(key)
-          .putAllTextRow(row)
-          .build();
-
-      try {
-        out.write(request.toByteArray());
-      } catch (IOException e) {
-        System.err.println("error sending message" + e);
+      b.setType(textType);
+      for (Map.Entry<String, ByteIterator> field : values.entrySet()) {
+        b.putTextRow(field.getKey(), toByteString(field.getValue()));
       }
-      return processStatus();
     }
+    return b;
   }
 
+  private CompletionStage<Status> writeV2(final Messages.RequestV2.REQUEST_TYPE type, final String table,
+      final String key, final HashMap<String, ByteIterator> values) {
+    return statusV2(send(id -> {
+        Messages.RequestV2.Builder b = requestV2(id, type, table).addKeys(key);
+        return b.addRows(encode(b, values)).build();
+      }));
+  }
 
   @Override
   public Status delete(String table, String key) {
-    inp = new byte[512];
-    Messages.Request m = Messages.Request.newBuilder()
+    return await(deleteAsync(table, key));
+  }
+
+  @Override
+  public CompletionStage<Status> deleteAsync(final String table, final String key) {
+    if (version >= 2) {
+      return statusV2(send(id -> requestV2(id, Messages.RequestV2.REQUEST_TYPE.DELETE, table)
+          .addKeys(key)
+          .build()));
+    }
+    return status(sendV1(Messages.Request.newBuilder()
         .setTable(table)
         .setType(Messages.Request.REQUEST_TYPE.DELETE)
-        .setKey(key)
-        .build();
+        .setKey(key)));
+  }
 
-    try {
-      out.write(m.toByteArray());
-    } catch (IOException e) {
-      System.err.println("error sending message" + e);
+  @Override
+  public Status transfer(final String table, final String key1, final String key2, final String field,
+      final long amount) {
+    if (version < 2) {
+      return Status.NOT_IMPLEMENTED;
     }
-    return processStatus();
+    return await(statusV2(send(id -> {
+        Messages.RequestV2.Builder b = requestV2(id, Messages.RequestV2.REQUEST_TYPE.TRANSFER, table)
+            .addKeys(key1)
+            .addKeys(key2)
+            .setAmount(amount);
+        return b.addFields(intern(b, field)).build();
+      })));
   }
 
   @Override
   public Status startTransaction(String key) throws DBException {
-    Messages.Request m = Messages.Request.newBuilder()
-        .setType(Messages.Request.REQUEST_TYPE.START_TRANSACTION)
-        .setKey(key)
-        .build();
-
-    try {
-      out.write(m.toByteArray());
-    } catch (IOException e) {
-      System.err.println("error sending message" + e);
-    }
-    return processStatus();
+    return transaction(Messages.RequestV2.REQUEST_TYPE.START_TRANSACTION,
+        Messages.Request.REQUEST_TYPE.START_TRANSACTION, key);
   }
 
   @Override
   public Status commit(String key) throws DBException {
-    Messages.Request m = Messages.Request.newBuilder()
-        .setType(Messages.Request.REQUEST_TYPE.COMMIT)
-        .setKey(key)
-        .build();
-
-    try {
-      out.write(m.toByteArray());
-    } catch (IOException e) {
-      System.err.println("error sending message" + e);
-    }
-    return processStatus();
+    return transaction(Messages.RequestV2.REQUEST_TYPE.COMMIT, Messages.Request.REQUEST_TYPE.COMMIT, key);
   }
 
   @Override
   public Status abort(String key) throws DBException {
-    Messages.Request m = Messages.Request.newBuilder()
-        .setType(Messages.Request.REQUEST_TYPE.ABORT)
-        .setKey(key)
-        .build();
+    return transaction(Messages.RequestV2.REQUEST_TYPE.ABORT, Messages.Request.REQUEST_TYPE.ABORT, key);
+  }
 
-    try {
-      out.write(m.toByteArray());
-    } catch (IOException e) {
-      System.err.println("error sending message" + e);
+  private Status transaction(final Messages.RequestV2.REQUEST_TYPE typeV2, Messages.Request.REQUEST_TYPE type,
+      final String key) {
+    if (version >= 2) {
+      return await(statusV2(send(id -> requestV2(id, typeV2, null).addKeys(key).build())));
     }
-    return processStatus();
+    return await(status(sendV1(Messages.Request.newBuilder()
+        .setType(type)
+        .setKey(key))));
   }
 
-  private Status processStatus() {
-    try {
-      int len = in.read(inp);
-      Messages.Response response = Messages.Response.parseFrom(new String(Arrays.copyOfRange(inp, 0, len)).getBytes());
-      if (response.getType() != Messages.Response.RESPONSE_TYPE.STATUS) {
-        System.err.println("Wrong response type, should be status message");
-        return Status.ERROR;
+  /**
+   * Starts a version 2 request, defining the names the server sent without an id. Called with the send
+   * lock held, as are all the methods interning names, so names are defined on the connection before
+   * they are used.
+   */
+  private Messages.RequestV2.Builder requestV2(long id, Messages.RequestV2.REQUEST_TYPE type, String table) {
+    Messages.RequestV2.Builder b = Messages.RequestV2.newBuilder()
+        .setType(type)
+        .setRequestId(id);
+    for (String name; (name = undefined.poll()) != null;) {
+      intern(b, name);
+    }
+    if (table != null) {
+      b.setTable(intern(b, table));
+    }
+    return b;
+  }
+
+  /**
+   * @return The id of a name, defined by the request if the connection has none for it yet.
+   */
+  private int intern(Messages.RequestV2.Builder request, String name) {
+    Integer id = ids.get(name);
+    if (id == null) {
+      // 0 is the default of the id fields
+      id = ids.size() + 1;
+      ids.put(name, id);
+      names.put(id, name);
+      request.addNames(Messages.Name.newBuilder().setId(id).setName(name));
+    }
+    return id;
+  }
+
+  private void project(Messages.RequestV2.Builder request, Set<String> fields) {
+    if (fields != null) {
+      for (String field : fields) {
+        request.addFields(intern(request, field));
+      }
+    }
+  }
+
+  private Messages.Row encode(Messages.RequestV2.Builder request, Map<String, ByteIterator> values) {
+    Messages.Row.Builder row = Messages.Row.newBuilder();
+    for (Map.Entry<String, ByteIterator> field : values.entrySet()) {
+      Messages.Value.Builder value = row.addValuesBuilder().setField(intern(request, field.getKey()));
+      if (field.getValue() instanceof LongByteIterator) {
+        value.setNumber(((LongByteIterator) field.getValue()).getValue());
       } else {
-        if (response.getIsStatusOk()) {
-          return Status.OK;
+        value.setText(toByteString(field.getValue()));
+      }
+    }
+    return row.build();
+  }
+
+  private void decode(Messages.Row row, Map<String, ByteIterator> result) {
+    for (Messages.Value value : row.getValuesList()) {
+      String field;
+      if (value.getFieldRefCase() == Messages.Value.FieldRefCase.FIELD_NAME) {
+        field = value.getFieldName();
+        undefined.add(field);
+      } else {
+        field = names.get(value.getField());
+      }
+      if (value.getValueCase() == Messages.Value.ValueCase.NUMBER) {
+        result.put(field, new LongByteIterator(value.getNumber()));
+      } else {
+        result.put(field, new ByteStringByteIterator(value.getText()));
+      }
+    }
+  }
+
+  private CompletableFuture<Messages.Response> sendV1(final Messages.Request.Builder request) {
+    return send(id -> request.setRequestId(id).build());
+  }
+
+  /**
+   * Sends a request built, with the send lock held, for a request id.
+   *
+   * @return The response to the request, completed by the reader thread.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> CompletableFuture<T> send(LongFunction<MessageLite> request) {
+    CompletableFuture<T> response = new CompletableFuture<>();
+    synchronized (sendLock) {
+      if (closed) {
+        response.completeExceptionally(new IOException("connection closed"));
+        return response;
+      }
+      long id = ++nextRequestId;
+      pending.put(id, (CompletableFuture<Object>) (CompletableFuture<?>) response);
+      try {
+        requests.write(request.apply(id));
+      } catch (IOException e) {
+        System.err.println("error sending message" + e);
+        pending.remove(id);
+        response.completeExceptionally(e);
+      }
+    }
+    return response;
+  }
+
+  /**
+   * Reads responses until the connection closes, completing the requests they answer. The requests still
+   * waiting then fail.
+   */
+  private void receive() {
+    try {
+      while (true) {
+        Object response;
+        long id;
+        if (version >= 2) {
+          Messages.ResponseV2 r = responses.next(Messages.ResponseV2.parser());
+          if (r == null) {
+            break;
+          }
+          response = r;
+          id = r.getRequestId();
         } else {
+          Messages.Response r = responses.next(Messages.Response.parser());
+          if (r == null) {
+            break;
+          }
+          response = r;
+          id = r.getRequestId();
+        }
+        CompletableFuture<Object> request = pending.remove(id);
+        if (request == null) {
+          System.err.println("Response to unknown request " + id);
+        } else {
+          request.complete(response);
+        }
+      }
+    } catch (IOException e) {
+      boolean closing;
+      synchronized (sendLock) {
+        closing = closed;
+      }
+      if (!closing) {
+        System.err.println("Error occurred during waiting for response");
+        e.printStackTrace();
+      }
+    }
+    synchronized (sendLock) {
+      closed = true;
+    }
+    for (CompletableFuture<Object> request : pending.values()) {
+      request.completeExceptionally(new IOException("connection closed"));
+    }
+    pending.clear();
+  }
+
+  private static CompletionStage<Status> status(CompletableFuture<Messages.Response> request) {
+    return request.handle((response, error) -> {
+        if (error != null) {
+          return failed(error);
+        }
+        if (response.getType() != Messages.Response.RESPONSE_TYPE.STATUS) {
+          System.err.println("Wrong response type, should be status message");
           return Status.ERROR;
         }
+        return response.getIsStatusOk() ? Status.OK : Status.ERROR;
+      });
+  }
+
+  private static CompletionStage<Status> statusV2(CompletableFuture<Messages.ResponseV2> request) {
+    return request.handle((response, error) -> {
+        if (error != null) {
+          return failed(error);
+        }
+        return response.getOk() ? Status.OK : Status.ERROR;
+      });
+  }
+
+  private static Status failed(Throwable error) {
+    System.err.println("Error occurred during waiting for response: " + error);
+    return Status.ERROR;
+  }
+
+  private static Status await(CompletionStage<Status> status) {
+    return status.toCompletableFuture().join();
+  }
+
+  private static Status awaitAll(List<CompletionStage<Status>> statuses) {
+    Status result = Status.OK;
+    for (CompletionStage<Status> status : statuses) {
+      Status s = await(status);
+      if (!s.isOk()) {
+        result = s;
       }
-    } catch (Exception e) {
-      System.err.println("Error occurred during waiting for response");
-      e.printStackTrace();
-      return Status.ERROR;
     }
+    return result;
   }
 }
@@ -0,0 +1,529 @@
+package com.yahoo.ycsb.db;
+
+import com.etsy.net.JUDS;
+import com.etsy.net.UnixDomainSocket;
+import com.etsy.net.UnixDomainSocketServer;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageLite;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A reference MyDB server speaking both versions of messages.proto on a unix domain socket, for integration
+ * tests and for benchmarking the client side of the protocol in isolation.
+ * <p>
+ * Records live in concurrent hash maps, one per table, and every record has its own lock. An operation
+ * locks the records it touches for its duration, or until the end of the transaction when the connection
+ * has one open. Transactions undo their writes on ABORT. An operation that cannot get a lock within a
+ * second fails, which breaks deadlocks between transactions. Each connection is served by its own thread,
+ * in order.
+ * <p>
+ * The server measures how long it takes to process each request, excluding the socket, per request type.
+ */
+public class MyDBServer {
+
+  // how long an operation waits for the lock of a record before failing
+  private static final long LOCK_TIMEOUT_MS = 1000;
+
+  private final String path;
+  private final ConcurrentMap<String, ConcurrentMap<String, Record>> tables = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Histogram> latencies = new ConcurrentHashMap<>();
+  private final Set<Connection> connections = Collections.newSetFromMap(new ConcurrentHashMap<Connection, Boolean>());
+  private UnixDomainSocketServer server;
+  private volatile boolean stopped;
+
+  /**
+   * @param path The path of the socket to listen on.
+   */
+  public MyDBServer(String path) {
+    this.path = path;
+  }
+
+  /**
+   * Starts listening, replacing any socket left at the path.
+   */
+  public synchronized void start() throws IOException {
+    new File(path).delete();
+    server = new UnixDomainSocketServer(path, JUDS.SOCK_STREAM);
+    Thread acceptor = new Thread("MyDBServer acceptor") {
+      @Override
+      public void run() {
+        accept();
+      }
+    };
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  private void accept() {
+    while (!stopped) {
+      UnixDomainSocket socket;
+      try {
+        socket = server.accept();
+      } catch (IOException e) {
+        if (!stopped) {
+          System.err.println("Error accepting a connection");
+          e.printStackTrace();
+        }
+        return;
+      }
+      Connection connection = new Connection(socket);
+      connections.add(connection);
+      connection.start();
+    }
+  }
+
+  /**
+   * Stops listening and closes the connections.
+   */
+  public synchronized void stop() {
+    stopped = true;
+    if (server != null) {
+      server.close();
+      server.unlink();
+    }
+    for (Connection connection : connections) {
+      connection.socket.close();
+    }
+  }
+
+  /**
+   * @return Copies of the histograms of the processing time of the requests in nanoseconds, by request type.
+   */
+  public Map<String, Histogram> getLatencies() {
+    Map<String, Histogram> copies = new TreeMap<>();
+    for (Map.Entry<String, Histogram> latency : latencies.entrySet()) {
+      copies.put(latency.getKey(), latency.getValue().copy());
+    }
+    return copies;
+  }
+
+  /**
+   * Prints the processing time of the requests in the format of the YCSB measurements.
+   */
+  public void printLatencies(PrintStream out) {
+    DecimalFormat d = new DecimalFormat("#.##");
+    for (Map.Entry<String, Histogram> latency : getLatencies().entrySet()) {
+      String name = "[SERVER-" + latency.getKey() + "], ";
+      Histogram histogram = latency.getValue();
+      out.println(name + "Operations, " + histogram.getTotalCount());
+      out.println(name + "AverageLatency(us), " + d.format(histogram.getMean() / 1000));
+      out.println(name + "MinLatency(us), " + d.format(histogram.getMinValue() / 1000.0));
+      out.println(name + "MaxLatency(us), " + d.format(histogram.getMaxValue() / 1000.0));
+      out.println(name + "95thPercentileLatency(us), " + d.format(histogram.getValueAtPercentile(95) / 1000.0));
+      out.println(name + "99thPercentileLatency(us), " + d.format(histogram.getValueAtPercentile(99) / 1000.0));
+    }
+  }
+
+  private void record(String type, long startNs) {
+    Histogram histogram = latencies.get(type);
+    if (histogram == null) {
+      latencies.putIfAbsent(type, new ConcurrentHistogram(3));
+      histogram = latencies.get(type);
+    }
+    histogram.recordValue(System.nanoTime() - startNs);
+  }
+
+  private ConcurrentMap<String, Record> table(String name) {
+    ConcurrentMap<String, Record> table = tables.get(name);
+    if (table == null) {
+      tables.putIfAbsent(name, new ConcurrentHashMap<String, Record>());
+      table = tables.get(name);
+    }
+    return table;
+  }
+
+  /**
+   * Runs a server until the process is stopped, then prints its latencies.
+   *
+   * @param args The path of the socket, /tmp/mydbsocket by default.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    final MyDBServer server = new MyDBServer(args.length > 0 ? args[0] : MyDBClient.SOCKET_PROPERTY_DEFAULT);
+    server.start();
+    System.err.println("MyDB server listening on " + server.path);
+    Runtime.getRuntime().addShutdownHook(new Thread() {
+      @Override
+      public void run() {
+        server.stop();
+        server.printLatencies(System.err);
+      }
+    });
+    Thread.currentThread().join();
+  }
+
+  private static final class Record {
+    private final ReentrantLock lock = new ReentrantLock();
+    // null if the record does not exist, values are ByteStrings or Longs
+    private Map<String, Object> fields;
+  }
+
+  /**
+   * Serves the requests of one connection.
+   */
+  private final class Connection extends Thread {
+    private final UnixDomainSocket socket;
+    private int version = 1;
+    // the names the client defined, by id and by name
+    private final Map<Integer, String> names = new HashMap<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    // the records locked by the request, or by the transaction when one is open
+    private final List<Record> locked = new ArrayList<>();
+    private boolean inTransaction;
+    // the fields of the records written by the transaction, before it wrote them
+    private final Map<Record, Map<String, Object>> undo = new IdentityHashMap<>();
+
+    Connection(UnixDomainSocket socket) {
+      super("MyDBServer connection");
+      setDaemon(true);
+      this.socket = socket;
+    }
+
+    @Override
+    public void run() {
+      try {
+        MessageReader requests = new MessageReader(socket.getInputStream());
+        MessageWriter responses = new MessageWriter(socket.getOutputStream());
+        while (true) {
+          MessageLite response;
+          if (version >= 2) {
+            Messages.RequestV2 request = requests.next(Messages.RequestV2.parser());
+            if (request == null) {
+              break;
+            }
+            long st = System.nanoTime();
+            response = process(request);
+            record(request.getType().name(), st);
+          } else {
+            Messages.Request request = requests.next(Messages.Request.parser());
+            if (request == null) {
+              break;
+            }
+            long st = System.nanoTime();
+            response = process(request);
+            record(request.getType().name(), st);
+          }
+          responses.write(response);
+        }
+      } catch (IOException e) {
+        if (!stopped) {
+          System.err.println("Error serving a connection: " + e);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        abort();
+        socket.close();
+        connections.remove(this);
+      }
+    }
+
+    private Messages.Response process(Messages.Request request) throws InterruptedException {
+      Messages.Response.Builder response = Messages.Response.newBuilder()
+          .setType(Messages.Response.RESPONSE_TYPE.STATUS)
+          .setRequestId(request.getRequestId());
+      boolean ok;
+      try {
+        switch (request.getType()) {
+        case HELLO:
+          version = Math.max(1, Math.min(2, request.getProtocolVersion()));
+          response.setProtocolVersion(version);
+          ok = true;
+          break;
+        case INSERT_TEXT:
+        case UPDATE_TEXT:
+          ok = write(request.getTable(), request.getKey(), request.getTextRowMap(),
+              request.getType() == Messages.Request.REQUEST_TYPE.INSERT_TEXT);
+          break;
+        case INSERT_LONG:
+        case UPDATE_LONG:
+          ok = write(request.getTable(), request.getKey(),
+              Collections.singletonMap(request.getLongField(), request.getLongRow()),
+              request.getType() == Messages.Request.REQUEST_TYPE.INSERT_LONG);
+          break;
+        case READ_TEXT:
+          Map<String, Object> row = read(request.getTable(), request.getKey(), request.getFieldsList());
+          ok = row != null;
+          if (ok) {
+            response.setType(Messages.Response.RESPONSE_TYPE.READ_TEXT);
+            for (Map.Entry<String, Object> field : row.entrySet()) {
+              Object value = field.getValue();
+              response.putTextResult(field.getKey(), value instanceof ByteString ? (ByteString) value
+                  : ByteString.copyFromUtf8(value.toString()));
+            }
+          }
+          break;
+        case READ_LONG:
+          ok = false;
+          row = read(request.getTable(), request.getKey(), request.getFieldsList());
+          if (row != null) {
+            for (Object value : row.values()) {
+              if (value instanceof Long) {
+                response.setType(Messages.Response.RESPONSE_TYPE.READ_LONG).setLongValue((Long) value);
+                ok = true;
+                break;
+              }
+            }
+          }
+          break;
+        case DELETE:
+          ok = delete(request.getTable(), request.getKey());
+          break;
+        case START_TRANSACTION:
+          ok = begin();
+          break;
+        case COMMIT:
+          ok = commit();
+          break;
+        case ABORT:
+          ok = abort();
+          break;
+        default:
+          ok = false;
+        }
+      } finally {
+        release();
+      }
+      return response.setIsStatusOk(ok).build();
+    }
+
+    private Messages.ResponseV2 process(Messages.RequestV2 request) throws InterruptedException {
+      for (Messages.Name name : request.getNamesList()) {
+        names.put(name.getId(), name.getName());
+        ids.put(name.getName(), name.getId());
+      }
+      Messages.ResponseV2.Builder response = Messages.ResponseV2.newBuilder()
+          .setRequestId(request.getRequestId());
+      String table = names.get(request.getTable());
+      List<String> fields = new ArrayList<>(request.getFieldsCount());
+      for (int id : request.getFieldsList()) {
+        fields.add(names.get(id));
+      }
+      List<String> keys = request.getKeysList();
+      boolean ok = true;
+      try {
+        switch (request.getType()) {
+        case READ:
+        case MULTI_READ:
+          for (String key : keys) {
+            Map<String, Object> row = read(table, key, fields);
+            ok &= row != null;
+            response.addRows(encode(row));
+          }
+          break;
+        case INSERT:
+        case UPDATE:
+        case MULTI_UPDATE:
+          ok = keys.size() == request.getRowsCount();
+          for (int i = 0; ok && i < keys.size(); i++) {
+            ok = write(table, keys.get(i), decode(request.getRows(i)),
+                request.getType() == Messages.RequestV2.REQUEST_TYPE.INSERT);
+          }
+          break;
+        case DELETE:
+          for (String key : keys) {
+            ok &= delete(table, key);
+          }
+          break;
+        case TRANSFER:
+          ok = keys.size() == 2 && fields.size() == 1
+              && transfer(table, keys.get(0), keys.get(1), fields.get(0), request.getAmount());
+          break;
+        case START_TRANSACTION:
+          ok = begin();
+          break;
+        case COMMIT:
+          ok = commit();
+          break;
+        case ABORT:
+          ok = abort();
+          break;
+        default:
+          ok = false;
+        }
+      } finally {
+        release();
+      }
+      return response.setOk(ok).build();
+    }
+
+    private Messages.Row encode(Map<String, Object> row) {
+      Messages.Row.Builder b = Messages.Row.newBuilder();
+      if (row != null) {
+        for (Map.Entry<String, Object> field : row.entrySet()) {
+          Messages.Value.Builder value = b.addValuesBuilder();
+          Integer id = ids.get(field.getKey());
+          if (id != null) {
+            value.setField(id);
+          } else {
+            value.setFieldName(field.getKey());
+          }
+          if (field.getValue() instanceof Long) {
+            value.setNumber((Long) field.getValue());
+          } else {
+            value.setText((ByteString) field.getValue());
+          }
+        }
+      }
+      return b.build();
+    }
+
+    private Map<String, Object> decode(Messages.Row row) {
+      Map<String, Object> values = new HashMap<>();
+      for (Messages.Value value : row.getValuesList()) {
+        String field = value.getFieldRefCase() == Messages.Value.FieldRefCase.FIELD_NAME ? value.getFieldName()
+            : names.get(value.getField());
+        if (value.getValueCase() == Messages.Value.ValueCase.NUMBER) {
+          values.put(field, value.getNumber());
+        } else {
+          values.put(field, value.getText());
+        }
+      }
+      return values;
+    }
+
+    /**
+     * @return The record, locked until the end of the request or of the transaction, null if the lock
+     * timed out.
+     */
+    private Record lock(String table, String key) throws InterruptedException {
+      if (table == null || key == null) {
+        return null;
+      }
+      ConcurrentMap<String, Record> records = table(table);
+      Record record = records.get(key);
+      if (record == null) {
+        records.putIfAbsent(key, new Record());
+        record = records.get(key);
+      }
+      if (!record.lock.isHeldByCurrentThread()) {
+        if (!record.lock.tryLock(LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+          return null;
+        }
+        locked.add(record);
+      }
+      return record;
+    }
+
+    /**
+     * Unlocks the records of a request, unless a transaction holds them.
+     */
+    private void release() {
+      if (!inTransaction) {
+        for (Record record : locked) {
+          record.lock.unlock();
+        }
+        locked.clear();
+      }
+    }
+
+    /**
+     * Keeps the fields of a record before the transaction writes it.
+     */
+    private void modify(Record record) {
+      if (inTransaction && !undo.containsKey(record)) {
+        undo.put(record, record.fields == null ? null : new HashMap<>(record.fields));
+      }
+    }
+
+    private Map<String, Object> read(String table, String key, List<String> fields) throws InterruptedException {
+      Record record = lock(table, key);
+      if (record == null || record.fields == null) {
+        return null;
+      }
+      if (fields.isEmpty()) {
+        return new HashMap<>(record.fields);
+      }
+      Map<String, Object> row = new HashMap<>();
+      for (String field : fields) {
+        Object value = record.fields.get(field);
+        if (value != null) {
+          row.put(field, value);
+        }
+      }
+      return row;
+    }
+
+    private boolean write(String table, String key, Map<String, ?> values, boolean insert)
+        throws InterruptedException {
+      Record record = lock(table, key);
+      if (record == null || (!insert && record.fields == null)) {
+        return false;
+      }
+      modify(record);
+      if (insert) {
+        record.fields = new HashMap<>();
+      }
+      record.fields.putAll(values);
+      return true;
+    }
+
+    private boolean delete(String table, String key) throws InterruptedException {
+      Record record = lock(table, key);
+      if (record == null || record.fields == null) {
+        return false;
+      }
+      modify(record);
+      record.fields = null;
+      return true;
+    }
+
+    private boolean transfer(String table, String key1, String key2, String field, long amount)
+        throws InterruptedException {
+      Record record1 = lock(table, key1);
+      Record record2 = lock(table, key2);
+      if (record1 == null || record2 == null || record1.fields == null || record2.fields == null
+          || !(record1.fields.get(field) instanceof Long) || !(record2.fields.get(field) instanceof Long)) {
+        return false;
+      }
+      modify(record1);
+      modify(record2);
+      record1.fields.put(field, (Long) record1.fields.get(field) + amount);
+      record2.fields.put(field, (Long) record2.fields.get(field) - amount);
+      return true;
+    }
+
+    private boolean begin() {
+      if (inTransaction) {
+        return false;
+      }
+      inTransaction = true;
+      return true;
+    }
+
+    private boolean commit() {
+      if (!inTransaction) {
+        return false;
+      }
+      end();
+      return true;
+    }
+
+    private boolean abort() {
+      if (!inTransaction) {
+        return false;
+      }
+      for (Map.Entry<Record, Map<String, Object>> record : undo.entrySet()) {
+        record.getKey().fields = record.getValue();
+      }
+      end();
+      return true;
+    }
+
+    private void end() {
+      inTransaction = false;
+      undo.clear();
+      release();
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package com.yahoo.ycsb.db;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.protobuf.ByteString;
+import com.yahoo.ycsb.ByteIterator;
+import com.yahoo.ycsb.StringByteIterator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the decoding of MyDB responses, and compares the allocations of the current and of the previous
+ * decoding.
+ */
+public class MessageReaderTest {
+
+  private static final int FIELDS = 4;
+  private static final int FIELD_LENGTH = 100;
+  private static final int RESPONSES = 20000;
+
+  private static Messages.Response textResponse(long requestId) {
+    Messages.Response.Builder b = Messages.Response.newBuilder()
+        .setType(Messages.Response.RESPONSE_TYPE.READ_TEXT)
+        .setRequestId(requestId);
+    byte[] value = new byte[FIELD_LENGTH];
+    for (int i = 0; i < FIELDS; i++) {
+      Arrays.fill(value, (byte) ('a' + i));
+      b.putTextResult("field" + i, ByteString.copyFrom(value));
+    }
+    return b.build();
+  }
+
+  private static InputStream delimited(Messages.Response... responses) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (Messages.Response response : responses) {
+      response.writeDelimitedTo(out);
+    }
+    return new ByteArrayInputStream(out.toByteArray());
+  }
+
+  @Test
+  public void readsDelimitedResponses() throws IOException {
+    Messages.Response status = Messages.Response.newBuilder()
+        .setType(Messages.Response.RESPONSE_TYPE.STATUS)
+        .setIsStatusOk(true)
+        .setRequestId(1)
+        .build();
+    // larger than the 512 bytes a response used to be read into
+    Messages.Response text = Messages.Response.newBuilder()
+        .setType(Messages.Response.RESPONSE_TYPE.READ_TEXT)
+        .setRequestId(2)
+        .putTextResult("field0", ByteString.copyFrom(new byte[4096]))
+        .build();
+    MessageReader reader = new MessageReader(delimited(status, text, status));
+    assertEquals(status, reader.next(Messages.Response.parser()));
+    assertEquals(text, reader.next(Messages.Response.parser()));
+    assertEquals(status, reader.next(Messages.Response.parser()));
+    assertNull(reader.next(Messages.Response.parser()));
+  }
+
+  @Test
+  public void decodesLongResults() throws IOException {
+    Messages.Response typed = Messages.Response.newBuilder()
+        .setType(Messages.Response.RESPONSE_TYPE.READ_LONG)
+        .setLongValue(-42)
+        .build();
+    Messages.Response string = Messages.Response.newBuilder()
+        .setType(Messages.Response.RESPONSE_TYPE.READ_LONG)
+        .setLongResult("1234567890123")
+        .build();
+    MessageReader reader = new MessageReader(delimited(typed, string));
+    assertEquals(-42, MessageReader.longResult(reader.next(Messages.Response.parser())));
+    assertEquals(1234567890123L, MessageReader.longResult(reader.next(Messages.Response.parser())));
+  }
+
+  @Test
+  public void keepsBinaryValues() throws IOException {
+    byte[] value = new byte[256];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+    Messages.Response text = Messages.Response.newBuilder()
+        .setType(Messages.Response.RESPONSE_TYPE.READ_TEXT)
+        .putTextResult("field0", ByteString.copyFrom(value))
+        .build();
+    Map<String, ByteIterator> result = new HashMap<>();
+    MessageReader.textResult(new MessageReader(delimited(text)).next(Messages.Response.parser()), result);
+    assertArrayEquals(value, result.get("field0").toArray());
+  }
+
+  /**
+   * Prints the bytes allocated per decoded READ_TEXT response by the previous decoding, which read into a
+   * fresh 512-byte array, copied it, round-tripped it through a String and wrapped the values in
+   * StringByteIterators, and by the MessageReader.
+   */
+  @Test
+  public void allocatesLessThanBefore() throws IOException {
+    com.sun.management.ThreadMXBean threads = threadMXBean();
+    assumeTrue(threads != null);
+    long thread = Thread.currentThread().getId();
+
+    byte[] raw = textResponse(1).toByteArray();
+    Messages.Response[] responses = new Messages.Response[RESPONSES];
+    for (int i = 0; i < RESPONSES; i++) {
+      responses[i] = textResponse(i);
+    }
+    InputStream stream = delimited(responses);
+    Map<String, ByteIterator> result = new HashMap<>();
+
+    // warm both paths up first
+    decodeAsBefore(raw, result, RESPONSES);
+    MessageReader reader = new MessageReader(delimited(responses));
+    decode(reader, result, RESPONSES);
+
+    long start = threads.getThreadAllocatedBytes(thread);
+    decodeAsBefore(raw, result, RESPONSES);
+    long before = (threads.getThreadAllocatedBytes(thread) - start) / RESPONSES;
+
+    reader = new MessageReader(stream);
+    start = threads.getThreadAllocatedBytes(thread);
+    decode(reader, result, RESPONSES);
+    long after = (threads.getThreadAllocatedBytes(thread) - start) / RESPONSES;
+
+    System.out.println("Bytes allocated per " + FIELDS + "x" + FIELD_LENGTH + " byte READ_TEXT response: "
+        + before + " before, " + after + " after");
+    assertTrue(after < before);
+  }
+
+  private static void decodeAsBefore(byte[] raw, Map<String, ByteIterator> result, int count)
+      throws IOException {
+    InputStream in = new ByteArrayInputStream(raw);
+    for (int i = 0; i < count; i++) {
+      in.reset();
+      byte[] inp = new byte[512];
+      int len = in.read(inp);
+      Messages.Response response = Messages.Response.parseFrom(new String(Arrays.copyOfRange(inp, 0, len)).getBytes());
+      for (Map.Entry<String, ByteString> field : response.getTextResultMap().entrySet()) {
+        result.put(field.getKey(), new StringByteIterator(field.getValue().toStringUtf8()));
+      }
+    }
+  }
+
+  private static void decode(MessageReader reader, Map<String, ByteIterator> result, int count)
+      throws IOException {
+    for (int i = 0; i < count; i++) {
+      MessageReader.textResult(reader.next(Messages.Response.parser()), result);
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean threadMXBean() {
+    try {
+      com.sun.management.ThreadMXBean threads =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled() ? threads : null;
+    } catch (ClassCastException e) {
+      return null;
+    }
+  }
+}
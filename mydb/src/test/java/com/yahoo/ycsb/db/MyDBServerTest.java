@@ -0,0 +1,235 @@
+package com.yahoo.ycsb.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.yahoo.ycsb.ByteArrayByteIterator;
+import com.yahoo.ycsb.ByteIterator;
+import com.yahoo.ycsb.DBException;
+import com.yahoo.ycsb.LongByteIterator;
+import com.yahoo.ycsb.Status;
+import com.yahoo.ycsb.StringByteIterator;
+import com.yahoo.ycsb.workloads.TransactionalWorkload;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletionStage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs MyDBClient against the reference server, with both versions of the protocol.
+ */
+public class MyDBServerTest {
+
+  private static final String TABLE = "usertable";
+
+  private String path;
+  private MyDBServer server;
+  private final List<MyDBClient> clients = new ArrayList<>();
+
+  @Before
+  public void setUp() throws IOException {
+    File socket = File.createTempFile("mydb", ".sock");
+    path = socket.getPath();
+    server = new MyDBServer(path);
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws DBException {
+    for (MyDBClient client : clients) {
+      client.cleanup();
+    }
+    server.stop();
+  }
+
+  private MyDBClient client(int protocol) throws DBException {
+    Properties props = new Properties();
+    props.setProperty(MyDBClient.SOCKET_PROPERTY, path);
+    props.setProperty(MyDBClient.PROTOCOL_PROPERTY, String.valueOf(protocol));
+    MyDBClient client = new MyDBClient();
+    client.setProperties(props);
+    client.init();
+    clients.add(client);
+    assertEquals(protocol, client.getProtocolVersion());
+    return client;
+  }
+
+  private static HashMap<String, ByteIterator> text(String... fieldValues) {
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    for (int i = 0; i < fieldValues.length; i += 2) {
+      values.put(fieldValues[i], new StringByteIterator(fieldValues[i + 1]));
+    }
+    return values;
+  }
+
+  private static HashMap<String, ByteIterator> balance(long balance) {
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    values.put(TransactionalWorkload.FIELDNAME, new LongByteIterator(balance));
+    return values;
+  }
+
+  private static long readBalance(MyDBClient client, String key) {
+    HashMap<String, ByteIterator> result = balance(0);
+    assertEquals(Status.OK, client.read(TABLE, key, Collections.singleton(TransactionalWorkload.FIELDNAME), result));
+    return ((LongByteIterator) result.get(TransactionalWorkload.FIELDNAME)).getValue();
+  }
+
+  private static void crud(MyDBClient client) {
+    assertEquals(Status.OK, client.insert(TABLE, "user1", text("field0", "a", "field1", "b")));
+    HashMap<String, ByteIterator> result = new HashMap<>();
+    assertEquals(Status.OK, client.read(TABLE, "user1", null, result));
+    assertEquals("a", result.get("field0").toString());
+    assertEquals("b", result.get("field1").toString());
+
+    assertEquals(Status.OK, client.update(TABLE, "user1", text("field1", "c")));
+    result.clear();
+    assertEquals(Status.OK, client.read(TABLE, "user1", Collections.singleton("field1"), result));
+    assertEquals(1, result.size());
+    assertEquals("c", result.get("field1").toString());
+
+    assertEquals(Status.OK, client.delete(TABLE, "user1"));
+    assertEquals(Status.ERROR, client.read(TABLE, "user1", null, new HashMap<String, ByteIterator>()));
+    assertEquals(Status.ERROR, client.update(TABLE, "user1", text("field1", "d")));
+
+    assertEquals(Status.OK, client.insert(TABLE, "account1", balance(100)));
+    assertEquals(100, readBalance(client, "account1"));
+  }
+
+  @Test
+  public void crudV1() throws DBException {
+    crud(client(1));
+  }
+
+  @Test
+  public void crudV2() throws DBException {
+    crud(client(2));
+  }
+
+  private static void writesSlices(MyDBClient client) {
+    byte[] buffer = "..abc..de..".getBytes(StandardCharsets.UTF_8);
+    HashMap<String, ByteIterator> values = new HashMap<>();
+    values.put("field0", new ByteArrayByteIterator(buffer, 2, 3));
+    assertEquals(Status.OK, client.insert(TABLE, "user1", values));
+    values.put("field0", new ByteArrayByteIterator(buffer, 7, 2));
+    assertEquals(Status.OK, client.update(TABLE, "user1", values));
+
+    HashMap<String, ByteIterator> result = new HashMap<>();
+    assertEquals(Status.OK, client.read(TABLE, "user1", null, result));
+    assertEquals("de", result.get("field0").toString());
+  }
+
+  @Test
+  public void writesSlicesV1() throws DBException {
+    writesSlices(client(1));
+  }
+
+  @Test
+  public void writesSlicesV2() throws DBException {
+    writesSlices(client(2));
+  }
+
+  @Test
+  public void readsFieldsDefinedByAnotherConnection() throws DBException {
+    assertEquals(Status.OK, client(2).insert(TABLE, "user1", text("field0", "a")));
+    MyDBClient reader = client(2);
+    for (int i = 0; i < 2; i++) {
+      HashMap<String, ByteIterator> result = new HashMap<>();
+      assertEquals(Status.OK, reader.read(TABLE, "user1", null, result));
+      assertEquals("a", result.get("field0").toString());
+    }
+  }
+
+  @Test
+  public void transfers() throws DBException {
+    MyDBClient client = client(2);
+    client.insert(TABLE, "account1", balance(100));
+    client.insert(TABLE, "account2", balance(100));
+    assertEquals(Status.OK, client.transfer(TABLE, "account1", "account2", TransactionalWorkload.FIELDNAME, 30));
+    assertEquals(130, readBalance(client, "account1"));
+    assertEquals(70, readBalance(client, "account2"));
+    assertEquals(Status.ERROR, client.transfer(TABLE, "account1", "account3", TransactionalWorkload.FIELDNAME, 30));
+    assertEquals(Status.NOT_IMPLEMENTED,
+        client(1).transfer(TABLE, "account1", "account2", TransactionalWorkload.FIELDNAME, 30));
+  }
+
+  @Test
+  public void abortUndoesTheTransaction() throws DBException {
+    for (int protocol = 1; protocol <= 2; protocol++) {
+      MyDBClient client = client(protocol);
+      MyDBClient other = client(protocol);
+      String key = "account" + protocol;
+      client.insert(TABLE, key, balance(100));
+
+      assertEquals(Status.OK, client.startTransaction(key));
+      assertEquals(Status.OK, client.update(TABLE, key, balance(50)));
+      // the record stays locked until the transaction ends
+      assertEquals(Status.ERROR, other.update(TABLE, key, balance(0)));
+      assertEquals(Status.OK, client.abort(key));
+      assertEquals(100, readBalance(other, key));
+
+      assertEquals(Status.OK, client.startTransaction(key));
+      assertEquals(Status.OK, client.update(TABLE, key, balance(50)));
+      assertEquals(Status.OK, client.commit(key));
+      assertEquals(50, readBalance(other, key));
+    }
+  }
+
+  @Test
+  public void multiKeyOperations() throws DBException {
+    for (int protocol = 1; protocol <= 2; protocol++) {
+      MyDBClient client = client(protocol);
+      List<String> keys = Arrays.asList("user1", "user2", "user3");
+      List<HashMap<String, ByteIterator>> values = new ArrayList<>();
+      for (String key : keys) {
+        client.insert(TABLE, key, text("field0", "x"));
+        values.add(text("field0", key));
+      }
+      assertEquals(Status.OK, client.multiUpdate(TABLE, keys, values));
+      List<HashMap<String, ByteIterator>> results = new ArrayList<>();
+      assertEquals(Status.OK, client.multiRead(TABLE, keys, null, results));
+      for (int i = 0; i < keys.size(); i++) {
+        assertEquals(keys.get(i), results.get(i).get("field0").toString());
+      }
+      assertEquals(Status.ERROR, client.multiRead(TABLE, Arrays.asList("user1", "nobody"), null,
+          new ArrayList<HashMap<String, ByteIterator>>()));
+    }
+  }
+
+  @Test
+  public void pipelinesRequests() throws DBException {
+    for (int protocol = 1; protocol <= 2; protocol++) {
+      MyDBClient client = client(protocol);
+      int count = 1000;
+      List<CompletionStage<Status>> statuses = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        statuses.add(client.insertAsync(TABLE, "user" + i, text("field0", "value" + i)));
+      }
+      for (CompletionStage<Status> status : statuses) {
+        assertEquals(Status.OK, status.toCompletableFuture().join());
+      }
+      List<HashMap<String, ByteIterator>> results = new ArrayList<>();
+      statuses.clear();
+      for (int i = 0; i < count; i++) {
+        results.add(new HashMap<String, ByteIterator>());
+        statuses.add(client.readAsync(TABLE, "user" + i, null, results.get(i)));
+      }
+      for (int i = 0; i < count; i++) {
+        assertEquals(Status.OK, statuses.get(i).toCompletableFuture().join());
+        assertEquals("value" + i, results.get(i).get("field0").toString());
+      }
+    }
+    assertTrue(server.getLatencies().get("READ").getTotalCount() >= 1000);
+    assertTrue(server.getLatencies().get("READ_TEXT").getTotalCount() >= 1000);
+  }
+}